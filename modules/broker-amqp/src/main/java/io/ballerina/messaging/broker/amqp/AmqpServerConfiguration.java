@@ -34,8 +34,16 @@ public class AmqpServerConfiguration {
 
     private int socketBufferSize = 1048576;
 
+    private int heartbeat = 60;
+
+    private int contentCopyThreshold = 4096;
+
     private FlowDetails channelFlow = new FlowDetails();
 
+    private NettyDetails netty = new NettyDetails();
+
+    private LargeMessageDetails largeMessage = new LargeMessageDetails();
+
     private NonSecureServerDetails plain = new NonSecureServerDetails();
 
     private SslServerDetails ssl = new SslServerDetails();
@@ -73,6 +81,28 @@ public class AmqpServerConfiguration {
         this.socketBufferSize = socketBufferSize;
     }
 
+    /**
+     * Getter for heartbeat.
+     */
+    public int getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(int heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * Getter for contentCopyThreshold.
+     */
+    public int getContentCopyThreshold() {
+        return contentCopyThreshold;
+    }
+
+    public void setContentCopyThreshold(int contentCopyThreshold) {
+        this.contentCopyThreshold = contentCopyThreshold;
+    }
+
     /**
      * Getter for channelFlow.
      */
@@ -84,6 +114,28 @@ public class AmqpServerConfiguration {
         this.channelFlow = channelFlow;
     }
 
+    /**
+     * Getter for netty.
+     */
+    public NettyDetails getNetty() {
+        return netty;
+    }
+
+    public void setNetty(NettyDetails netty) {
+        this.netty = netty;
+    }
+
+    /**
+     * Getter for largeMessage.
+     */
+    public LargeMessageDetails getLargeMessage() {
+        return largeMessage;
+    }
+
+    public void setLargeMessage(LargeMessageDetails largeMessage) {
+        this.largeMessage = largeMessage;
+    }
+
     /**
      * Getter for tcp.
      */
@@ -137,6 +189,146 @@ public class AmqpServerConfiguration {
         }
     }
 
+    /**
+     * Contains configurations related to spooling the content of large persistent messages to disk.
+     */
+    public static class LargeMessageDetails {
+        private long spoolThreshold = 0;
+
+        private String spoolDirectory = System.getProperty("java.io.tmpdir");
+
+        /**
+         * Getter for spoolThreshold.
+         */
+        public long getSpoolThreshold() {
+            return spoolThreshold;
+        }
+
+        public void setSpoolThreshold(long spoolThreshold) {
+            this.spoolThreshold = spoolThreshold;
+        }
+
+        /**
+         * Getter for spoolDirectory.
+         */
+        public String getSpoolDirectory() {
+            return spoolDirectory;
+        }
+
+        public void setSpoolDirectory(String spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+        }
+    }
+
+    /**
+     * Contains Netty transport and thread pool related configurations.
+     */
+    public static class NettyDetails {
+        private boolean nativeTransport = false;
+
+        private int bossThreads = 1;
+
+        private int workerThreads = 0;
+
+        private int blockingTaskThreads = 32;
+
+        private int backlog = 128;
+
+        private boolean tcpNoDelay = true;
+
+        private int writeBufferLowWaterMark = 32 * 1024;
+
+        private int writeBufferHighWaterMark = 64 * 1024;
+
+        /**
+         * Getter for nativeTransport.
+         */
+        public boolean isNativeTransport() {
+            return nativeTransport;
+        }
+
+        public void setNativeTransport(boolean nativeTransport) {
+            this.nativeTransport = nativeTransport;
+        }
+
+        /**
+         * Getter for bossThreads.
+         */
+        public int getBossThreads() {
+            return bossThreads;
+        }
+
+        public void setBossThreads(int bossThreads) {
+            this.bossThreads = bossThreads;
+        }
+
+        /**
+         * Getter for workerThreads.
+         */
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        /**
+         * Getter for blockingTaskThreads.
+         */
+        public int getBlockingTaskThreads() {
+            return blockingTaskThreads;
+        }
+
+        public void setBlockingTaskThreads(int blockingTaskThreads) {
+            this.blockingTaskThreads = blockingTaskThreads;
+        }
+
+        /**
+         * Getter for backlog.
+         */
+        public int getBacklog() {
+            return backlog;
+        }
+
+        public void setBacklog(int backlog) {
+            this.backlog = backlog;
+        }
+
+        /**
+         * Getter for tcpNoDelay.
+         */
+        public boolean isTcpNoDelay() {
+            return tcpNoDelay;
+        }
+
+        public void setTcpNoDelay(boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+        }
+
+        /**
+         * Getter for writeBufferLowWaterMark.
+         */
+        public int getWriteBufferLowWaterMark() {
+            return writeBufferLowWaterMark;
+        }
+
+        public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+            this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        }
+
+        /**
+         * Getter for writeBufferHighWaterMark.
+         */
+        public int getWriteBufferHighWaterMark() {
+            return writeBufferHighWaterMark;
+        }
+
+        public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+            this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        }
+    }
+
     /**
      * Contains information required to setup the non secure server socket.
      */
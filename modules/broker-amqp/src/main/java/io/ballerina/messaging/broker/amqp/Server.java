@@ -53,6 +53,12 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -67,7 +73,9 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -77,22 +85,23 @@ public class Server {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Server.class);
 
-    /**
-     * Number of threads used for blocking tasks like I/O operations. Putting a higher number of threads here is OK
-     * since these are I/O bound threads.
-     * TODO This should be read from
-     */
-    private static final int BLOCKING_TASK_EXECUTOR_THREADS = 32;
-
     private final AmqpServerConfiguration configuration;
     private final AmqpMetricManager metricManager;
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
     private EventExecutorGroup ioExecutors;
-    private Channel plainServerChannel;
-    private Channel sslServerChannel;
     private AmqpConnectionManager connectionManager;
 
+    /**
+     * Bound server channels. The native transport binds an acceptor per boss thread to the same port.
+     */
+    private final List<Channel> serverChannels = new CopyOnWriteArrayList<>();
+
+    /**
+     * Indicate if the native epoll transport is used instead of NIO.
+     */
+    private final boolean nativeTransport;
+
     /**
      * The {@link HaStrategy} for which the HA listener is registered.
      */
@@ -131,11 +140,17 @@ public class Server {
             brokerFactory = new DefaultBrokerFactory(startupContext);
         }
 
-        bossGroup = new NioEventLoopGroup();
-        workerGroup = new NioEventLoopGroup();
+        AmqpServerConfiguration.NettyDetails nettyDetails = configuration.getNetty();
+        nativeTransport = nettyDetails.isNativeTransport() && Epoll.isAvailable();
+        if (nettyDetails.isNativeTransport() && !nativeTransport) {
+            LOGGER.warn("Native transport is not available. Falling back to NIO transport",
+                        Epoll.unavailabilityCause());
+        }
+        bossGroup = newEventLoopGroup(nettyDetails.getBossThreads());
+        workerGroup = newEventLoopGroup(nettyDetails.getWorkerThreads());
         ThreadFactory blockingTaskThreadFactory = new ThreadFactoryBuilder().setNameFormat("NettyBlockingTaskThread-%d")
                                                                             .build();
-        ioExecutors = new DefaultEventExecutorGroup(BLOCKING_TASK_EXECUTOR_THREADS, blockingTaskThreadFactory);
+        ioExecutors = new DefaultEventExecutorGroup(nettyDetails.getBlockingTaskThreads(), blockingTaskThreadFactory);
         haStrategy = startupContext.getService(HaStrategy.class);
         if (haStrategy == null) {
             serverHelper = new ServerHelper(configuration);
@@ -153,6 +168,17 @@ public class Server {
         initConnectionsRestApi(startupContext);
     }
 
+    /**
+     * Creates an event loop group of the selected transport. Zero threads uses the Netty default.
+     */
+    private EventLoopGroup newEventLoopGroup(int threads) {
+        if (nativeTransport) {
+            return new EpollEventLoopGroup(threads);
+        } else {
+            return new NioEventLoopGroup(threads);
+        }
+    }
+
     private void shutdownExecutors() {
         LOGGER.info("Shutting down Netty Executors for AMQP transport");
         workerGroup.shutdownGracefully();
@@ -167,12 +193,8 @@ public class Server {
     }
 
     public void awaitServerClose() throws InterruptedException {
-        if (plainServerChannel != null) {
-            plainServerChannel.closeFuture().sync();
-        }
-
-        if (sslServerChannel != null) {
-            sslServerChannel.closeFuture().sync();
+        for (Channel serverChannel : serverChannels) {
+            serverChannel.closeFuture().sync();
         }
     }
 
@@ -192,12 +214,10 @@ public class Server {
      * Method to close the channels.
      */
     private void closeChannels() {
-        if (plainServerChannel != null) {
-            plainServerChannel.close();
-        }
-        if (sslServerChannel != null) {
-            sslServerChannel.close();
+        for (Channel serverChannel : serverChannels) {
+            serverChannel.close();
         }
+        serverChannels.clear();
     }
 
     private class SocketChannelInitializer extends ChannelInitializer<SocketChannel> {
@@ -210,11 +230,13 @@ public class Server {
 
         protected void initChannel(SocketChannel socketChannel) {
             socketChannel.pipeline()
-                         .addLast(new AmqpDecoder(amqMethodRegistryFactory.newInstance()))
+                         .addLast(new AmqpDecoder(amqMethodRegistryFactory.newInstance(),
+                                                  configuration.getContentCopyThreshold(),
+                                                  metricManager))
                          .addLast(new AmqpEncoder())
                          .addLast(new AmqpConnectionHandler(metricManager, amqpChannelFactory, connectionManager))
                          .addLast(ioExecutors, new AmqpMessageWriter())
-                         .addLast(ioExecutors, new BlockingTaskHandler());
+                         .addLast(new BlockingTaskHandler(ioExecutors));
         }
     }
 
@@ -231,11 +253,13 @@ public class Server {
         protected void initChannel(SocketChannel socketChannel) {
             socketChannel.pipeline()
                          .addLast(sslHandlerFactory.create())
-                         .addLast(new AmqpDecoder(amqMethodRegistryFactory.newInstance()))
+                         .addLast(new AmqpDecoder(amqMethodRegistryFactory.newInstance(),
+                                                  configuration.getContentCopyThreshold(),
+                                                  metricManager))
                          .addLast(new AmqpEncoder())
                          .addLast(new AmqpConnectionHandler(metricManager, amqpChannelFactory, connectionManager))
                          .addLast(ioExecutors, new AmqpMessageWriter())
-                         .addLast(ioExecutors, new BlockingTaskHandler());
+                         .addLast(new BlockingTaskHandler(ioExecutors));
         }
     }
 
@@ -245,60 +269,80 @@ public class Server {
          */
         private final int socketBufferSize;
 
+        private final AmqpServerConfiguration.NettyDetails nettyDetails;
+
         private ServerHelper(AmqpServerConfiguration configurations) {
             this.socketBufferSize = configurations.getSocketBufferSize();
+            this.nettyDetails = configurations.getNetty();
         }
 
         public void start() throws InterruptedException, CertificateException, UnrecoverableKeyException,
                 NoSuchAlgorithmException, KeyStoreException, KeyManagementException,
                 IOException {
-            ChannelFuture channelFuture = bindToPlainSocket();
-            plainServerChannel = channelFuture.channel();
+            bindToPlainSocket();
 
             if (configuration.getSsl().isEnabled()) {
-                ChannelFuture sslSocketFuture = bindToSslSocket();
-                sslServerChannel = sslSocketFuture.channel();
+                bindToSslSocket();
             }
         }
 
-        private ChannelFuture bindToPlainSocket() throws InterruptedException {
+        private void bindToPlainSocket() throws InterruptedException {
             String hostname = configuration.getHostName();
             int port = Integer.parseInt(configuration.getPlain().getPort());
 
-            ServerBootstrap b = new ServerBootstrap();
-            b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
-             .childHandler(new SocketChannelInitializer(ioExecutors))
-             .option(ChannelOption.SO_BACKLOG, 128)
-             .childOption(ChannelOption.SO_RCVBUF, socketBufferSize)
-             .childOption(ChannelOption.SO_SNDBUF, socketBufferSize)
-             .childOption(ChannelOption.SO_KEEPALIVE, true);
+            ServerBootstrap b = newServerBootstrap().childHandler(new SocketChannelInitializer(ioExecutors));
 
             // Bind and start to accept incoming connections.
-            ChannelFuture future = b.bind(hostname, port).sync();
+            bind(b, hostname, port);
             LOGGER.info("Listening AMQP on {}:{}", hostname, port);
-            return future;
         }
 
-        private ChannelFuture bindToSslSocket()
+        private void bindToSslSocket()
                 throws InterruptedException, CertificateException, UnrecoverableKeyException, NoSuchAlgorithmException,
                        KeyStoreException, KeyManagementException, IOException {
             String hostname = configuration.getHostName();
             int port = Integer.parseInt(configuration.getSsl().getPort());
 
+            ServerBootstrap b = newServerBootstrap()
+                    .childHandler(new SslSocketChannelInitializer(ioExecutors, new SslHandlerFactory(configuration)));
+
+            // Bind and start to accept incoming connections.
+            bind(b, hostname, port);
+            LOGGER.info("Listening AMQP/{} on {}:{}", configuration.getSsl().getProtocol(), hostname, port);
+        }
+
+        private ServerBootstrap newServerBootstrap() {
+            Class<? extends ServerChannel> serverChannelClass = nativeTransport
+                    ? EpollServerSocketChannel.class
+                    : NioServerSocketChannel.class;
             ServerBootstrap b = new ServerBootstrap();
             b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
-             .childHandler(new SslSocketChannelInitializer(ioExecutors, new SslHandlerFactory(configuration)))
-             .option(ChannelOption.SO_BACKLOG, 128)
+             .channel(serverChannelClass)
+             .option(ChannelOption.SO_BACKLOG, nettyDetails.getBacklog())
              .childOption(ChannelOption.SO_RCVBUF, socketBufferSize)
              .childOption(ChannelOption.SO_SNDBUF, socketBufferSize)
-             .childOption(ChannelOption.SO_KEEPALIVE, true);
+             .childOption(ChannelOption.SO_KEEPALIVE, true)
+             .childOption(ChannelOption.TCP_NODELAY, nettyDetails.isTcpNoDelay())
+             .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                          new WriteBufferWaterMark(nettyDetails.getWriteBufferLowWaterMark(),
+                                                   nettyDetails.getWriteBufferHighWaterMark()));
+            if (nativeTransport) {
+                b.option(EpollChannelOption.SO_REUSEPORT, true)
+                 .childOption(EpollChannelOption.TCP_QUICKACK, true);
+            }
+            return b;
+        }
 
-            // Bind and start to accept incoming connections.
-            ChannelFuture future = b.bind(hostname, port).sync();
-            LOGGER.info("Listening AMQP/{} on {}:{}", configuration.getSsl().getProtocol(), hostname, port);
-            return future;
+        /**
+         * Binds the server socket. With the native transport an acceptor is bound per boss thread using
+         * SO_REUSEPORT, so that the kernel spreads incoming connections among them.
+         */
+        private void bind(ServerBootstrap b, String hostname, int port) throws InterruptedException {
+            int acceptors = nativeTransport ? Math.max(1, nettyDetails.getBossThreads()) : 1;
+            for (int i = 0; i < acceptors; i++) {
+                ChannelFuture future = b.bind(hostname, port).sync();
+                serverChannels.add(future.channel());
+            }
         }
 
 
@@ -20,11 +20,15 @@
 package io.ballerina.messaging.broker.amqp.codec;
 
 import io.ballerina.messaging.broker.amqp.AmqpServerConfiguration;
+import io.ballerina.messaging.broker.amqp.codec.confirm.PublishConfirmTracker;
 import io.ballerina.messaging.broker.amqp.codec.flow.ChannelFlowManager;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.amqp.consumer.AckData;
 import io.ballerina.messaging.broker.amqp.consumer.AmqpConsumer;
 import io.ballerina.messaging.broker.amqp.consumer.AmqpDeliverMessage;
+import io.ballerina.messaging.broker.amqp.consumer.AmqpGetOkMessage;
+import io.ballerina.messaging.broker.amqp.consumer.DirectReplyConsumer;
 import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
 import io.ballerina.messaging.broker.common.ValidationException;
@@ -33,13 +37,16 @@ import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.ballerina.messaging.broker.core.Broker;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Consumer;
+import io.ballerina.messaging.broker.core.ExclusiveAccessException;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.PullResult;
 import io.ballerina.messaging.broker.core.transaction.AutoCommitTransaction;
 import io.ballerina.messaging.broker.core.transaction.BrokerTransaction;
 import io.ballerina.messaging.broker.core.transaction.DistributedTransaction;
 import io.ballerina.messaging.broker.core.transaction.LocalTransaction;
 import io.ballerina.messaging.broker.core.util.MessageTracer;
 import io.ballerina.messaging.broker.core.util.TraceField;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,7 +58,9 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -79,6 +88,8 @@ public class AmqpChannel implements AmqpChannelView {
 
     private static final String REQUEUE_FLAG_FIELD_NAME = "requeueFlag";
 
+    private static final String MULTIPLE_FLAG_FIELD_NAME = "multipleFlag";
+
     private final Broker broker;
 
     private final int channelId;
@@ -116,15 +127,37 @@ public class AmqpChannel implements AmqpChannelView {
      */
     private UnackedMessageMap unackedMessageMap = new UnackedMessageMap();
 
+    /**
+     * Tracks publisher confirms. Null unless the channel is in confirm mode.
+     */
+    private volatile PublishConfirmTracker publishConfirmTracker;
+
+    /**
+     * Consumer tag of messages pulled with basic.get. Used when such messages are redelivered on basic.recover.
+     */
+    private static final ShortString PULL_CONSUMER_TAG = ShortString.parseString("");
+
+    private final DirectReplyRegistry directReplyRegistry;
+
+    /**
+     * Consumer of the direct reply-to pseudo queue. Null unless the channel consumes direct replies.
+     */
+    private volatile DirectReplyConsumer directReplyConsumer;
+
     /**
      * Indicate if channel is ready to consume messages.
      */
     private AtomicBoolean flow = new AtomicBoolean(true);
 
     /**
-     * Indicate if unack count is within the prefetch limit.
+     * Unacknowledged deliveries of the channel, limited by the global QoS of the channel.
      */
-    private AtomicBoolean hasRoom = new AtomicBoolean(true);
+    private final PrefetchWindow channelWindow = new PrefetchWindow(0, 0);
+
+    /**
+     * Unacknowledged messages pulled with basic.get. Pulled messages are not limited by the consumer prefetch.
+     */
+    private final PrefetchWindow pullWindow = new PrefetchWindow(0, 0);
 
     /**
      * List of messages blocked due to flow being disabled.
@@ -139,9 +172,14 @@ public class AmqpChannel implements AmqpChannelView {
     private BrokerTransaction transaction;
 
     /**
-     * Max window size.
+     * Prefetch count applied to consumers created afterwards. Set by a non global QoS.
+     */
+    private volatile int consumerPrefetchCount;
+
+    /**
+     * Prefetch size in bytes applied to consumers created afterwards. Set by a non global QoS.
      */
-    private int prefetchCount;
+    private volatile long consumerPrefetchSize;
 
     /**
      * The time at which the channel was created.
@@ -152,14 +190,17 @@ public class AmqpChannel implements AmqpChannelView {
                        Broker broker,
                        int channelId,
                        AmqpMetricManager metricManager,
-                       AmqpConnectionHandler connection) {
+                       AmqpConnectionHandler connection,
+                       DirectReplyRegistry directReplyRegistry) {
         this.broker = broker;
         this.channelId = channelId;
         this.metricManager = metricManager;
         this.connection = connection;
+        this.directReplyRegistry = directReplyRegistry;
         this.consumerMap = new HashMap<>();
         this.transaction = new AutoCommitTransaction(broker);
-        this.messageAggregator = new InMemoryMessageAggregator(transaction);
+        this.messageAggregator = new InMemoryMessageAggregator(broker, transaction, configuration.getLargeMessage(),
+                                                               directReplyRegistry);
         this.flowManager = new ChannelFlowManager(this,
                                                   configuration.getChannelFlow().getLowLimit(),
                                                   configuration.getChannelFlow().getHighLimit());
@@ -179,9 +220,9 @@ public class AmqpChannel implements AmqpChannelView {
     }
 
     public void declareQueue(ShortString queue, boolean passive,
-                             boolean durable, boolean autoDelete)
+                             boolean durable, boolean autoDelete, FieldTable arguments)
             throws BrokerException, ValidationException {
-        broker.createQueue(queue.toString(), passive, durable, autoDelete);
+        broker.createQueue(queue.toString(), passive, durable, autoDelete, arguments);
     }
 
     public void bind(ShortString queue, ShortString exchange,
@@ -200,19 +241,102 @@ public class AmqpChannel implements AmqpChannelView {
         if (tag.isEmpty()) {
             tag = ShortString.parseString("sgen" + getNextConsumerTag());
         }
-        AmqpConsumer amqpConsumer = new AmqpConsumer(ctx, broker, this, queueName.toString(), tag, exclusive);
+        AmqpConsumer amqpConsumer = new AmqpConsumer(ctx, broker, this, queueName.toString(), tag, exclusive,
+                                                     new PrefetchWindow(consumerPrefetchCount, consumerPrefetchSize));
         consumerMap.put(tag, amqpConsumer);
         broker.addConsumer(amqpConsumer);
         metricManager.incrementConsumerCount();
         return amqpConsumer;
     }
 
+    /**
+     * Start consuming from the direct reply-to pseudo queue. Requests published afterwards on the channel with the
+     * pseudo queue as reply-to are given the reply-to address of the consumer.
+     *
+     * @param consumerTag consumer tag requested by the client
+     * @param noAck       true if the client does not acknowledge deliveries
+     * @param ctx         channel handler context of the connection
+     * @return consumer tag of the consumer
+     * @throws ChannelException if the consumer acknowledges deliveries or the channel already consumes replies
+     */
+    public ShortString consumeDirectReplies(ShortString consumerTag, boolean noAck, ChannelHandlerContext ctx)
+            throws ChannelException {
+        if (!noAck) {
+            throw new ChannelException(ChannelException.PRECONDITION_FAILED,
+                                       "Direct reply-to consumer should be in no-ack mode");
+        }
+        if (Objects.nonNull(directReplyConsumer)) {
+            throw new ChannelException(ChannelException.PRECONDITION_FAILED,
+                                       "Direct reply-to consumer already exists for the channel: " + channelId);
+        }
+        ShortString tag = consumerTag;
+        if (tag.isEmpty()) {
+            tag = ShortString.parseString("sgen" + getNextConsumerTag());
+        }
+        DirectReplyConsumer consumer = directReplyRegistry.register(ctx, this, tag);
+        directReplyConsumer = consumer;
+        messageAggregator.setDirectReplyAddress(consumer.getAddress());
+        return tag;
+    }
+
+    /**
+     * Pull messages from a queue for a basic.get request and write them to the client. Messages pulled in no-ack
+     * mode are acknowledged to the broker right away. Messages are not pulled while a consumer of another channel
+     * has exclusive access to the queue.
+     *
+     * @param queueName   queue name
+     * @param maxMessages maximum number of messages to pull
+     * @param noAck       true if the client does not acknowledge the messages
+     * @param ctx         channel handler context of the connection
+     * @return number of messages written to the client
+     * @throws ExclusiveAccessException  if a consumer of another channel has exclusive access to the queue
+     * @throws BrokerException           if an internal error occurred
+     * @throws ResourceNotFoundException if the queue does not exist
+     */
+    public int get(ShortString queueName, int maxMessages, boolean noAck, ChannelHandlerContext ctx)
+            throws BrokerException, ResourceNotFoundException {
+        String queue = queueName.toString();
+        PullResult pullResult = broker.get(queue, maxMessages, consumerMap.values());
+        List<Message> messages = pullResult.getMessages();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        if (noAck) {
+            broker.acknowledge(queue, messages);
+        }
+        long messageCount = pullResult.getRemainingCount() + messages.size();
+        Channel nettyChannel = ctx.channel();
+        for (Message message : messages) {
+            messageCount--;
+            nettyChannel.write(new AmqpGetOkMessage(message, PULL_CONSUMER_TAG, pullWindow, this, queue, broker,
+                                                    noAck, messageCount));
+        }
+        nettyChannel.flush();
+        return messages.size();
+    }
+
+    private void closeDirectReplyConsumer() {
+        DirectReplyConsumer consumer = directReplyConsumer;
+        if (Objects.nonNull(consumer)) {
+            directReplyConsumer = null;
+            messageAggregator.setDirectReplyAddress(null);
+            directReplyRegistry.unregister(consumer);
+        }
+    }
+
     public void close() {
         closed.set(true);
         for (Consumer consumer : consumerMap.values()) {
             closeConsumer(consumer);
         }
         transaction.onClose();
+        closeDirectReplyConsumer();
+        messageAggregator.close();
+        PublishConfirmTracker confirmTracker = publishConfirmTracker;
+        if (Objects.nonNull(confirmTracker)) {
+            confirmTracker.close();
+        }
         consumerMap.clear();
         requeueUnackedMessages();
     }
@@ -234,6 +358,11 @@ public class AmqpChannel implements AmqpChannelView {
     }
 
     public void cancelConsumer(ShortString consumerTag) throws ChannelException {
+        DirectReplyConsumer replyConsumer = directReplyConsumer;
+        if (Objects.nonNull(replyConsumer) && replyConsumer.getConsumerTag().equals(consumerTag)) {
+            closeDirectReplyConsumer();
+            return;
+        }
         AmqpConsumer amqpConsumer = consumerMap.remove(consumerTag);
         if (amqpConsumer != null) {
             closeConsumer(amqpConsumer);
@@ -259,7 +388,10 @@ public class AmqpChannel implements AmqpChannelView {
     }
 
     public void acknowledge(long deliveryTag, boolean multiple) throws BrokerException {
-        //TODO handle multiple
+        if (multiple) {
+            acknowledgeUpTo(deliveryTag);
+            return;
+        }
         AckData ackData = unackedMessageMap.markAcknowledgement(deliveryTag);
         if (MessageTracer.isTraceEnabled()) {
             String description = Objects.nonNull(ackData) ? ACKNOWLEDGE_RECEIVED : UNKNOWN_ACKNOWLEDGEMENT;
@@ -276,6 +408,60 @@ public class AmqpChannel implements AmqpChannelView {
         }
     }
 
+    /**
+     * Acknowledge all outstanding deliveries up to and including the given delivery tag. Acknowledged messages are
+     * dequeued with a single call per queue.
+     *
+     * @param deliveryTag last delivery tag of the range. Zero acknowledges all outstanding deliveries
+     * @throws BrokerException if an internal error occurred
+     */
+    private void acknowledgeUpTo(long deliveryTag) throws BrokerException {
+        long lastDeliveryTag = toLastDeliveryTag(deliveryTag);
+        Collection<AckData> ackDataList = unackedMessageMap.markAcknowledgements(lastDeliveryTag);
+        if (MessageTracer.isTraceEnabled()) {
+            String description = !ackDataList.isEmpty() ? ACKNOWLEDGE_RECEIVED : UNKNOWN_ACKNOWLEDGEMENT;
+            MessageTracer.trace(description, traceChannelIdField,
+                                new TraceField(DELIVERY_TAG_FIELD_NAME, deliveryTag),
+                                new TraceField(MULTIPLE_FLAG_FIELD_NAME, true));
+        }
+        if (ackDataList.isEmpty()) {
+            LOGGER.warn("Could not find matching ack data for acking delivery tags up to {}", deliveryTag);
+            return;
+        }
+
+        boolean dequeued = false;
+        try {
+            for (Map.Entry<String, List<Message>> entry : groupByQueue(ackDataList).entrySet()) {
+                transaction.dequeue(entry.getKey(), entry.getValue());
+            }
+            dequeued = true;
+        } finally {
+            // Marked acknowledgments of a transaction are reset on rollback
+            if (!dequeued && !transaction.inTransactionBlock()) {
+                unackedMessageMap.resetMarkedAcknowledgments(lastDeliveryTag);
+            }
+        }
+        if (!transaction.inTransactionBlock()) {
+            unackedMessageMap.removeMarkedAcknowledgments(lastDeliveryTag);
+            for (AckData ackData : ackDataList) {
+                ackData.getMessage().release();
+            }
+        }
+    }
+
+    private static long toLastDeliveryTag(long deliveryTag) {
+        return deliveryTag == 0 ? Long.MAX_VALUE : deliveryTag;
+    }
+
+    private static Map<String, List<Message>> groupByQueue(Collection<AckData> ackDataList) {
+        Map<String, List<Message>> messagesByQueue = new LinkedHashMap<>();
+        for (AckData ackData : ackDataList) {
+            messagesByQueue.computeIfAbsent(ackData.getQueueName(), queueName -> new ArrayList<>())
+                           .add(ackData.getMessage());
+        }
+        return messagesByQueue;
+    }
+
     public int getNextConsumerTag() {
         return consumerTagGenerator.incrementAndGet();
     }
@@ -296,7 +482,7 @@ public class AmqpChannel implements AmqpChannelView {
 
     @Override
     public int getUnackedMessageCount() {
-        return unackedMessageMap.pendingAcknowledgments.size();
+        return unackedMessageMap.size();
     }
 
     @Override
@@ -319,7 +505,8 @@ public class AmqpChannel implements AmqpChannelView {
 
     @Override
     public int getPrefetchCount() {
-        return prefetchCount;
+        int globalPrefetchCount = channelWindow.getPrefetchCount();
+        return globalPrefetchCount > 0 ? globalPrefetchCount : consumerPrefetchCount;
     }
 
     @Override
@@ -327,11 +514,36 @@ public class AmqpChannel implements AmqpChannelView {
         return createdTime;
     }
 
-    public void recordMessageDelivery(long deliveryTag, AckData ackData) {
-        unackedMessageMap.put(deliveryTag, ackData);
+    /**
+     * Record a delivery until it is acknowledged or rejected.
+     *
+     * @param deliveryTag delivery tag of the delivery
+     * @param ackData     delivered message details
+     * @return false if the channel is already closed and the delivery was not recorded
+     */
+    public boolean recordMessageDelivery(long deliveryTag, AckData ackData) {
+        return unackedMessageMap.put(deliveryTag, ackData);
     }
 
     public void reject(long deliveryTag, boolean requeue) throws BrokerException, ResourceNotFoundException {
+        reject(deliveryTag, false, requeue);
+    }
+
+    /**
+     * Reject a single delivery or all outstanding deliveries up to and including the given delivery tag.
+     *
+     * @param deliveryTag delivery tag of the rejected delivery
+     * @param multiple    true if all deliveries up to the delivery tag should be rejected
+     * @param requeue     true if the rejected messages should be requeued
+     * @throws BrokerException           if an internal error occurred
+     * @throws ResourceNotFoundException if the queue of a requeued message is not found
+     */
+    public void reject(long deliveryTag, boolean multiple, boolean requeue)
+            throws BrokerException, ResourceNotFoundException {
+        if (multiple) {
+            rejectUpTo(deliveryTag, requeue);
+            return;
+        }
         metricManager.markReject();
         AckData ackData = unackedMessageMap.negativeAcknowledge(deliveryTag);
         if (MessageTracer.isTraceEnabled()) {
@@ -354,6 +566,59 @@ public class AmqpChannel implements AmqpChannelView {
         }
     }
 
+    private void rejectUpTo(long deliveryTag, boolean requeue) throws BrokerException, ResourceNotFoundException {
+        Collection<AckData> ackDataList = unackedMessageMap.negativeAcknowledgeAll(toLastDeliveryTag(deliveryTag));
+        if (MessageTracer.isTraceEnabled()) {
+            String description = !ackDataList.isEmpty() ? REJECT_RECEIVED : UNKNOWN_REJECT;
+            MessageTracer.trace(description, traceChannelIdField,
+                                new TraceField(DELIVERY_TAG_FIELD_NAME, deliveryTag),
+                                new TraceField(MULTIPLE_FLAG_FIELD_NAME, true),
+                                new TraceField(REQUEUE_FLAG_FIELD_NAME, requeue));
+        }
+        if (ackDataList.isEmpty()) {
+            LOGGER.warn("Could not find matching ack data for rejecting delivery tags up to {}", deliveryTag);
+            return;
+        }
+
+        if (requeue) {
+            requeueRejected(ackDataList);
+        } else {
+            dropRejected(ackDataList);
+        }
+        LOGGER.debug("Rejected {} messages up to delivery tag {}", ackDataList.size(), deliveryTag);
+    }
+
+    private void requeueRejected(Collection<AckData> ackDataList) throws BrokerException, ResourceNotFoundException {
+        Iterator<AckData> iterator = ackDataList.iterator();
+        try {
+            while (iterator.hasNext()) {
+                AckData ackData = iterator.next();
+                metricManager.markReject();
+                setRedeliverAndRequeue(ackData.getMessage(), ackData.getQueueName());
+            }
+        } finally {
+            while (iterator.hasNext()) {
+                iterator.next().getMessage().release();
+            }
+        }
+    }
+
+    /**
+     * Dequeue rejected messages which are not requeued with a single call per queue.
+     */
+    private void dropRejected(Collection<AckData> ackDataList) throws BrokerException {
+        try {
+            for (Map.Entry<String, List<Message>> entry : groupByQueue(ackDataList).entrySet()) {
+                transaction.dequeue(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            for (AckData ackData : ackDataList) {
+                metricManager.markReject();
+                ackData.getMessage().release();
+            }
+        }
+    }
+
     private void setRedeliverAndRequeue(Message message, String queueName)
             throws BrokerException, ResourceNotFoundException {
         int redeliveryCount = message.setRedeliver();
@@ -405,7 +670,7 @@ public class AmqpChannel implements AmqpChannelView {
      * @return true if messages can be delivered through the channel, false otherwise
      */
     public boolean isReady() {
-        return connection.isWritable() && flow.get() && hasRoom.get() && !closed.get();
+        return connection.isWritable() && flow.get() && channelWindow.hasRoom() && !closed.get();
     }
 
     /**
@@ -444,12 +709,38 @@ public class AmqpChannel implements AmqpChannelView {
         return pendingMessages;
     }
 
-    public void setPrefetchCount(int prefetchCount) {
-        this.prefetchCount = prefetchCount;
+    /**
+     * Set the prefetch limits of the channel. Global limits are shared by all the consumers of the channel and
+     * apply immediately. Otherwise the limits apply to each consumer created afterwards.
+     *
+     * @param prefetchCount maximum number of unacknowledged messages, zero for no limit
+     * @param prefetchSize  maximum number of unacknowledged content bytes, zero for no limit
+     * @param global        true if the limits are shared by all the consumers of the channel
+     */
+    public void setQos(int prefetchCount, long prefetchSize, boolean global) {
+        if (global) {
+            channelWindow.setLimits(prefetchCount, prefetchSize);
+        } else {
+            consumerPrefetchCount = prefetchCount;
+            consumerPrefetchSize = prefetchSize;
+        }
+    }
+
+    public AmqpDeliverMessage createDeliverMessage(Message message, ShortString consumerTag,
+                                                   PrefetchWindow consumerWindow, String queueName) {
+        return new AmqpDeliverMessage(message, consumerTag, consumerWindow, this, queueName, broker);
     }
 
-    public AmqpDeliverMessage createDeliverMessage(Message message, ShortString consumerTag, String queueName) {
-        return new AmqpDeliverMessage(message, consumerTag, this, queueName, broker);
+    /**
+     * Create a no-ack delivery of a reply sent to the direct reply-to consumer of the channel.
+     *
+     * @param message     reply message
+     * @param consumerTag consumer tag of the direct reply-to consumer
+     * @return delivery of the reply
+     */
+    public AmqpDeliverMessage createDirectReplyMessage(Message message, ShortString consumerTag) {
+        return new AmqpDeliverMessage(message, consumerTag, null, this, DirectReplyRegistry.PSEUDO_QUEUE, broker,
+                                      true);
     }
 
     /**
@@ -460,6 +751,23 @@ public class AmqpChannel implements AmqpChannelView {
         messageAggregator.setTransaction(transaction);
     }
 
+    /**
+     * Put the channel in confirm mode. Messages published afterwards are confirmed to the publisher once they are
+     * handled by the broker.
+     *
+     * @param ctx channel handler context used to send confirms
+     */
+    public void setConfirmMode(ChannelHandlerContext ctx) {
+        if (Objects.isNull(publishConfirmTracker)) {
+            publishConfirmTracker = new PublishConfirmTracker(channelId, ctx);
+            messageAggregator.setPublishConfirmTracker(publishConfirmTracker);
+        }
+    }
+
+    public boolean isConfirmMode() {
+        return Objects.nonNull(publishConfirmTracker);
+    }
+
     /**
      * Start distributed transaction on the channel.
      */
@@ -531,20 +839,21 @@ public class AmqpChannel implements AmqpChannelView {
     }
 
     /**
-     * Data-structure to handle unacknowledge messages. This class will update the has room variable depending on the
-     * number of messages in the unackedMessageMap.
+     * Data-structure to handle unacknowledge messages. Deliveries are recorded by the message writer while
+     * acknowledgments are handled by the blocking tasks of the channel, hence the access is synchronized.
      */
     private class UnackedMessageMap {
 
         /**
-         * Acknowledgment pending messages.
+         * Acknowledgment pending messages ordered by the delivery tag. Delivery tags are generated in ascending order,
+         * hence new entries are always appended to the tail and ranges can be removed from the head.
          */
-        private final Map<Long, AckData> pendingAcknowledgments = new LinkedHashMap<>();
+        private final NavigableMap<Long, AckData> pendingAcknowledgments = new TreeMap<>();
 
         /**
          * Acknowledgments that are waiting for a subsequent commit or rollback.
          */
-        private final Map<Long, AckData> markedAcknowledgments = new LinkedHashMap<>();
+        private final NavigableMap<Long, AckData> markedAcknowledgments = new TreeMap<>();
 
         /**
          * Mark the specific delivery tag as acknowledgment received and return the specific {@link AckData} object.
@@ -552,7 +861,7 @@ public class AmqpChannel implements AmqpChannelView {
          * @param deliveryTag delivery tag of the acknowledged message delivery
          * @return AckData object for the corresponding delivery tag
          */
-        AckData markAcknowledgement(long deliveryTag) {
+        synchronized AckData markAcknowledgement(long deliveryTag) {
             AckData ackData = pendingAcknowledgments.remove(deliveryTag);
             if (Objects.nonNull(ackData)) {
                 markedAcknowledgments.put(deliveryTag, ackData);
@@ -560,60 +869,113 @@ public class AmqpChannel implements AmqpChannelView {
             return ackData;
         }
 
-        AckData negativeAcknowledge(long deliveryTag) {
+        /**
+         * Mark all delivery tags up to and including the given delivery tag as acknowledgment received.
+         *
+         * @param deliveryTag last delivery tag of the acknowledged range
+         * @return AckData objects of the range in delivery tag order
+         */
+        synchronized Collection<AckData> markAcknowledgements(long deliveryTag) {
+            NavigableMap<Long, AckData> range = pendingAcknowledgments.headMap(deliveryTag, true);
+            Collection<AckData> ackDataList = new ArrayList<>(range.values());
+            markedAcknowledgments.putAll(range);
+            range.clear();
+            return ackDataList;
+        }
+
+        synchronized AckData negativeAcknowledge(long deliveryTag) {
             AckData ackData = pendingAcknowledgments.remove(deliveryTag);
-            checkAndEnableHasRoom();
+            if (Objects.nonNull(ackData)) {
+                removeFromWindows(ackData);
+            }
             return ackData;
         }
 
-        void put(long deliveryTag, AckData ackData) {
+        synchronized Collection<AckData> negativeAcknowledgeAll(long deliveryTag) {
+            return removeRange(pendingAcknowledgments, deliveryTag);
+        }
+
+        synchronized boolean put(long deliveryTag, AckData ackData) {
+            if (closed.get()) {
+                return false;
+            }
             pendingAcknowledgments.put(deliveryTag, ackData);
-            checkAndDisableHasRoom();
+            long contentLength = ackData.getMessage().getContentLength();
+            channelWindow.add(contentLength);
+            ackData.getConsumerWindow().add(contentLength);
+            return true;
         }
 
-        Collection<AckData> removeAll() {
+        synchronized Collection<AckData> removeAll() {
             Collection<AckData> entries = new ArrayList<>(pendingAcknowledgments.values());
             pendingAcknowledgments.clear();
             entries.addAll(markedAcknowledgments.values());
             markedAcknowledgments.clear();
-            hasRoom.set(true);
+            entries.forEach(this::removeFromWindows);
             return entries;
         }
 
-        AckData removeMarkedAcknowledgment(long deliveryTag) {
+        synchronized AckData removeMarkedAcknowledgment(long deliveryTag) {
             AckData ackData = markedAcknowledgments.remove(deliveryTag);
-            checkAndEnableHasRoom();
+            if (Objects.nonNull(ackData)) {
+                removeFromWindows(ackData);
+            }
             return ackData;
         }
 
-        private void checkAndEnableHasRoom() {
-            if (!hasRoom.get() && pendingAcknowledgments.size() < prefetchCount) {
-                hasRoom.set(true);
-            }
+        synchronized void removeMarkedAcknowledgments(long deliveryTag) {
+            removeRange(markedAcknowledgments, deliveryTag);
         }
 
-        void resetMarkedAcknowledgments() {
+        synchronized void resetMarkedAcknowledgments() {
             pendingAcknowledgments.putAll(markedAcknowledgments);
             markedAcknowledgments.clear();
-            checkAndDisableHasRoom();
         }
 
-        Collection<AckData> removeMarkedAcknowledgments() {
+        /**
+         * Move the marked acknowledgments up to and including the given delivery tag back to the pending
+         * acknowledgments.
+         *
+         * @param deliveryTag last delivery tag of the range
+         */
+        synchronized void resetMarkedAcknowledgments(long deliveryTag) {
+            NavigableMap<Long, AckData> range = markedAcknowledgments.headMap(deliveryTag, true);
+            pendingAcknowledgments.putAll(range);
+            range.clear();
+        }
+
+        synchronized Collection<AckData> removeMarkedAcknowledgments() {
             ArrayList<AckData> ackedMessages = new ArrayList<>(markedAcknowledgments.values());
             markedAcknowledgments.clear();
-            checkAndEnableHasRoom();
+            ackedMessages.forEach(this::removeFromWindows);
             return ackedMessages;
         }
-        private void checkAndDisableHasRoom() {
-            if (hasRoom.get() && pendingAcknowledgments.size() >= prefetchCount) {
-                hasRoom.set(false);
-            }
+
+        synchronized int size() {
+            return pendingAcknowledgments.size();
         }
 
-        void releaseAndRemoveMessages(String queueName) {
+        synchronized void releaseAndRemoveMessages(String queueName) {
             releaseAndRemoveMessagesFromMap(queueName, pendingAcknowledgments);
             releaseAndRemoveMessagesFromMap(queueName, markedAcknowledgments);
-            checkAndEnableHasRoom();
+        }
+
+        private Collection<AckData> removeRange(NavigableMap<Long, AckData> map, long deliveryTag) {
+            NavigableMap<Long, AckData> range = map.headMap(deliveryTag, true);
+            Collection<AckData> ackDataList = new ArrayList<>(range.values());
+            range.clear();
+            ackDataList.forEach(this::removeFromWindows);
+            return ackDataList;
+        }
+
+        /**
+         * Deliveries count towards the prefetch windows until they leave the map. Acknowledgments marked within a
+         * transaction hold their room until the transaction is committed.
+         */
+        private void removeFromWindows(AckData ackData) {
+            long contentLength = ackData.getMessage().getContentLength();
+            channelWindow.remove(contentLength);
+            ackData.getConsumerWindow().remove(contentLength);
         }
 
         private void releaseAndRemoveMessagesFromMap(String queueName, Map<Long, AckData> map) {
@@ -622,6 +984,7 @@ public class AmqpChannel implements AmqpChannelView {
                 Map.Entry<Long, AckData> entry = iterator.next();
                 AckData ackData = entry.getValue();
                 if (ackData.getQueueName().equals(queueName)) {
+                    removeFromWindows(ackData);
                     ackData.getMessage().release();
                     iterator.remove();
                 }
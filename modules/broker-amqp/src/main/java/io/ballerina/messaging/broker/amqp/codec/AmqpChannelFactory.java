@@ -30,13 +30,16 @@ public class AmqpChannelFactory {
 
     private AmqpServerConfiguration configuration;
     private AmqpMetricManager metricManager;
+    private DirectReplyRegistry directReplyRegistry;
 
     public AmqpChannelFactory(AmqpServerConfiguration configuration, AmqpMetricManager metricManager) {
         this.configuration = configuration;
         this.metricManager = metricManager;
+        this.directReplyRegistry = new DirectReplyRegistry();
     }
 
     public AmqpChannel createChannel(Broker broker, int channelId, AmqpConnectionHandler amqpConnectionHandler) {
-        return new AmqpChannel(configuration, broker, channelId, metricManager, amqpConnectionHandler);
+        return new AmqpChannel(configuration, broker, channelId, metricManager, amqpConnectionHandler,
+                               directReplyRegistry);
     }
 }
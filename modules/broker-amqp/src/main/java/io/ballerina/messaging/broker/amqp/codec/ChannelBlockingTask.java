@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec;
+
+/**
+ * {@link BlockingTask} bound to an AMQP channel. Tasks of the same channel are executed in the order they were
+ * submitted while tasks of different channels of a connection may execute in parallel.
+ */
+public final class ChannelBlockingTask implements BlockingTask {
+
+    private final int channelId;
+
+    private final BlockingTask task;
+
+    /**
+     * True if the channel is closed once the task is executed.
+     */
+    private final boolean closesChannel;
+
+    public ChannelBlockingTask(int channelId, BlockingTask task) {
+        this(channelId, task, false);
+    }
+
+    public ChannelBlockingTask(int channelId, BlockingTask task, boolean closesChannel) {
+        this.channelId = channelId;
+        this.task = task;
+        this.closesChannel = closesChannel;
+    }
+
+    @Override
+    public void execute() throws Exception {
+        task.execute();
+    }
+
+    /**
+     * Getter for channelId.
+     */
+    public int getChannelId() {
+        return channelId;
+    }
+
+    /**
+     * Getter for closesChannel.
+     */
+    public boolean closesChannel() {
+        return closesChannel;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec;
+
+import io.ballerina.messaging.broker.core.ContentChunk;
+import io.ballerina.messaging.broker.core.Message;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the content of a large message to a temporary file as the content frames arrive. Once the last frame is
+ * written the file is memory mapped and the message is given content chunks backed by the mapping. Hence direct
+ * memory held while receiving the message is bounded by the frames that are yet to be written.
+ */
+public final class ContentSpool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentSpool.class);
+
+    private static final String FILE_PREFIX = "message-";
+
+    private static final String FILE_SUFFIX = ".spool";
+
+    /**
+     * Maximum size of a single mapped region of the spool file.
+     */
+    private static final long MAX_REGION_SIZE = 64L * 1024 * 1024;
+
+    private final Path directory;
+
+    private final long messageId;
+
+    private final List<Integer> frameLengths = new ArrayList<>();
+
+    private FileChannel fileChannel;
+
+    private IOException error;
+
+    private boolean closed;
+
+    ContentSpool(Path directory, long messageId) {
+        this.directory = directory;
+        this.messageId = messageId;
+    }
+
+    /**
+     * Append a content frame to the spool file. The payload is released once written. Failures are reported when
+     * the spool is completed.
+     *
+     * @param payload content frame payload
+     */
+    public synchronized void write(ByteBuf payload) {
+        try {
+            if (closed || Objects.nonNull(error)) {
+                return;
+            }
+            if (Objects.isNull(fileChannel)) {
+                Files.createDirectories(directory);
+                Path file = Files.createTempFile(directory, FILE_PREFIX + messageId + "-", FILE_SUFFIX);
+                fileChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                               StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            ByteBuffer buffer = payload.nioBuffer();
+            frameLengths.add(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Add the spooled content to the message as content chunks backed by the spool file. The file is removed from
+     * the file system while the mapping stays valid until the chunks are garbage collected.
+     *
+     * @param message message the content belongs to
+     * @throws IOException if writing or mapping the spool file failed
+     */
+    public synchronized void complete(Message message) throws IOException {
+        try {
+            if (Objects.nonNull(error)) {
+                throw error;
+            }
+            if (closed || Objects.isNull(fileChannel)) {
+                throw new IOException("Content spool of message " + messageId + " is already closed");
+            }
+            int regionStart = 0;
+            long regionOffset = 0;
+            long regionLength = 0;
+            for (int i = 0; i < frameLengths.size(); i++) {
+                int frameLength = frameLengths.get(i);
+                if (regionLength > 0 && regionLength + frameLength > MAX_REGION_SIZE) {
+                    mapRegion(message, regionOffset, regionLength, regionStart, i);
+                    regionOffset += regionLength;
+                    regionLength = 0;
+                    regionStart = i;
+                }
+                regionLength += frameLength;
+            }
+            mapRegion(message, regionOffset, regionLength, regionStart, frameLengths.size());
+        } finally {
+            close();
+        }
+    }
+
+    private void mapRegion(Message message, long offset, long length, int startFrame, int endFrame)
+            throws IOException {
+        ByteBuf region = Unpooled.wrappedBuffer(fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        try {
+            int position = 0;
+            for (int i = startFrame; i < endFrame; i++) {
+                int frameLength = frameLengths.get(i);
+                message.addChunk(new ContentChunk(offset + position, region.retainedSlice(position, frameLength)));
+                position += frameLength;
+            }
+        } finally {
+            region.release();
+        }
+    }
+
+    /**
+     * Discard the spooled content and remove the spool file.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        frameLengths.clear();
+        if (Objects.nonNull(fileChannel)) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error while closing content spool of message {}", messageId, e);
+            }
+        }
+    }
+}
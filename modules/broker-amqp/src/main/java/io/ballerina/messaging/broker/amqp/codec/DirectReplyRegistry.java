@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec;
+
+import io.ballerina.messaging.broker.amqp.consumer.DirectReplyConsumer;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.core.ExchangeRegistry;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+import io.netty.channel.ChannelHandlerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the consumers of the direct reply-to pseudo queue. Replies published to the default exchange with a
+ * reply-to address as the routing key are delivered straight to the consumer of the requesting channel without
+ * going through a queue.
+ */
+public class DirectReplyRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectReplyRegistry.class);
+
+    /**
+     * Name of the pseudo queue consumed by RPC clients and used as the reply-to property of requests.
+     */
+    public static final String PSEUDO_QUEUE = "amq.rabbitmq.reply-to";
+
+    private static final ShortString PSEUDO_QUEUE_NAME = ShortString.parseString(PSEUDO_QUEUE);
+
+    private static final String ADDRESS_PREFIX = PSEUDO_QUEUE + ".";
+
+    private final Map<String, DirectReplyConsumer> consumers = new ConcurrentHashMap<>();
+
+    /**
+     * Register a consumer with a new reply-to address.
+     *
+     * @param ctx         channel handler context of the consumer connection
+     * @param channel     channel the consumer belongs to
+     * @param consumerTag consumer tag
+     * @return registered consumer
+     */
+    public DirectReplyConsumer register(ChannelHandlerContext ctx, AmqpChannel channel, ShortString consumerTag) {
+        String address = ADDRESS_PREFIX + UUID.randomUUID();
+        DirectReplyConsumer consumer = new DirectReplyConsumer(ctx, channel, consumerTag, address);
+        consumers.put(address, consumer);
+        return consumer;
+    }
+
+    public void unregister(DirectReplyConsumer consumer) {
+        consumers.remove(consumer.getAddress());
+    }
+
+    /**
+     * Deliver the message to the consumer of its reply-to address. Replies to addresses without a consumer are
+     * dropped.
+     *
+     * @param message message to be delivered
+     * @return false if the message is not addressed to a reply-to address and needs to be routed to queues
+     */
+    public boolean deliver(Message message) {
+        if (!isReply(message)) {
+            return false;
+        }
+
+        String routingKey = message.getMetadata().getRoutingKey();
+        DirectReplyConsumer consumer = consumers.get(routingKey);
+        if (Objects.nonNull(consumer)) {
+            consumer.send(message);
+        } else {
+            LOGGER.debug("Dropping reply since no consumer found for reply-to address {}", routingKey);
+            message.release();
+        }
+        return true;
+    }
+
+    /**
+     * Check if the message is published to the default exchange with a reply-to address as the routing key.
+     *
+     * @param message published message
+     * @return true if the message is a reply to be delivered to a direct reply-to consumer
+     */
+    public static boolean isReply(Message message) {
+        Metadata metadata = message.getMetadata();
+        return metadata.getRoutingKey().startsWith(ADDRESS_PREFIX)
+                && isDefaultExchange(metadata.getExchangeName());
+    }
+
+    public static boolean isPseudoQueue(ShortString queueName) {
+        return PSEUDO_QUEUE_NAME.equals(queueName);
+    }
+
+    private static boolean isDefaultExchange(String exchangeName) {
+        return exchangeName.isEmpty() || ExchangeRegistry.DEFAULT.equals(exchangeName);
+    }
+}
@@ -20,6 +20,8 @@
 package io.ballerina.messaging.broker.amqp.codec;
 
 import io.ballerina.messaging.broker.amqp.AmqpException;
+import io.ballerina.messaging.broker.amqp.AmqpServerConfiguration;
+import io.ballerina.messaging.broker.amqp.codec.confirm.PublishConfirmTracker;
 import io.ballerina.messaging.broker.auth.AuthException;
 import io.ballerina.messaging.broker.auth.AuthNotFoundException;
 import io.ballerina.messaging.broker.common.data.types.FieldTable;
@@ -30,17 +32,22 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.ContentChunk;
 import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Metadata;
+import io.ballerina.messaging.broker.core.PublishConfirm;
 import io.ballerina.messaging.broker.core.transaction.BrokerTransaction;
 import io.ballerina.messaging.broker.core.util.MessageTracer;
 import io.ballerina.messaging.broker.core.util.TraceField;
 import io.netty.buffer.ByteBuf;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * Handles incoming AMQP message frames and creates {@link Message}.
+ * Handles incoming AMQP message frames and creates {@link Message}. Content of persistent messages larger than the
+ * configured spool threshold is written to a {@link ContentSpool} instead of being held in memory.
  */
 public class InMemoryMessageAggregator {
 
@@ -54,14 +61,38 @@ public class InMemoryMessageAggregator {
 
     private BrokerTransaction transaction;
 
+    private PublishConfirmTracker publishConfirmTracker;
+
     private String routingKey;
 
     private String exchangeName;
 
     private long receivedPayloadSize;
 
-    InMemoryMessageAggregator(BrokerTransaction transaction) {
+    private ContentSpool contentSpool;
+
+    private final long spoolThreshold;
+
+    private final Path spoolDirectory;
+
+    private final Broker broker;
+
+    private final DirectReplyRegistry directReplyRegistry;
+
+    /**
+     * Reply-to address of the direct reply-to consumer of the channel. Null if there is no such consumer.
+     */
+    private volatile String directReplyAddress;
+
+    InMemoryMessageAggregator(Broker broker,
+                              BrokerTransaction transaction,
+                              AmqpServerConfiguration.LargeMessageDetails largeMessageDetails,
+                              DirectReplyRegistry directReplyRegistry) {
+        this.broker = broker;
         this.transaction = transaction;
+        this.directReplyRegistry = directReplyRegistry;
+        this.spoolThreshold = largeMessageDetails.getSpoolThreshold();
+        this.spoolDirectory = Paths.get(largeMessageDetails.getSpoolDirectory());
     }
 
     public void basicPublishReceived(ShortString routingKey, ShortString exchangeName) {
@@ -82,6 +113,9 @@ public class InMemoryMessageAggregator {
         metadata.setProperties(properties);
         metadata.setHeaders(headers);
         message = new Message(messageId, metadata);
+        if (spoolThreshold > 0 && payloadSize >= spoolThreshold && metadata.isPersistent()) {
+            contentSpool = new ContentSpool(spoolDirectory, messageId);
+        }
         trace(message);
     }
 
@@ -102,24 +136,103 @@ public class InMemoryMessageAggregator {
         routingKey = null;
         exchangeName = null;
         receivedPayloadSize = 0;
+        contentSpool = null;
     }
 
-    public void publish(Message message) throws BrokerException, AuthNotFoundException, AuthException {
+    /**
+     * Publish a message popped from the aggregator. Replies addressed to a direct reply-to consumer are delivered
+     * to the consumer without being routed to queues, once the publisher is authorized to publish to the default
+     * exchange.
+     *
+     * @param message      message to be published
+     * @param contentSpool spool holding the content of the message, or null if the content is held in memory
+     * @throws ChannelException if the message requests a direct reply while the channel has no reply consumer
+     */
+    public void publish(Message message, ContentSpool contentSpool)
+            throws BrokerException, AuthNotFoundException, AuthException, ChannelException {
         if (MessageTracer.isTraceEnabled()) {
             MessageTracer.trace(message, PUBLISH_MESSAGE);
         }
-        transaction.enqueue(message);
+        PublishConfirm publishConfirm = message.getPublishConfirm();
+        try {
+            if (Objects.nonNull(contentSpool)) {
+                completeSpool(message, contentSpool);
+            }
+            setDirectReplyAddress(message);
+            if (DirectReplyRegistry.isReply(message)) {
+                authorizeReply(message);
+                directReplyRegistry.deliver(message);
+                if (Objects.nonNull(publishConfirm)) {
+                    publishConfirm.completeAndFlush(true);
+                }
+                return;
+            }
+            transaction.enqueue(message);
+        } catch (BrokerException | AuthNotFoundException | AuthException | ChannelException e) {
+            if (Objects.nonNull(publishConfirm)) {
+                publishConfirm.completeAndFlush(false);
+            }
+            throw e;
+        }
+    }
+
+    private void authorizeReply(Message message) throws BrokerException {
+        try {
+            broker.authorizePublish(message.getMetadata().getExchangeName());
+        } catch (BrokerException e) {
+            message.release();
+            throw e;
+        }
     }
 
+    private void setDirectReplyAddress(Message message) throws ChannelException {
+        FieldValue replyTo = message.getMetadata().getProperty(Metadata.REPLY_TO);
+        if (Objects.isNull(replyTo) || !DirectReplyRegistry.PSEUDO_QUEUE.equals(replyTo.getValue().toString())) {
+            return;
+        }
+        String address = directReplyAddress;
+        if (Objects.isNull(address)) {
+            message.release();
+            throw new ChannelException(ChannelException.PRECONDITION_FAILED,
+                                       "Direct reply-to consumer does not exist for the channel");
+        }
+        message.getMetadata().getProperties().add(Metadata.REPLY_TO, FieldValue.parseShortString(address));
+    }
+
+    private void completeSpool(Message message, ContentSpool contentSpool) throws BrokerException {
+        try {
+            contentSpool.complete(message);
+        } catch (IOException e) {
+            message.release();
+            throw new BrokerException("Error while reading spooled content of message " + message.getInternalId(),
+                                      e);
+        }
+    }
+
+    /**
+     * Add a content frame to the message being aggregated. If the content is spooled the payload is not retained and
+     * has to be written to the spool returned by {@link #getContentSpool()} by the caller.
+     *
+     * @param length  length of the content frame payload
+     * @param payload content frame payload
+     * @return true if all the content of the message is received
+     * @throws AmqpException if more content than the expected content length is received
+     */
     public boolean contentBodyReceived(long length, ByteBuf payload) throws AmqpException {
-        ContentChunk contentChunk = new ContentChunk(receivedPayloadSize, payload);
-        message.addChunk(contentChunk);
+        if (Objects.isNull(contentSpool)) {
+            ContentChunk contentChunk = new ContentChunk(receivedPayloadSize, payload);
+            message.addChunk(contentChunk);
+        }
         receivedPayloadSize += length;
         long contentLength = message.getMetadata().getContentLength();
 
         if (contentLength == receivedPayloadSize) {
             return true;
         } else if (contentLength < receivedPayloadSize) {
+            Message message = this.message;
+            if (Objects.nonNull(contentSpool)) {
+                payload.release();
+            }
             clear();
             message.release();
             throw new AmqpException("Content length mismatch. Received content more than the expected size");
@@ -128,14 +241,52 @@ public class InMemoryMessageAggregator {
         return false;
     }
 
+    /**
+     * Getter for contentSpool.
+     */
+    public ContentSpool getContentSpool() {
+        return contentSpool;
+    }
+
     public Message popMessage() {
         Message message = this.message;
         clear();
+        if (Objects.nonNull(publishConfirmTracker)) {
+            message.setPublishConfirm(publishConfirmTracker.newConfirm());
+        }
 
         return message;
     }
 
+    /**
+     * Discard the content spooled for a partially received message when the channel is closed.
+     */
+    public void close() {
+        ContentSpool contentSpool = this.contentSpool;
+        if (Objects.nonNull(contentSpool)) {
+            contentSpool.close();
+        }
+    }
+
+    /**
+     * Set the reply-to address given to requests published with the direct reply-to pseudo queue as reply-to.
+     *
+     * @param directReplyAddress reply-to address of the direct reply-to consumer of the channel
+     */
+    public void setDirectReplyAddress(String directReplyAddress) {
+        this.directReplyAddress = directReplyAddress;
+    }
+
     public void setTransaction(BrokerTransaction transaction) {
         this.transaction = transaction;
     }
+
+    /**
+     * Set the tracker used to assign sequence numbers to published messages once the channel is in confirm mode.
+     *
+     * @param publishConfirmTracker publisher confirm tracker of the channel
+     */
+    public void setPublishConfirmTracker(PublishConfirmTracker publishConfirmTracker) {
+        this.publishConfirmTracker = publishConfirmTracker;
+    }
 }
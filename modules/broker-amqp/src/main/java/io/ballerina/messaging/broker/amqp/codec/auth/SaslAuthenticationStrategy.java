@@ -49,12 +49,15 @@ public class SaslAuthenticationStrategy implements AuthenticationStrategy {
 
     private String hostName;
 
+    private final int heartbeat;
+
     SaslAuthenticationStrategy(AuthManager authManager,
                                BrokerFactory brokerFactory,
                                AmqpServerConfiguration configuration) {
         this.authManager = authManager;
         this.brokerFactory = brokerFactory;
         this.hostName = configuration.getHostName();
+        this.heartbeat = configuration.getHeartbeat();
     }
 
     @Override
@@ -69,7 +72,7 @@ public class SaslAuthenticationStrategy implements AuthenticationStrategy {
             if (saslServer.isComplete()) {
                 Subject subject = UsernamePrincipal.createSubject(saslServer.getAuthorizationID());
                 connectionHandler.attachBroker(brokerFactory.getBroker(subject));
-                ctx.writeAndFlush(new ConnectionTune(256, 65535, 0));
+                ctx.writeAndFlush(new ConnectionTune(256, 65535, heartbeat));
                 ctx.channel().attr(AttributeKey.valueOf(SASL_SERVER_ATTRIBUTE)).set(null);
             } else {
                 ctx.writeAndFlush(new ConnectionSecure(channel, LongString.parse(challenge)));
@@ -97,7 +100,7 @@ public class SaslAuthenticationStrategy implements AuthenticationStrategy {
             if (saslServer.isComplete()) {
                 Subject subject = UsernamePrincipal.createSubject(saslServer.getAuthorizationID());
                 connectionHandler.attachBroker(brokerFactory.getBroker(subject));
-                ctx.writeAndFlush(new ConnectionTune(256, 65535, 0));
+                ctx.writeAndFlush(new ConnectionTune(256, 65535, heartbeat));
             } else {
                 ctx.channel().attr(AttributeKey.valueOf(SASL_SERVER_ATTRIBUTE)).set(saslServer);
                 ctx.writeAndFlush(new ConnectionSecure(channel, LongString.parse(challenge)));
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.confirm;
+
+import io.ballerina.messaging.broker.amqp.codec.frames.BasicAck;
+import io.ballerina.messaging.broker.amqp.codec.frames.BasicNack;
+import io.ballerina.messaging.broker.amqp.codec.frames.MethodFrame;
+import io.ballerina.messaging.broker.core.PublishConfirm;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Tracks publisher confirms of a channel in confirm mode. Sequence numbers are assigned in publish order. Messages
+ * are confirmed by the broker in any order, but confirms are sent to the publisher only up to the lowest
+ * unconfirmed sequence number. Hence every confirm frame is sent with the multiple flag set and a single frame
+ * covers all the messages confirmed in a batch.
+ */
+public class PublishConfirmTracker implements PublishConfirm.Listener {
+
+    private final int channelId;
+
+    private final ChannelHandlerContext ctx;
+
+    /**
+     * Sequence number of the last published message. The first message published after confirm.select gets 1.
+     */
+    private long lastSequenceNumber = 0;
+
+    /**
+     * Sequence numbers of the messages which are not yet confirmed by the broker.
+     */
+    private final NavigableSet<Long> unconfirmed = new TreeSet<>();
+
+    /**
+     * Confirms which are not yet sent to the publisher. Mapped to true for an ack and false for a nack.
+     */
+    private final NavigableMap<Long, Boolean> pendingConfirms = new TreeMap<>();
+
+    private boolean closed = false;
+
+    public PublishConfirmTracker(int channelId, ChannelHandlerContext ctx) {
+        this.channelId = channelId;
+        this.ctx = ctx;
+    }
+
+    /**
+     * Assign the next sequence number to a published message.
+     *
+     * @return confirmation to be attached to the published message
+     */
+    public synchronized PublishConfirm newConfirm() {
+        lastSequenceNumber++;
+        unconfirmed.add(lastSequenceNumber);
+        return new PublishConfirm(lastSequenceNumber, this);
+    }
+
+    @Override
+    public synchronized void onConfirm(long sequenceNumber, boolean ack) {
+        if (unconfirmed.remove(sequenceNumber)) {
+            pendingConfirms.put(sequenceNumber, ack);
+        }
+    }
+
+    /**
+     * Send the confirms which are ready to the publisher. Frames are written while holding the lock so that frames
+     * drained by concurrent flushes reach the channel in sequence number order.
+     */
+    @Override
+    public synchronized void flush() {
+        List<MethodFrame> frames = drainConfirmFrames();
+        if (frames.isEmpty()) {
+            return;
+        }
+        for (MethodFrame frame : frames) {
+            ctx.write(frame);
+        }
+        ctx.flush();
+    }
+
+    /**
+     * Stop sending confirms. Called when the channel is closed since the channel id can be reused afterwards.
+     */
+    public synchronized void close() {
+        closed = true;
+        unconfirmed.clear();
+        pendingConfirms.clear();
+    }
+
+    /**
+     * Create confirm frames for the confirms below the lowest unconfirmed sequence number. Each run of acks or nacks
+     * results in a single frame.
+     */
+    synchronized List<MethodFrame> drainConfirmFrames() {
+        if (closed || pendingConfirms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        NavigableMap<Long, Boolean> sendableConfirms = unconfirmed.isEmpty()
+                ? pendingConfirms
+                : pendingConfirms.headMap(unconfirmed.first(), false);
+        if (sendableConfirms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<MethodFrame> frames = new ArrayList<>(1);
+        Iterator<Map.Entry<Long, Boolean>> iterator = sendableConfirms.entrySet().iterator();
+        Map.Entry<Long, Boolean> entry = iterator.next();
+        long lastSequenceNumberOfRun = entry.getKey();
+        boolean ack = entry.getValue();
+        while (iterator.hasNext()) {
+            entry = iterator.next();
+            if (entry.getValue() != ack) {
+                frames.add(createConfirmFrame(lastSequenceNumberOfRun, ack));
+                ack = entry.getValue();
+            }
+            lastSequenceNumberOfRun = entry.getKey();
+        }
+        frames.add(createConfirmFrame(lastSequenceNumberOfRun, ack));
+        sendableConfirms.clear();
+        return frames;
+    }
+
+    private MethodFrame createConfirmFrame(long sequenceNumber, boolean ack) {
+        if (ack) {
+            return new BasicAck(channelId, sequenceNumber, true);
+        }
+        return new BasicNack(channelId, sequenceNumber, true, false);
+    }
+}
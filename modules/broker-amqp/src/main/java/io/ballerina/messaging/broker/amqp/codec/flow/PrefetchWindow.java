@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.flow;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Window of unacknowledged deliveries of a consumer or a channel. Both the number of messages and the number of
+ * content bytes can be limited. A limit of zero means no limit. Room is checked before a message is selected for
+ * delivery, hence the byte limit can be exceeded by a single message.
+ */
+public class PrefetchWindow {
+
+    private volatile int prefetchCount;
+
+    private volatile long prefetchSize;
+
+    private final AtomicInteger messageCount = new AtomicInteger(0);
+
+    private final AtomicLong byteCount = new AtomicLong(0);
+
+    public PrefetchWindow(int prefetchCount, long prefetchSize) {
+        this.prefetchCount = prefetchCount;
+        this.prefetchSize = prefetchSize;
+    }
+
+    /**
+     * Update the limits of the window. Deliveries already in the window are not affected.
+     *
+     * @param prefetchCount maximum number of unacknowledged messages, zero for no limit
+     * @param prefetchSize  maximum number of unacknowledged content bytes, zero for no limit
+     */
+    public void setLimits(int prefetchCount, long prefetchSize) {
+        this.prefetchCount = prefetchCount;
+        this.prefetchSize = prefetchSize;
+    }
+
+    /**
+     * Check whether another message can be delivered within the limits of the window.
+     *
+     * @return true if the window has room
+     */
+    public boolean hasRoom() {
+        int countLimit = prefetchCount;
+        if (countLimit > 0 && messageCount.get() >= countLimit) {
+            return false;
+        }
+        long sizeLimit = prefetchSize;
+        return sizeLimit <= 0 || byteCount.get() < sizeLimit;
+    }
+
+    /**
+     * Add a delivery to the window.
+     *
+     * @param contentLength content length of the delivered message
+     */
+    public void add(long contentLength) {
+        messageCount.incrementAndGet();
+        byteCount.addAndGet(contentLength);
+    }
+
+    /**
+     * Remove an acknowledged, rejected or recovered delivery from the window.
+     *
+     * @param contentLength content length of the delivered message
+     */
+    public void remove(long contentLength) {
+        messageCount.decrementAndGet();
+        byteCount.addAndGet(-contentLength);
+    }
+
+    /**
+     * Getter for prefetchCount.
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Getter for prefetchSize.
+     */
+    public long getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    public int getMessageCount() {
+        return messageCount.get();
+    }
+
+    public long getByteCount() {
+        return byteCount.get();
+    }
+}
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -56,7 +56,15 @@ public class BasicAck extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
-        ctx.fireChannelRead((BlockingTask) () -> channel.acknowledge(deliveryTag, multiple));
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> channel.acknowledge(deliveryTag, multiple)));
+    }
+
+    public long getDeliveryTag() {
+        return deliveryTag;
+    }
+
+    public boolean isMultiple() {
+        return multiple;
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.data.types.ShortString;
@@ -65,7 +65,7 @@ public class BasicCancel extends MethodFrame {
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
 
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.cancelConsumer(consumerTag);
                 ctx.writeAndFlush(new BasicCancelOk(getChannel(), consumerTag));
@@ -74,7 +74,7 @@ public class BasicCancel extends MethodFrame {
                 ctx.writeAndFlush(new ChannelClose(getChannel(), e.getReplyCode(),
                         ShortString.parseString(e.getMessage()), CLASS_ID, METHOD_ID));
             }
-        });
+        }));
     }
 
     /**
@@ -20,8 +20,9 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
+import io.ballerina.messaging.broker.amqp.codec.DirectReplyRegistry;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.amqp.consumer.AmqpConsumer;
 import io.ballerina.messaging.broker.common.data.types.FieldTable;
@@ -103,11 +104,22 @@ public class BasicConsume extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
+                if (DirectReplyRegistry.isPseudoQueue(queue)) {
+                    ShortString tag = channel.consumeDirectReplies(consumerTag, noAck, ctx);
+                    ctx.writeAndFlush(new BasicConsumeOk(getChannel(), tag));
+                    return;
+                }
                 AmqpConsumer consumer = channel.consume(queue, consumerTag, exclusive, ctx);
                 ctx.writeAndFlush(new BasicConsumeOk(getChannel(), consumer.getConsumerTag()));
                 consumer.enableConsume();
+            } catch (ChannelException e) {
+                ctx.writeAndFlush(new ChannelClose(getChannel(),
+                                                   e.getReplyCode(),
+                                                   ShortString.parseString(e.getMessage()),
+                                                   CLASS_ID,
+                                                   METHOD_ID));
             } catch (BrokerAuthException | BrokerAuthNotFoundException e) {
                 ctx.writeAndFlush(new ChannelClose(getChannel(),
                                                    ChannelException.ACCESS_REFUSED,
@@ -121,7 +133,7 @@ public class BasicConsume extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
     }
 
     /**
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.frames;
+
+import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelException;
+import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
+import io.ballerina.messaging.broker.common.ResourceNotFoundException;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.core.BrokerAuthException;
+import io.ballerina.messaging.broker.core.BrokerAuthNotFoundException;
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.ballerina.messaging.broker.core.ExclusiveAccessException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * AMQP frame for basic.get.
+ * Parameter Summary:
+ *     1. reserved-1 (short) - deprecated ticket, used as the maximum number of messages to fetch
+ *     2. queue (ShortString) - queue name
+ *     3. no-ack (bit) - no acknowledgement needed
+ *
+ * <p>As a broker extension a client can fetch up to the number of messages given in the reserved field in one round
+ * trip. Each message is sent with its own basic.get-ok. Standard clients send zero which fetches a single message.
+ */
+public class BasicGet extends MethodFrame {
+
+    private static final short CLASS_ID = 60;
+
+    private static final short METHOD_ID = 70;
+
+    private final int maxMessages;
+
+    private final ShortString queue;
+
+    private final boolean noAck;
+
+    public BasicGet(int channel, int maxMessages, ShortString queue, boolean noAck) {
+        super(channel, CLASS_ID, METHOD_ID);
+        this.maxMessages = maxMessages;
+        this.queue = queue;
+        this.noAck = noAck;
+    }
+
+    @Override
+    protected long getMethodBodySize() {
+        return 2L + queue.getSize() + 1L;
+    }
+
+    @Override
+    protected void writeMethod(ByteBuf buf) {
+        buf.writeShort(maxMessages);
+        queue.write(buf);
+        buf.writeBoolean(noAck);
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
+        AmqpChannel channel = connectionHandler.getChannel(getChannel());
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
+            try {
+                int messageCount = channel.get(queue, Math.max(1, maxMessages), noAck, ctx);
+                if (messageCount == 0) {
+                    ctx.writeAndFlush(new BasicGetEmpty(getChannel()));
+                }
+            } catch (ResourceNotFoundException e) {
+                ctx.writeAndFlush(new ChannelClose(getChannel(),
+                                                   ChannelException.NOT_FOUND,
+                                                   ShortString.parseString(e.getMessage()),
+                                                   CLASS_ID,
+                                                   METHOD_ID));
+            } catch (BrokerAuthException | BrokerAuthNotFoundException | ExclusiveAccessException e) {
+                ctx.writeAndFlush(new ChannelClose(getChannel(),
+                                                   ChannelException.ACCESS_REFUSED,
+                                                   ShortString.parseString(e.getMessage()),
+                                                   CLASS_ID,
+                                                   METHOD_ID));
+            } catch (BrokerException e) {
+                ctx.writeAndFlush(new ChannelClose(getChannel(),
+                                                   ChannelException.NOT_ALLOWED,
+                                                   ShortString.parseString(e.getMessage()),
+                                                   CLASS_ID,
+                                                   METHOD_ID));
+            }
+        }));
+    }
+
+    /**
+     * Getter for maxMessages.
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Getter for queue.
+     */
+    public ShortString getQueue() {
+        return queue;
+    }
+
+    /**
+     * Getter for noAck.
+     */
+    public boolean isNoAck() {
+        return noAck;
+    }
+
+    public static AmqMethodBodyFactory getFactory() {
+        return (buf, channel, size) -> {
+            int maxMessages = buf.readUnsignedShort();
+            ShortString queue = ShortString.parse(buf);
+            boolean noAck = buf.readBoolean();
+            return new BasicGet(channel, maxMessages, queue, noAck);
+        };
+    }
+}
@@ -58,10 +58,9 @@ public class BasicQos extends MethodFrame {
 
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
-        // TODO QoS Parameters should be propagated to message prefetch logic
         int channelId = getChannel();
         AmqpChannel channel = connectionHandler.getChannel(channelId);
-        channel.setPrefetchCount(prefetchCount);
+        channel.setQos(prefetchCount, prefetchWindowSize, global);
         ctx.writeAndFlush(new BasicQosOk(channelId));
     }
 
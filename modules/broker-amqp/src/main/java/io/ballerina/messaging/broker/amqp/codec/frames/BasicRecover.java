@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.amqp.consumer.AckData;
 import io.ballerina.messaging.broker.core.Message;
@@ -62,12 +62,12 @@ public class BasicRecover extends MethodFrame {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
 
         if (isRequeue()) {
-            ctx.fireChannelRead((BlockingTask) () -> {
+            ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
                 channel.requeueAll();
                 ctx.writeAndFlush(new BasicRecoveryOk(getChannel()));
-            });
+            }));
         } else {
-            ctx.fireChannelRead((BlockingTask) () -> {
+            ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
                 Channel nettyChannel = ctx.channel();
                 nettyChannel.write(new BasicRecoveryOk(getChannel()));
 
@@ -76,10 +76,11 @@ public class BasicRecover extends MethodFrame {
                     Message message = ackData.getMessage();
                     nettyChannel.write(channel.createDeliverMessage(message,
                                                               ackData.getConsumerTag(),
+                                                              ackData.getConsumerWindow(),
                                                               ackData.getQueueName()));
                 }
                 nettyChannel.flush();
-            });
+            }));
         }
     }
 
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.ConnectionException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
@@ -77,7 +77,7 @@ public class BasicReject extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.reject(deliveryTag, requeue);
             } catch (ResourceNotFoundException e) {
@@ -94,7 +94,7 @@ public class BasicReject extends MethodFrame {
                                                       CLASS_ID,
                                                       METHOD_ID));
             }
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
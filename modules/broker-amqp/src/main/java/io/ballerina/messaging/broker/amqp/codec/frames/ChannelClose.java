@@ -19,7 +19,7 @@
 
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.netty.buffer.ByteBuf;
@@ -64,10 +64,10 @@ public class ChannelClose extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         int channelId = getChannel();
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             connectionHandler.closeChannel(channelId);
             ctx.writeAndFlush(new ChannelCloseOk(channelId));
-        });
+        }, true));
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -19,7 +19,7 @@
 
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -47,7 +47,8 @@ public class ChannelCloseOk extends MethodFrame {
 
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
-        ctx.fireChannelRead((BlockingTask) () -> connectionHandler.closeChannel(getChannel()));
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> connectionHandler.closeChannel(getChannel()),
+                                                    true));
     }
 
     public static AmqMethodBodyFactory getFactory() {
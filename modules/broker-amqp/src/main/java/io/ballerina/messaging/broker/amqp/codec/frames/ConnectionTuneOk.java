@@ -57,7 +57,7 @@ public class ConnectionTuneOk extends MethodFrame {
 
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
-        // TODO add tuning logic
+        connectionHandler.startHeartbeat(heartbeat);
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -21,8 +21,9 @@ package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.AmqpException;
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
+import io.ballerina.messaging.broker.amqp.codec.ContentSpool;
 import io.ballerina.messaging.broker.amqp.codec.InMemoryMessageAggregator;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.auth.AuthException;
@@ -73,20 +74,30 @@ public class ContentFrame extends GeneralFrame {
 
         boolean allContentReceived;
         InMemoryMessageAggregator messageAggregator = channel.getMessageAggregator();
+        ContentSpool contentSpool = messageAggregator.getContentSpool();
 
         try {
             allContentReceived = messageAggregator.contentBodyReceived(length, payload);
         } catch (AmqpException e) {
             LOGGER.warn("Content receiving failed", e);
+            if (contentSpool != null) {
+                ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), contentSpool::close));
+            }
             return;
         }
 
+        if (contentSpool != null) {
+            // Spooled content is written outside the event loop. Tasks of the channel run in order, hence the
+            // content is fully written before the message is published.
+            ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> contentSpool.write(payload)));
+        }
+
         if (allContentReceived) {
             Message message = messageAggregator.popMessage();
 
-            ctx.fireChannelRead((BlockingTask) () -> {
+            ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
                 try {
-                    messageAggregator.publish(message);
+                    messageAggregator.publish(message, contentSpool);
                     // flow manager should always be executed through the event loop
                     ctx.executor().submit(() -> channel.getFlowManager().notifyMessageRemoval(ctx));
                 } catch (BrokerException e) {
@@ -97,15 +108,49 @@ public class ContentFrame extends GeneralFrame {
                                                        ShortString.parseString(e.getMessage()),
                                                        BasicPublish.CLASS_ID,
                                                        BasicPublish.METHOD_ID));
+                } catch (ChannelException e) {
+                    ctx.writeAndFlush(new ChannelClose(getChannel(),
+                                                       e.getReplyCode(),
+                                                       ShortString.parseString(e.getMessage()),
+                                                       BasicPublish.CLASS_ID,
+                                                       BasicPublish.METHOD_ID));
                 }
-            });
+            }));
         }
     }
 
-    public static ContentFrame parse(ByteBuf buf, int channel, long payloadSize) {
-        ByteBuf payload = buf.retainedSlice(buf.readerIndex(), (int) payloadSize);
-        buf.skipBytes((int) payloadSize);
+    /**
+     * Parse a content frame from the read buffer. Payloads up to the copy threshold are copied to a right sized
+     * buffer so that a small message does not keep the whole read buffer alive while it is in a queue. Larger
+     * payloads are sliced from the read buffer without copying.
+     *
+     * @param buf           read buffer
+     * @param channel       channel ID of the frame
+     * @param payloadSize   size of the frame payload
+     * @param copyThreshold maximum payload size that is copied
+     * @return parsed content frame
+     */
+    public static ContentFrame parse(ByteBuf buf, int channel, long payloadSize, int copyThreshold) {
+        ByteBuf payload;
+        if (payloadSize <= copyThreshold) {
+            payload = buf.alloc().buffer((int) payloadSize);
+            buf.readBytes(payload, (int) payloadSize);
+        } else {
+            payload = buf.retainedSlice(buf.readerIndex(), (int) payloadSize);
+            buf.skipBytes((int) payloadSize);
+        }
 
         return new ContentFrame(channel, payloadSize, payload);
     }
+
+    /**
+     * Get the number of bytes kept in memory by the payload of the frame. A sliced payload keeps the whole
+     * underlying read buffer alive.
+     *
+     * @return retained bytes
+     */
+    public int getRetainedSize() {
+        ByteBuf unwrapped = payload.unwrap();
+        return unwrapped != null ? unwrapped.capacity() : payload.capacity();
+    }
 }
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.ConnectionException;
 import io.ballerina.messaging.broker.amqp.codec.XaResult;
@@ -84,7 +84,7 @@ public class DtxCommit extends MethodFrame {
         int channelId = getChannel();
         AmqpChannel channel = connectionHandler.getChannel(channelId);
 
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             XidImpl xid = new XidImpl(format, branchId.getBytes(), globalId.getBytes());
             try {
                 channel.commit(xid, onePhase);
@@ -103,7 +103,7 @@ public class DtxCommit extends MethodFrame {
                                                       CLASS_ID,
                                                       METHOD_ID));
             }
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.XaResult;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
@@ -72,7 +72,7 @@ public class DtxForget extends MethodFrame {
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         int channelId = getChannel();
         AmqpChannel channel = connectionHandler.getChannel(channelId);
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.forget(new XidImpl(format, branchId.getBytes(), globalId.getBytes()));
                 ctx.writeAndFlush(new DtxForgetOk(channelId, XaResult.XA_OK.getValue()));
@@ -84,7 +84,7 @@ public class DtxForget extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
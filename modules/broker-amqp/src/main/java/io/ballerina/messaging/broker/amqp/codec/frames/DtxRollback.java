@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.ConnectionException;
 import io.ballerina.messaging.broker.amqp.codec.XaResult;
@@ -76,7 +76,7 @@ public class DtxRollback extends MethodFrame {
         AmqpChannel channel = connectionHandler.getChannel(channelId);
         XidImpl xid = new XidImpl(format, branchId.getBytes(), globalId.getBytes());
 
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.rollback(xid);
                 ctx.writeAndFlush(new DtxRollbackOk(channelId, XaResult.XA_OK.getValue()));
@@ -94,7 +94,7 @@ public class DtxRollback extends MethodFrame {
                                                       CLASS_ID,
                                                       METHOD_ID));
             }
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.XaResult;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
@@ -88,7 +88,7 @@ public class DtxStart extends MethodFrame {
         int channelId = getChannel();
         AmqpChannel channel = connectionHandler.getChannel(channelId);
         XidImpl xid = new XidImpl(format, branchId.getBytes(), globalId.getBytes());
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.startDtx(xid, join, resume);
                 ctx.writeAndFlush(new DtxStartOk(channelId, XaResult.XA_OK.getValue()));
@@ -99,7 +99,7 @@ public class DtxStart extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
 
     }
 
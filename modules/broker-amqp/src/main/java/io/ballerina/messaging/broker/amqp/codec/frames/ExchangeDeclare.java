@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.ValidationException;
@@ -97,7 +97,7 @@ public class ExchangeDeclare extends MethodFrame {
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
 
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.declareExchange(exchange.toString(), type.toString(), passive, durable);
                 ctx.writeAndFlush(new ExchangeDeclareOk(getChannel()));
@@ -120,7 +120,7 @@ public class ExchangeDeclare extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
     }
 
     /**
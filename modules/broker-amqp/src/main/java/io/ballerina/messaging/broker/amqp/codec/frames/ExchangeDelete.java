@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
@@ -70,7 +70,7 @@ public class ExchangeDelete extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 channel.deleteExchange(exchange.toString(), ifUnused);
                 ctx.writeAndFlush(new ExchangeDeleteOk(getChannel()));
@@ -96,7 +96,7 @@ public class ExchangeDelete extends MethodFrame {
                 // For AMQP clients this is not an exception. Respond with message count zero.
                 ctx.writeAndFlush(new ExchangeDeleteOk(getChannel()));
             }
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
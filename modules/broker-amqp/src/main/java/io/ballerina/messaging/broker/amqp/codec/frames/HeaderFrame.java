@@ -53,7 +53,6 @@ public class HeaderFrame extends GeneralFrame {
     private static final int APPLICATION_ID_MASK = 1 << 3;
     private static final int LAST_BIT_MASK = 1;
 
-    private static final ShortString REPLY_TO = ShortString.parseString("replyTo");
     private static final ShortString TIMESTAMP = ShortString.parseString("timestamp");
     private static final ShortString TYPE = ShortString.parseString("type");
     private static final ShortString USER_ID = ShortString.parseString("userId");
@@ -85,7 +84,7 @@ public class HeaderFrame extends GeneralFrame {
         propertyListSize += getPropertySize(properties.getValue(Metadata.DELIVERY_MODE));
         propertyListSize += getPropertySize(properties.getValue(Metadata.PRIORITY));
         propertyListSize += getPropertySize(properties.getValue(Metadata.CORRELATION_ID));
-        propertyListSize += getPropertySize(properties.getValue(REPLY_TO));
+        propertyListSize += getPropertySize(properties.getValue(Metadata.REPLY_TO));
         propertyListSize += getPropertySize(properties.getValue(Metadata.EXPIRATION));
         propertyListSize += getPropertySize(properties.getValue(Metadata.MESSAGE_ID));
         propertyListSize += getPropertySize(properties.getValue(TIMESTAMP));
@@ -131,7 +130,7 @@ public class HeaderFrame extends GeneralFrame {
         writeProperty(buf, properties.getValue(Metadata.DELIVERY_MODE));
         writeProperty(buf, properties.getValue(Metadata.PRIORITY));
         writeProperty(buf, properties.getValue(Metadata.CORRELATION_ID));
-        writeProperty(buf, properties.getValue(REPLY_TO));
+        writeProperty(buf, properties.getValue(Metadata.REPLY_TO));
         writeProperty(buf, properties.getValue(Metadata.EXPIRATION));
         writeProperty(buf, properties.getValue(Metadata.MESSAGE_ID));
         writeProperty(buf, properties.getValue(TIMESTAMP));
@@ -169,7 +168,7 @@ public class HeaderFrame extends GeneralFrame {
         if (properties.getValue(Metadata.CORRELATION_ID) != null) {
             flags |= CORRELATION_ID_MASK;
         }
-        if (properties.getValue(REPLY_TO) != null) {
+        if (properties.getValue(Metadata.REPLY_TO) != null) {
             flags |= REPLY_TO_MASK;
         }
         if (properties.getValue(Metadata.EXPIRATION) != null) {
@@ -312,7 +311,7 @@ public class HeaderFrame extends GeneralFrame {
     }
 
     public void setReplyTo(ShortString replyTo) {
-        properties.add(REPLY_TO, FieldValue.parseShortString(replyTo));
+        properties.add(Metadata.REPLY_TO, FieldValue.parseShortString(replyTo));
     }
 
     public void setExpiration(ShortString expiration) {
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.frames;
+
+import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * AMQP heartbeat frame. Heartbeats are sent on channel zero and do not carry a payload.
+ */
+public class HeartbeatFrame extends GeneralFrame {
+
+    public static final byte TYPE = 8;
+
+    public static final HeartbeatFrame INSTANCE = new HeartbeatFrame();
+
+    private HeartbeatFrame() {
+        super(TYPE, 0);
+    }
+
+    @Override
+    public long getPayloadSize() {
+        return 0;
+    }
+
+    @Override
+    public void writePayload(ByteBuf buf) {
+        // Heartbeat frames do not have a payload
+    }
+
+    @Override
+    public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
+        // Any inbound traffic keeps the connection alive. Nothing else to do.
+    }
+}
@@ -20,7 +20,7 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.ValidationException;
@@ -105,9 +105,9 @@ public class QueueDeclare extends MethodFrame {
         // TODO handle exclusive param
         AmqpChannel channel = connectionHandler.getChannel(getChannel());
 
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
-                channel.declareQueue(queue, passive, durable, autoDelete);
+                channel.declareQueue(queue, passive, durable, autoDelete, arguments);
                 ctx.writeAndFlush(new QueueDeclareOk(getChannel(), queue, 0, 0));
             } catch (ValidationException e) {
                 ctx.writeAndFlush(new ChannelClose(getChannel(),
@@ -129,7 +129,7 @@ public class QueueDeclare extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
     }
 
     /**
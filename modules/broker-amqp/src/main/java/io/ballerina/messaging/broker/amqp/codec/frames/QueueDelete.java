@@ -19,7 +19,7 @@
 
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.ConnectionException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
@@ -93,7 +93,7 @@ public class QueueDelete extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         Broker broker = connectionHandler.getBroker();
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 int messageCount = broker.deleteQueue(queue.toString(), ifUnused, ifEmpty);
                 ctx.writeAndFlush(new QueueDeleteOk(getChannel(), messageCount));
@@ -121,7 +121,7 @@ public class QueueDelete extends MethodFrame {
                         METHOD_ID));
             }
 
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
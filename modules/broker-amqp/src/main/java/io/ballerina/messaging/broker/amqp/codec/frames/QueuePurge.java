@@ -19,7 +19,7 @@
 
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
@@ -67,7 +67,7 @@ public class QueuePurge extends MethodFrame {
     @Override
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         Broker broker = connectionHandler.getBroker();
-        ctx.fireChannelRead((BlockingTask) () -> {
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             try {
                 int numberMessages = broker.purgeQueue(queue.toString());
                 ctx.writeAndFlush(new QueuePurgeOk(getChannel(), numberMessages));
@@ -87,7 +87,7 @@ public class QueuePurge extends MethodFrame {
                                                    CLASS_ID,
                                                    METHOD_ID));
             }
-        });
+        }));
 
     }
 
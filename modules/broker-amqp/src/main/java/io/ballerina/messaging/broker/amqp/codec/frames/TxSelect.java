@@ -20,8 +20,10 @@
 package io.ballerina.messaging.broker.amqp.codec.frames;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
-import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelException;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 
@@ -51,10 +53,19 @@ public class TxSelect extends MethodFrame {
     public void handle(ChannelHandlerContext ctx, AmqpConnectionHandler connectionHandler) {
         int channelId = getChannel();
         AmqpChannel channel = connectionHandler.getChannel(channelId);
-        ctx.fireChannelRead((BlockingTask) () -> {
+        if (channel.isConfirmMode()) {
+            ctx.writeAndFlush(new ChannelClose(channelId,
+                                               ChannelException.PRECONDITION_FAILED,
+                                               ShortString.parseString("Cannot select transactional mode on a "
+                                                                               + "channel in confirm mode"),
+                                               CLASS_ID,
+                                               METHOD_ID));
+            return;
+        }
+        ctx.fireChannelRead(new ChannelBlockingTask(getChannel(), () -> {
             channel.setLocalTransactional();
             ctx.writeAndFlush(new TxSelectOk(channelId));
-        });
+        }));
     }
 
     public static AmqMethodBodyFactory getFactory() {
@@ -32,6 +32,7 @@ import io.ballerina.messaging.broker.amqp.codec.frames.ChannelClose;
 import io.ballerina.messaging.broker.amqp.codec.frames.ConnectionClose;
 import io.ballerina.messaging.broker.amqp.codec.frames.ConnectionStart;
 import io.ballerina.messaging.broker.amqp.codec.frames.GeneralFrame;
+import io.ballerina.messaging.broker.amqp.codec.frames.HeartbeatFrame;
 import io.ballerina.messaging.broker.amqp.codec.frames.ProtocolInitFrame;
 import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
 import io.ballerina.messaging.broker.common.ValidationException;
@@ -41,14 +42,17 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.net.SocketAddress;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -57,7 +61,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class AmqpConnectionHandler extends ChannelInboundHandlerAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AmqpConnectionHandler.class);
-    private final Map<Integer, AmqpChannel> channels = new HashMap<>();
+
+    /**
+     * Name of the idle state handler added to the pipeline when heartbeats are enabled.
+     */
+    private static final String HEARTBEAT_HANDLER_NAME = "heartbeatHandler";
+
+    /**
+     * AMQP channels of the connection. Channels may be closed concurrently since the blocking tasks of different
+     * channels are executed in parallel.
+     */
+    private final Map<Integer, AmqpChannel> channels = new ConcurrentHashMap<>();
 
     /**
      * Holds the views of AMQP channel with disabled operations on them.
@@ -156,6 +170,49 @@ public class AmqpConnectionHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * Sends a heartbeat when nothing was written to the connection within half of the heartbeat interval and closes
+     * the connection when nothing was read from the client within two heartbeat intervals. The connection is not
+     * closed while reading is suspended for flow control since the heartbeats of the client are not read then.
+     */
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+        if (event instanceof IdleStateEvent) {
+            switch (((IdleStateEvent) event).state()) {
+                case WRITER_IDLE:
+                    ctx.writeAndFlush(HeartbeatFrame.INSTANCE);
+                    break;
+                case READER_IDLE:
+                    if (!ctx.channel().config().isAutoRead()) {
+                        break;
+                    }
+                    LOGGER.warn("Closing connection {} from {} since heartbeats were missed", id, remoteAddress);
+                    metricManager.markReapedConnection();
+                    ctx.close();
+                    break;
+                default:
+                    break;
+            }
+        } else {
+            ctx.fireUserEventTriggered(event);
+        }
+    }
+
+    /**
+     * Start heartbeat detection for the connection with the interval negotiated with the client.
+     *
+     * @param heartbeat negotiated heartbeat interval in seconds. Zero disables heartbeats
+     */
+    public void startHeartbeat(int heartbeat) {
+        if (heartbeat <= 0 || Objects.nonNull(ctx.pipeline().get(HEARTBEAT_HANDLER_NAME))) {
+            return;
+        }
+        long intervalMillis = TimeUnit.SECONDS.toMillis(heartbeat);
+        ctx.pipeline().addFirst(HEARTBEAT_HANDLER_NAME,
+                                new IdleStateHandler(intervalMillis * 2, intervalMillis / 2, 0,
+                                                     TimeUnit.MILLISECONDS));
+    }
+
     private SocketAddress getRemoteAddress(ChannelHandlerContext ctx) {
         return ctx.channel().remoteAddress();
     }
@@ -215,11 +272,9 @@ public class AmqpConnectionHandler extends ChannelInboundHandlerAdapter {
     }
 
     public void closeAllChannels() {
-        for (AmqpChannel channel: channels.values()) {
-            closeChannel(channel);
+        for (Integer channelId : channels.keySet()) {
+            closeChannel(channelId);
         }
-
-        channels.clear();
     }
 
     /**
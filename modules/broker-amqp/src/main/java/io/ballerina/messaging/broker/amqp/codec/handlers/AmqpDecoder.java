@@ -25,7 +25,9 @@ import io.ballerina.messaging.broker.amqp.codec.frames.AmqpBadMessage;
 import io.ballerina.messaging.broker.amqp.codec.frames.ContentFrame;
 import io.ballerina.messaging.broker.amqp.codec.frames.GeneralFrame;
 import io.ballerina.messaging.broker.amqp.codec.frames.HeaderFrame;
+import io.ballerina.messaging.broker.amqp.codec.frames.HeartbeatFrame;
 import io.ballerina.messaging.broker.amqp.codec.frames.ProtocolInitFrame;
+import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -54,8 +56,17 @@ public class AmqpDecoder extends ByteToMessageDecoder {
      */
     private static final int MIN_HEADER_FRAME_SIZE = 14;
 
-    public AmqpDecoder(AmqMethodRegistry methodRegistry) {
+    /**
+     * Content frame payloads up to this size are copied out of the read buffer.
+     */
+    private final int contentCopyThreshold;
+
+    private final AmqpMetricManager metricManager;
+
+    public AmqpDecoder(AmqMethodRegistry methodRegistry, int contentCopyThreshold, AmqpMetricManager metricManager) {
         this.methodRegistry = methodRegistry;
+        this.contentCopyThreshold = contentCopyThreshold;
+        this.metricManager = metricManager;
     }
 
     /**
@@ -119,7 +130,7 @@ public class AmqpDecoder extends ByteToMessageDecoder {
 
     private void parseFrame(ByteBuf buffer, List<Object> out) throws Exception {
         buffer.markReaderIndex();
-        if (buffer.readableBytes() > FRAME_SIZE_WITHOUT_PAYLOAD) {
+        if (buffer.readableBytes() >= FRAME_SIZE_WITHOUT_PAYLOAD) {
             byte type = buffer.readByte();
             int channel = buffer.readShort();
             long payloadSize = buffer.readInt();
@@ -143,10 +154,16 @@ public class AmqpDecoder extends ByteToMessageDecoder {
                     frame = HeaderFrame.parse(buffer, channel);
                     break;
                 case 3: // Body
-                    frame = ContentFrame.parse(buffer, channel, payloadSize);
+                    ContentFrame contentFrame = ContentFrame.parse(buffer, channel, payloadSize,
+                                                                   contentCopyThreshold);
+                    metricManager.recordRetainedContentSize(contentFrame.getRetainedSize());
+                    frame = contentFrame;
+                    break;
+                case HeartbeatFrame.TYPE:
+                    frame = HeartbeatFrame.INSTANCE;
                     break;
-                case 4: // Heartbeat
-                    throw new Exception("Method Not implemented");
+                default:
+                    throw new Exception("Invalid AMQP frame type " + type);
             }
 
             byte frameEnd = buffer.readByte();
@@ -20,22 +20,112 @@
 package io.ballerina.messaging.broker.amqp.codec.handlers;
 
 import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * {@code BlockingTaskHandler} is handles by a separate executor group to handle event so that the Netty event loop
- * does not get blocked.
+ * {@code BlockingTaskHandler} hands tasks over to a separate executor so that the Netty event loop does not get
+ * blocked. Tasks of an AMQP channel are executed serially in submission order while the channels of a connection
+ * proceed in parallel. Connection level tasks are executed after the tasks already submitted for every channel.
  */
 public class BlockingTaskHandler extends ChannelInboundHandlerAdapter {
     private static final Logger LOGGER = LoggerFactory.getLogger(BlockingTaskHandler.class);
 
+    /**
+     * Channel zero is used for connection level communication in AMQP.
+     */
+    private static final int CONNECTION_CHANNEL_ID = 0;
+
+    private final Executor executor;
+
+    /**
+     * Serial executors of the channels of the connection. Only accessed from the event loop of the connection.
+     */
+    private final Map<Integer, SerialExecutor> channelExecutors = new HashMap<>();
+
+    public BlockingTaskHandler(Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-        if (msg instanceof BlockingTask) {
-            ((BlockingTask) msg).execute();
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ChannelBlockingTask) {
+            ChannelBlockingTask task = (ChannelBlockingTask) msg;
+            SerialExecutor channelExecutor = getExecutor(task.getChannelId());
+            channelExecutor.execute(() -> {
+                execute(ctx, task);
+                if (task.closesChannel()) {
+                    // The closing task is still in flight here, hence the removal waits until the executor is idle
+                    channelExecutor.onIdle(
+                            () -> ctx.executor().execute(() -> removeExecutor(task.getChannelId(), channelExecutor)));
+                }
+            });
+        } else if (msg instanceof BlockingTask) {
+            executeAfterChannelTasks(ctx, (BlockingTask) msg);
+        }
+    }
+
+    /**
+     * Connection level tasks such as closing all the channels should not overtake the pending tasks of the channels.
+     * Hence a marker is queued on every channel executor and the task is executed once all of them are reached.
+     */
+    private void executeAfterChannelTasks(ChannelHandlerContext ctx, BlockingTask task) {
+        SerialExecutor connectionExecutor = getExecutor(CONNECTION_CHANNEL_ID);
+        List<SerialExecutor> executors = new ArrayList<>(channelExecutors.values());
+        executors.remove(connectionExecutor);
+        if (executors.isEmpty()) {
+            connectionExecutor.execute(() -> execute(ctx, task));
+            return;
+        }
+        AtomicInteger pendingChannels = new AtomicInteger(executors.size());
+        Runnable marker = () -> {
+            if (pendingChannels.decrementAndGet() == 0) {
+                connectionExecutor.execute(() -> execute(ctx, task));
+            }
+        };
+        for (SerialExecutor channelExecutor : executors) {
+            channelExecutor.execute(marker);
+        }
+    }
+
+    private SerialExecutor getExecutor(int channelId) {
+        return channelExecutors.computeIfAbsent(channelId, id -> new SerialExecutor(executor));
+    }
+
+    /**
+     * Remove the executor of a closed channel once it is idle. Tasks are only submitted from the event loop, hence an
+     * executor found idle here cannot receive a task before it is removed. The executor is kept if tasks of the channel
+     * reopened with the same id were submitted in the meantime, and is removed when that channel is closed.
+     */
+    private void removeExecutor(int channelId, SerialExecutor channelExecutor) {
+        if (channelExecutor.isIdle()) {
+            channelExecutors.remove(channelId, channelExecutor);
+        }
+    }
+
+    /**
+     * Number of channels with an executor. Used for testing.
+     */
+    int getChannelExecutorCount() {
+        return channelExecutors.size();
+    }
+
+    private void execute(ChannelHandlerContext ctx, BlockingTask task) {
+        try {
+            task.execute();
+        } catch (Exception e) {
+            LOGGER.warn("Exception while handling request", e);
+            ctx.close();
         }
     }
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.handlers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes tasks one at a time in submission order on top of a shared executor. Many serial executors can be
+ * multiplexed over the same executor without dedicating a thread to each of them.
+ */
+class SerialExecutor implements Executor {
+
+    /**
+     * Maximum number of tasks executed before the thread is handed back to the shared executor. This prevents a busy
+     * serial executor from starving the others.
+     */
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * Number of tasks which are either waiting or being executed.
+     */
+    private final AtomicInteger pendingTasks = new AtomicInteger(0);
+
+    private final AtomicReference<Runnable> idleListener = new AtomicReference<>();
+
+    private final Executor executor;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        pendingTasks.incrementAndGet();
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Check if there are no tasks waiting or being executed.
+     */
+    boolean isIdle() {
+        return pendingTasks.get() == 0;
+    }
+
+    /**
+     * Set a listener which is notified once, when the last pending task completes. The listener is invoked from the
+     * thread which executed the task.
+     */
+    void onIdle(Runnable listener) {
+        idleListener.set(listener);
+    }
+
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::runTasks);
+        }
+    }
+
+    private void runTasks() {
+        try {
+            Runnable task;
+            for (int i = 0; i < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null; i++) {
+                try {
+                    task.run();
+                } finally {
+                    if (pendingTasks.decrementAndGet() == 0) {
+                        notifyIdle();
+                    }
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            schedule();
+        }
+    }
+
+    private void notifyIdle() {
+        Runnable listener = idleListener.getAndSet(null);
+        if (listener != null) {
+            listener.run();
+        }
+    }
+}
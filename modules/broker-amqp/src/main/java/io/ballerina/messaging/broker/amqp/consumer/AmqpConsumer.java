@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.amqp.consumer;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqConstant;
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
 import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.ballerina.messaging.broker.core.Broker;
 import io.ballerina.messaging.broker.core.Consumer;
@@ -56,6 +57,11 @@ public class AmqpConsumer extends Consumer {
 
     private final ChannelFutureListenerFactory channelFutureListenerFactory;
 
+    /**
+     * Unacknowledged deliveries of the consumer, limited by the non global QoS of the channel.
+     */
+    private final PrefetchWindow prefetchWindow;
+
     private boolean isReady;
 
     private Properties transportProperties;
@@ -65,12 +71,14 @@ public class AmqpConsumer extends Consumer {
                         AmqpChannel channel,
                         String queueName,
                         ShortString consumerTag,
-                        boolean isExclusive) {
+                        boolean isExclusive,
+                        PrefetchWindow prefetchWindow) {
         this.queueName = queueName;
         this.consumerTag = consumerTag;
         this.isExclusive = isExclusive;
         this.context = ctx;
         this.channel = channel;
+        this.prefetchWindow = prefetchWindow;
         setTransportProperties();
         if (MessageTracer.isTraceEnabled()) {
             this.channelFutureListenerFactory = new ConsumerErrorHandlerFactory(broker, queueName);
@@ -92,7 +100,8 @@ public class AmqpConsumer extends Consumer {
                          consumerTag,
                          queueName);
         }
-        AmqpDeliverMessage deliverMessage = channel.createDeliverMessage(message, consumerTag, queueName);
+        AmqpDeliverMessage deliverMessage = channel.createDeliverMessage(message, consumerTag, prefetchWindow,
+                                                                           queueName);
 
         ChannelFuture channelFuture = context.channel().writeAndFlush(deliverMessage);
         channelFuture.addListener(channelFutureListenerFactory.createListener(message));
@@ -117,13 +126,17 @@ public class AmqpConsumer extends Consumer {
         this.isReady = true;
     }
 
+    public PrefetchWindow getPrefetchWindow() {
+        return prefetchWindow;
+    }
+
     public ShortString getConsumerTag() {
         return consumerTag;
     }
 
     @Override
     public boolean isReady() {
-        return channel.isReady() && isReady;
+        return isReady && prefetchWindow.hasRoom() && channel.isReady();
     }
 
     @Override
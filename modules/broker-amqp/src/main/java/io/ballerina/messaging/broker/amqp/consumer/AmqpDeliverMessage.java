@@ -20,9 +20,11 @@
 package io.ballerina.messaging.broker.amqp.consumer;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
 import io.ballerina.messaging.broker.amqp.codec.frames.BasicDeliver;
 import io.ballerina.messaging.broker.amqp.codec.frames.ContentFrame;
 import io.ballerina.messaging.broker.amqp.codec.frames.HeaderFrame;
+import io.ballerina.messaging.broker.amqp.codec.frames.MethodFrame;
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
 import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.ballerina.messaging.broker.core.Broker;
@@ -32,6 +34,7 @@ import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Metadata;
 import io.ballerina.messaging.broker.core.util.MessageTracer;
 import io.ballerina.messaging.broker.core.util.TraceField;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,28 +56,44 @@ public class AmqpDeliverMessage {
     private final Message message;
     private final String queueName;
     private final Broker broker;
+    private final PrefetchWindow consumerWindow;
+
+    /**
+     * Deliveries in no-ack mode are not tracked for acknowledgement and are dropped if the channel is closed.
+     */
+    private final boolean noAck;
 
     public AmqpDeliverMessage(Message message,
                               ShortString consumerTag,
+                              PrefetchWindow consumerWindow,
                               AmqpChannel channel,
                               String queueName,
                               Broker broker) {
+        this(message, consumerTag, consumerWindow, channel, queueName, broker, false);
+    }
+
+    public AmqpDeliverMessage(Message message,
+                              ShortString consumerTag,
+                              PrefetchWindow consumerWindow,
+                              AmqpChannel channel,
+                              String queueName,
+                              Broker broker,
+                              boolean noAck) {
         this.message = message;
         this.consumerTag = consumerTag;
+        this.consumerWindow = consumerWindow;
         this.channel = channel;
         this.queueName = queueName;
         this.broker = broker;
+        this.noAck = noAck;
     }
 
     public void write(ChannelHandlerContext ctx) {
         if (channel.isClosed()) {
-            try {
-                LOGGER.debug("Requeueing message since subscriber is already closed. {}", message);
-                broker.requeue(queueName, message);
-            } catch (BrokerException e) {
-                LOGGER.error("Error while requeueing message {} for queue {}", message, queueName, e);
-            } catch (ResourceNotFoundException e) {
-                LOGGER.warn("Cannot requeue message [" + message + "] since queue [" + queueName + "] is not found", e);
+            if (noAck) {
+                message.release();
+            } else {
+                requeue();
             }
         } else if (!channel.isFlowEnabled()) {
             channel.hold(this);
@@ -88,26 +107,30 @@ public class AmqpDeliverMessage {
             }
         } else {
             long deliveryTag = channel.getNextDeliveryTag();
-            channel.recordMessageDelivery(deliveryTag, new AckData(message.shallowCopy(), queueName, consumerTag));
+            if (!noAck) {
+                Message deliveredMessage = message.shallowCopy();
+                if (!channel.recordMessageDelivery(deliveryTag, new AckData(deliveredMessage, queueName,
+                                                                            consumerTag, consumerWindow))) {
+                    // Channel was closed concurrently
+                    deliveredMessage.release();
+                    requeue();
+                    return;
+                }
+            }
 
             Metadata metadata = message.getMetadata();
-            BasicDeliver basicDeliverFrame = new BasicDeliver(
-                    channel.getChannelId(),
-                    consumerTag,
-                    deliveryTag,
-                    message.isRedelivered(),
-                    ShortString.parseString(metadata.getExchangeName()),
-                    ShortString.parseString(metadata.getRoutingKey()));
-
             HeaderFrame headerFrame = new HeaderFrame(channel.getChannelId(), 60, metadata.getContentLength());
             headerFrame.setProperties(metadata.getProperties());
             headerFrame.setHeaders(metadata.getHeaders());
-            ctx.write(basicDeliverFrame);
+            ctx.write(createMethodFrame(deliveryTag));
             ctx.write(headerFrame);
+            // Content is shared with the copies of the message in other queues. Hence each frame writes a retained
+            // slice which is released by the encoder.
             for (ContentChunk chunk : message.getContentChunks()) {
+                ByteBuf payload = chunk.getByteBuf().retainedSlice();
                 ContentFrame contentFrame = new ContentFrame(channel.getChannelId(),
-                                                             chunk.getByteBuf().capacity(),
-                                                             chunk.getByteBuf());
+                                                             payload.capacity(),
+                                                             payload);
                 ctx.write(contentFrame);
             }
 
@@ -120,7 +143,34 @@ public class AmqpDeliverMessage {
                                     new TraceField(CONSUMER_ADDRESS_FIELD, ctx.channel().remoteAddress())
                                     );
             }
+            message.release();
+        }
+    }
+
+    /**
+     * Create the method frame sent ahead of the message content.
+     *
+     * @param deliveryTag delivery tag of the message
+     * @return basic.deliver frame of the message
+     */
+    protected MethodFrame createMethodFrame(long deliveryTag) {
+        Metadata metadata = message.getMetadata();
+        return new BasicDeliver(channel.getChannelId(),
+                                consumerTag,
+                                deliveryTag,
+                                message.isRedelivered(),
+                                ShortString.parseString(metadata.getExchangeName()),
+                                ShortString.parseString(metadata.getRoutingKey()));
+    }
 
+    private void requeue() {
+        try {
+            LOGGER.debug("Requeueing message since subscriber is already closed. {}", message);
+            broker.requeue(queueName, message);
+        } catch (BrokerException e) {
+            LOGGER.error("Error while requeueing message {} for queue {}", message, queueName, e);
+        } catch (ResourceNotFoundException e) {
+            LOGGER.warn("Cannot requeue message [" + message + "] since queue [" + queueName + "] is not found", e);
         }
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.consumer;
+
+import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
+import io.ballerina.messaging.broker.amqp.codec.frames.BasicGetOk;
+import io.ballerina.messaging.broker.amqp.codec.frames.MethodFrame;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.core.Broker;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+
+/**
+ * AMQP delivery of a message pulled with basic.get, which consists of the basic.get-ok, ContentHeader and
+ * ContentBody frames.
+ */
+public class AmqpGetOkMessage extends AmqpDeliverMessage {
+
+    private final Message message;
+
+    private final int channelId;
+
+    private final long messageCount;
+
+    public AmqpGetOkMessage(Message message,
+                            ShortString consumerTag,
+                            PrefetchWindow consumerWindow,
+                            AmqpChannel channel,
+                            String queueName,
+                            Broker broker,
+                            boolean noAck,
+                            long messageCount) {
+        super(message, consumerTag, consumerWindow, channel, queueName, broker, noAck);
+        this.message = message;
+        this.channelId = channel.getChannelId();
+        this.messageCount = messageCount;
+    }
+
+    @Override
+    protected MethodFrame createMethodFrame(long deliveryTag) {
+        Metadata metadata = message.getMetadata();
+        return new BasicGetOk(channelId,
+                              deliveryTag,
+                              message.isRedelivered(),
+                              ShortString.parseString(metadata.getExchangeName()),
+                              ShortString.parseString(metadata.getRoutingKey()),
+                              messageCount);
+    }
+}
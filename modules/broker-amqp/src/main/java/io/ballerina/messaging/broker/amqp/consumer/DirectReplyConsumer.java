@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.consumer;
+
+import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.core.Message;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Consumer of the direct reply-to pseudo queue. Replies are written to the channel in no-ack mode without being
+ * held in a queue.
+ */
+public class DirectReplyConsumer {
+
+    private final ChannelHandlerContext context;
+
+    private final AmqpChannel channel;
+
+    private final ShortString consumerTag;
+
+    private final String address;
+
+    public DirectReplyConsumer(ChannelHandlerContext ctx, AmqpChannel channel, ShortString consumerTag,
+                               String address) {
+        this.context = ctx;
+        this.channel = channel;
+        this.consumerTag = consumerTag;
+        this.address = address;
+    }
+
+    public void send(Message message) {
+        context.channel().writeAndFlush(channel.createDirectReplyMessage(message, consumerTag));
+    }
+
+    /**
+     * Getter for consumerTag.
+     */
+    public ShortString getConsumerTag() {
+        return consumerTag;
+    }
+
+    /**
+     * Getter for address.
+     */
+    public String getAddress() {
+        return address;
+    }
+}
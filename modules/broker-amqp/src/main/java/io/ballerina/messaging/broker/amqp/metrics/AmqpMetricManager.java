@@ -36,4 +36,13 @@ public interface AmqpMetricManager {
     void decrementConsumerCount();
 
     void markReject();
+
+    void markReapedConnection();
+
+    /**
+     * Record the number of bytes kept in memory by the payload of a received content frame.
+     *
+     * @param bytes retained bytes
+     */
+    void recordRetainedContentSize(long bytes);
 }
@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.amqp.metrics;
 
 import io.ballerina.messaging.broker.amqp.Server;
 import org.wso2.carbon.metrics.core.Counter;
+import org.wso2.carbon.metrics.core.Histogram;
 import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Meter;
 import org.wso2.carbon.metrics.core.MetricService;
@@ -34,6 +35,8 @@ public class DefaultAmqpMetricManager implements AmqpMetricManager {
     private final Counter totalConnectionCounter;
     private final Counter totalConsumerCounter;
     private final Meter rejectMeter;
+    private final Meter reapedConnectionMeter;
+    private final Histogram retainedContentSize;
 
     public DefaultAmqpMetricManager(MetricService metrics) {
         totalChannelCounter = metrics.counter(MetricService.name(Server.class, "node", "totalChannels"), Level.INFO);
@@ -41,6 +44,10 @@ public class DefaultAmqpMetricManager implements AmqpMetricManager {
                                                  Level.INFO);
         totalConsumerCounter = metrics.counter(MetricService.name(Server.class, "node", "totalConsumers"), Level.INFO);
         rejectMeter = metrics.meter(MetricService.name(Server.class, "node", "messageRejects"), Level.INFO);
+        reapedConnectionMeter = metrics.meter(MetricService.name(Server.class, "node", "reapedConnections"),
+                                              Level.INFO);
+        retainedContentSize = metrics.histogram(MetricService.name(Server.class, "node", "retainedContentSize"),
+                                                Level.INFO);
     }
 
     @Override
@@ -77,4 +84,14 @@ public class DefaultAmqpMetricManager implements AmqpMetricManager {
     public void markReject() {
         rejectMeter.mark();
     }
+
+    @Override
+    public void markReapedConnection() {
+        reapedConnectionMeter.mark();
+    }
+
+    @Override
+    public void recordRetainedContentSize(long bytes) {
+        retainedContentSize.update(bytes);
+    }
 }
@@ -57,4 +57,14 @@ public class NullAmqpMetricManager implements AmqpMetricManager {
     public void markReject() {
         // do nothing
     }
+
+    @Override
+    public void markReapedConnection() {
+        // do nothing
+    }
+
+    @Override
+    public void recordRetainedContentSize(long bytes) {
+        // do nothing
+    }
 }
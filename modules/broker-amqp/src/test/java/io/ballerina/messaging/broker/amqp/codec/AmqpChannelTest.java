@@ -20,25 +20,38 @@
 package io.ballerina.messaging.broker.amqp.codec;
 
 import io.ballerina.messaging.broker.amqp.AmqpServerConfiguration;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
 import io.ballerina.messaging.broker.amqp.codec.handlers.AmqpConnectionHandler;
+import io.ballerina.messaging.broker.amqp.consumer.AckData;
 import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.ballerina.messaging.broker.core.Broker;
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.transaction.DistributedTransaction;
 import io.ballerina.messaging.broker.core.transaction.LocalTransaction;
+import io.netty.channel.ChannelHandlerContext;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 public class AmqpChannelTest {
 
     AmqpChannel amqpChannel;
 
+    Broker broker;
+
+    PrefetchWindow consumerWindow;
+
     @BeforeMethod
     public void setUp() {
         AmqpServerConfiguration configuration = Mockito.mock(AmqpServerConfiguration.class);
 
-        Broker broker = Mockito.mock(Broker.class);
+        broker = Mockito.mock(Broker.class);
         LocalTransaction localTransaction = Mockito.mock(LocalTransaction.class);
         Mockito.when(broker.newLocalTransaction()).thenReturn(localTransaction);
         DistributedTransaction distributedTransaction = Mockito.mock(DistributedTransaction.class);
@@ -47,13 +60,17 @@ public class AmqpChannelTest {
         int channelId = 1;
         AmqpMetricManager metricManager = Mockito.mock(AmqpMetricManager.class);
         AmqpConnectionHandler connection = Mockito.mock(AmqpConnectionHandler.class);
+        Mockito.when(connection.isWritable()).thenReturn(true);
 
         AmqpServerConfiguration.FlowDetails flowDetails = Mockito.mock(AmqpServerConfiguration.FlowDetails.class);
         Mockito.when(flowDetails.getHighLimit()).thenReturn(1000);
         Mockito.when(flowDetails.getLowLimit()).thenReturn(50);
         Mockito.when(configuration.getChannelFlow()).thenReturn(flowDetails);
+        Mockito.when(configuration.getLargeMessage()).thenReturn(new AmqpServerConfiguration.LargeMessageDetails());
 
-        amqpChannel = new AmqpChannel(configuration, broker, channelId, metricManager, connection);
+        amqpChannel = new AmqpChannel(configuration, broker, channelId, metricManager, connection,
+                                      new DirectReplyRegistry());
+        consumerWindow = new PrefetchWindow(0, 0);
 
     }
 
@@ -67,4 +84,109 @@ public class AmqpChannelTest {
         Assert.assertEquals(amqpChannel.getTransactionType(), "DistributedTransaction");
     }
 
+    @Test
+    public void testMultipleAcknowledge() throws Exception {
+        Message[] messages = recordDeliveries("q1", "q1", "q2", "q1", "q2");
+
+        amqpChannel.acknowledge(4, true);
+
+        Mockito.verify(broker).acknowledge("q1", Arrays.asList(messages[0], messages[1], messages[3]));
+        Mockito.verify(broker).acknowledge("q2", Collections.singletonList(messages[2]));
+        Assert.assertEquals(amqpChannel.getUnackedMessageCount(), 1, "Only the delivery after the acknowledged "
+                + "range should be unacked");
+        for (int i = 0; i < 4; i++) {
+            Mockito.verify(messages[i]).release();
+        }
+        Mockito.verify(messages[4], Mockito.never()).release();
+
+        amqpChannel.acknowledge(0, true);
+
+        Mockito.verify(broker).acknowledge("q2", Collections.singletonList(messages[4]));
+        Assert.assertEquals(amqpChannel.getUnackedMessageCount(), 0, "Delivery tag zero should acknowledge all "
+                + "outstanding deliveries");
+    }
+
+    @Test
+    public void testFailedMultipleAcknowledge() throws Exception {
+        Message[] messages = recordDeliveries("q1", "q1", "q1");
+        Mockito.doThrow(new BrokerException("Acknowledge failed"))
+               .when(broker).acknowledge(Mockito.anyString(), Mockito.anyCollection());
+
+        try {
+            amqpChannel.acknowledge(2, true);
+            Assert.fail("Expected BrokerException not thrown");
+        } catch (BrokerException e) {
+            Assert.assertEquals(e.getMessage(), "Acknowledge failed", "Acknowledge failure should be propagated");
+        }
+        Assert.assertEquals(amqpChannel.getUnackedMessageCount(), 3, "Deliveries should stay unacked when the "
+                + "acknowledgment fails");
+        for (Message message : messages) {
+            Mockito.verify(message, Mockito.never()).release();
+        }
+    }
+
+    @Test
+    public void testMultipleReject() throws Exception {
+        Message[] messages = recordDeliveries("q1", "q1", "q1");
+
+        amqpChannel.reject(2, true, false);
+
+        Mockito.verify(broker).acknowledge("q1", Arrays.asList(messages[0], messages[1]));
+        Assert.assertEquals(amqpChannel.getUnackedMessageCount(), 1, "Only the delivery after the rejected range "
+                + "should be unacked");
+        Mockito.verify(messages[0]).release();
+        Mockito.verify(messages[1]).release();
+        Mockito.verify(messages[2], Mockito.never()).release();
+    }
+
+    @Test(expectedExceptions = ChannelException.class)
+    public void testDirectReplyConsumerRequiresNoAck() throws Exception {
+        amqpChannel.consumeDirectReplies(ShortString.parseString(""), false, Mockito.mock(ChannelHandlerContext.class));
+    }
+
+    @Test
+    public void testCancelDirectReplyConsumer() throws Exception {
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        ShortString tag = amqpChannel.consumeDirectReplies(ShortString.parseString("reply"), true, ctx);
+        Assert.assertEquals(tag, ShortString.parseString("reply"), "Requested consumer tag should be used");
+
+        amqpChannel.cancelConsumer(tag);
+        Assert.assertEquals(amqpChannel.consumeDirectReplies(ShortString.parseString("reply"), true, ctx), tag,
+                            "A new direct reply-to consumer should be allowed after cancelling the previous one");
+    }
+
+    @Test
+    public void testGlobalPrefetchLimit() throws Exception {
+        amqpChannel.setQos(2, 0, true);
+        Assert.assertTrue(amqpChannel.isReady(), "Channel should be ready before any delivery");
+
+        recordDeliveries("q1", "q1");
+        Assert.assertFalse(amqpChannel.isReady(), "Channel should not be ready when the prefetch count is reached");
+        Assert.assertEquals(consumerWindow.getMessageCount(), 2, "Consumer window should track the deliveries");
+
+        amqpChannel.acknowledge(1, false);
+        Assert.assertTrue(amqpChannel.isReady(), "Channel should be ready after an acknowledgment");
+        Assert.assertEquals(consumerWindow.getMessageCount(), 1, "Acknowledged delivery should leave the consumer "
+                + "window");
+    }
+
+    @Test
+    public void testConsumerPrefetchIsNotGlobal() throws Exception {
+        amqpChannel.setQos(1, 0, false);
+
+        recordDeliveries("q1", "q1");
+        Assert.assertTrue(amqpChannel.isReady(), "Per consumer prefetch should not limit the channel");
+        Assert.assertEquals(amqpChannel.getPrefetchCount(), 1, "Prefetch count should be reported");
+    }
+
+    private Message[] recordDeliveries(String... queueNames) {
+        Message[] messages = new Message[queueNames.length];
+        for (int i = 0; i < queueNames.length; i++) {
+            messages[i] = Mockito.mock(Message.class);
+            amqpChannel.recordMessageDelivery(amqpChannel.getNextDeliveryTag(),
+                                              new AckData(messages[i], queueNames[i], ShortString.parseString("1"),
+                                                          consumerWindow));
+        }
+        return messages;
+    }
 }
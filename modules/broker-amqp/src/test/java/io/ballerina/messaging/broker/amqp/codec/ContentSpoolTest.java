@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec;
+
+import io.ballerina.messaging.broker.core.ContentChunk;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ContentSpoolTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spool-test");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testSpooledContentIsMapped() throws IOException {
+        ContentSpool contentSpool = new ContentSpool(directory, 1);
+        Message message = new Message(1, new Metadata("queue", "amq.direct", 5));
+        ByteBuf first = Unpooled.wrappedBuffer(new byte[] {1, 2, 3});
+        ByteBuf second = Unpooled.wrappedBuffer(new byte[] {4, 5});
+
+        contentSpool.write(first);
+        contentSpool.write(second);
+        Assert.assertEquals(first.refCnt(), 0, "Payload should be released once written to the spool");
+        Assert.assertEquals(second.refCnt(), 0, "Payload should be released once written to the spool");
+
+        contentSpool.complete(message);
+
+        List<ContentChunk> chunks = message.getContentChunks();
+        Assert.assertEquals(chunks.size(), 2, "A chunk should be created for each spooled frame");
+        Assert.assertEquals(chunks.get(0).getOffset(), 0);
+        Assert.assertEquals(chunks.get(0).getBytes(), new byte[] {1, 2, 3});
+        Assert.assertEquals(chunks.get(1).getOffset(), 3);
+        Assert.assertEquals(chunks.get(1).getBytes(), new byte[] {4, 5});
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0, "Spool file should be removed once the content is mapped");
+        }
+        message.release();
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCompleteAfterClose() throws IOException {
+        ContentSpool contentSpool = new ContentSpool(directory, 2);
+        Message message = new Message(2, new Metadata("queue", "amq.direct", 1));
+        contentSpool.write(Unpooled.wrappedBuffer(new byte[] {1}));
+        contentSpool.close();
+
+        ByteBuf lateFrame = Unpooled.wrappedBuffer(new byte[] {2});
+        contentSpool.write(lateFrame);
+        Assert.assertEquals(lateFrame.refCnt(), 0, "Payload should be released after the spool is closed");
+
+        contentSpool.complete(message);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec;
+
+import io.ballerina.messaging.broker.amqp.AmqpServerConfiguration;
+import io.ballerina.messaging.broker.amqp.consumer.DirectReplyConsumer;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.core.Broker;
+import io.ballerina.messaging.broker.core.BrokerAuthException;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+import io.ballerina.messaging.broker.core.transaction.BrokerTransaction;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DirectReplyRegistryTest {
+
+    private static final ShortString CONSUMER_TAG = ShortString.parseString("reply-consumer");
+
+    private DirectReplyRegistry registry;
+
+    private Channel nettyChannel;
+
+    private AmqpChannel amqpChannel;
+
+    private DirectReplyConsumer consumer;
+
+    @BeforeMethod
+    public void setUp() {
+        registry = new DirectReplyRegistry();
+        nettyChannel = Mockito.mock(Channel.class);
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        Mockito.when(ctx.channel()).thenReturn(nettyChannel);
+        amqpChannel = Mockito.mock(AmqpChannel.class);
+        consumer = registry.register(ctx, amqpChannel, CONSUMER_TAG);
+    }
+
+    @Test
+    public void testReplyIsDeliveredToConsumer() {
+        Message reply = new Message(1, new Metadata(consumer.getAddress(), "", 0));
+
+        Assert.assertTrue(registry.deliver(reply), "Reply should not be routed to queues");
+        Mockito.verify(amqpChannel).createDirectReplyMessage(reply, CONSUMER_TAG);
+        Mockito.verify(nettyChannel).writeAndFlush(Mockito.any());
+    }
+
+    @Test
+    public void testMessageWithoutReplyAddressIsRouted() {
+        Message message = new Message(1, new Metadata(consumer.getAddress(), "amq.direct", 0));
+
+        Assert.assertFalse(registry.deliver(message), "Message published to other exchanges should be routed");
+        Mockito.verify(nettyChannel, Mockito.never()).writeAndFlush(Mockito.any());
+    }
+
+    @Test
+    public void testReplyWithoutConsumerIsDropped() {
+        registry.unregister(consumer);
+        Message reply = new Message(1, new Metadata(consumer.getAddress(), "", 0));
+
+        Assert.assertTrue(registry.deliver(reply), "Reply to an unknown address should not be routed to queues");
+        Mockito.verify(nettyChannel, Mockito.never()).writeAndFlush(Mockito.any());
+    }
+
+    @Test
+    public void testUnauthorizedReplyIsNotDelivered() throws Exception {
+        Broker broker = Mockito.mock(Broker.class);
+        Mockito.doThrow(new BrokerAuthException("Unauthorized", null)).when(broker).authorizePublish("");
+        BrokerTransaction transaction = Mockito.mock(BrokerTransaction.class);
+        InMemoryMessageAggregator aggregator = new InMemoryMessageAggregator(
+                broker, transaction, new AmqpServerConfiguration.LargeMessageDetails(), registry);
+        Message reply = new Message(1, new Metadata(consumer.getAddress(), "", 0));
+
+        try {
+            aggregator.publish(reply, null);
+            Assert.fail("Expected BrokerAuthException not thrown");
+        } catch (BrokerAuthException e) {
+            Assert.assertEquals(e.getMessage(), "Unauthorized", "Authorization failure should be propagated");
+        }
+        Mockito.verify(nettyChannel, Mockito.never()).writeAndFlush(Mockito.any());
+        Mockito.verify(transaction, Mockito.never()).enqueue(Mockito.any());
+    }
+
+    @Test
+    public void testAddressesAreUnique() {
+        DirectReplyConsumer other = registry.register(Mockito.mock(ChannelHandlerContext.class), amqpChannel,
+                                                      CONSUMER_TAG);
+        Assert.assertNotEquals(other.getAddress(), consumer.getAddress(), "Each consumer should get its own address");
+        Assert.assertTrue(other.getAddress().startsWith(DirectReplyRegistry.PSEUDO_QUEUE + "."),
+                          "Address should be prefixed with the pseudo queue name");
+    }
+}
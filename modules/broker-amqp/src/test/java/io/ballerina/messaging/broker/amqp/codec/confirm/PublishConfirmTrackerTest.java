@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.confirm;
+
+import io.ballerina.messaging.broker.amqp.codec.frames.BasicAck;
+import io.ballerina.messaging.broker.amqp.codec.frames.BasicNack;
+import io.ballerina.messaging.broker.amqp.codec.frames.MethodFrame;
+import io.ballerina.messaging.broker.core.PublishConfirm;
+import io.netty.channel.ChannelHandlerContext;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PublishConfirmTrackerTest {
+
+    private ChannelHandlerContext ctx;
+
+    private PublishConfirmTracker tracker;
+
+    @BeforeMethod
+    public void setUp() {
+        ctx = Mockito.mock(ChannelHandlerContext.class);
+        tracker = new PublishConfirmTracker(1, ctx);
+    }
+
+    @Test
+    public void testConfirmsAreCoalesced() {
+        List<PublishConfirm> confirms = newConfirms(1000);
+        for (PublishConfirm confirm : confirms) {
+            confirm.complete(true);
+        }
+
+        List<MethodFrame> frames = tracker.drainConfirmFrames();
+
+        Assert.assertEquals(frames.size(), 1, "A single frame should confirm the batch");
+        assertAck(frames.get(0), 1000);
+        Assert.assertTrue(tracker.drainConfirmFrames().isEmpty(), "Confirms should be sent only once");
+    }
+
+    @Test
+    public void testConfirmsWaitForLowerSequenceNumbers() {
+        List<PublishConfirm> confirms = newConfirms(3);
+        confirms.get(1).complete(true);
+        confirms.get(2).complete(true);
+
+        Assert.assertTrue(tracker.drainConfirmFrames().isEmpty(), "Confirms should not be sent while a lower "
+                + "sequence number is unconfirmed");
+
+        confirms.get(0).complete(true);
+        List<MethodFrame> frames = tracker.drainConfirmFrames();
+
+        Assert.assertEquals(frames.size(), 1, "A single frame should confirm all messages");
+        assertAck(frames.get(0), 3);
+    }
+
+    @Test
+    public void testRejectedMessagesAreNacked() {
+        List<PublishConfirm> confirms = newConfirms(5);
+        confirms.get(2).reject();
+        confirms.get(3).reject();
+        for (PublishConfirm confirm : confirms) {
+            confirm.complete(true);
+        }
+
+        List<MethodFrame> frames = tracker.drainConfirmFrames();
+
+        Assert.assertEquals(frames.size(), 3, "Each run of acks or nacks should be sent as a single frame");
+        assertAck(frames.get(0), 2);
+        Assert.assertTrue(frames.get(1) instanceof BasicNack, "Rejected messages should be nacked");
+        BasicNack nack = (BasicNack) frames.get(1);
+        Assert.assertEquals(nack.getDeliveryTag(), 4, "Nack should cover the rejected messages");
+        Assert.assertTrue(nack.isMultiple(), "Nack should be sent with the multiple flag");
+        assertAck(frames.get(2), 5);
+    }
+
+    @Test
+    public void testFlushWritesOnce() {
+        for (PublishConfirm confirm : newConfirms(10)) {
+            confirm.complete(true);
+        }
+
+        tracker.flush();
+        tracker.flush();
+
+        Mockito.verify(ctx, Mockito.times(1)).write(Mockito.any(BasicAck.class));
+        Mockito.verify(ctx, Mockito.times(1)).flush();
+    }
+
+    @Test
+    public void testConcurrentFlushesWriteInOrder() throws Exception {
+        List<Long> writtenTags = Collections.synchronizedList(new ArrayList<>());
+        Mockito.when(ctx.write(Mockito.any())).thenAnswer(invocation -> {
+            writtenTags.add(((BasicAck) invocation.getArgument(0)).getDeliveryTag());
+            Thread.yield();
+            return null;
+        });
+        int threadCount = 4;
+        int confirmsPerThread = 1000;
+        List<PublishConfirm> confirms = newConfirms(threadCount * confirmsPerThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            List<PublishConfirm> threadConfirms = confirms.subList(i * confirmsPerThread,
+                                                                   (i + 1) * confirmsPerThread);
+            futures.add(executor.submit(() -> threadConfirms.forEach(confirm -> confirm.completeAndFlush(true))));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(writtenTags.get(writtenTags.size() - 1).longValue(), threadCount * confirmsPerThread,
+                            "All messages should be confirmed");
+        for (int i = 1; i < writtenTags.size(); i++) {
+            Assert.assertTrue(writtenTags.get(i) > writtenTags.get(i - 1),
+                              "Confirm frames should be written in sequence number order");
+        }
+    }
+
+    @Test
+    public void testNoConfirmsAfterClose() {
+        List<PublishConfirm> confirms = newConfirms(2);
+        tracker.close();
+        for (PublishConfirm confirm : confirms) {
+            confirm.complete(true);
+        }
+
+        Assert.assertTrue(tracker.drainConfirmFrames().isEmpty(), "Confirms should not be sent after close");
+    }
+
+    private List<PublishConfirm> newConfirms(int count) {
+        List<PublishConfirm> confirms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            confirms.add(tracker.newConfirm());
+        }
+        return confirms;
+    }
+
+    private static void assertAck(MethodFrame frame, long sequenceNumber) {
+        Assert.assertTrue(frame instanceof BasicAck, "Confirmed messages should be acked");
+        BasicAck ack = (BasicAck) frame;
+        Assert.assertEquals(ack.getDeliveryTag(), sequenceNumber, "Ack should cover the confirmed messages");
+        Assert.assertTrue(ack.isMultiple(), "Ack should be sent with the multiple flag");
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.flow;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PrefetchWindowTest {
+
+    @Test
+    public void testUnlimitedWindow() {
+        PrefetchWindow window = new PrefetchWindow(0, 0);
+        for (int i = 0; i < 1000; i++) {
+            window.add(1024);
+        }
+        Assert.assertTrue(window.hasRoom(), "A window without limits should always have room");
+    }
+
+    @Test
+    public void testCountLimit() {
+        PrefetchWindow window = new PrefetchWindow(2, 0);
+        window.add(10);
+        Assert.assertTrue(window.hasRoom(), "Window should have room below the prefetch count");
+        window.add(10);
+        Assert.assertFalse(window.hasRoom(), "Window should be full at the prefetch count");
+        window.remove(10);
+        Assert.assertTrue(window.hasRoom(), "Window should have room after a removal");
+    }
+
+    @Test
+    public void testSizeLimit() {
+        PrefetchWindow window = new PrefetchWindow(0, 100);
+        window.add(60);
+        Assert.assertTrue(window.hasRoom(), "Window should have room below the prefetch size");
+        window.add(60);
+        Assert.assertFalse(window.hasRoom(), "Window should be full when the prefetch size is exceeded");
+        Assert.assertEquals(window.getByteCount(), 120, "Byte count should include all deliveries");
+        window.remove(60);
+        Assert.assertTrue(window.hasRoom(), "Window should have room after a removal");
+    }
+
+    @Test
+    public void testChangeLimits() {
+        PrefetchWindow window = new PrefetchWindow(1, 0);
+        window.add(10);
+        Assert.assertFalse(window.hasRoom(), "Window should be full at the prefetch count");
+        window.setLimits(0, 0);
+        Assert.assertTrue(window.hasRoom(), "Removing the limits should make room");
+        Assert.assertEquals(window.getMessageCount(), 1, "Changing limits should not affect deliveries");
+    }
+}
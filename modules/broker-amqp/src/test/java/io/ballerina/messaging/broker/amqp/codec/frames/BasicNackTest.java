@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.frames;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class BasicNackTest {
+
+    @DataProvider(name = "flags")
+    public Object[][] flags() {
+        return new Object[][] {
+                {true, true},
+                {true, false},
+                {false, true},
+                {false, false}
+        };
+    }
+
+    @Test(dataProvider = "flags")
+    public void testEncodeDecode(boolean multiple, boolean requeue) throws Exception {
+        BasicNack testFrame = new BasicNack(1, 42L, multiple, requeue);
+        ByteBuf buf = Unpooled.buffer((int) testFrame.getMethodBodySize());
+        testFrame.writeMethod(buf);
+        BasicNack decodedFrame = (BasicNack) BasicNack.getFactory()
+                                                      .newInstance(buf, 1, testFrame.getMethodBodySize());
+
+        Assert.assertEquals(decodedFrame.getChannel(), testFrame.getChannel(), "Decoded frame's channel should match"
+                + " the original frame's channel");
+        Assert.assertEquals(decodedFrame.getDeliveryTag(), testFrame.getDeliveryTag(), "Decoded frame's delivery-tag "
+                + "should match the original frame's delivery-tag");
+        Assert.assertEquals(decodedFrame.isMultiple(), testFrame.isMultiple(), "Decoded frame's multiple bit "
+                + "should match the original frame's multiple bit");
+        Assert.assertEquals(decodedFrame.isRequeue(), testFrame.isRequeue(), "Decoded frame's requeue bit "
+                + "should match the original frame's requeue bit");
+    }
+}
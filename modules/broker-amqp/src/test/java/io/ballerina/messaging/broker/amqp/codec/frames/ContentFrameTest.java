@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.frames;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ContentFrameTest {
+
+    private static final int READ_BUFFER_SIZE = 1024;
+
+    @Test
+    public void testSmallPayloadIsCopied() {
+        ByteBuf readBuffer = newReadBuffer(new byte[] {1, 2, 3, 4});
+        ContentFrame frame = ContentFrame.parse(readBuffer, 1, 4, 16);
+
+        Assert.assertEquals(readBuffer.refCnt(), 1, "Copied payload should not retain the read buffer");
+        Assert.assertEquals(readBuffer.readableBytes(), 0, "Payload should be consumed from the read buffer");
+        Assert.assertEquals(frame.getRetainedSize(), 4, "Copied payload should be right sized");
+        assertPayload(frame, new byte[] {1, 2, 3, 4});
+        readBuffer.release();
+    }
+
+    @Test
+    public void testLargePayloadIsSliced() {
+        ByteBuf readBuffer = newReadBuffer(new byte[] {1, 2, 3, 4});
+        ContentFrame frame = ContentFrame.parse(readBuffer, 1, 4, 2);
+
+        Assert.assertEquals(readBuffer.refCnt(), 2, "Sliced payload should retain the read buffer");
+        Assert.assertEquals(readBuffer.readableBytes(), 0, "Payload should be consumed from the read buffer");
+        Assert.assertEquals(frame.getRetainedSize(), READ_BUFFER_SIZE,
+                            "Sliced payload should keep the whole read buffer in memory");
+        assertPayload(frame, new byte[] {1, 2, 3, 4});
+        Assert.assertEquals(readBuffer.refCnt(), 1, "Read buffer should be released with the payload");
+        readBuffer.release();
+    }
+
+    private ByteBuf newReadBuffer(byte[] content) {
+        ByteBuf readBuffer = Unpooled.buffer(READ_BUFFER_SIZE);
+        readBuffer.writeBytes(content);
+        return readBuffer;
+    }
+
+    private void assertPayload(ContentFrame frame, byte[] expected) {
+        ByteBuf out = Unpooled.buffer(expected.length);
+        frame.writePayload(out);
+        byte[] actual = new byte[out.readableBytes()];
+        out.readBytes(actual);
+        Assert.assertEquals(actual, expected, "Payload should match the frame content");
+    }
+}
@@ -3,9 +3,14 @@ package io.ballerina.messaging.broker.amqp.codec.handlers;
 import io.ballerina.messaging.broker.amqp.AmqpConnectionManager;
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannelFactory;
+import io.ballerina.messaging.broker.amqp.codec.frames.HeartbeatFrame;
 import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
 import io.ballerina.messaging.broker.common.ValidationException;
 import io.ballerina.messaging.broker.core.Broker;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleStateEvent;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -17,10 +22,12 @@ public class AmqpConnectionHandlerTest {
 
     AmqpChannel amqpChannel;
 
+    AmqpMetricManager metricManager;
+
     @BeforeMethod
     public void setUp() {
         Broker broker = Mockito.mock(Broker.class);
-        AmqpMetricManager metricManager = Mockito.mock(AmqpMetricManager.class);
+        metricManager = Mockito.mock(AmqpMetricManager.class);
         Mockito.doNothing().when(metricManager).incrementChannelCount();
         AmqpChannelFactory amqpChannelFactory = Mockito.mock(AmqpChannelFactory.class);
         amqpChannel = Mockito.mock(AmqpChannel.class);
@@ -68,4 +75,43 @@ public class AmqpConnectionHandlerTest {
         }
     }
 
+    @Test
+    public void testHeartbeatSentWhenWriterIdle() throws Exception {
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+
+        connectionHandler.userEventTriggered(ctx, IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+
+        Mockito.verify(ctx).writeAndFlush(HeartbeatFrame.INSTANCE);
+        Mockito.verify(ctx, Mockito.never()).close();
+    }
+
+    @Test
+    public void testConnectionReapedWhenReaderIdle() throws Exception {
+        ChannelHandlerContext ctx = mockContext(true);
+
+        connectionHandler.userEventTriggered(ctx, IdleStateEvent.READER_IDLE_STATE_EVENT);
+
+        Mockito.verify(ctx).close();
+        Mockito.verify(metricManager).markReapedConnection();
+    }
+
+    @Test
+    public void testConnectionNotReapedWhileReadingIsSuspended() throws Exception {
+        ChannelHandlerContext ctx = mockContext(false);
+
+        connectionHandler.userEventTriggered(ctx, IdleStateEvent.READER_IDLE_STATE_EVENT);
+
+        Mockito.verify(ctx, Mockito.never()).close();
+        Mockito.verify(metricManager, Mockito.never()).markReapedConnection();
+    }
+
+    private ChannelHandlerContext mockContext(boolean autoRead) {
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        Channel channel = Mockito.mock(Channel.class);
+        ChannelConfig config = Mockito.mock(ChannelConfig.class);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(channel.config()).thenReturn(config);
+        Mockito.when(config.isAutoRead()).thenReturn(autoRead);
+        return ctx;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.handlers;
+
+import io.ballerina.messaging.broker.amqp.codec.frames.AmqMethodRegistry;
+import io.ballerina.messaging.broker.amqp.codec.frames.GeneralFrame;
+import io.ballerina.messaging.broker.amqp.codec.frames.HeartbeatFrame;
+import io.ballerina.messaging.broker.amqp.codec.frames.ProtocolInitFrame;
+import io.ballerina.messaging.broker.amqp.metrics.AmqpMetricManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class AmqpDecoderTest {
+
+    private EmbeddedChannel channel;
+
+    @BeforeMethod
+    public void setUp() {
+        channel = new EmbeddedChannel(new AmqpDecoder(Mockito.mock(AmqMethodRegistry.class), 1024,
+                                                      Mockito.mock(AmqpMetricManager.class)));
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {'A', 'M', 'Q', 'P', 0, 0, 9, 1}));
+        Assert.assertTrue(channel.readInbound() instanceof ProtocolInitFrame, "Protocol header should be decoded");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testHeartbeatFrame() {
+        channel.writeInbound(newHeartbeatFrame());
+
+        Assert.assertSame(channel.readInbound(), HeartbeatFrame.INSTANCE,
+                          "A frame without a payload should be decoded as a heartbeat");
+        Assert.assertNull(channel.readInbound(), "Only one frame should be decoded");
+    }
+
+    @Test
+    public void testPartialHeartbeatFrame() {
+        ByteBuf frame = newHeartbeatFrame();
+        channel.writeInbound(frame.readRetainedSlice(frame.readableBytes() - 1));
+
+        Assert.assertNull(channel.readInbound(), "Frame should not be decoded before the frame end is received");
+
+        channel.writeInbound(frame);
+        Assert.assertSame(channel.readInbound(), HeartbeatFrame.INSTANCE,
+                          "Frame should be decoded once the frame end is received");
+    }
+
+    private ByteBuf newHeartbeatFrame() {
+        ByteBuf frame = Unpooled.buffer(8);
+        frame.writeByte(HeartbeatFrame.TYPE);
+        frame.writeShort(0);
+        frame.writeInt(0);
+        frame.writeByte(GeneralFrame.FRAME_END);
+        return frame;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.amqp.codec.handlers;
+
+import io.ballerina.messaging.broker.amqp.codec.BlockingTask;
+import io.ballerina.messaging.broker.amqp.codec.ChannelBlockingTask;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class BlockingTaskHandlerTest {
+
+    private ExecutorService executorService;
+
+    private BlockingTaskHandler blockingTaskHandler;
+
+    private ChannelHandlerContext ctx;
+
+    @BeforeMethod
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        blockingTaskHandler = new BlockingTaskHandler(executorService);
+        ctx = Mockito.mock(ChannelHandlerContext.class);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testChannelsProceedInParallel() throws Exception {
+        CountDownLatch blockedChannelLatch = new CountDownLatch(1);
+        CountDownLatch otherChannelLatch = new CountDownLatch(1);
+
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, blockedChannelLatch::await));
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(2, otherChannelLatch::countDown));
+
+        Assert.assertTrue(otherChannelLatch.await(5, TimeUnit.SECONDS),
+                          "A blocked channel should not stall the other channels of the connection");
+        blockedChannelLatch.countDown();
+    }
+
+    @Test
+    public void testChannelTaskOrder() throws Exception {
+        List<Integer> executedTasks = new CopyOnWriteArrayList<>();
+        CountDownLatch completedLatch = new CountDownLatch(1);
+        int taskCount = 500;
+        for (int i = 0; i < taskCount; i++) {
+            int taskId = i;
+            blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, () -> executedTasks.add(taskId)));
+        }
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, completedLatch::countDown));
+
+        Assert.assertTrue(completedLatch.await(5, TimeUnit.SECONDS), "All the tasks should be executed");
+        Assert.assertEquals(executedTasks.size(), taskCount, "All the tasks should be executed");
+        for (int i = 0; i < taskCount; i++) {
+            Assert.assertEquals(executedTasks.get(i).intValue(), i, "Tasks of a channel should execute in order");
+        }
+    }
+
+    @Test
+    public void testConnectionTaskWaitsForChannelTasks() throws Exception {
+        List<String> executedTasks = new CopyOnWriteArrayList<>();
+        CountDownLatch blockedChannelLatch = new CountDownLatch(1);
+        CountDownLatch completedLatch = new CountDownLatch(1);
+
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, () -> {
+            blockedChannelLatch.await();
+            executedTasks.add("channel");
+        }));
+        blockingTaskHandler.channelRead(ctx, (BlockingTask) () -> {
+            executedTasks.add("connection");
+            completedLatch.countDown();
+        });
+
+        Assert.assertFalse(completedLatch.await(200, TimeUnit.MILLISECONDS),
+                           "Connection task should wait for the pending channel tasks");
+        blockedChannelLatch.countDown();
+        Assert.assertTrue(completedLatch.await(5, TimeUnit.SECONDS), "Connection task should be executed");
+        Assert.assertEquals(executedTasks.get(0), "channel", "Channel task should be executed first");
+        Assert.assertEquals(executedTasks.get(1), "connection", "Connection task should be executed last");
+    }
+
+    @Test
+    public void testFailedTaskClosesConnection() throws Exception {
+        CountDownLatch completedLatch = new CountDownLatch(1);
+
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, () -> {
+            throw new Exception("Task failure");
+        }));
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, completedLatch::countDown));
+
+        Assert.assertTrue(completedLatch.await(5, TimeUnit.SECONDS), "Subsequent tasks should be executed");
+        Mockito.verify(ctx).close();
+    }
+
+    @Test
+    public void testExecutorRemovedOnChannelClose() throws Exception {
+        CountDownLatch removedLatch = new CountDownLatch(1);
+        EventExecutor eventLoop = Mockito.mock(EventExecutor.class);
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            removedLatch.countDown();
+            return null;
+        }).when(eventLoop).execute(Mockito.any(Runnable.class));
+        Mockito.when(ctx.executor()).thenReturn(eventLoop);
+
+        CountDownLatch channelTasksLatch = new CountDownLatch(3);
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, channelTasksLatch::countDown));
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(2, channelTasksLatch::countDown));
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, channelTasksLatch::countDown, true));
+
+        Assert.assertTrue(channelTasksLatch.await(5, TimeUnit.SECONDS), "All the tasks should be executed");
+        Assert.assertTrue(removedLatch.await(5, TimeUnit.SECONDS), "Executor removal should be scheduled");
+        Assert.assertEquals(blockingTaskHandler.getChannelExecutorCount(), 1,
+                            "Executor of the closed channel should be removed");
+    }
+
+    @Test
+    public void testExecutorKeptWhileTasksAreRunning() throws Exception {
+        CountDownLatch removedLatch = new CountDownLatch(1);
+        EventExecutor eventLoop = Mockito.mock(EventExecutor.class);
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            removedLatch.countDown();
+            return null;
+        }).when(eventLoop).execute(Mockito.any(Runnable.class));
+        Mockito.when(ctx.executor()).thenReturn(eventLoop);
+
+        CountDownLatch closingTaskLatch = new CountDownLatch(1);
+        CountDownLatch reopenedChannelLatch = new CountDownLatch(1);
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, closingTaskLatch::await, true));
+        blockingTaskHandler.channelRead(ctx, new ChannelBlockingTask(1, reopenedChannelLatch::await));
+        closingTaskLatch.countDown();
+
+        Assert.assertFalse(removedLatch.await(200, TimeUnit.MILLISECONDS),
+                           "Executor removal should wait for the running task");
+        reopenedChannelLatch.countDown();
+        Assert.assertTrue(removedLatch.await(5, TimeUnit.SECONDS), "Executor removal should be scheduled once idle");
+        Assert.assertEquals(blockingTaskHandler.getChannelExecutorCount(), 0,
+                            "Executor of the closed channel should be removed once idle");
+    }
+}
@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.amqp.consumer;
 
 import io.ballerina.messaging.broker.amqp.codec.AmqConstant;
 import io.ballerina.messaging.broker.amqp.codec.AmqpChannel;
+import io.ballerina.messaging.broker.amqp.codec.flow.PrefetchWindow;
 import io.ballerina.messaging.broker.common.data.types.ShortString;
 import io.ballerina.messaging.broker.core.Broker;
 import io.netty.channel.ChannelHandlerContext;
@@ -40,7 +41,8 @@ public class AmqpConsumerTest {
         Mockito.when(amqpChannel.getChannelId()).thenReturn(5);
         Mockito.when(amqpChannel.getConnectionId()).thenReturn(7);
         AmqpConsumer consumer = new AmqpConsumer(context, broker, amqpChannel, "queue",
-                                                 new ShortString(0, new byte[0]), true);
+                                                 new ShortString(0, new byte[0]), true,
+                                                 new PrefetchWindow(0, 0));
         Properties transportProperties = consumer.getTransportProperties();
         Assert.assertEquals(transportProperties.get(AmqConstant.TRANSPORT_PROPERTY_CHANNEL_ID), 5,
                                                     "Incorrect channel id set");
@@ -129,4 +129,26 @@ public class FieldTable implements EncodableData {
     public FieldValue getValue(ShortString propertyName) {
         return properties.get(propertyName);
     }
+
+    /**
+     * Create a copy of this table which can be modified without affecting this table. Field values are shared
+     * between the tables.
+     *
+     * @return copy of the table
+     */
+    public FieldTable copy() {
+        return new FieldTable(new HashMap<>(properties));
+    }
+
+    /**
+     * Create a copy of this table without the given property. Field values are shared between the tables.
+     *
+     * @param propertyName name of the property to leave out
+     * @return copy of the table
+     */
+    public FieldTable copyWithout(ShortString propertyName) {
+        Map<ShortString, FieldValue> copiedProperties = new HashMap<>(properties);
+        copiedProperties.remove(propertyName);
+        return new FieldTable(copiedProperties);
+    }
 }
@@ -99,4 +99,13 @@ public class FieldTableTest {
         Assert.assertFalse(testFieldTable.equals(otherType), "equals() should return false for different objects");
     }
 
+    @Test
+    public void testCopy() throws Exception {
+        FieldTable copy = testFieldTable.copy();
+        ShortString newKey = ShortString.parseString("newKey");
+        copy.add(newKey, FieldValue.parseLongString("Test"));
+
+        Assert.assertEquals(copy.getValue(testKey), testValue, "Copy should contain the properties of the table");
+        Assert.assertNull(testFieldTable.getValue(newKey), "Adding to the copy should not modify the table");
+    }
 }
@@ -36,9 +36,11 @@ import io.ballerina.messaging.broker.core.rest.model.ChangeOwnerRequest;
 import io.ballerina.messaging.broker.core.rest.model.ConsumerMetadata;
 import io.ballerina.messaging.broker.core.rest.model.Error;
 import io.ballerina.messaging.broker.core.rest.model.MessageDeleteResponse;
+import io.ballerina.messaging.broker.core.rest.model.MessagePurgeStatus;
 import io.ballerina.messaging.broker.core.rest.model.QueueCreateRequest;
 import io.ballerina.messaging.broker.core.rest.model.QueueCreateResponse;
 import io.ballerina.messaging.broker.core.rest.model.QueueMetadata;
+import io.ballerina.messaging.broker.core.rest.model.QueueUpdateRequest;
 import io.ballerina.messaging.broker.core.rest.model.ResponseMessage;
 import io.ballerina.messaging.broker.core.rest.model.UserGroupList;
 import io.swagger.annotations.Api;
@@ -203,6 +205,22 @@ public class QueuesApi {
         return queuesApiDelegate.deleteQueue(name, ifUnused, ifEmpty, (Subject) request.getSession().getAttribute(BrokerAuthConstants.AUTHENTICATION_ID));
     }
 
+    @PUT
+    @Path("/{name}")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Update the tuning parameters of the specified queue.", notes = "Changes the in-memory cache limit, the maximum depth or the delivery batch size of the running queue. Parameters which are not given are left unchanged.", response = ResponseMessage.class, authorizations = {
+            @Authorization(value = "basicAuth")
+    }, tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Queue updated", response = ResponseMessage.class),
+            @ApiResponse(code = 400, message = "Bad request. Invalid request or validation error.", response = Error.class),
+            @ApiResponse(code = 401, message = "Authentication information is missing or invalid", response = Error.class),
+            @ApiResponse(code = 404, message = "Queue not found", response = Error.class) })
+    public Response updateQueue(@Context Request request, @PathParam("name") @ApiParam("Name of the queue") String name, @Valid QueueUpdateRequest body) {
+        return queuesApiDelegate.updateQueue(name, body, (Subject) request.getSession().getAttribute(BrokerAuthConstants.AUTHENTICATION_ID));
+    }
+
     @DELETE
     @Path("/{queueName}/permissions/actions/{action}/groups/{groupName}")
     @Produces({ "application/json" })
@@ -301,10 +319,26 @@ public class QueuesApi {
     }, tags={  })
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Queue purged", response = MessageDeleteResponse.class),
+            @ApiResponse(code = 202, message = "Messages removed from the queue. Persisted messages are being removed", response = MessageDeleteResponse.class),
+            @ApiResponse(code = 400, message = "Bad request. Queue has active consumers.", response = Error.class),
             @ApiResponse(code = 401, message = "Authentication information is missing or invalid", response = Error.class),
             @ApiResponse(code = 404, message = "Queue/Consumer not found", response = Error.class)
     })
-    public Response purgeMessages(@Context Request request, @PathParam("name") @ApiParam("Name of the queue") String name) {
-        return queuesApiDelegate.purgeQueue(name, (Subject) request.getSession().getAttribute(BrokerAuthConstants.AUTHENTICATION_ID));
+    public Response purgeMessages(@Context Request request, @PathParam("name") @ApiParam("Name of the queue") String name,@DefaultValue("false") @QueryParam("async")  @ApiParam("Return once messages are removed from the queue without waiting for persisted messages to be removed")  Boolean async) {
+        return queuesApiDelegate.purgeQueue(name, async, (Subject) request.getSession().getAttribute(BrokerAuthConstants.AUTHENTICATION_ID));
+    }
+
+    @GET
+    @Path("/{name}/messages/purge-status")
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Get the status of the latest purge", notes = "Retrieves the progress of the latest purge of the queue", response = MessagePurgeStatus.class, authorizations = {
+            @Authorization(value = "basicAuth")
+    }, tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Purge status", response = MessagePurgeStatus.class),
+            @ApiResponse(code = 401, message = "Authentication information is missing or invalid", response = Error.class),
+            @ApiResponse(code = 404, message = "Queue not found or the queue was not purged", response = Error.class) })
+    public Response getPurgeStatus(@Context Request request, @PathParam("name") @ApiParam("Name of the queue") String name) {
+        return queuesApiDelegate.getPurgeStatus(name, (Subject) request.getSession().getAttribute(BrokerAuthConstants.AUTHENTICATION_ID));
     }
 }
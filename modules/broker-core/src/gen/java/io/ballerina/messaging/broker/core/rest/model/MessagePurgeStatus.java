@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.rest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+
+public class MessagePurgeStatus   {
+  
+  private @Valid String status = null;
+  private @Valid Integer numberOfMessagesDeleted = null;
+  private @Valid Integer numberOfDelayedMessagesDeleted = null;
+  private @Valid Long numberOfStoredMessagesDetached = null;
+  private @Valid Long numberOfStoredMessagesDeleted = null;
+
+  /**
+   * State of the purge. One of IN_PROGRESS, COMPLETED or FAILED.
+   **/
+  public MessagePurgeStatus status(String status) {
+    this.status = status;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "State of the purge. One of IN_PROGRESS, COMPLETED or FAILED.")
+  @JsonProperty("status")
+  @NotNull
+  public String getStatus() {
+    return status;
+  }
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Number of messages removed from the queue.
+   **/
+  public MessagePurgeStatus numberOfMessagesDeleted(Integer numberOfMessagesDeleted) {
+    this.numberOfMessagesDeleted = numberOfMessagesDeleted;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Number of messages removed from the queue.")
+  @JsonProperty("numberOfMessagesDeleted")
+  @NotNull
+  public Integer getNumberOfMessagesDeleted() {
+    return numberOfMessagesDeleted;
+  }
+  public void setNumberOfMessagesDeleted(Integer numberOfMessagesDeleted) {
+    this.numberOfMessagesDeleted = numberOfMessagesDeleted;
+  }
+
+  /**
+   * Number of delayed messages dropped while they were held back. These are included in numberOfMessagesDeleted.
+   **/
+  public MessagePurgeStatus numberOfDelayedMessagesDeleted(Integer numberOfDelayedMessagesDeleted) {
+    this.numberOfDelayedMessagesDeleted = numberOfDelayedMessagesDeleted;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Number of delayed messages dropped while they were held back. These are included in numberOfMessagesDeleted.")
+  @JsonProperty("numberOfDelayedMessagesDeleted")
+  @NotNull
+  public Integer getNumberOfDelayedMessagesDeleted() {
+    return numberOfDelayedMessagesDeleted;
+  }
+  public void setNumberOfDelayedMessagesDeleted(Integer numberOfDelayedMessagesDeleted) {
+    this.numberOfDelayedMessagesDeleted = numberOfDelayedMessagesDeleted;
+  }
+
+  /**
+   * Number of persisted messages detached from the queue so far.
+   **/
+  public MessagePurgeStatus numberOfStoredMessagesDetached(Long numberOfStoredMessagesDetached) {
+    this.numberOfStoredMessagesDetached = numberOfStoredMessagesDetached;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Number of persisted messages detached from the queue so far.")
+  @JsonProperty("numberOfStoredMessagesDetached")
+  @NotNull
+  public Long getNumberOfStoredMessagesDetached() {
+    return numberOfStoredMessagesDetached;
+  }
+  public void setNumberOfStoredMessagesDetached(Long numberOfStoredMessagesDetached) {
+    this.numberOfStoredMessagesDetached = numberOfStoredMessagesDetached;
+  }
+
+  /**
+   * Number of persisted messages deleted from the message store so far.
+   **/
+  public MessagePurgeStatus numberOfStoredMessagesDeleted(Long numberOfStoredMessagesDeleted) {
+    this.numberOfStoredMessagesDeleted = numberOfStoredMessagesDeleted;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Number of persisted messages deleted from the message store so far.")
+  @JsonProperty("numberOfStoredMessagesDeleted")
+  @NotNull
+  public Long getNumberOfStoredMessagesDeleted() {
+    return numberOfStoredMessagesDeleted;
+  }
+  public void setNumberOfStoredMessagesDeleted(Long numberOfStoredMessagesDeleted) {
+    this.numberOfStoredMessagesDeleted = numberOfStoredMessagesDeleted;
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MessagePurgeStatus messagePurgeStatus = (MessagePurgeStatus) o;
+    return Objects.equals(status, messagePurgeStatus.status) &&
+        Objects.equals(numberOfMessagesDeleted, messagePurgeStatus.numberOfMessagesDeleted) &&
+        Objects.equals(numberOfDelayedMessagesDeleted, messagePurgeStatus.numberOfDelayedMessagesDeleted) &&
+        Objects.equals(numberOfStoredMessagesDetached, messagePurgeStatus.numberOfStoredMessagesDetached) &&
+        Objects.equals(numberOfStoredMessagesDeleted, messagePurgeStatus.numberOfStoredMessagesDeleted);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(status, numberOfMessagesDeleted, numberOfDelayedMessagesDeleted, numberOfStoredMessagesDetached, numberOfStoredMessagesDeleted);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class MessagePurgeStatus {\n");
+    
+    sb.append("    status: ").append(toIndentedString(status)).append("\n");
+    sb.append("    numberOfMessagesDeleted: ").append(toIndentedString(numberOfMessagesDeleted)).append("\n");
+    sb.append("    numberOfDelayedMessagesDeleted: ").append(toIndentedString(numberOfDelayedMessagesDeleted)).append("\n");
+    sb.append("    numberOfStoredMessagesDetached: ").append(toIndentedString(numberOfStoredMessagesDetached)).append("\n");
+    sb.append("    numberOfStoredMessagesDeleted: ").append(toIndentedString(numberOfStoredMessagesDeleted)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
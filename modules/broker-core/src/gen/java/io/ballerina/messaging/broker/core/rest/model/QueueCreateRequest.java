@@ -32,6 +32,9 @@ public class QueueCreateRequest   {
   private @Valid String name = null;
   private @Valid Boolean durable = null;
   private @Valid Boolean autoDelete = null;
+  private @Valid Integer inMemoryCacheLimit = null;
+  private @Valid Integer maxDepth = null;
+  private @Valid Integer deliveryBatchSize = null;
 
   /**
    * Name of the queue to be created
@@ -90,6 +93,60 @@ public class QueueCreateRequest   {
     this.autoDelete = autoDelete;
   }
 
+  /**
+   * Maximum number of messages of a durable queue held in memory. Overrides the broker wide durableQueueInMemoryCacheLimit
+   **/
+  public QueueCreateRequest inMemoryCacheLimit(Integer inMemoryCacheLimit) {
+    this.inMemoryCacheLimit = inMemoryCacheLimit;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of messages of a durable queue held in memory. Overrides the broker wide durableQueueInMemoryCacheLimit")
+  @JsonProperty("inMemoryCacheLimit")
+  public Integer getInMemoryCacheLimit() {
+    return inMemoryCacheLimit;
+  }
+  public void setInMemoryCacheLimit(Integer inMemoryCacheLimit) {
+    this.inMemoryCacheLimit = inMemoryCacheLimit;
+  }
+
+  /**
+   * Maximum number of non persistent messages held by the queue. Overrides the broker wide nonDurableQueueMaxDepth
+   **/
+  public QueueCreateRequest maxDepth(Integer maxDepth) {
+    this.maxDepth = maxDepth;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of non persistent messages held by the queue. Overrides the broker wide nonDurableQueueMaxDepth")
+  @JsonProperty("maxDepth")
+  public Integer getMaxDepth() {
+    return maxDepth;
+  }
+  public void setMaxDepth(Integer maxDepth) {
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Maximum number of messages delivered from the queue in one round of the delivery task. Overrides the broker wide deliveryBatchSize
+   **/
+  public QueueCreateRequest deliveryBatchSize(Integer deliveryBatchSize) {
+    this.deliveryBatchSize = deliveryBatchSize;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of messages delivered from the queue in one round of the delivery task. Overrides the broker wide deliveryBatchSize")
+  @JsonProperty("deliveryBatchSize")
+  public Integer getDeliveryBatchSize() {
+    return deliveryBatchSize;
+  }
+  public void setDeliveryBatchSize(Integer deliveryBatchSize) {
+    this.deliveryBatchSize = deliveryBatchSize;
+  }
+
 
   @Override
   public boolean equals(Object o) {
@@ -102,12 +159,15 @@ public class QueueCreateRequest   {
     QueueCreateRequest queueCreateRequest = (QueueCreateRequest) o;
     return Objects.equals(name, queueCreateRequest.name) &&
         Objects.equals(durable, queueCreateRequest.durable) &&
-        Objects.equals(autoDelete, queueCreateRequest.autoDelete);
+        Objects.equals(autoDelete, queueCreateRequest.autoDelete) &&
+        Objects.equals(inMemoryCacheLimit, queueCreateRequest.inMemoryCacheLimit) &&
+        Objects.equals(maxDepth, queueCreateRequest.maxDepth) &&
+        Objects.equals(deliveryBatchSize, queueCreateRequest.deliveryBatchSize);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, durable, autoDelete);
+    return Objects.hash(name, durable, autoDelete, inMemoryCacheLimit, maxDepth, deliveryBatchSize);
   }
 
   @Override
@@ -118,6 +178,9 @@ public class QueueCreateRequest   {
     sb.append("    name: ").append(toIndentedString(name)).append("\n");
     sb.append("    durable: ").append(toIndentedString(durable)).append("\n");
     sb.append("    autoDelete: ").append(toIndentedString(autoDelete)).append("\n");
+    sb.append("    inMemoryCacheLimit: ").append(toIndentedString(inMemoryCacheLimit)).append("\n");
+    sb.append("    maxDepth: ").append(toIndentedString(maxDepth)).append("\n");
+    sb.append("    deliveryBatchSize: ").append(toIndentedString(deliveryBatchSize)).append("\n");
     sb.append("}");
     return sb.toString();
   }
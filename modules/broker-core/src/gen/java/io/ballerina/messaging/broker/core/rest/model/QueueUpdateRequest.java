@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.rest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Objects;
+import javax.validation.Valid;
+
+
+public class QueueUpdateRequest   {
+  
+  private @Valid Integer inMemoryCacheLimit = null;
+  private @Valid Integer maxDepth = null;
+  private @Valid Integer deliveryBatchSize = null;
+
+  /**
+   * Maximum number of messages of a durable queue held in memory. Overrides the broker wide durableQueueInMemoryCacheLimit
+   **/
+  public QueueUpdateRequest inMemoryCacheLimit(Integer inMemoryCacheLimit) {
+    this.inMemoryCacheLimit = inMemoryCacheLimit;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of messages of a durable queue held in memory. Overrides the broker wide durableQueueInMemoryCacheLimit")
+  @JsonProperty("inMemoryCacheLimit")
+  public Integer getInMemoryCacheLimit() {
+    return inMemoryCacheLimit;
+  }
+  public void setInMemoryCacheLimit(Integer inMemoryCacheLimit) {
+    this.inMemoryCacheLimit = inMemoryCacheLimit;
+  }
+
+  /**
+   * Maximum number of non persistent messages held by the queue. Overrides the broker wide nonDurableQueueMaxDepth
+   **/
+  public QueueUpdateRequest maxDepth(Integer maxDepth) {
+    this.maxDepth = maxDepth;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of non persistent messages held by the queue. Overrides the broker wide nonDurableQueueMaxDepth")
+  @JsonProperty("maxDepth")
+  public Integer getMaxDepth() {
+    return maxDepth;
+  }
+  public void setMaxDepth(Integer maxDepth) {
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Maximum number of messages delivered from the queue in one round of the delivery task. Overrides the broker wide deliveryBatchSize
+   **/
+  public QueueUpdateRequest deliveryBatchSize(Integer deliveryBatchSize) {
+    this.deliveryBatchSize = deliveryBatchSize;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Maximum number of messages delivered from the queue in one round of the delivery task. Overrides the broker wide deliveryBatchSize")
+  @JsonProperty("deliveryBatchSize")
+  public Integer getDeliveryBatchSize() {
+    return deliveryBatchSize;
+  }
+  public void setDeliveryBatchSize(Integer deliveryBatchSize) {
+    this.deliveryBatchSize = deliveryBatchSize;
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    QueueUpdateRequest queueUpdateRequest = (QueueUpdateRequest) o;
+    return Objects.equals(inMemoryCacheLimit, queueUpdateRequest.inMemoryCacheLimit) &&
+        Objects.equals(maxDepth, queueUpdateRequest.maxDepth) &&
+        Objects.equals(deliveryBatchSize, queueUpdateRequest.deliveryBatchSize);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(inMemoryCacheLimit, maxDepth, deliveryBatchSize);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class QueueUpdateRequest {\n");
+    
+    sb.append("    inMemoryCacheLimit: ").append(toIndentedString(inMemoryCacheLimit)).append("\n");
+    sb.append("    maxDepth: ").append(toIndentedString(maxDepth)).append("\n");
+    sb.append("    deliveryBatchSize: ").append(toIndentedString(deliveryBatchSize)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
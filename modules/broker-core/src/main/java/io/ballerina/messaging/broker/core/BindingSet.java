@@ -104,6 +104,17 @@ public class BindingSet {
         return filteredQueueBindings.isEmpty() && unfilteredQueueBindings.isEmpty();
     }
 
+    /**
+     * Check whether the queue is bound without a filter. A queue can have both a filtered and an unfiltered binding
+     * when binding sets of multiple binding patterns are merged.
+     *
+     * @param queue queue to check
+     * @return true if there is an unfiltered binding for the queue
+     */
+    boolean hasUnfilteredBinding(Queue queue) {
+        return unfilteredQueueBindings.containsKey(queue);
+    }
+
     public Collection<Binding> getFilteredBindings() {
         return filteredQueueBindings.values();
     }
@@ -47,6 +47,24 @@ public interface Broker {
      */
     void publish(Message message) throws BrokerException;
 
+    /**
+     * Publish a batch of messages to queue(s). Routing lookups, message store flushes and queue enqueue operations
+     * are amortized across the batch. Nothing is published if any of the messages refer to an unknown exchange.
+     *
+     * @param messages messages to be published in publish order
+     * @throws BrokerException if publishing failed
+     */
+    void publish(Collection<Message> messages) throws BrokerException;
+
+    /**
+     * Check if messages can be published to the given exchange. Used for messages which are delivered without being
+     * published through the broker.
+     *
+     * @param exchangeName name of the exchange
+     * @throws BrokerException if publishing to the exchange is not authorized
+     */
+    void authorizePublish(String exchangeName) throws BrokerException;
+
     /**
      * Acknowledge single or a given set of messages. Removes the message from underlying queue.
      *
@@ -56,6 +74,16 @@ public interface Broker {
      */
     void acknowledge(String queueName, DetachableMessage detachableMessage) throws BrokerException;
 
+    /**
+     * Acknowledge a batch of messages belonging to the same queue. Store operations of the batch are handed over to
+     * the queue at once.
+     *
+     * @param queueName name of the queue the messages belongs to
+     * @param messages  acknowledged messages
+     * @throws BrokerException if an internal error occurred
+     */
+    void acknowledge(String queueName, Collection<Message> messages) throws BrokerException;
+
     /**
      * Preparing transaction to enqueue messages.
      *
@@ -145,6 +173,36 @@ public interface Broker {
     boolean createQueue(String queueName, boolean passive, boolean durable, boolean autoDelete)
             throws BrokerException, ValidationException;
 
+    /**
+     * Create given queue with declaration arguments such as {@link QueueArguments#MAX_PRIORITY}.
+     *
+     * @param queueName  name of the underlying queue
+     * @param passive    do not create queue
+     * @param durable    request a durable queue
+     * @param autoDelete auto-delete queue when unused
+     * @param arguments  queue arguments
+     * @return successfully created or not
+     * @throws BrokerException     if existing queue does not match parameters or
+     *                             could not found when passive set to true
+     * @throws ValidationException if queue arguments are invalid
+     */
+    boolean createQueue(String queueName, boolean passive, boolean durable, boolean autoDelete,
+                        FieldTable arguments) throws BrokerException, ValidationException;
+
+    /**
+     * Apply tuning arguments such as {@link QueueArguments#IN_MEMORY_CACHE_LIMIT},
+     * {@link QueueArguments#MAX_DEPTH} and {@link QueueArguments#DELIVERY_BATCH_SIZE} to a running queue. Other
+     * arguments are ignored. Updated arguments of durable queues are persisted.
+     *
+     * @param queueName       name of the queue
+     * @param tuningArguments tuning arguments
+     * @throws BrokerException           if the updated arguments could not be persisted
+     * @throws ValidationException       if the tuning arguments are invalid
+     * @throws ResourceNotFoundException if the queue is not found
+     */
+    void updateQueue(String queueName, FieldTable tuningArguments)
+            throws BrokerException, ValidationException, ResourceNotFoundException;
+
     /**
      * Delete given queue.
      *
@@ -237,6 +295,22 @@ public interface Broker {
      */
     void requeue(String queueName, Message message) throws BrokerException, ResourceNotFoundException;
 
+    /**
+     * Take up to the given number of messages from a queue for a pull consumer. Messages are taken directly from the
+     * queue without going through the message delivery task of the queue. Messages are not taken while a consumer
+     * which does not belong to the requester has exclusive access to the queue.
+     *
+     * @param queueName    queue name
+     * @param maxMessages  maximum number of messages to take
+     * @param ownConsumers consumers of the requester
+     * @return messages taken from the queue, which are empty if the queue has no messages
+     * @throws ExclusiveAccessException  if another consumer has exclusive access to the queue
+     * @throws BrokerException           if an internal error occurred
+     * @throws ResourceNotFoundException if the queue does not exist
+     */
+    PullResult get(String queueName, int maxMessages, Collection<? extends Consumer> ownConsumers)
+            throws BrokerException, ResourceNotFoundException;
+
     /**
      * Retrieve all queues.
      *
@@ -52,8 +52,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.metrics.core.MetricService;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -108,6 +111,12 @@ public final class BrokerImpl implements Broker {
 
     private final MessageDeliveryTaskFactory messageDeliveryTaskFactory;
 
+    private final MessageExpiryService messageExpiryService;
+
+    private final DelayedDeliveryService delayedDeliveryService;
+
+    private final InMemoryCacheController inMemoryCacheController;
+
     public BrokerImpl(StartupContext startupContext) throws Exception {
         MetricService metrics = startupContext.getService(MetricService.class);
         metricManager = getMetricManager(metrics);
@@ -121,6 +130,14 @@ public final class BrokerImpl implements Broker {
         messageStore = storeFactory.getMessageStore();
         queueRegistry = storeFactory.getQueueRegistry();
         exchangeRegistry.retrieveFromStore(queueRegistry);
+        messageExpiryService = new MessageExpiryService(this::handleExpiredMessages);
+        queueRegistry.setMessageExpiryService(messageExpiryService);
+        delayedDeliveryService = new DelayedDeliveryService(this::enqueueDueMessages,
+                                                            Long.parseLong(configuration.getRedeliveryBufferLimit()));
+        queueRegistry.setDelayedDeliveryService(delayedDeliveryService);
+        queueRegistry.setDeadLetterPublisher(this::publishToDeadLetterChannel);
+        inMemoryCacheController = new InMemoryCacheController(this::copyAllQueues,
+                                                              configuration.getAdaptiveInMemoryCache());
 
         this.deliveryTaskService = createTaskExecutorService(configuration);
         this.messageDeliveryTaskFactory = new MessageDeliveryTaskFactory(configuration.getDeliveryTask());
@@ -214,6 +231,7 @@ public final class BrokerImpl implements Broker {
         lock.readLock().lock();
         try {
             Metadata metadata = message.getMetadata();
+            metadata.setArrivalTime(System.currentTimeMillis());
             Exchange exchange = exchangeRegistry.getExchange(metadata.getExchangeName());
             if (exchange != null) {
                 String routingKey = metadata.getRoutingKey();
@@ -223,11 +241,11 @@ public final class BrokerImpl implements Broker {
                     LOGGER.info("Dropping message since no queues found for routing key {} in {}",
                             routingKey, exchange);
                     MessageTracer.trace(message, MessageTracer.NO_ROUTES);
+                    confirmUnroutedMessage(message);
                 } else {
                     try {
                         messageStore.add(message.shallowCopy());
-                        Set<QueueHandler> uniqueQueues = getUniqueQueueHandlersForBinding(metadata, bindingSet);
-                        publishToQueues(message, uniqueQueues);
+                        publishToQueues(message, bindingSet);
                     } finally {
                         messageStore.flush(message.getInternalId());
                     }
@@ -244,6 +262,122 @@ public final class BrokerImpl implements Broker {
 
     }
 
+    @Override
+    public void authorizePublish(String exchangeName) {
+        // Authorization is handled by the secure broker
+    }
+
+    @Override
+    public void publish(Collection<Message> messages) throws BrokerException {
+        lock.readLock().lock();
+        try {
+            long arrivalTime = System.currentTimeMillis();
+            for (Message message : messages) {
+                message.getMetadata().setArrivalTime(arrivalTime);
+            }
+            Map<QueueHandler, List<Message>> queueBatches = new HashMap<>();
+            List<Message> routedMessages = new ArrayList<>(messages.size());
+            routeBatch(messages, queueBatches, routedMessages);
+
+            if (routedMessages.isEmpty()) {
+                return;
+            }
+
+            try {
+                for (Message message : routedMessages) {
+                    messageStore.add(message.shallowCopy());
+                    metricManager.markPublish();
+                }
+
+                for (Map.Entry<QueueHandler, List<Message>> entry : queueBatches.entrySet()) {
+                    List<Message> queueMessages = entry.getValue();
+                    List<Message> copies = new ArrayList<>(queueMessages.size());
+                    for (Message message : queueMessages) {
+                        copies.add(message.shallowCopy());
+                    }
+                    entry.getKey().enqueue(copies);
+                }
+            } finally {
+                messageStore.flush(routedMessages);
+            }
+        } finally {
+            lock.readLock().unlock();
+            // Release the original messages. Shallow copies are distributed
+            messages.forEach(Message::release);
+        }
+    }
+
+    /**
+     * Resolve the destination queues for a batch of messages. Routing lookups are done once per exchange and
+     * routing key pair. Nothing is published if any of the messages refer to an unknown exchange.
+     *
+     * @param messages       messages to be routed
+     * @param queueBatches   map populated with the messages to be enqueued in each queue, in publish order
+     * @param routedMessages list populated with the messages that have at least one destination queue
+     * @throws BrokerException if a message is published to an unknown exchange
+     */
+    private void routeBatch(Collection<Message> messages,
+                            Map<QueueHandler, List<Message>> queueBatches,
+                            List<Message> routedMessages) throws BrokerException {
+        Map<String, Map<String, BindingSet>> routeCache = new HashMap<>();
+        for (Message message : messages) {
+            Metadata metadata = message.getMetadata();
+            Map<String, BindingSet> exchangeRoutes = routeCache.get(metadata.getExchangeName());
+            if (exchangeRoutes == null) {
+                if (exchangeRegistry.getExchange(metadata.getExchangeName()) == null) {
+                    MessageTracer.trace(message, MessageTracer.UNKNOWN_EXCHANGE);
+                    throw new BrokerException("Message publish failed. Unknown exchange: "
+                                                      + metadata.getExchangeName());
+                }
+                exchangeRoutes = new HashMap<>();
+                routeCache.put(metadata.getExchangeName(), exchangeRoutes);
+            }
+
+            String routingKey = metadata.getRoutingKey();
+            BindingSet bindingSet = exchangeRoutes.get(routingKey);
+            if (bindingSet == null) {
+                bindingSet = exchangeRegistry.getExchange(metadata.getExchangeName()).getBindingsForRoute(routingKey);
+                exchangeRoutes.put(routingKey, bindingSet);
+            }
+
+            boolean routed = false;
+            for (Binding binding : bindingSet.getUnfilteredBindings()) {
+                addToQueueBatch(queueBatches, binding.getQueue(), message);
+                routed = true;
+            }
+            for (Binding binding : bindingSet.getFilteredBindings()) {
+                Queue queue = binding.getQueue();
+                if (!bindingSet.hasUnfilteredBinding(queue) && binding.getFilterExpression().evaluate(metadata)) {
+                    addToQueueBatch(queueBatches, queue, message);
+                    routed = true;
+                }
+            }
+
+            if (routed) {
+                routedMessages.add(message);
+            } else {
+                LOGGER.info("Dropping message since no queues found for routing key {} in {}",
+                            routingKey, metadata.getExchangeName());
+                MessageTracer.trace(message, MessageTracer.NO_ROUTES);
+                confirmUnroutedMessage(message);
+            }
+        }
+    }
+
+    /**
+     * Unroutable messages are confirmed to the publisher right away since there is nothing to persist.
+     */
+    private static void confirmUnroutedMessage(Message message) {
+        PublishConfirm publishConfirm = message.getPublishConfirm();
+        if (Objects.nonNull(publishConfirm)) {
+            publishConfirm.completeAndFlush(true);
+        }
+    }
+
+    private static void addToQueueBatch(Map<QueueHandler, List<Message>> queueBatches, Queue queue, Message message) {
+        queueBatches.computeIfAbsent(queue.getQueueHandler(), k -> new ArrayList<>()).add(message);
+    }
+
     private Set<QueueHandler> getUniqueQueueHandlersForBinding(Metadata metadata, BindingSet bindingSet) {
         Set<QueueHandler> uniqueQueues = new HashSet<>();
         for (Binding binding : bindingSet.getUnfilteredBindings()) {
@@ -258,19 +392,31 @@ public final class BrokerImpl implements Broker {
         return uniqueQueues;
     }
 
-    private void publishToQueues(Message message, Set<QueueHandler> uniqueQueueHandlers) throws BrokerException {
-        // Unique queues can be empty due to un-matching selectors.
-        if (uniqueQueueHandlers.isEmpty()) {
-            LOGGER.info("Dropping message since message didn't have any routes to {}",
-                        message.getMetadata().getRoutingKey());
-            MessageTracer.trace(message, MessageTracer.NO_ROUTES);
-            return;
+    private void publishToQueues(Message message, BindingSet bindingSet) throws BrokerException {
+        // A queue has at most one binding of each kind in a binding set. Hence the bindings are iterated directly
+        // instead of collecting the queue handlers to a set first.
+        int routedQueueCount = 0;
+        for (Binding binding : bindingSet.getUnfilteredBindings()) {
+            binding.getQueue().getQueueHandler().enqueue(message.shallowCopy());
+            routedQueueCount++;
         }
 
-        for (QueueHandler handler : uniqueQueueHandlers) {
-            handler.enqueue(message.shallowCopy());
+        Metadata metadata = message.getMetadata();
+        for (Binding binding : bindingSet.getFilteredBindings()) {
+            Queue queue = binding.getQueue();
+            if (!bindingSet.hasUnfilteredBinding(queue) && binding.getFilterExpression().evaluate(metadata)) {
+                queue.getQueueHandler().enqueue(message.shallowCopy());
+                routedQueueCount++;
+            }
+        }
+
+        // Routed queue count can be zero due to un-matching selectors.
+        if (routedQueueCount == 0) {
+            LOGGER.info("Dropping message since message didn't have any routes to {}", metadata.getRoutingKey());
+            MessageTracer.trace(message, MessageTracer.NO_ROUTES);
+        } else {
+            metricManager.markPublish();
         }
-        metricManager.markPublish();
     }
 
     @Override
@@ -285,11 +431,26 @@ public final class BrokerImpl implements Broker {
         }
     }
 
+    @Override
+    public void acknowledge(String queueName, Collection<Message> messages) throws BrokerException {
+        lock.readLock().lock();
+        try {
+            QueueHandler queueHandler = queueRegistry.getQueueHandler(queueName);
+            queueHandler.dequeue(messages);
+            for (int i = 0; i < messages.size(); i++) {
+                metricManager.markAcknowledge();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Set<QueueHandler> enqueue(Xid xid, Message message) throws BrokerException {
         lock.readLock().lock();
         try {
             Metadata metadata = message.getMetadata();
+            metadata.setArrivalTime(System.currentTimeMillis());
             Exchange exchange = exchangeRegistry.getExchange(metadata.getExchangeName());
             if (Objects.nonNull(exchange)) {
                 BindingSet bindingsForRoute = exchange.getBindingsForRoute(metadata.getRoutingKey());
@@ -418,9 +579,15 @@ public final class BrokerImpl implements Broker {
     @Override
     public boolean createQueue(String queueName, boolean passive,
                                boolean durable, boolean autoDelete) throws BrokerException, ValidationException {
+        return createQueue(queueName, passive, durable, autoDelete, FieldTable.EMPTY_TABLE);
+    }
+
+    @Override
+    public boolean createQueue(String queueName, boolean passive, boolean durable, boolean autoDelete,
+                               FieldTable arguments) throws BrokerException, ValidationException {
         lock.writeLock().lock();
         try {
-            boolean queueAdded = queueRegistry.addQueue(queueName, passive, durable, autoDelete);
+            boolean queueAdded = queueRegistry.addQueue(queueName, passive, durable, autoDelete, arguments);
             if (queueAdded) {
                 QueueHandler queueHandler = queueRegistry.getQueueHandler(queueName);
                 // We need to bind every queue to the default exchange
@@ -432,6 +599,17 @@ public final class BrokerImpl implements Broker {
         }
     }
 
+    @Override
+    public void updateQueue(String queueName, FieldTable tuningArguments) throws BrokerException,
+            ValidationException, ResourceNotFoundException {
+        lock.writeLock().lock();
+        try {
+            queueRegistry.updateQueue(queueName, tuningArguments);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     @Override
     public int deleteQueue(String queueName, boolean ifUnused, boolean ifEmpty) throws BrokerException,
             ValidationException, ResourceNotFoundException {
@@ -523,6 +701,9 @@ public final class BrokerImpl implements Broker {
     public void stopMessageDelivery() {
         LOGGER.info("Stopping message delivery threads.");
         deliveryTaskService.stop();
+        messageExpiryService.stop();
+        delayedDeliveryService.stop();
+        inMemoryCacheController.stop();
     }
 
     @Override
@@ -546,6 +727,36 @@ public final class BrokerImpl implements Broker {
         }
     }
 
+    @Override
+    public PullResult get(String queueName, int maxMessages, Collection<? extends Consumer> ownConsumers)
+            throws ExclusiveAccessException, ResourceNotFoundException {
+        lock.readLock().lock();
+        try {
+            QueueHandler queueHandler = queueRegistry.getQueueHandler(queueName);
+            if (Objects.isNull(queueHandler)) {
+                throw new ResourceNotFoundException("Queue [ " + queueName + " ] Not found");
+            }
+            for (Consumer consumer : queueHandler.getConsumers()) {
+                if (consumer.isExclusive() && !ownConsumers.contains(consumer)) {
+                    throw new ExclusiveAccessException("Queue [ " + queueName + " ] has an exclusive consumer");
+                }
+            }
+
+            List<Message> messages = new ArrayList<>();
+            while (messages.size() < maxMessages) {
+                Message message = queueHandler.takeForDelivery();
+                if (Objects.isNull(message)) {
+                    break;
+                }
+                MessageTracer.trace(message, queueHandler, MessageTracer.DELIVER);
+                messages.add(message);
+            }
+            return new PullResult(messages, queueHandler.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Collection<QueueHandler> getAllQueues() {
         lock.readLock().lock();
@@ -556,6 +767,20 @@ public final class BrokerImpl implements Broker {
         }
     }
 
+    /**
+     * Take a snapshot of all queues which can be iterated outside the broker lock.
+     *
+     * @return copy of the queue collection
+     */
+    private Collection<QueueHandler> copyAllQueues() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(queueRegistry.getAllQueues());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public QueueHandler getQueue(String queueName) throws ResourceNotFoundException {
         lock.readLock().lock();
@@ -579,6 +804,8 @@ public final class BrokerImpl implements Broker {
             Message dlcMessage = message.shallowCopyWith(Broker.getNextMessageId(),
                     DEFAULT_DEAD_LETTER_QUEUE,
                     ExchangeRegistry.DEFAULT_DEAD_LETTER_EXCHANGE);
+            // Headers are shared with the original message, which may still be in other queues
+            dlcMessage.getMetadata().setHeaders(message.getMetadata().getHeaders().copy());
             dlcMessage.getMetadata().addHeader(ORIGIN_QUEUE_HEADER, queueName);
             dlcMessage.getMetadata().addHeader(ORIGIN_EXCHANGE_HEADER, message.getMetadata().getExchangeName());
             dlcMessage.getMetadata().addHeader(ORIGIN_ROUTING_KEY_HEADER, message.getMetadata().getRoutingKey());
@@ -590,6 +817,87 @@ public final class BrokerImpl implements Broker {
         }
     }
 
+    /**
+     * Dispose expired messages taken out of a queue. Expired messages are moved to the dead letter channel if the
+     * queue was declared with {@link QueueArguments#DEAD_LETTER_EXCHANGE}, and dropped otherwise.
+     *
+     * @param queueHandler    queue handler the messages were taken from
+     * @param expiredMessages expired messages
+     */
+    private void handleExpiredMessages(QueueHandler queueHandler, Collection<Message> expiredMessages) {
+        lock.readLock().lock();
+        try {
+            Queue queue = queueHandler.getUnmodifiableQueue();
+            if (QueueArguments.hasDeadLetterExchange(queue.getArguments())) {
+                for (Message message : expiredMessages) {
+                    publishToDeadLetterChannel(queue.getName(), message);
+                }
+            }
+            queueHandler.dequeueExpiredMessages(expiredMessages);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("{} expired messages removed from queue {}", expiredMessages.size(), queue.getName());
+            }
+        } catch (BrokerException e) {
+            LOGGER.error("Error while removing expired messages from queue "
+                                 + queueHandler.getUnmodifiableQueue().getName(), e);
+        } finally {
+            lock.readLock().unlock();
+            expiredMessages.forEach(Message::release);
+        }
+    }
+
+    private void enqueueDueMessages(QueueHandler queueHandler, Collection<Message> dueMessages) {
+        String queueName = queueHandler.getUnmodifiableQueue().getName();
+        lock.readLock().lock();
+        try {
+            if (queueRegistry.getQueueHandler(queueName) != queueHandler) {
+                LOGGER.debug("Dropping {} delayed messages since queue {} is deleted", dueMessages.size(), queueName);
+                queueHandler.releaseDelayedMessages(dueMessages);
+                return;
+            }
+            queueHandler.enqueueDelayedMessages(dueMessages);
+        } catch (BrokerException e) {
+            LOGGER.error("Error while enqueuing delayed messages to queue " + queueName, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Publish a copy of a message dropped from a queue due to expiry or the queue length limit to the dead letter
+     * channel.
+     *
+     * @param queueName name of the queue the message was dropped from
+     * @param message   dropped message
+     */
+    private void publishToDeadLetterChannel(String queueName, Message message) {
+        Metadata metadata = message.getMetadata();
+        if (Objects.isNull(metadata)) {
+            // Content of messages which are not in memory is not loaded only to dead letter them.
+            LOGGER.debug("Dropping message {} of queue {} since message data is not in memory",
+                         message.getInternalId(), queueName);
+            return;
+        }
+
+        Message dlcMessage = message.shallowCopyWith(Broker.getNextMessageId(),
+                                                     DEFAULT_DEAD_LETTER_QUEUE,
+                                                     ExchangeRegistry.DEFAULT_DEAD_LETTER_EXCHANGE);
+        Metadata dlcMetadata = dlcMessage.getMetadata();
+        // Avoid expiring the message again in the dead letter queue
+        dlcMetadata.setProperties(metadata.getProperties().copyWithout(Metadata.EXPIRATION));
+        // Headers are shared with the original message, which may still be in other queues
+        dlcMetadata.setHeaders(metadata.getHeaders().copy());
+        dlcMetadata.addHeader(ORIGIN_QUEUE_HEADER, queueName);
+        dlcMetadata.addHeader(ORIGIN_EXCHANGE_HEADER, metadata.getExchangeName());
+        dlcMetadata.addHeader(ORIGIN_ROUTING_KEY_HEADER, metadata.getRoutingKey());
+        try {
+            publish(dlcMessage);
+        } catch (BrokerException e) {
+            LOGGER.error("Error while moving message " + message.getInternalId() + " of queue " + queueName
+                                 + " to the dead letter channel", e);
+        }
+    }
+
     @Override
     public Collection<Exchange> getAllExchanges() {
         lock.readLock().lock();
@@ -665,10 +973,16 @@ public final class BrokerImpl implements Broker {
         public void startMessageDelivery() {
             LOGGER.info("Starting message delivery threads.");
             deliveryTaskService.start();
+            messageExpiryService.start();
+            delayedDeliveryService.start();
+            inMemoryCacheController.start();
         }
 
         public void shutdown() {
             stopMessageDelivery();
+            messageExpiryService.shutdown();
+            delayedDeliveryService.shutdown();
+            inMemoryCacheController.shutdown();
         }
 
     }
@@ -14,6 +14,13 @@ public class ChunkConverter {
         this.maxChunkSizeLimit = maxChunkSizeLimit;
     }
 
+    /**
+     * Getter for maxChunkSizeLimit.
+     */
+    public int getMaxChunkSizeLimit() {
+        return maxChunkSizeLimit;
+    }
+
     public List<ContentChunk> convert(List<ContentChunk> chunkList, long totalLength) {
         if (chunkList.isEmpty() || isChunksUnderLimit(chunkList)) {
             return chunkList;
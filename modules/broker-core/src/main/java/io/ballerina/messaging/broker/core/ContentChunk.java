@@ -21,6 +21,9 @@ package io.ballerina.messaging.broker.core;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+import java.io.InputStream;
 
 /**
  * Represents part of the content of a message.
@@ -46,6 +49,25 @@ public class ContentChunk {
         return content;
     }
 
+    /**
+     * Get a stream over the content without copying it. Reading the stream does not change the reader index of the
+     * content.
+     *
+     * @return input stream of the content
+     */
+    public InputStream getContentStream() {
+        return new ByteBufInputStream(content.duplicate());
+    }
+
+    /**
+     * Get the length of the content in bytes.
+     *
+     * @return content length
+     */
+    public int getContentLength() {
+        return content.readableBytes();
+    }
+
     public byte[] getBytes() {
         byte[] bytes = new byte[content.readableBytes()];
         content.getBytes(0, bytes);
@@ -55,8 +77,4 @@ public class ContentChunk {
     public void release() {
         content.release();
     }
-
-    ContentChunk shallowCopy() {
-        return new ContentChunk(offset, content.retainedSlice());
-    }
 }
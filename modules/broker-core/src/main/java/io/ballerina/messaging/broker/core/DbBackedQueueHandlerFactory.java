@@ -19,6 +19,7 @@
 
 package io.ballerina.messaging.broker.core;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
 import io.ballerina.messaging.broker.core.metrics.BrokerMetricManager;
 import io.ballerina.messaging.broker.core.queue.DbBackedQueueImpl;
@@ -48,11 +49,13 @@ public class DbBackedQueueHandlerFactory implements QueueHandlerFactory {
      *
      * @param queueName  name of the queue
      * @param autoDelete true if auto deletable
+     * @param arguments  arguments given when declaring the queue
      * @return QueueHandler object
      * @throws BrokerException if cannot create queue handler
      */
-    public QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete) throws BrokerException {
-        Queue queue = new DbBackedQueueImpl(queueName, autoDelete, dbMessageStore, queueBufferFactory);
+    public QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments)
+            throws BrokerException {
+        Queue queue = new DbBackedQueueImpl(queueName, autoDelete, arguments, dbMessageStore, queueBufferFactory);
         return new QueueHandler(queue, metricManager);
     }
 
@@ -61,10 +64,11 @@ public class DbBackedQueueHandlerFactory implements QueueHandlerFactory {
      *
      * @param queueName  name of the queue
      * @param autoDelete true if auto deletable
+     * @param arguments  arguments given when declaring the queue
      * @return QueueHandler object
      */
-    public QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete) {
-        Queue queue = new MemQueueImpl(queueName, nonDurableQueueMaxDepth, autoDelete);
+    public QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments) {
+        Queue queue = new MemQueueImpl(queueName, false, nonDurableQueueMaxDepth, autoDelete, arguments);
         return new QueueHandler(queue, metricManager);
     }
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.ballerina.messaging.broker.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.ballerina.messaging.broker.core.util.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds back delayed messages and redeliveries until they are due for delivery. Delivery times are tracked in a
+ * {@link HierarchicalTimingWheel} which is advanced by a single thread, so that both short and long delays are
+ * scheduled in constant time. Messages falling due in the same tick are handed over to the {@link DueMessageHandler}
+ * as a single batch per queue.
+ */
+final class DelayedDeliveryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DelayedDeliveryService.class);
+
+    /**
+     * Duration of a timer wheel tick in milliseconds. Messages are released at most one tick after they are due.
+     */
+    private static final long TICK_DURATION = 10;
+
+    /**
+     * Number of buckets in each level of the timer wheel.
+     */
+    private static final int WHEEL_SIZE = 64;
+
+    /**
+     * Number of levels in the timer wheel. Six levels of 64 buckets cover delays of more than two years.
+     */
+    private static final int LEVEL_COUNT = 6;
+
+    private final HierarchicalTimingWheel<DelayedMessage> timingWheel;
+
+    private final DueMessageHandler dueMessageHandler;
+
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * Maximum number of content bytes of messages held back for redelivery.
+     */
+    private final long redeliveryBufferLimit;
+
+    /**
+     * Number of content bytes of messages currently held back for redelivery.
+     */
+    private final AtomicLong redeliveryBufferSize = new AtomicLong();
+
+    private ScheduledFuture<?> deliveryTaskFuture;
+
+    DelayedDeliveryService(DueMessageHandler dueMessageHandler, long redeliveryBufferLimit) {
+        this.dueMessageHandler = dueMessageHandler;
+        this.redeliveryBufferLimit = redeliveryBufferLimit;
+        this.timingWheel = new HierarchicalTimingWheel<>(TICK_DURATION, WHEEL_SIZE, LEVEL_COUNT,
+                                                         System.currentTimeMillis());
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("DelayedDeliveryThread-%d").build();
+        this.executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Hold back a message from a queue until the given time.
+     *
+     * @param queueHandler queue handler the message should be enqueued to
+     * @param message      delayed message
+     * @param deliveryTime time in milliseconds the message is due for delivery
+     */
+    void schedule(QueueHandler queueHandler, Message message, long deliveryTime) {
+        timingWheel.schedule(new DelayedMessage(queueHandler, message, 0), deliveryTime);
+    }
+
+    /**
+     * Hold back a rejected message until the given time. Messages already taken out of the queue stay in memory
+     * while they are held back. Therefore the total content size of such messages is limited.
+     *
+     * @param queueHandler queue handler the message should be redelivered from
+     * @param message      rejected message
+     * @param deliveryTime time in milliseconds the message is due for redelivery
+     * @return true if the message was scheduled, false if the redelivery buffer is full
+     */
+    boolean scheduleRedelivery(QueueHandler queueHandler, Message message, long deliveryTime) {
+        Metadata metadata = message.getMetadata();
+        long contentLength = Objects.nonNull(metadata) ? metadata.getContentLength() : 0;
+        if (redeliveryBufferSize.addAndGet(contentLength) > redeliveryBufferLimit) {
+            redeliveryBufferSize.addAndGet(-contentLength);
+            return false;
+        }
+        timingWheel.schedule(new DelayedMessage(queueHandler, message, contentLength), deliveryTime);
+        return true;
+    }
+
+    synchronized void start() {
+        if (Objects.isNull(deliveryTaskFuture)) {
+            deliveryTaskFuture = executorService.scheduleWithFixedDelay(this::releaseDueMessages, TICK_DURATION,
+                                                                        TICK_DURATION, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (Objects.nonNull(deliveryTaskFuture)) {
+            deliveryTaskFuture.cancel(false);
+            deliveryTaskFuture = null;
+        }
+    }
+
+    void shutdown() {
+        stop();
+        executorService.shutdown();
+    }
+
+    private void releaseDueMessages() {
+        Map<QueueHandler, List<Message>> dueMessageMap = new HashMap<>();
+        timingWheel.advance(System.currentTimeMillis(), delayedMessage -> {
+            redeliveryBufferSize.addAndGet(-delayedMessage.bufferedBytes);
+            dueMessageMap.computeIfAbsent(delayedMessage.queueHandler, k -> new ArrayList<>())
+                         .add(delayedMessage.message);
+        });
+
+        for (Map.Entry<QueueHandler, List<Message>> entry : dueMessageMap.entrySet()) {
+            QueueHandler queueHandler = entry.getKey();
+            try {
+                dueMessageHandler.handle(queueHandler, entry.getValue());
+            } catch (Exception e) {
+                // Catch all exceptions to keep the delivery task running.
+                LOGGER.error("Error while releasing delayed messages of queue "
+                                     + queueHandler.getUnmodifiableQueue().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Message held back from a queue.
+     */
+    private static final class DelayedMessage {
+
+        private final QueueHandler queueHandler;
+
+        private final Message message;
+
+        /**
+         * Content bytes accounted to the redelivery buffer. 0 for messages which are not yet enqueued.
+         */
+        private final long bufferedBytes;
+
+        private DelayedMessage(QueueHandler queueHandler, Message message, long bufferedBytes) {
+            this.queueHandler = queueHandler;
+            this.message = message;
+            this.bufferedBytes = bufferedBytes;
+        }
+    }
+
+    /**
+     * Handles delayed messages once they are due for delivery.
+     */
+    @FunctionalInterface
+    interface DueMessageHandler {
+
+        /**
+         * Enqueue delayed messages or redeliver rejected messages which are due for delivery.
+         *
+         * @param queueHandler queue handler the messages should be enqueued to
+         * @param dueMessages  messages due for delivery
+         */
+        void handle(QueueHandler queueHandler, Collection<Message> dueMessages);
+    }
+}
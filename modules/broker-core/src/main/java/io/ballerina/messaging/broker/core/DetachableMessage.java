@@ -18,7 +18,7 @@
 
 package io.ballerina.messaging.broker.core;
 
-import java.util.Set;
+import java.util.Collection;
 
 /**
  * Message with only the fields needed to handle a queue detach event. Detach events are triggered
@@ -32,5 +32,5 @@ public interface DetachableMessage {
 
     boolean hasAttachedDurableQueues();
 
-    Set<String> getAttachedQueues();
+    Collection<String> getAttachedQueues();
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Set of durable queues a message is attached to. Only the queue name references are kept in a small array, hence the
+ * names are shared with the queue objects and nothing outlives the messages. A single instance is shared by all the
+ * copies of a message.
+ */
+final class DurableQueueSet {
+
+    private static final String[] EMPTY_NAMES = new String[0];
+
+    /**
+     * Capacity of the array allocated for the first queue. Most messages are attached to a few queues only.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] queueNames = EMPTY_NAMES;
+
+    private int size = 0;
+
+    synchronized void add(String queueName) {
+        if (indexOf(queueName) >= 0) {
+            return;
+        }
+        if (size == queueNames.length) {
+            queueNames = Arrays.copyOf(queueNames, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        queueNames[size++] = queueName;
+    }
+
+    synchronized void remove(String queueName) {
+        int index = indexOf(queueName);
+        if (index >= 0) {
+            size--;
+            queueNames[index] = queueNames[size];
+            queueNames[size] = null;
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return a snapshot of the attached queue names.
+     *
+     * @return names of the attached queues
+     */
+    synchronized Collection<String> getQueueNames() {
+        return new ArrayList<>(Arrays.asList(queueNames).subList(0, size));
+    }
+
+    private int indexOf(String queueName) {
+        for (int i = 0; i < size; i++) {
+            if (queueNames[i].equals(queueName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
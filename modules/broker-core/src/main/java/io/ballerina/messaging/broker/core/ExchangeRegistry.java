@@ -39,7 +39,7 @@ public final class ExchangeRegistry {
 
     private static final String TOPIC = "amq.topic";
 
-    private static final String DEFAULT = "<<default>>";
+    public static final String DEFAULT = "<<default>>";
 
     public static final String DEFAULT_DEAD_LETTER_EXCHANGE = "amq.dlx";
 
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
+import io.ballerina.messaging.broker.core.queue.InMemoryCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/**
+ * Sizes the in-memory caches of durable queues so that the content cached across all queues stays within a memory
+ * budget. The budget is shared among the caches according to their delivery rate, without giving a cache more than
+ * its backlog. The budget is halved and excess messages are evicted from the caches when the heap usage after a
+ * garbage collection crosses the configured threshold. The budget is restored gradually once the heap usage drops.
+ */
+final class InMemoryCacheController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCacheController.class);
+
+    /**
+     * Lowest fraction of the memory budget used under heap pressure.
+     */
+    private static final double MIN_BUDGET_SCALE = 1.0 / 16;
+
+    /**
+     * Fraction of the memory budget restored on each adjustment once the heap pressure is relieved.
+     */
+    private static final double BUDGET_RECOVERY_STEP = 0.125;
+
+    private final Supplier<Collection<QueueHandler>> queueSupplier;
+
+    private final boolean enabled;
+
+    private final long memoryBudget;
+
+    private final int minimumCacheLimit;
+
+    private final double heapUsageThreshold;
+
+    private final long adjustInterval;
+
+    private final ScheduledExecutorService executorService;
+
+    private final NotificationListener heapPressureListener = this::onMemoryNotification;
+
+    private final List<MemoryPoolMXBean> monitoredPools = new ArrayList<>();
+
+    /**
+     * Delivered message count of each cache at the last adjustment. Only accessed by the controller thread.
+     */
+    private Map<InMemoryCache, Long> previousDeliveredCounts = new IdentityHashMap<>();
+
+    /**
+     * Fraction of the memory budget currently shared among the caches. Only accessed by the controller thread.
+     */
+    private double budgetScale = 1;
+
+    private ScheduledFuture<?> adjustTaskFuture;
+
+    InMemoryCacheController(Supplier<Collection<QueueHandler>> queueSupplier,
+                            BrokerCoreConfiguration.AdaptiveInMemoryCache configuration) {
+        this.queueSupplier = queueSupplier;
+        this.enabled = Boolean.parseBoolean(configuration.getEnabled());
+        this.memoryBudget = Long.parseLong(configuration.getMemoryBudget());
+        this.minimumCacheLimit = Integer.parseInt(configuration.getMinimumCacheLimit());
+        this.heapUsageThreshold = Double.parseDouble(configuration.getHeapUsageThreshold());
+        this.adjustInterval = Long.parseLong(configuration.getAdjustInterval());
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("InMemoryCacheControllerThread-%d")
+                                                                .build();
+        this.executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Start adjusting the cache sizes if the controller is enabled in the configuration.
+     */
+    synchronized void start() {
+        if (enabled && Objects.isNull(adjustTaskFuture)) {
+            registerHeapPressureListener();
+            adjustTaskFuture = executorService.scheduleWithFixedDelay(this::adjust, adjustInterval, adjustInterval,
+                                                                      TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (Objects.nonNull(adjustTaskFuture)) {
+            adjustTaskFuture.cancel(false);
+            adjustTaskFuture = null;
+            unregisterHeapPressureListener();
+        }
+    }
+
+    void shutdown() {
+        stop();
+        executorService.shutdown();
+    }
+
+    private void registerHeapPressureListener() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long maxSize = pool.getUsage().getMax();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && maxSize > 0) {
+                pool.setCollectionUsageThreshold((long) (maxSize * heapUsageThreshold));
+                monitoredPools.add(pool);
+            }
+        }
+        NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        emitter.addNotificationListener(heapPressureListener, null, null);
+    }
+
+    private void unregisterHeapPressureListener() {
+        NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        try {
+            emitter.removeNotificationListener(heapPressureListener);
+        } catch (ListenerNotFoundException e) {
+            LOGGER.debug("Heap pressure listener was not registered", e);
+        }
+        monitoredPools.clear();
+    }
+
+    private void onMemoryNotification(Notification notification, Object handback) {
+        if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            executorService.execute(this::shrink);
+        }
+    }
+
+    /**
+     * Halve the memory budget and evict the messages exceeding the reduced cache limits.
+     */
+    private void shrink() {
+        budgetScale = Math.max(MIN_BUDGET_SCALE, budgetScale / 2);
+        LOGGER.info("Heap usage exceeded the threshold. Reducing in-memory cache budget to {} bytes",
+                    (long) (memoryBudget * budgetScale));
+        try {
+            int evictedCount = 0;
+            for (InMemoryCache cache : resize()) {
+                evictedCount += cache.evictExcessMessages();
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Evicted {} messages from in-memory caches", evictedCount);
+            }
+        } catch (Exception e) {
+            // Catch all exceptions to keep the controller running.
+            LOGGER.error("Error while shrinking in-memory caches", e);
+        }
+    }
+
+    /**
+     * Periodically restore the memory budget once the heap pressure is relieved and share it among the caches.
+     */
+    private void adjust() {
+        try {
+            if (budgetScale < 1 && !isHeapUsageAboveThreshold()) {
+                budgetScale = Math.min(1, budgetScale + BUDGET_RECOVERY_STEP);
+            }
+            resize();
+        } catch (Exception e) {
+            // Catch all exceptions to keep the controller running.
+            LOGGER.error("Error while adjusting in-memory caches", e);
+        }
+    }
+
+    private boolean isHeapUsageAboveThreshold() {
+        for (MemoryPoolMXBean pool : monitoredPools) {
+            if (pool.isCollectionUsageThresholdExceeded()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Share the current memory budget among the caches of all queues.
+     *
+     * @return resized caches
+     */
+    private List<InMemoryCache> resize() {
+        List<InMemoryCache> caches = new ArrayList<>();
+        for (QueueHandler queueHandler : queueSupplier.get()) {
+            caches.addAll(queueHandler.getUnmodifiableQueue().getInMemoryCaches());
+        }
+
+        int cacheCount = caches.size();
+        long[] weights = new long[cacheCount];
+        long[] demands = new long[cacheCount];
+        long[] averageMessageSizes = new long[cacheCount];
+        Map<InMemoryCache, Long> deliveredCounts = new IdentityHashMap<>(cacheCount);
+        for (int i = 0; i < cacheCount; i++) {
+            InMemoryCache cache = caches.get(i);
+            long deliveredCount = cache.getDeliveredMessageCount();
+            deliveredCounts.put(cache, deliveredCount);
+            // Newly seen caches start with no delivery rate. Every cache gets a weight so that queues without
+            // consumers still get a share for their backlog.
+            weights[i] = deliveredCount - previousDeliveredCounts.getOrDefault(cache, deliveredCount) + 1;
+
+            long backlogBytes = cache.getUndeliveredMessageBytes();
+            int backlog = cache.getNumberOfUndeliveredMessages();
+            averageMessageSizes[i] = backlog > 0 ? Math.max(1, backlogBytes / backlog) : 1;
+            demands[i] = Math.min(backlogBytes, averageMessageSizes[i] * cache.getInMemoryLimit());
+        }
+        previousDeliveredCounts = deliveredCounts;
+
+        long[] shares = distribute((long) (memoryBudget * budgetScale), weights, demands);
+        for (int i = 0; i < cacheCount; i++) {
+            InMemoryCache cache = caches.get(i);
+            long limit = Math.max(minimumCacheLimit, shares[i] / averageMessageSizes[i]);
+            cache.setAdaptiveInMemoryLimit((int) Math.min(limit, cache.getInMemoryLimit()));
+        }
+        return caches;
+    }
+
+    /**
+     * Share a budget in proportion to the given weights without giving anyone more than their demand. The budget
+     * left over by satisfied demands is shared among the rest in the same way.
+     *
+     * @param budget  budget to be shared
+     * @param weights positive weight of each participant
+     * @param demands maximum share of each participant
+     * @return share of each participant
+     */
+    static long[] distribute(long budget, long[] weights, long[] demands) {
+        long[] shares = new long[weights.length];
+        boolean[] satisfied = new boolean[weights.length];
+        long remainingBudget = budget;
+        boolean capped = true;
+        while (capped && remainingBudget > 0) {
+            double totalWeight = 0;
+            for (int i = 0; i < weights.length; i++) {
+                if (!satisfied[i]) {
+                    totalWeight += weights[i];
+                }
+            }
+            if (totalWeight == 0) {
+                break;
+            }
+
+            // Satisfy the participants whose proportional share exceeds their demand first. The rest are only
+            // given their share once everyone left can take their full share.
+            capped = false;
+            long allocated = 0;
+            for (int i = 0; i < weights.length; i++) {
+                if (!satisfied[i] && remainingBudget * (weights[i] / totalWeight) >= demands[i]) {
+                    shares[i] = demands[i];
+                    allocated += demands[i];
+                    satisfied[i] = true;
+                    capped = true;
+                }
+            }
+            if (!capped) {
+                for (int i = 0; i < weights.length; i++) {
+                    if (!satisfied[i]) {
+                        shares[i] = (long) (remainingBudget * (weights[i] / totalWeight));
+                        allocated += shares[i];
+                    }
+                }
+            }
+            remainingBudget -= allocated;
+        }
+        return shares;
+    }
+}
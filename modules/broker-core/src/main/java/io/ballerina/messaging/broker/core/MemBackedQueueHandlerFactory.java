@@ -19,6 +19,7 @@
 
 package io.ballerina.messaging.broker.core;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
 import io.ballerina.messaging.broker.core.metrics.BrokerMetricManager;
 import io.ballerina.messaging.broker.core.queue.MemQueueImpl;
@@ -38,17 +39,18 @@ public class MemBackedQueueHandlerFactory implements QueueHandlerFactory {
     }
 
     @Override
-    public QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete) {
-        return getQueueHandler(queueName, true, autoDelete);
+    public QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments) {
+        return getQueueHandler(queueName, true, autoDelete, arguments);
     }
 
     @Override
-    public QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete) {
-        return getQueueHandler(queueName, false, autoDelete);
+    public QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments) {
+        return getQueueHandler(queueName, false, autoDelete, arguments);
     }
 
-    private QueueHandler getQueueHandler(String queueName, boolean durable, boolean autoDelete) {
-        Queue queue = new MemQueueImpl(queueName, durable, nonDurableQueueMaxDepth, autoDelete);
+    private QueueHandler getQueueHandler(String queueName, boolean durable, boolean autoDelete,
+                                         FieldTable arguments) {
+        Queue queue = new MemQueueImpl(queueName, durable, nonDurableQueueMaxDepth, autoDelete, arguments);
         return new QueueHandler(queue, metricManager);
     }
 }
@@ -22,35 +22,68 @@ package io.ballerina.messaging.broker.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents message received from publishers and delivered to subscribers by the broker.
- * This contains the metadata and the content chunks of the message.
+ * This contains the metadata and the content chunks of the message. The message acts as the detachable message
+ * implementation as well.
  */
-public class Message {
+public class Message implements DetachableMessage {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Message.class);
 
+    private final long internalId;
+
     private Metadata metadata;
 
-    private final List<ContentChunk> contentChunks;
+    /**
+     * Content shared between all the shallow copies of the message. Null when the message content is not loaded
+     * or has been released.
+     */
+    private MessageContent content;
+
+    /**
+     * Durable queues shared between all the shallow copies of the message. Allocated only for persistent messages
+     * or when a durable queue is attached.
+     */
+    private DurableQueueSet durableQueues;
+
+    /**
+     * Allocated only when the message is redelivered or copied from a redelivered message.
+     */
+    private RedeliveryState redeliveryState;
+
+    /**
+     * Priority of a bare message read from the store. Once metadata is set the priority is read from metadata.
+     */
+    private int bareMessagePriority;
+
+    /**
+     * Content length of a bare message read from the store. Once metadata is set the length is read from metadata.
+     */
+    private long bareContentLength;
 
-    private final MessageDataHolder messageDataHolder;
+    /**
+     * Publisher confirmation shared between the shallow copies of the message. Null unless the publisher requested
+     * confirms.
+     */
+    private PublishConfirm publishConfirm;
 
     public Message(long internalId, Metadata metadata) {
-        this(internalId, metadata, ConcurrentHashMap.newKeySet(), 0);
+        this(internalId, metadata, null, null, null);
     }
 
-    private Message(long internalId, Metadata metadata, Set<String> queueSet, int redeliveryCount) {
+    private Message(long internalId, Metadata metadata, MessageContent content,
+                    DurableQueueSet durableQueues, RedeliveryState redeliveryState) {
+        this.internalId = internalId;
         this.metadata = metadata;
-        this.contentChunks = new ArrayList<>();
-        messageDataHolder = new MessageDataHolder(internalId, queueSet, redeliveryCount);
+        this.content = content;
+        this.durableQueues = durableQueues;
+        this.redeliveryState = redeliveryState;
     }
 
     public Metadata getMetadata() {
@@ -58,28 +91,47 @@ public class Message {
     }
 
     public List<ContentChunk> getContentChunks() {
-        return Collections.unmodifiableList(contentChunks);
+        if (Objects.isNull(content)) {
+            return Collections.emptyList();
+        }
+        return content.getContentChunks();
     }
 
     public void addChunk(ContentChunk contentChunk) {
-        contentChunks.add(contentChunk);
+        if (Objects.isNull(content)) {
+            content = new MessageContent(contentChunk);
+        } else {
+            content.addChunk(contentChunk);
+        }
     }
 
+    /**
+     * Release the reference this message holds to the shared content. Content chunks are released when all the
+     * copies of the message are released.
+     */
     public void release() {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Release message with id: {}", getInternalId(), new Throwable());
         }
-        for (ContentChunk contentChunk : contentChunks) {
-            contentChunk.release();
+        if (Objects.nonNull(content)) {
+            content.release();
+            content = null;
         }
     }
 
+    /**
+     * Create a shallow copy of the message. The copy shares the metadata and the content of this message, and only
+     * keeps its own delivery state.
+     *
+     * @return shallow copy of the message
+     */
     public Message shallowCopy() {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Shallow copy message id: {}", getInternalId(), new Throwable());
         }
-        Message message = new Message(getInternalId(), metadata, getAttachedDurableQueues(), getRedeliveryCount());
-        shallowCopyContent(message);
+        Message message = new Message(internalId, metadata, retainContent(), shareDurableQueues(),
+                                      copyRedeliveryState());
+        message.publishConfirm = publishConfirm;
         return message;
     }
 
@@ -90,61 +142,142 @@ public class Message {
      * @return shallow copy of the message
      */
     public Message bareShallowCopy() {
-        return new Message(getInternalId(), null, messageDataHolder.getAttachedQueues(), getRedeliveryCount());
+        Message message = new Message(internalId, null, null, shareDurableQueues(), copyRedeliveryState());
+        message.bareMessagePriority = getPriority();
+        message.bareContentLength = getContentLength();
+        return message;
     }
 
     public Message shallowCopyWith(long newMessageId, String routingKey, String exchangeName) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Shallow copy message with id: {} newId: {}", getInternalId(), newMessageId, new Throwable());
         }
-        Message message = new Message(newMessageId, metadata.shallowCopyWith(routingKey, exchangeName));
-        shallowCopyContent(message);
-        return message;
+        return new Message(newMessageId, metadata.shallowCopyWith(routingKey, exchangeName), retainContent(),
+                           null, null);
     }
 
-    private void shallowCopyContent(Message message) {
-        contentChunks.stream().map(ContentChunk::shallowCopy).forEach(message::addChunk);
+    private MessageContent retainContent() {
+        return Objects.nonNull(content) ? content.retain() : null;
+    }
+
+    /**
+     * Durable queue set needs to be allocated before it is shared with a copy. Non persistent messages are never
+     * attached to a durable queue, hence they skip the allocation.
+     */
+    private DurableQueueSet shareDurableQueues() {
+        if (Objects.isNull(durableQueues) && Objects.nonNull(metadata) && metadata.isPersistent()) {
+            durableQueues = new DurableQueueSet();
+        }
+        return durableQueues;
+    }
+
+    private RedeliveryState copyRedeliveryState() {
+        if (Objects.isNull(redeliveryState)) {
+            return null;
+        }
+        return new RedeliveryState(redeliveryState.redeliveryCount);
     }
 
     public void addAttachedDurableQueue(String queueName) {
-        messageDataHolder.attachQueue(queueName);
+        if (Objects.isNull(durableQueues)) {
+            durableQueues = new DurableQueueSet();
+        }
+        durableQueues.add(queueName);
+    }
+
+    @Override
+    public void removeAttachedDurableQueue(String queueName) {
+        if (Objects.nonNull(durableQueues)) {
+            durableQueues.remove(queueName);
+        }
     }
 
+    @Override
     public boolean hasAttachedDurableQueues() {
-        return messageDataHolder.hasAttachedDurableQueues();
+        return Objects.nonNull(durableQueues) && !durableQueues.isEmpty();
+    }
+
+    public Collection<String> getAttachedDurableQueues() {
+        if (Objects.isNull(durableQueues)) {
+            return Collections.emptyList();
+        }
+        return durableQueues.getQueueNames();
     }
 
-    public Set<String> getAttachedDurableQueues() {
-        return messageDataHolder.getAttachedQueues();
+    @Override
+    public Collection<String> getAttachedQueues() {
+        return getAttachedDurableQueues();
     }
 
+    @Override
     public long getInternalId() {
-        return messageDataHolder.getInternalId();
+        return internalId;
     }
 
     /**
      * Set redelivery flag.
      */
     public int setRedeliver() {
-        return messageDataHolder.setRedeliver();
+        if (Objects.isNull(redeliveryState)) {
+            redeliveryState = new RedeliveryState(0);
+        }
+        redeliveryState.redelivered = true;
+        return ++redeliveryState.redeliveryCount;
     }
 
     /**
      * Getter for redeliveryCount.
      */
     public int getRedeliveryCount() {
-        return messageDataHolder.getRedeliveryCount();
+        return Objects.nonNull(redeliveryState) ? redeliveryState.redeliveryCount : 0;
     }
 
     /**
      * Check if redelivery flag is set.
      */
     public boolean isRedelivered() {
-        return messageDataHolder.isRedelivered();
+        return Objects.nonNull(redeliveryState) && redeliveryState.redelivered;
+    }
+
+    /**
+     * Get the priority of the message.
+     *
+     * @return priority from the metadata, or the priority read from the store for bare messages
+     */
+    public int getPriority() {
+        return Objects.nonNull(metadata) ? metadata.getPriority() : bareMessagePriority;
+    }
+
+    public void setBareMessagePriority(int priority) {
+        this.bareMessagePriority = priority;
+    }
+
+    /**
+     * Get the content length of the message.
+     *
+     * @return content length from the metadata, or the content length read from the store for bare messages
+     */
+    public long getContentLength() {
+        return Objects.nonNull(metadata) ? metadata.getContentLength() : bareContentLength;
+    }
+
+    public void setBareContentLength(long contentLength) {
+        this.bareContentLength = contentLength;
+    }
+
+    /**
+     * Getter for publishConfirm.
+     */
+    public PublishConfirm getPublishConfirm() {
+        return publishConfirm;
+    }
+
+    public void setPublishConfirm(PublishConfirm publishConfirm) {
+        this.publishConfirm = publishConfirm;
     }
 
     public DetachableMessage getDetachableMessage() {
-        return messageDataHolder;
+        return this;
     }
 
     @Override
@@ -162,9 +295,10 @@ public class Message {
     }
 
     public void clearData() {
+        bareMessagePriority = getPriority();
+        bareContentLength = getContentLength();
         metadata = null;
         release();
-        contentChunks.clear();
     }
 
     /**
@@ -177,59 +311,16 @@ public class Message {
     }
 
     /**
-     * Internal message data holder class. This acts as the detachable message implementation as well.
+     * Redelivery data of a message copy.
      */
-    private static class MessageDataHolder implements DetachableMessage {
-
-        private final long internalId;
-
-        private final Set<String> queueSet;
+    private static class RedeliveryState {
 
         private boolean redelivered = false;
 
         private int redeliveryCount;
 
-        private MessageDataHolder(long internalId, Set<String> queueSet, int redeliveryCount) {
-            this.internalId = internalId;
-            this.queueSet = queueSet;
+        private RedeliveryState(int redeliveryCount) {
             this.redeliveryCount = redeliveryCount;
         }
-
-        @Override
-        public long getInternalId() {
-            return internalId;
-        }
-
-        @Override
-        public void removeAttachedDurableQueue(String queueName) {
-            queueSet.remove(queueName);
-        }
-
-        @Override
-        public boolean hasAttachedDurableQueues() {
-            return !queueSet.isEmpty();
-        }
-
-        @Override
-        public Set<String> getAttachedQueues() {
-            return queueSet;
-        }
-
-        void attachQueue(String queueName) {
-            queueSet.add(queueName);
-        }
-
-        int setRedeliver() {
-            redelivered = true;
-            return ++redeliveryCount;
-        }
-
-        int getRedeliveryCount() {
-            return redeliveryCount;
-        }
-
-        boolean isRedelivered() {
-            return redelivered;
-        }
     }
 }
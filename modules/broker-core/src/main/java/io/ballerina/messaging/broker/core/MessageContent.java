@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Reference counted holder of the content chunks of a message. A single instance is shared by all the copies of a
+ * message that are routed to different queues. Chunks are added only before the content is shared and are released
+ * once the last reference is released. Chunks are kept in a plain array sized to the chunk count, since most
+ * messages fit in a single content frame.
+ */
+final class MessageContent {
+
+    private static final AtomicIntegerFieldUpdater<MessageContent> REFERENCE_COUNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(MessageContent.class, "referenceCount");
+
+    private ContentChunk[] contentChunks;
+
+    private int chunkCount;
+
+    private volatile int referenceCount = 1;
+
+    MessageContent(ContentChunk firstChunk) {
+        contentChunks = new ContentChunk[] {firstChunk};
+        chunkCount = 1;
+    }
+
+    void addChunk(ContentChunk contentChunk) {
+        if (chunkCount == contentChunks.length) {
+            contentChunks = Arrays.copyOf(contentChunks, chunkCount * 2);
+        }
+        contentChunks[chunkCount++] = contentChunk;
+    }
+
+    List<ContentChunk> getContentChunks() {
+        return new ContentChunkList(contentChunks, chunkCount);
+    }
+
+    /**
+     * Increment the reference count.
+     *
+     * @return this content holder
+     */
+    MessageContent retain() {
+        int currentCount;
+        do {
+            currentCount = referenceCount;
+            if (currentCount <= 0) {
+                throw new IllegalStateException("Cannot retain already released message content");
+            }
+        } while (!REFERENCE_COUNT_UPDATER.compareAndSet(this, currentCount, currentCount + 1));
+        return this;
+    }
+
+    /**
+     * Decrement the reference count and release the content chunks if the count reaches zero.
+     */
+    void release() {
+        int newCount = REFERENCE_COUNT_UPDATER.decrementAndGet(this);
+        if (newCount == 0) {
+            for (int i = 0; i < chunkCount; i++) {
+                contentChunks[i].release();
+            }
+        } else if (newCount < 0) {
+            throw new IllegalStateException("Message content released more times than retained");
+        }
+    }
+
+    int referenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * Read only list view over the content chunk array.
+     */
+    private static final class ContentChunkList extends AbstractList<ContentChunk> implements RandomAccess {
+
+        private final ContentChunk[] contentChunks;
+
+        private final int size;
+
+        private ContentChunkList(ContentChunk[] contentChunks, int size) {
+            this.contentChunks = contentChunks;
+            this.size = size;
+        }
+
+        @Override
+        public ContentChunk get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return contentChunks[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -62,6 +62,7 @@ final class MessageDeliveryTask extends Task {
             return TaskHint.IDLE;
         }
 
+        int batchSize = queueHandler.getDeliveryBatchSize(deliveryBatchSize);
         int deliveredCount = 0;
         Consumer previousConsumer = null;
         while (true) {
@@ -88,7 +89,7 @@ final class MessageDeliveryTask extends Task {
                     MessageTracer.trace(message, queueHandler, MessageTracer.DELIVER);
                     consumer.send(message);
                     deliveredCount++;
-                    if (deliveredCount == deliveryBatchSize) {
+                    if (deliveredCount == batchSize) {
                         break;
                     }
                 } else {
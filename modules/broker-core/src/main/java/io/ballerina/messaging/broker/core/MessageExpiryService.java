@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.ballerina.messaging.broker.core.util.HashedTimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires queued messages once their time to live elapses. Expiry deadlines are tracked in a
+ * {@link HashedTimerWheel} which is advanced by a single thread. Messages expiring in the same tick are removed from
+ * their queue and handed over to the {@link ExpiredMessageHandler} as a single batch per queue.
+ */
+final class MessageExpiryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageExpiryService.class);
+
+    /**
+     * Duration of a timer wheel tick in milliseconds. Messages are expired at most one tick after their deadline.
+     */
+    private static final long TICK_DURATION = 100;
+
+    /**
+     * Number of buckets in the timer wheel. A full rotation of the wheel covers 51.2 seconds.
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    private final HashedTimerWheel<ExpiringMessage> timerWheel;
+
+    private final ExpiredMessageHandler expiredMessageHandler;
+
+    private final ScheduledExecutorService executorService;
+
+    private ScheduledFuture<?> expiryTaskFuture;
+
+    MessageExpiryService(ExpiredMessageHandler expiredMessageHandler) {
+        this.expiredMessageHandler = expiredMessageHandler;
+        this.timerWheel = new HashedTimerWheel<>(TICK_DURATION, WHEEL_SIZE, System.currentTimeMillis());
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("MessageExpiryThread-%d").build();
+        this.executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Schedule a queued message to be expired at the given time.
+     *
+     * @param queueHandler queue handler the message was enqueued to
+     * @param message      enqueued message
+     * @param expiryTime   time in milliseconds the message expires at
+     */
+    void schedule(QueueHandler queueHandler, Message message, long expiryTime) {
+        timerWheel.schedule(new ExpiringMessage(queueHandler, message.getInternalId()), expiryTime);
+    }
+
+    /**
+     * Hand over expired messages which are already taken out of the queue to the {@link ExpiredMessageHandler}.
+     *
+     * @param queueHandler    queue handler the messages were taken from
+     * @param expiredMessages expired messages
+     */
+    void expire(QueueHandler queueHandler, Collection<Message> expiredMessages) {
+        expiredMessageHandler.handle(queueHandler, expiredMessages);
+    }
+
+    synchronized void start() {
+        if (Objects.isNull(expiryTaskFuture)) {
+            expiryTaskFuture = executorService.scheduleWithFixedDelay(this::expireMessages, TICK_DURATION,
+                                                                      TICK_DURATION, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (Objects.nonNull(expiryTaskFuture)) {
+            expiryTaskFuture.cancel(false);
+            expiryTaskFuture = null;
+        }
+    }
+
+    void shutdown() {
+        stop();
+        executorService.shutdown();
+    }
+
+    private void expireMessages() {
+        Map<QueueHandler, List<Long>> expiredMessageMap = new HashMap<>();
+        timerWheel.advance(System.currentTimeMillis(), expiringMessage ->
+                expiredMessageMap.computeIfAbsent(expiringMessage.queueHandler, k -> new ArrayList<>())
+                                 .add(expiringMessage.messageId));
+
+        for (Map.Entry<QueueHandler, List<Long>> entry : expiredMessageMap.entrySet()) {
+            QueueHandler queueHandler = entry.getKey();
+            try {
+                Collection<Message> removedMessages = queueHandler.removeExpiredMessages(entry.getValue());
+                if (!removedMessages.isEmpty()) {
+                    expire(queueHandler, removedMessages);
+                }
+            } catch (Exception e) {
+                // Catch all exceptions to keep the expiry task running.
+                LOGGER.error("Error while expiring messages of queue "
+                                     + queueHandler.getUnmodifiableQueue().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Message scheduled to expire from a queue. Only the message id is kept so that messages consumed before they
+     * expire are not held in memory by the timer wheel.
+     */
+    private static final class ExpiringMessage {
+
+        private final QueueHandler queueHandler;
+
+        private final long messageId;
+
+        private ExpiringMessage(QueueHandler queueHandler, long messageId) {
+            this.queueHandler = queueHandler;
+            this.messageId = messageId;
+        }
+    }
+
+    /**
+     * Handles messages removed from a queue due to expiry.
+     */
+    @FunctionalInterface
+    interface ExpiredMessageHandler {
+
+        /**
+         * Dispose expired messages. Messages are already taken out of the queue but are not detached from it yet.
+         *
+         * @param queueHandler    queue handler the messages were taken from
+         * @param expiredMessages expired messages
+         */
+        void handle(QueueHandler queueHandler, Collection<Message> expiredMessages);
+    }
+}
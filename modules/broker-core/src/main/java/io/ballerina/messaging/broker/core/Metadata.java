@@ -45,10 +45,22 @@ public class Metadata {
 
     public static final ShortString CORRELATION_ID = ShortString.parseString("correlationId");
 
+    public static final ShortString REPLY_TO = ShortString.parseString("replyTo");
+
+    /**
+     * Header used to delay the delivery of a message by the given number of milliseconds.
+     */
+    public static final ShortString DELAY_HEADER = ShortString.parseString("x-delay");
+
     public static final int PERSISTENT_MESSAGE = 2;
 
     public static final int NON_PERSISTENT_MESSAGE = 1;
 
+    /**
+     * Value returned by {@link #getExpiration()} when the message does not expire.
+     */
+    public static final long NO_EXPIRATION = -1;
+
     /**
      * Key value used by the router (exchange) to identify the relevant queue(s) for this message.
      */
@@ -68,6 +80,11 @@ public class Metadata {
 
     private FieldTable headers;
 
+    /**
+     * Time in milliseconds the message was accepted by the broker. Zero if the arrival time is not known.
+     */
+    private long arrivalTime;
+
     public Metadata(String routingKey, String exchangeName, long contentLength) {
         this.routingKey = routingKey;
         this.exchangeName = exchangeName;
@@ -134,7 +151,68 @@ public class Metadata {
     }
 
     public boolean isPersistent() {
-        return getByteProperty(Metadata.DELIVERY_MODE) == Metadata.PERSISTENT_MESSAGE;
+        FieldValue deliveryMode = properties.getValue(Metadata.DELIVERY_MODE);
+        return deliveryMode != null
+                && ((ShortShortInt) deliveryMode.getValue()).getByte() == Metadata.PERSISTENT_MESSAGE;
+    }
+
+    /**
+     * Get the priority of the message. Messages without a priority property have the lowest priority.
+     *
+     * @return priority of the message between 0 and 255
+     */
+    public int getPriority() {
+        FieldValue priority = properties.getValue(Metadata.PRIORITY);
+        return priority != null ? ((ShortShortInt) priority.getValue()).getByte() & 0xFF : 0;
+    }
+
+    /**
+     * Get the time to live of the message given through the expiration property.
+     *
+     * @return expiration in milliseconds or {@link #NO_EXPIRATION} if the message does not have a valid expiration
+     */
+    public long getExpiration() {
+        FieldValue expiration = properties.getValue(Metadata.EXPIRATION);
+        if (expiration == null) {
+            return NO_EXPIRATION;
+        }
+        try {
+            long value = Long.parseLong(expiration.getValue().toString());
+            return value >= 0 ? value : NO_EXPIRATION;
+        } catch (NumberFormatException e) {
+            return NO_EXPIRATION;
+        }
+    }
+
+    /**
+     * Get the delivery delay requested through the {@link #DELAY_HEADER} header.
+     *
+     * @return delay in milliseconds, 0 if the message is not delayed
+     */
+    public long getDelay() {
+        FieldValue delay = headers.getValue(DELAY_HEADER);
+        if (delay == null) {
+            return 0;
+        }
+        Long value = QueueArguments.getLongValue(delay);
+        return value != null && value > 0 ? value : 0;
+    }
+
+    /**
+     * Get the time the message becomes deliverable. This is the arrival time unless the message is delayed.
+     *
+     * @return delivery time in milliseconds
+     */
+    public long getDeliveryTime() {
+        return arrivalTime + getDelay();
+    }
+
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(long arrivalTime) {
+        this.arrivalTime = arrivalTime;
     }
 
     public FieldValue getHeader(ShortString headerName) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publisher confirmation of a message. The confirmation is shared between all the shallow copies of the published
+ * message and is completed once the message is handed over to its queues, or once the message is persisted when
+ * it is routed to a durable queue.
+ */
+public final class PublishConfirm {
+
+    private final long sequenceNumber;
+
+    private final Listener listener;
+
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    /**
+     * Set when a destination queue refuses the message, for instance due to a reject-publish overflow policy.
+     */
+    private volatile boolean rejected;
+
+    public PublishConfirm(long sequenceNumber, Listener listener) {
+        this.sequenceNumber = sequenceNumber;
+        this.listener = listener;
+    }
+
+    /**
+     * Getter for sequenceNumber.
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Getter for listener.
+     */
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Mark the message as refused by one of its destination queues. The publisher is negatively acknowledged once
+     * the confirmation is completed.
+     */
+    public void reject() {
+        rejected = true;
+    }
+
+    /**
+     * Complete the confirmation. Only the first completion is notified to the listener.
+     *
+     * @param success false if the message could not be handled by the broker
+     * @return true if the listener was notified
+     */
+    public boolean complete(boolean success) {
+        if (completed.compareAndSet(false, true)) {
+            listener.onConfirm(sequenceNumber, success && !rejected);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Complete the confirmation and flush the listener right away. Used when the outcome is known outside of a batch
+     * of store operations.
+     *
+     * @param success false if the message could not be handled by the broker
+     */
+    public void completeAndFlush(boolean success) {
+        if (complete(success)) {
+            listener.flush();
+        }
+    }
+
+    /**
+     * Receives the outcome of messages published with publisher confirms enabled.
+     */
+    public interface Listener {
+
+        /**
+         * Invoked once for each published message. Confirmations of a batch are followed by a {@link #flush()}.
+         *
+         * @param sequenceNumber sequence number of the published message
+         * @param ack            true if the message was accepted, false otherwise
+         */
+        void onConfirm(long sequenceNumber, boolean ack);
+
+        /**
+         * Invoked at the end of a batch of confirmations so that they can be sent to the publisher at once.
+         */
+        void flush();
+    }
+}
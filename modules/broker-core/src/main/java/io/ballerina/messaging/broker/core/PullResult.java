@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.List;
+
+/**
+ * Messages taken from a queue by a pull consumer along with the number of messages left in the queue.
+ */
+public final class PullResult {
+
+    private final List<Message> messages;
+
+    private final int remainingCount;
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Data holder class for pulled messages.")
+    public PullResult(List<Message> messages, int remainingCount) {
+        this.messages = messages;
+        this.remainingCount = remainingCount;
+    }
+
+    /**
+     * Getter for messages.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Data holder class for pulled messages.")
+    public List<Message> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Getter for remainingCount.
+     */
+    public int getRemainingCount() {
+        return remainingCount;
+    }
+}
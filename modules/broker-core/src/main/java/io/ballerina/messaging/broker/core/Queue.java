@@ -19,6 +19,11 @@
 
 package io.ballerina.messaging.broker.core;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.core.queue.InMemoryCache;
+
+import java.util.Collection;
+import java.util.Collections;
 import javax.transaction.xa.Xid;
 
 /**
@@ -37,12 +42,19 @@ public abstract class Queue {
 
     private final boolean autoDelete;
 
+    private volatile FieldTable arguments;
+
     private QueueHandler queueHandler;
 
     public Queue(String queueName, boolean durable, boolean autoDelete) {
+        this(queueName, durable, autoDelete, FieldTable.EMPTY_TABLE);
+    }
+
+    public Queue(String queueName, boolean durable, boolean autoDelete, FieldTable arguments) {
         this.name = queueName;
         this.durable = durable;
         this.autoDelete = autoDelete;
+        this.arguments = arguments;
     }
 
     public final String getName() {
@@ -57,6 +69,25 @@ public abstract class Queue {
         return autoDelete;
     }
 
+    /**
+     * Arguments given when declaring the queue, including the tuning arguments applied afterwards.
+     *
+     * @return queue arguments
+     */
+    public FieldTable getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Replace the arguments of the queue. Implementations override this to apply the tuning arguments such as
+     * {@link QueueArguments#IN_MEMORY_CACHE_LIMIT} to the running queue.
+     *
+     * @param arguments queue arguments
+     */
+    public void setArguments(FieldTable arguments) {
+        this.arguments = arguments;
+    }
+
     public QueueHandler getQueueHandler() {
         return queueHandler;
     }
@@ -92,12 +123,42 @@ public abstract class Queue {
         return name.hashCode();
     }
 
+    /**
+     * Get the caches holding messages read from the message store in memory.
+     *
+     * @return in-memory caches of the queue, empty if the queue does not read messages from the message store
+     */
+    public Collection<InMemoryCache> getInMemoryCaches() {
+        return Collections.emptyList();
+    }
+
     public abstract int capacity();
 
     public abstract int size();
 
+    /**
+     * Get the total content size of the messages counted by {@link #size()}.
+     *
+     * @return content size in bytes
+     */
+    public abstract long sizeInBytes();
+
     public abstract boolean enqueue(Message message) throws BrokerException;
 
+    /**
+     * Enqueue a batch of messages. The outcome of each message is reported to the given callback in the order the
+     * messages were enqueued. Implementations can override this to amortize per message locking costs.
+     *
+     * @param messages        messages to be enqueued
+     * @param enqueueCallback callback notified of the enqueue outcome of each message
+     * @throws BrokerException if an internal error occurred
+     */
+    public void enqueueAll(Collection<Message> messages, EnqueueCallback enqueueCallback) throws BrokerException {
+        for (Message message : messages) {
+            enqueueCallback.onEnqueue(message, enqueue(message));
+        }
+    }
+
     public abstract void prepareEnqueue(Xid xid, Message message) throws BrokerException;
 
     public abstract void commit(Xid xid);
@@ -106,9 +167,94 @@ public abstract class Queue {
 
     public abstract Message dequeue();
 
+    /**
+     * Remove the message which would be delivered next without giving it out for delivery. The removed message is
+     * not detached from the queue. Used to make room in a queue which reached its length limit.
+     *
+     * @return removed message, null if there are no undelivered messages in the queue
+     */
+    public abstract Message removeHead();
+
     public abstract void detach(DetachableMessage detachableMessage) throws BrokerException;
 
     public abstract void prepareDetach(Xid xid, DetachableMessage detachableMessage) throws BrokerException;
 
     public abstract int clear();
+
+    /**
+     * Remove all messages in the queue. Queues which persist messages remove the persisted messages from the
+     * message store in the background and report the progress through the given status.
+     *
+     * @param purgeStatus status of the purge
+     * @return number of messages removed from the queue
+     */
+    public int purge(QueuePurgeStatus purgeStatus) {
+        int purgedMessageCount = clear();
+        purgeStatus.complete();
+        return purgedMessageCount;
+    }
+
+    /**
+     * Prepare to enqueue a delayed message through {@link #enqueueDelayed(Message)} once it is due. Queues which
+     * persist messages attach the message to the queue here since the attachment can only be persisted while the
+     * message is being published.
+     *
+     * @param message delayed message
+     * @throws BrokerException if an internal error occurred
+     */
+    public void prepareDelayedEnqueue(Message message) throws BrokerException {
+        // Nothing to prepare by default.
+    }
+
+    /**
+     * Enqueue a delayed message which is due for delivery.
+     *
+     * @param message delayed message prepared through {@link #prepareDelayedEnqueue(Message)} or
+     *                {@link #defer(Message)}
+     * @return true if the message was enqueued
+     * @throws BrokerException if an internal error occurred
+     */
+    public boolean enqueueDelayed(Message message) throws BrokerException {
+        return enqueue(message);
+    }
+
+    /**
+     * Remove a message taken for delivery which is not yet due. The message is enqueued again through
+     * {@link #enqueueDelayed(Message)} once it is due.
+     *
+     * @param message message taken for delivery
+     */
+    public void defer(Message message) {
+        // Messages taken for delivery are no longer held by the queue by default.
+    }
+
+    /**
+     * Remove the given messages from the queue if they are not yet taken for delivery. Removed messages are not
+     * detached from the queue. Used to drop expired messages in bulk.
+     *
+     * @param messageIds internal ids of the messages to be removed
+     * @return messages which were removed from the queue
+     */
+    public abstract Collection<Message> removeUndelivered(Collection<Long> messageIds);
+
+    /**
+     * Detach a batch of messages from the queue. Implementations can override this to batch the store operations.
+     *
+     * @param messages messages to be detached
+     * @throws BrokerException if an internal error occurred
+     */
+    public void detachAll(Collection<Message> messages) throws BrokerException {
+        for (Message message : messages) {
+            detach(message.getDetachableMessage());
+        }
+    }
+
+    /**
+     * Callback used to report the outcome of enqueuing a message.
+     */
+    @FunctionalInterface
+    public interface EnqueueCallback {
+
+        void onEnqueue(Message message, boolean success);
+    }
 }
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import io.ballerina.messaging.broker.common.ValidationException;
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import io.ballerina.messaging.broker.common.data.types.LongInt;
+import io.ballerina.messaging.broker.common.data.types.LongLongInt;
+import io.ballerina.messaging.broker.common.data.types.LongUint;
+import io.ballerina.messaging.broker.common.data.types.ShortInt;
+import io.ballerina.messaging.broker.common.data.types.ShortShortInt;
+import io.ballerina.messaging.broker.common.data.types.ShortShortUint;
+import io.ballerina.messaging.broker.common.data.types.ShortString;
+import io.ballerina.messaging.broker.common.data.types.ShortUint;
+
+import java.util.Objects;
+
+/**
+ * Queue declaration arguments understood by the broker.
+ */
+public final class QueueArguments {
+
+    /**
+     * Maximum priority supported by the queue. Queues declared without this argument ignore message priorities.
+     */
+    public static final ShortString MAX_PRIORITY = ShortString.parseString("x-max-priority");
+
+    /**
+     * Upper bound for the {@link #MAX_PRIORITY} argument. Each priority level costs a separate buffer, hence only a
+     * small number of levels is allowed.
+     */
+    public static final int MAX_SUPPORTED_PRIORITY = 10;
+
+    /**
+     * Time in milliseconds a message can remain in the queue before it expires.
+     */
+    public static final ShortString MESSAGE_TTL = ShortString.parseString("x-message-ttl");
+
+    /**
+     * Exchange expired messages and messages dropped due to the queue length limit are published to. Only
+     * {@link ExchangeRegistry#DEFAULT_DEAD_LETTER_EXCHANGE} is supported. Such messages of queues declared without
+     * this argument are dropped.
+     */
+    public static final ShortString DEAD_LETTER_EXCHANGE = ShortString.parseString("x-dead-letter-exchange");
+
+    /**
+     * Value returned by {@link #getMessageTtl(FieldTable)} when the queue does not define a message TTL.
+     */
+    public static final long NO_TTL = -1;
+
+    /**
+     * Time in milliseconds a rejected message is held back before it is redelivered. Rejected messages of queues
+     * declared without this argument are redelivered right away.
+     */
+    public static final ShortString REDELIVERY_DELAY = ShortString.parseString("x-redelivery-delay");
+
+    /**
+     * How the redelivery delay grows with the number of redeliveries. Either {@link #FIXED_BACKOFF} or
+     * {@link #EXPONENTIAL_BACKOFF}. Defaults to {@link #FIXED_BACKOFF}.
+     */
+    public static final ShortString REDELIVERY_BACKOFF = ShortString.parseString("x-redelivery-backoff");
+
+    /**
+     * Upper bound in milliseconds for the exponentially growing redelivery delay.
+     */
+    public static final ShortString REDELIVERY_MAX_DELAY = ShortString.parseString("x-redelivery-max-delay");
+
+    /**
+     * Redelivery backoff which holds back every redelivery by the {@link #REDELIVERY_DELAY}.
+     */
+    public static final String FIXED_BACKOFF = "fixed";
+
+    /**
+     * Redelivery backoff which doubles the delay on each redelivery up to the {@link #REDELIVERY_MAX_DELAY}.
+     */
+    public static final String EXPONENTIAL_BACKOFF = "exponential";
+
+    /**
+     * Default value of the {@link #REDELIVERY_MAX_DELAY} argument.
+     */
+    public static final long DEFAULT_REDELIVERY_MAX_DELAY = 60000;
+
+    /**
+     * Maximum number of messages waiting for delivery in the queue.
+     */
+    public static final ShortString MAX_LENGTH = ShortString.parseString("x-max-length");
+
+    /**
+     * Maximum total content size in bytes of the messages waiting for delivery in the queue.
+     */
+    public static final ShortString MAX_LENGTH_BYTES = ShortString.parseString("x-max-length-bytes");
+
+    /**
+     * What happens to messages published once the queue reached a length limit. Either {@link #DROP_HEAD},
+     * {@link #REJECT_PUBLISH} or {@link #REJECT_PUBLISH_DLX}. Defaults to {@link #DROP_HEAD}.
+     */
+    public static final ShortString OVERFLOW = ShortString.parseString("x-overflow");
+
+    /**
+     * Overflow policy which drops messages from the head of the queue to make room for published messages. Dropped
+     * messages are moved to the dead letter channel if the queue has a {@link #DEAD_LETTER_EXCHANGE}.
+     */
+    public static final String DROP_HEAD = "drop-head";
+
+    /**
+     * Overflow policy which rejects published messages.
+     */
+    public static final String REJECT_PUBLISH = "reject-publish";
+
+    /**
+     * Overflow policy which rejects published messages and moves them to the dead letter channel if the queue has a
+     * {@link #DEAD_LETTER_EXCHANGE}.
+     */
+    public static final String REJECT_PUBLISH_DLX = "reject-publish-dlx";
+
+    /**
+     * Value returned by {@link #getMaxLength(FieldTable)} and {@link #getMaxLengthBytes(FieldTable)} when the queue
+     * does not define the limit.
+     */
+    public static final long NO_LIMIT = -1;
+
+    /**
+     * Maximum number of messages of a durable queue held in memory. Overrides the broker wide
+     * durableQueueInMemoryCacheLimit of the queue.
+     */
+    public static final ShortString IN_MEMORY_CACHE_LIMIT = ShortString.parseString("x-in-memory-cache-limit");
+
+    /**
+     * Maximum number of non persistent messages held by the queue. Overrides the broker wide nonDurableQueueMaxDepth
+     * of the queue.
+     */
+    public static final ShortString MAX_DEPTH = ShortString.parseString("x-max-depth");
+
+    /**
+     * Maximum number of messages delivered from the queue in one round of the delivery task. Overrides the broker
+     * wide deliveryBatchSize of the queue.
+     */
+    public static final ShortString DELIVERY_BATCH_SIZE = ShortString.parseString("x-delivery-batch-size");
+
+    /**
+     * Arguments which tune the resource usage of a queue. These can be changed on a running queue and are not
+     * considered when checking whether a redeclared queue matches the existing queue.
+     */
+    private static final ShortString[] TUNING_ARGUMENTS = {
+            IN_MEMORY_CACHE_LIMIT, MAX_DEPTH, DELIVERY_BATCH_SIZE
+    };
+
+    private QueueArguments() {
+    }
+
+    /**
+     * Validate the arguments given when declaring a queue.
+     *
+     * @param arguments queue arguments
+     * @throws ValidationException if an argument value is not acceptable
+     */
+    static void validate(FieldTable arguments) throws ValidationException {
+        FieldValue maxPriority = arguments.getValue(MAX_PRIORITY);
+        if (Objects.nonNull(maxPriority)) {
+            Long value = getLongValue(maxPriority);
+            if (Objects.isNull(value) || value < 0 || value > MAX_SUPPORTED_PRIORITY) {
+                throw new ValidationException("Invalid value for " + MAX_PRIORITY + " argument. Expected an integer "
+                                                      + "between 0 and " + MAX_SUPPORTED_PRIORITY);
+            }
+        }
+
+        validateNonNegative(arguments, MESSAGE_TTL);
+
+        FieldValue deadLetterExchange = arguments.getValue(DEAD_LETTER_EXCHANGE);
+        if (Objects.nonNull(deadLetterExchange)
+                && !ExchangeRegistry.DEFAULT_DEAD_LETTER_EXCHANGE.equals(getStringValue(deadLetterExchange))) {
+            throw new ValidationException("Invalid value for " + DEAD_LETTER_EXCHANGE + " argument. Only "
+                                                  + ExchangeRegistry.DEFAULT_DEAD_LETTER_EXCHANGE + " is supported");
+        }
+
+        validateNonNegative(arguments, REDELIVERY_DELAY);
+        validateNonNegative(arguments, REDELIVERY_MAX_DELAY);
+        validateNonNegative(arguments, MAX_LENGTH);
+        validateNonNegative(arguments, MAX_LENGTH_BYTES);
+
+        for (ShortString tuningArgument : TUNING_ARGUMENTS) {
+            validatePositive(arguments, tuningArgument);
+        }
+
+        FieldValue overflow = arguments.getValue(OVERFLOW);
+        if (Objects.nonNull(overflow)) {
+            String value = getStringValue(overflow);
+            if (!DROP_HEAD.equals(value) && !REJECT_PUBLISH.equals(value) && !REJECT_PUBLISH_DLX.equals(value)) {
+                throw new ValidationException("Invalid value for " + OVERFLOW + " argument. Expected " + DROP_HEAD
+                                                      + ", " + REJECT_PUBLISH + " or " + REJECT_PUBLISH_DLX);
+            }
+        }
+
+        FieldValue redeliveryBackoff = arguments.getValue(REDELIVERY_BACKOFF);
+        if (Objects.nonNull(redeliveryBackoff)) {
+            String value = getStringValue(redeliveryBackoff);
+            if (!FIXED_BACKOFF.equals(value) && !EXPONENTIAL_BACKOFF.equals(value)) {
+                throw new ValidationException("Invalid value for " + REDELIVERY_BACKOFF + " argument. Expected "
+                                                      + FIXED_BACKOFF + " or " + EXPONENTIAL_BACKOFF);
+            }
+        }
+    }
+
+    private static void validateNonNegative(FieldTable arguments, ShortString argument) throws ValidationException {
+        FieldValue fieldValue = arguments.getValue(argument);
+        if (Objects.nonNull(fieldValue)) {
+            Long value = getLongValue(fieldValue);
+            if (Objects.isNull(value) || value < 0) {
+                throw new ValidationException("Invalid value for " + argument + " argument. Expected a non "
+                                                      + "negative integer");
+            }
+        }
+    }
+
+    private static void validatePositive(FieldTable arguments, ShortString argument) throws ValidationException {
+        FieldValue fieldValue = arguments.getValue(argument);
+        if (Objects.nonNull(fieldValue)) {
+            Long value = getLongValue(fieldValue);
+            if (Objects.isNull(value) || value <= 0 || value > Integer.MAX_VALUE) {
+                throw new ValidationException("Invalid value for " + argument + " argument. Expected a positive "
+                                                      + "integer");
+            }
+        }
+    }
+
+    /**
+     * Validate the tuning arguments given when updating a running queue.
+     *
+     * @param arguments tuning arguments
+     * @throws ValidationException if no tuning argument is given or if an argument value is not acceptable
+     */
+    static void validateTuning(FieldTable arguments) throws ValidationException {
+        boolean hasTuningArgument = false;
+        for (ShortString tuningArgument : TUNING_ARGUMENTS) {
+            validatePositive(arguments, tuningArgument);
+            hasTuningArgument = hasTuningArgument || Objects.nonNull(arguments.getValue(tuningArgument));
+        }
+        if (!hasTuningArgument) {
+            throw new ValidationException("Expected at least one of " + IN_MEMORY_CACHE_LIMIT + ", " + MAX_DEPTH
+                                                  + " or " + DELIVERY_BATCH_SIZE + " arguments");
+        }
+    }
+
+    /**
+     * Create a copy of the queue arguments with the tuning arguments replaced by the given values. Arguments other
+     * than tuning arguments are ignored.
+     *
+     * @param existingArguments arguments of the queue
+     * @param tuningArguments   tuning arguments to be applied
+     * @return updated queue arguments
+     */
+    static FieldTable withTuning(FieldTable existingArguments, FieldTable tuningArguments) {
+        FieldTable arguments = existingArguments;
+        for (ShortString tuningArgument : TUNING_ARGUMENTS) {
+            FieldValue value = tuningArguments.getValue(tuningArgument);
+            if (Objects.nonNull(value)) {
+                arguments = arguments.copyWithout(tuningArgument);
+                arguments.add(tuningArgument, value);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Check whether the arguments of an existing queue are equivalent to the arguments given when redeclaring it.
+     *
+     * @param existingArguments arguments of the existing queue
+     * @param arguments         arguments given when redeclaring the queue
+     * @return true if the arguments are equivalent
+     */
+    static boolean isEquivalent(FieldTable existingArguments, FieldTable arguments) {
+        return getMaxPriority(existingArguments) == getMaxPriority(arguments)
+                && getMessageTtl(existingArguments) == getMessageTtl(arguments)
+                && hasDeadLetterExchange(existingArguments) == hasDeadLetterExchange(arguments)
+                && getRedeliveryDelay(existingArguments) == getRedeliveryDelay(arguments)
+                && getRedeliveryMaxDelay(existingArguments) == getRedeliveryMaxDelay(arguments)
+                && isExponentialBackoff(existingArguments) == isExponentialBackoff(arguments)
+                && getMaxLength(existingArguments) == getMaxLength(arguments)
+                && getMaxLengthBytes(existingArguments) == getMaxLengthBytes(arguments)
+                && getOverflow(existingArguments).equals(getOverflow(arguments));
+    }
+
+    /**
+     * Get the maximum priority of a queue.
+     *
+     * @param arguments queue arguments
+     * @return maximum priority, 0 if the queue does not support priorities
+     */
+    public static int getMaxPriority(FieldTable arguments) {
+        FieldValue maxPriority = arguments.getValue(MAX_PRIORITY);
+        Long value = Objects.nonNull(maxPriority) ? getLongValue(maxPriority) : null;
+        if (Objects.isNull(value)) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(value, MAX_SUPPORTED_PRIORITY));
+    }
+
+    /**
+     * Get the time in milliseconds messages can remain in the queue.
+     *
+     * @param arguments queue arguments
+     * @return message TTL of the queue, {@link #NO_TTL} if the queue does not define one
+     */
+    public static long getMessageTtl(FieldTable arguments) {
+        FieldValue messageTtl = arguments.getValue(MESSAGE_TTL);
+        Long value = Objects.nonNull(messageTtl) ? getLongValue(messageTtl) : null;
+        if (Objects.isNull(value) || value < 0) {
+            return NO_TTL;
+        }
+        return value;
+    }
+
+    /**
+     * Check whether expired messages of the queue should be moved to the dead letter channel.
+     *
+     * @param arguments queue arguments
+     * @return true if the queue was declared with a dead letter exchange
+     */
+    public static boolean hasDeadLetterExchange(FieldTable arguments) {
+        return Objects.nonNull(arguments.getValue(DEAD_LETTER_EXCHANGE));
+    }
+
+    /**
+     * Get the time in milliseconds a rejected message is held back before the first redelivery.
+     *
+     * @param arguments queue arguments
+     * @return redelivery delay of the queue, 0 if rejected messages are redelivered right away
+     */
+    public static long getRedeliveryDelay(FieldTable arguments) {
+        FieldValue redeliveryDelay = arguments.getValue(REDELIVERY_DELAY);
+        Long value = Objects.nonNull(redeliveryDelay) ? getLongValue(redeliveryDelay) : null;
+        if (Objects.isNull(value) || value < 0) {
+            return 0;
+        }
+        return value;
+    }
+
+    /**
+     * Get the upper bound in milliseconds for the exponentially growing redelivery delay.
+     *
+     * @param arguments queue arguments
+     * @return maximum redelivery delay of the queue
+     */
+    public static long getRedeliveryMaxDelay(FieldTable arguments) {
+        FieldValue redeliveryMaxDelay = arguments.getValue(REDELIVERY_MAX_DELAY);
+        Long value = Objects.nonNull(redeliveryMaxDelay) ? getLongValue(redeliveryMaxDelay) : null;
+        if (Objects.isNull(value) || value < 0) {
+            return DEFAULT_REDELIVERY_MAX_DELAY;
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the redelivery delay of the queue grows exponentially.
+     *
+     * @param arguments queue arguments
+     * @return true if the queue was declared with the {@link #EXPONENTIAL_BACKOFF}
+     */
+    public static boolean isExponentialBackoff(FieldTable arguments) {
+        FieldValue redeliveryBackoff = arguments.getValue(REDELIVERY_BACKOFF);
+        return Objects.nonNull(redeliveryBackoff) && EXPONENTIAL_BACKOFF.equals(getStringValue(redeliveryBackoff));
+    }
+
+    /**
+     * Get the maximum number of messages waiting for delivery in the queue.
+     *
+     * @param arguments queue arguments
+     * @return maximum queue length, {@link #NO_LIMIT} if the queue does not define one
+     */
+    public static long getMaxLength(FieldTable arguments) {
+        return getLimit(arguments, MAX_LENGTH);
+    }
+
+    /**
+     * Get the maximum total content size of the messages waiting for delivery in the queue.
+     *
+     * @param arguments queue arguments
+     * @return maximum queue length in bytes, {@link #NO_LIMIT} if the queue does not define one
+     */
+    public static long getMaxLengthBytes(FieldTable arguments) {
+        return getLimit(arguments, MAX_LENGTH_BYTES);
+    }
+
+    private static long getLimit(FieldTable arguments, ShortString argument) {
+        FieldValue limit = arguments.getValue(argument);
+        Long value = Objects.nonNull(limit) ? getLongValue(limit) : null;
+        if (Objects.isNull(value) || value < 0) {
+            return NO_LIMIT;
+        }
+        return value;
+    }
+
+    /**
+     * Get the overflow policy of the queue.
+     *
+     * @param arguments queue arguments
+     * @return {@link #DROP_HEAD}, {@link #REJECT_PUBLISH} or {@link #REJECT_PUBLISH_DLX}
+     */
+    public static String getOverflow(FieldTable arguments) {
+        FieldValue overflow = arguments.getValue(OVERFLOW);
+        String value = Objects.nonNull(overflow) ? getStringValue(overflow) : null;
+        if (REJECT_PUBLISH.equals(value) || REJECT_PUBLISH_DLX.equals(value)) {
+            return value;
+        }
+        return DROP_HEAD;
+    }
+
+    /**
+     * Get the maximum number of messages of a durable queue held in memory.
+     *
+     * @param arguments    queue arguments
+     * @param defaultLimit limit used if the queue does not define one
+     * @return in memory cache limit of the queue
+     */
+    public static int getInMemoryCacheLimit(FieldTable arguments, int defaultLimit) {
+        return getPositiveInt(arguments, IN_MEMORY_CACHE_LIMIT, defaultLimit);
+    }
+
+    /**
+     * Get the maximum number of non persistent messages held by the queue.
+     *
+     * @param arguments    queue arguments
+     * @param defaultDepth depth used if the queue does not define one
+     * @return maximum depth of the queue
+     */
+    public static int getMaxDepth(FieldTable arguments, int defaultDepth) {
+        return getPositiveInt(arguments, MAX_DEPTH, defaultDepth);
+    }
+
+    /**
+     * Get the maximum number of messages delivered from the queue in one round of the delivery task.
+     *
+     * @param arguments        queue arguments
+     * @param defaultBatchSize batch size used if the queue does not define one
+     * @return delivery batch size of the queue
+     */
+    public static int getDeliveryBatchSize(FieldTable arguments, int defaultBatchSize) {
+        return getPositiveInt(arguments, DELIVERY_BATCH_SIZE, defaultBatchSize);
+    }
+
+    private static int getPositiveInt(FieldTable arguments, ShortString argument, int defaultValue) {
+        FieldValue fieldValue = arguments.getValue(argument);
+        Long value = Objects.nonNull(fieldValue) ? getLongValue(fieldValue) : null;
+        if (Objects.isNull(value) || value <= 0) {
+            return defaultValue;
+        }
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    private static String getStringValue(FieldValue fieldValue) {
+        switch (fieldValue.getType()) {
+            case SHORT_STRING:
+            case LONG_STRING:
+                return fieldValue.getValue().toString();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get the value of an integer field.
+     *
+     * @param fieldValue field value
+     * @return value of the field, null if the field is not an integer
+     */
+    static Long getLongValue(FieldValue fieldValue) {
+        switch (fieldValue.getType()) {
+            case SHORT_SHORT_INT:
+                return (long) ((ShortShortInt) fieldValue.getValue()).getByte();
+            case SHORT_SHORT_UINT:
+                return (long) (((ShortShortUint) fieldValue.getValue()).getByte() & 0xFF);
+            case SHORT_INT:
+                return (long) ((ShortInt) fieldValue.getValue()).getShort();
+            case SHORT_UINT:
+                return (long) (((ShortUint) fieldValue.getValue()).getShort() & 0xFFFF);
+            case LONG_INT:
+                return (long) ((LongInt) fieldValue.getValue()).getInt();
+            case LONG_UINT:
+                return ((LongUint) fieldValue.getValue()).getInt();
+            case LONG_LONG_INT:
+                return ((LongLongInt) fieldValue.getValue()).getLong();
+            default:
+                return null;
+        }
+    }
+}
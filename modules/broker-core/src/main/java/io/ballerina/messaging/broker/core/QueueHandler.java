@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.core;
 
 import com.google.common.collect.Iterables;
 import io.ballerina.messaging.broker.common.ValidationException;
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.common.util.function.ThrowingConsumer;
 import io.ballerina.messaging.broker.core.metrics.BrokerMetricManager;
 import io.ballerina.messaging.broker.core.queue.MemQueueImpl;
@@ -29,10 +30,14 @@ import io.ballerina.messaging.broker.core.util.MessageTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.transaction.xa.Xid;
@@ -45,6 +50,16 @@ public final class QueueHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QueueHandler.class);
 
+    /**
+     * Expiry time of messages which never expire.
+     */
+    private static final long NO_EXPIRY = -1;
+
+    /**
+     * Delivery time of messages which are not delayed.
+     */
+    private static final long NO_DELAY = -1;
+
     private Queue queue;
 
     private final CyclicConsumerIterator consumerIterator;
@@ -62,6 +77,63 @@ public final class QueueHandler {
 
     private final Map<Binding, ThrowingConsumer<Binding, BrokerException>> bindingChangeListenersMap;
 
+    /**
+     * Time in milliseconds messages can remain in the queue. {@link QueueArguments#NO_TTL} if not limited.
+     */
+    private final long messageTtl;
+
+    /**
+     * Used to hold back rejected messages before redelivering.
+     */
+    private final RedeliveryBackoff redeliveryBackoff;
+
+    /**
+     * Maximum number of messages waiting for delivery. {@link QueueArguments#NO_LIMIT} if not limited.
+     */
+    private final long maxLength;
+
+    /**
+     * Maximum content size of messages waiting for delivery. {@link QueueArguments#NO_LIMIT} if not limited.
+     */
+    private final long maxLengthBytes;
+
+    /**
+     * Overflow policy applied once the queue reaches a length limit.
+     */
+    private final String overflow;
+
+    /**
+     * True if messages dropped due to the queue length limit are moved to the dead letter channel.
+     */
+    private final boolean deadLetterOverflow;
+
+    /**
+     * Used to move messages dropped due to the queue length limit to the dead letter channel.
+     */
+    private volatile DeadLetterPublisher deadLetterPublisher;
+
+    /**
+     * Used to expire messages. Messages do not expire if not set.
+     */
+    private volatile MessageExpiryService messageExpiryService;
+
+    /**
+     * Used to hold back delayed messages. Delivery is not delayed if not set.
+     */
+    private volatile DelayedDeliveryService delayedDeliveryService;
+
+    /**
+     * Status of the latest purge of the queue. Null if the queue was never purged.
+     */
+    private volatile QueuePurgeStatus purgeStatus;
+
+    /**
+     * Ids of the delayed messages and the messages in redelivery backoff held back by the
+     * {@link DelayedDeliveryService}. A purge clears the set so that held back messages are dropped instead of being
+     * enqueued once they are due.
+     */
+    private final Set<Long> heldBackMessageIds = ConcurrentHashMap.newKeySet();
+
     QueueHandler(Queue queue, BrokerMetricManager metricManager) {
         this.queue = queue;
         queue.setQueueHandler(this);
@@ -74,12 +146,50 @@ public final class QueueHandler {
         this.consumers = ConcurrentHashMap.newKeySet();
         consumerIterator = new CyclicConsumerIterator();
         bindingChangeListenersMap = new ConcurrentHashMap<>();
+        messageTtl = QueueArguments.getMessageTtl(queue.getArguments());
+        redeliveryBackoff = RedeliveryBackoff.from(queue.getArguments());
+        maxLength = QueueArguments.getMaxLength(queue.getArguments());
+        maxLengthBytes = QueueArguments.getMaxLengthBytes(queue.getArguments());
+        overflow = QueueArguments.getOverflow(queue.getArguments());
+        deadLetterOverflow = QueueArguments.hasDeadLetterExchange(queue.getArguments());
+    }
+
+    void setMessageExpiryService(MessageExpiryService messageExpiryService) {
+        this.messageExpiryService = messageExpiryService;
+    }
+
+    void setDelayedDeliveryService(DelayedDeliveryService delayedDeliveryService) {
+        this.delayedDeliveryService = delayedDeliveryService;
+    }
+
+    void setDeadLetterPublisher(DeadLetterPublisher deadLetterPublisher) {
+        this.deadLetterPublisher = deadLetterPublisher;
     }
 
     public Queue getUnmodifiableQueue() {
         return unmodifiableQueueView;
     }
 
+    /**
+     * Replace the arguments of the running queue. Only the tuning arguments such as
+     * {@link QueueArguments#IN_MEMORY_CACHE_LIMIT} take effect on a running queue.
+     *
+     * @param arguments queue arguments
+     */
+    void setArguments(FieldTable arguments) {
+        queue.setArguments(arguments);
+    }
+
+    /**
+     * Get the maximum number of messages delivered from the queue in one round of the delivery task.
+     *
+     * @param defaultBatchSize broker wide delivery batch size
+     * @return delivery batch size of the queue
+     */
+    int getDeliveryBatchSize(int defaultBatchSize) {
+        return QueueArguments.getDeliveryBatchSize(queue.getArguments(), defaultBatchSize);
+    }
+
     /**
      * Retrieve all the current consumers for the queue.
      *
@@ -113,7 +223,8 @@ public final class QueueHandler {
     }
 
     /**
-     * Put the message to the tail of the queue. If the queue is full message will get dropped
+     * Put the message to the tail of the queue. If the queue is full message will get dropped. Messages with a
+     * delivery delay are held back until they are due.
      *
      * @param message {@link Message}
      */
@@ -121,11 +232,287 @@ public final class QueueHandler {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Enqueuing message {} to queue {}", message, queue.getName());
         }
+        DelayedDeliveryService deliveryService = delayedDeliveryService;
+        long deliveryTime = getDeliveryTime(message.getMetadata(), System.currentTimeMillis());
+        if (deliveryTime != NO_DELAY) {
+            queue.prepareDelayedEnqueue(message);
+            holdBack(deliveryService, message, deliveryTime);
+            return;
+        }
+        if (isLengthLimited() && !makeRoomFor(message)) {
+            onEnqueue(message, false);
+            return;
+        }
+        // Expiry time is calculated before enqueuing since the queue may clear the message data
+        long expiryTime = getExpiryTime(message.getMetadata());
         boolean success = queue.enqueue(message);
+        onEnqueue(message, success);
+        if (success) {
+            scheduleExpiry(message, expiryTime);
+        }
+    }
+
+    /**
+     * Put a batch of messages to the tail of the queue. Messages that cannot be accepted by the queue will get
+     * dropped. Messages with a delivery delay are held back until they are due.
+     *
+     * @param messages collection of {@link Message}
+     */
+    void enqueue(Collection<Message> messages) throws BrokerException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Enqueuing {} messages to queue {}", messages.size(), queue.getName());
+        }
+        if (isLengthLimited()) {
+            // Room is made one message at a time so that the limit is applied in publish order
+            for (Message message : messages) {
+                enqueue(message);
+            }
+            return;
+        }
+        if (Objects.nonNull(delayedDeliveryService)) {
+            messages = holdBackDelayedMessages(messages);
+            if (messages.isEmpty()) {
+                return;
+            }
+        }
+        long[] expiryTimes = getExpiryTimes(messages);
+        if (Objects.isNull(expiryTimes)) {
+            queue.enqueueAll(messages, this::onEnqueue);
+        } else {
+            queue.enqueueAll(messages, new Queue.EnqueueCallback() {
+                private int index = 0;
+
+                @Override
+                public void onEnqueue(Message message, boolean success) {
+                    QueueHandler.this.onEnqueue(message, success);
+                    if (success) {
+                        scheduleExpiry(message, expiryTimes[index]);
+                    }
+                    index++;
+                }
+            });
+        }
+    }
+
+    /**
+     * Schedule the delayed messages of a batch for later delivery.
+     *
+     * @param messages messages to be enqueued
+     * @return messages which are due for delivery now
+     */
+    private Collection<Message> holdBackDelayedMessages(Collection<Message> messages) throws BrokerException {
+        long currentTime = System.currentTimeMillis();
+        List<Message> dueMessages = null;
+        int index = 0;
+        for (Message message : messages) {
+            long deliveryTime = getDeliveryTime(message.getMetadata(), currentTime);
+            if (deliveryTime != NO_DELAY) {
+                if (Objects.isNull(dueMessages)) {
+                    dueMessages = new ArrayList<>(Iterables.limit(messages, index));
+                }
+                queue.prepareDelayedEnqueue(message);
+                holdBack(delayedDeliveryService, message, deliveryTime);
+            } else if (Objects.nonNull(dueMessages)) {
+                dueMessages.add(message);
+            }
+            index++;
+        }
+        return Objects.isNull(dueMessages) ? messages : dueMessages;
+    }
+
+    private void holdBack(DelayedDeliveryService deliveryService, Message message, long deliveryTime) {
+        heldBackMessageIds.add(message.getInternalId());
+        deliveryService.schedule(this, message, deliveryTime);
+        MessageTracer.trace(message, this, MessageTracer.DELAY);
+    }
+
+    /**
+     * Put delayed messages which are due for delivery to the tail of the queue. Rejected messages held back by the
+     * redelivery backoff are redelivered.
+     *
+     * @param messages messages previously held back by the {@link DelayedDeliveryService}
+     * @throws BrokerException throws on failure to enqueue the messages
+     */
+    void enqueueDelayedMessages(Collection<Message> messages) throws BrokerException {
+        for (Message message : messages) {
+            if (message.isRedelivered()) {
+                metricManager.removeScheduledRedelivery(queue.getName());
+            }
+            if (!heldBackMessageIds.remove(message.getInternalId())) {
+                // The queue was purged while the message was held back
+                message.release();
+                continue;
+            }
+            if (message.isRedelivered()) {
+                redeliver(message);
+                continue;
+            }
+            if (isLengthLimited() && !makeRoomFor(message)) {
+                // Delayed messages are attached to the queue before they are due
+                queue.detach(message.getDetachableMessage());
+                onEnqueue(message, false);
+                continue;
+            }
+            long expiryTime = getExpiryTime(message.getMetadata());
+            boolean success = queue.enqueueDelayed(message);
+            onEnqueue(message, success);
+            if (success) {
+                scheduleExpiry(message, expiryTime);
+            }
+        }
+    }
+
+    private boolean isLengthLimited() {
+        return maxLength != QueueArguments.NO_LIMIT || maxLengthBytes != QueueArguments.NO_LIMIT;
+    }
+
+    private boolean exceedsLengthLimit(long contentLength) {
+        return (maxLength != QueueArguments.NO_LIMIT && queue.size() + 1 > maxLength)
+                || (maxLengthBytes != QueueArguments.NO_LIMIT && queue.sizeInBytes() + contentLength > maxLengthBytes);
+    }
+
+    /**
+     * Apply the overflow policy of the queue if adding the message exceeds a length limit of the queue. Limits are
+     * checked against the queue counters without locking. Therefore concurrent publishers can briefly exceed a
+     * limit by a few messages.
+     *
+     * @param message message to be enqueued
+     * @return true if the message can be enqueued, false if the message should be rejected
+     * @throws BrokerException throws on failure to detach messages dropped from the head of the queue
+     */
+    private boolean makeRoomFor(Message message) throws BrokerException {
+        long contentLength = message.getContentLength();
+        if (!exceedsLengthLimit(contentLength)) {
+            return true;
+        }
+        if (QueueArguments.REJECT_PUBLISH.equals(overflow)) {
+            return false;
+        }
+        if (QueueArguments.DROP_HEAD.equals(overflow)) {
+            List<Message> droppedMessages = new ArrayList<>();
+            while (exceedsLengthLimit(contentLength)) {
+                Message head = queue.removeHead();
+                if (Objects.isNull(head)) {
+                    break;
+                }
+                droppedMessages.add(head);
+            }
+            dropOverflowMessages(droppedMessages);
+            if (!exceedsLengthLimit(contentLength)) {
+                return true;
+            }
+        }
+        // Either the queue rejects overflowing messages or the message alone exceeds the limit
+        deadLetterOverflowMessage(message);
+        return false;
+    }
+
+    private void dropOverflowMessages(List<Message> droppedMessages) throws BrokerException {
+        if (droppedMessages.isEmpty()) {
+            return;
+        }
+        for (Message message : droppedMessages) {
+            deadLetterOverflowMessage(message);
+        }
+        try {
+            queue.detachAll(droppedMessages);
+        } finally {
+            for (Message message : droppedMessages) {
+                metricManager.removeInMemoryMessage();
+                MessageTracer.trace(message, this, MessageTracer.OVERFLOW);
+                message.release();
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{} messages dropped from the head of queue {} due to the length limit",
+                         droppedMessages.size(), queue.getName());
+        }
+    }
+
+    private void deadLetterOverflowMessage(Message message) {
+        DeadLetterPublisher publisher = deadLetterPublisher;
+        if (deadLetterOverflow && Objects.nonNull(publisher)) {
+            publisher.publish(queue.getName(), message);
+        }
+    }
+
+    /**
+     * Calculate the time a message is due for delivery.
+     *
+     * @param metadata    message metadata
+     * @param currentTime current time in milliseconds
+     * @return delivery time in milliseconds, {@link #NO_DELAY} if the message can be delivered right away
+     */
+    private long getDeliveryTime(Metadata metadata, long currentTime) {
+        if (Objects.isNull(delayedDeliveryService) || Objects.isNull(metadata) || metadata.getArrivalTime() == 0) {
+            return NO_DELAY;
+        }
+        long deliveryTime = metadata.getDeliveryTime();
+        return deliveryTime > currentTime ? deliveryTime : NO_DELAY;
+    }
+
+    /**
+     * Calculate expiry times of a batch of messages in enqueue order.
+     *
+     * @param messages messages to be enqueued
+     * @return expiry times of the messages, null if none of the messages expire
+     */
+    private long[] getExpiryTimes(Collection<Message> messages) {
+        long[] expiryTimes = null;
+        int index = 0;
+        for (Message message : messages) {
+            long expiryTime = getExpiryTime(message.getMetadata());
+            if (expiryTime != NO_EXPIRY) {
+                if (Objects.isNull(expiryTimes)) {
+                    expiryTimes = new long[messages.size()];
+                    Arrays.fill(expiryTimes, NO_EXPIRY);
+                }
+                expiryTimes[index] = expiryTime;
+            }
+            index++;
+        }
+        return expiryTimes;
+    }
+
+    /**
+     * Calculate the time a message expires at in this queue. The lower of the message expiration and the queue
+     * message TTL is used. Time to live of delayed messages starts when they are due for delivery.
+     *
+     * @param metadata message metadata
+     * @return expiry time in milliseconds, {@link #NO_EXPIRY} if the message does not expire in this queue
+     */
+    private long getExpiryTime(Metadata metadata) {
+        if (Objects.isNull(messageExpiryService) || Objects.isNull(metadata) || metadata.getArrivalTime() == 0) {
+            return NO_EXPIRY;
+        }
+        long ttl = metadata.getExpiration();
+        if (messageTtl != QueueArguments.NO_TTL && (ttl == Metadata.NO_EXPIRATION || messageTtl < ttl)) {
+            ttl = messageTtl;
+        }
+        return ttl == Metadata.NO_EXPIRATION ? NO_EXPIRY : metadata.getDeliveryTime() + ttl;
+    }
+
+    private void scheduleExpiry(Message message, long expiryTime) {
+        MessageExpiryService expiryService = messageExpiryService;
+        if (expiryTime != NO_EXPIRY && Objects.nonNull(expiryService)) {
+            expiryService.schedule(this, message, expiryTime);
+        }
+    }
+
+    private boolean isExpired(Message message, long currentTime) {
+        long expiryTime = getExpiryTime(message.getMetadata());
+        return expiryTime != NO_EXPIRY && expiryTime < currentTime;
+    }
+
+    private void onEnqueue(Message message, boolean success) {
         if (success) {
             metricManager.addInMemoryMessage();
             MessageTracer.trace(message, this, MessageTracer.PUBLISH_SUCCESSFUL);
         } else {
+            PublishConfirm publishConfirm = message.getPublishConfirm();
+            if (Objects.nonNull(publishConfirm)) {
+                publishConfirm.reject();
+            }
             message.release();
             MessageTracer.trace(message, this, MessageTracer.PUBLISH_FAILURE);
             LOGGER.info("Failed to publish message {} to the queue {}", message, queue.getName());
@@ -158,6 +545,40 @@ public final class QueueHandler {
      * @return Message
      */
     Message takeForDelivery() {
+        Message message = takeNextMessage();
+        MessageExpiryService expiryService = messageExpiryService;
+        DelayedDeliveryService deliveryService = delayedDeliveryService;
+        if (Objects.nonNull(message) && (Objects.nonNull(expiryService) || Objects.nonNull(deliveryService))) {
+            // Messages can reach the head of the queue after expiring or before being due if they were recovered
+            // from the store or requeued. Such messages are expired or held back here instead of delivering.
+            long currentTime = System.currentTimeMillis();
+            List<Message> expiredMessages = null;
+            while (Objects.nonNull(message)) {
+                if (Objects.nonNull(expiryService) && isExpired(message, currentTime)) {
+                    if (Objects.isNull(expiredMessages)) {
+                        expiredMessages = new ArrayList<>();
+                    }
+                    expiredMessages.add(message);
+                } else if (!message.isRedelivered()
+                        && getDeliveryTime(message.getMetadata(), currentTime) != NO_DELAY) {
+                    long deliveryTime = message.getMetadata().getDeliveryTime();
+                    queue.defer(message);
+                    metricManager.removeInMemoryMessage();
+                    holdBack(deliveryService, message, deliveryTime);
+                } else {
+                    break;
+                }
+                message = takeNextMessage();
+            }
+
+            if (Objects.nonNull(expiredMessages)) {
+                expiryService.expire(this, expiredMessages);
+            }
+        }
+        return message;
+    }
+
+    private Message takeNextMessage() {
         Message message = redeliveryQueue.dequeue();
         if (message == null) {
             message = queue.dequeue();
@@ -182,7 +603,87 @@ public final class QueueHandler {
         MessageTracer.trace(detachableMessage, this, MessageTracer.ACKNOWLEDGE);
     }
 
+    /**
+     * Removes a batch of messages from the queue.
+     *
+     * @param messages messages to be removed
+     * @throws BrokerException throws on failure to dequeue the messages
+     */
+    void dequeue(Collection<Message> messages) throws BrokerException {
+        queue.detachAll(messages);
+        for (Message message : messages) {
+            metricManager.removeInMemoryMessage();
+            MessageTracer.trace(message, this, MessageTracer.ACKNOWLEDGE);
+        }
+    }
+
+    /**
+     * Remove expired messages which are not yet taken for delivery.
+     *
+     * @param messageIds ids of the expired messages
+     * @return messages removed from the queue
+     */
+    Collection<Message> removeExpiredMessages(Collection<Long> messageIds) {
+        return queue.removeUndelivered(messageIds);
+    }
+
+    /**
+     * Detach expired messages taken out of the queue.
+     *
+     * @param messages expired messages
+     * @throws BrokerException throws on failure to detach the messages
+     */
+    void dequeueExpiredMessages(Collection<Message> messages) throws BrokerException {
+        queue.detachAll(messages);
+        for (Message message : messages) {
+            metricManager.removeInMemoryMessage();
+            MessageTracer.trace(message, this, MessageTracer.EXPIRE);
+        }
+    }
+
+    /**
+     * Release delayed messages which can no longer be enqueued since the queue is deleted.
+     *
+     * @param messages messages previously held back by the {@link DelayedDeliveryService}
+     */
+    void releaseDelayedMessages(Collection<Message> messages) {
+        for (Message message : messages) {
+            if (message.isRedelivered()) {
+                metricManager.removeScheduledRedelivery(queue.getName());
+            }
+            message.release();
+        }
+    }
+
+    /**
+     * Put a message back to the queue for redelivery. Rejected messages are held back for a while if the queue
+     * defines a redelivery backoff.
+     *
+     * @param message message to be redelivered
+     * @throws BrokerException throws on failure to requeue the message
+     */
     public void requeue(Message message) throws BrokerException {
+        DelayedDeliveryService deliveryService = delayedDeliveryService;
+        int redeliveryCount = message.getRedeliveryCount();
+        if (redeliveryBackoff.isEnabled() && redeliveryCount > 0 && Objects.nonNull(deliveryService)) {
+            long deliveryTime = System.currentTimeMillis() + redeliveryBackoff.getDelay(redeliveryCount);
+            metricManager.addScheduledRedelivery(queue.getName());
+            heldBackMessageIds.add(message.getInternalId());
+            if (deliveryService.scheduleRedelivery(this, message, deliveryTime)) {
+                MessageTracer.trace(message, this, MessageTracer.REDELIVERY_BACKOFF);
+                return;
+            }
+            heldBackMessageIds.remove(message.getInternalId());
+            metricManager.removeScheduledRedelivery(queue.getName());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Redelivering message {} of queue {} without backoff since the redelivery buffer is "
+                                     + "full", message, queue.getName());
+            }
+        }
+        redeliver(message);
+    }
+
+    private void redeliver(Message message) throws BrokerException {
         boolean success = redeliveryQueue.enqueue(message);
         if (!success) {
             LOGGER.warn("Enqueuing message since redelivery queue for {} is full. message:{}",
@@ -264,20 +765,58 @@ public final class QueueHandler {
         return redeliveryQueue.clear() + queue.clear();
     }
 
+    /**
+     * Getter for purgeStatus.
+     */
+    public QueuePurgeStatus getPurgeStatus() {
+        return purgeStatus;
+    }
+
     public void removeBinding(Binding binding) {
         bindingChangeListenersMap.remove(binding);
     }
 
+    /**
+     * Remove all messages of the queue including the delayed messages and the messages in redelivery backoff which
+     * are held back. Persisted messages are
+     * removed from the message store in the background. Progress of the removal can be tracked through
+     * {@link #getPurgeStatus()}.
+     *
+     * @return number of messages removed from the queue
+     * @throws ValidationException if the queue has consumers
+     */
     public int purgeQueue() throws ValidationException {
         if (consumerCount() == 0) {
-            int queueMessages = queue.clear();
-            int totalMessages = queueMessages + redeliveryQueue.size();
-            redeliveryQueue.clear();
-
+            QueuePurgeStatus newPurgeStatus = new QueuePurgeStatus(queue.getName());
+            // Held back messages stay in the timing wheel and are released once they are due
+            int heldBackMessages = heldBackMessageIds.size();
+            heldBackMessageIds.clear();
+            int queueMessages = queue.purge(newPurgeStatus);
+            // Clearing releases the messages waiting for redelivery
+            int totalMessages = queueMessages + redeliveryQueue.clear() + heldBackMessages;
+
+            newPurgeStatus.setHeldBackMessageCount(heldBackMessages);
+            newPurgeStatus.setPurgedMessageCount(totalMessages);
+            purgeStatus = newPurgeStatus;
             return totalMessages;
         } else {
             throw new ValidationException("Cannot purge queue " + queue.getName() + " since there " + consumerCount()
                                                   + " active consumer(s)");
         }
     }
+
+    /**
+     * Publishes messages dropped from a queue to the dead letter channel.
+     */
+    @FunctionalInterface
+    interface DeadLetterPublisher {
+
+        /**
+         * Publish a copy of the message to the dead letter channel. The given message is not released.
+         *
+         * @param queueName name of the queue the message was dropped from
+         * @param message   dropped message
+         */
+        void publish(String queueName, Message message);
+    }
 }
@@ -19,6 +19,8 @@
 
 package io.ballerina.messaging.broker.core;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+
 /**
  * Factory for creating queue handler objects.
  */
@@ -29,17 +31,20 @@ public interface QueueHandlerFactory {
      *
      * @param queueName  name of the queue
      * @param autoDelete true if auto deletable
+     * @param arguments  arguments given when declaring the queue
      * @return QueueHandler object
      * @throws BrokerException if cannot create queue handler
      */
-    QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete) throws BrokerException;
+    QueueHandler createDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments)
+            throws BrokerException;
 
     /**
      * Create a non durable queue handler with the give arguments.
      *
      * @param queueName  name of the queue
      * @param autoDelete true if auto deletable
+     * @param arguments  arguments given when declaring the queue
      * @return QueueHandler object
      */
-    QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete);
+    QueueHandler createNonDurableQueueHandler(String queueName, boolean autoDelete, FieldTable arguments);
 }
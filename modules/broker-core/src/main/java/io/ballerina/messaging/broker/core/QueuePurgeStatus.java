@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of purging the messages of a queue. Messages are removed from the queue right away while the persisted
+ * messages are removed from the message store in the background.
+ */
+public class QueuePurgeStatus {
+
+    /**
+     * States of a queue purge.
+     */
+    public enum State {
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String queueName;
+
+    /**
+     * Number of messages removed from the queue.
+     */
+    private volatile int purgedMessageCount;
+
+    /**
+     * Number of delayed messages which were held back when the queue was purged. These are included in the purged
+     * message count.
+     */
+    private volatile int heldBackMessageCount;
+
+    /**
+     * Number of persisted messages detached from the queue.
+     */
+    private final AtomicLong detachedMessageCount = new AtomicLong(0);
+
+    /**
+     * Number of persisted messages deleted since they are no longer attached to any queue.
+     */
+    private final AtomicLong deletedMessageCount = new AtomicLong(0);
+
+    private final CompletableFuture<QueuePurgeStatus> completion = new CompletableFuture<>();
+
+    public QueuePurgeStatus(String queueName) {
+        this.queueName = queueName;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public int getPurgedMessageCount() {
+        return purgedMessageCount;
+    }
+
+    void setPurgedMessageCount(int purgedMessageCount) {
+        this.purgedMessageCount = purgedMessageCount;
+    }
+
+    public int getHeldBackMessageCount() {
+        return heldBackMessageCount;
+    }
+
+    void setHeldBackMessageCount(int heldBackMessageCount) {
+        this.heldBackMessageCount = heldBackMessageCount;
+    }
+
+    public long getDetachedMessageCount() {
+        return detachedMessageCount.get();
+    }
+
+    public void addDetachedMessages(long count) {
+        detachedMessageCount.addAndGet(count);
+    }
+
+    public long getDeletedMessageCount() {
+        return deletedMessageCount.get();
+    }
+
+    public void addDeletedMessages(long count) {
+        deletedMessageCount.addAndGet(count);
+    }
+
+    /**
+     * Mark the removal of persisted messages as completed.
+     */
+    public void complete() {
+        completion.complete(this);
+    }
+
+    /**
+     * Mark the removal of persisted messages as failed.
+     *
+     * @param cause cause of the failure
+     */
+    public void fail(Throwable cause) {
+        completion.completeExceptionally(cause);
+    }
+
+    public State getState() {
+        if (!completion.isDone()) {
+            return State.IN_PROGRESS;
+        }
+        return completion.isCompletedExceptionally() ? State.FAILED : State.COMPLETED;
+    }
+
+    /**
+     * Get a future which is completed once the persisted messages are removed from the message store.
+     *
+     * @return future completed with this status
+     */
+    public CompletableFuture<QueuePurgeStatus> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public String toString() {
+        return "QueuePurgeStatus{queueName=" + queueName + ", state=" + getState() + ", purgedMessageCount="
+                + purgedMessageCount + ", heldBackMessageCount=" + heldBackMessageCount + ", detachedMessageCount="
+                + detachedMessageCount + ", deletedMessageCount=" + deletedMessageCount + "}";
+    }
+}
@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.core;
 
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
 import io.ballerina.messaging.broker.common.ValidationException;
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.store.dao.QueueDao;
 
 import java.util.Collection;
@@ -39,6 +40,22 @@ public final class QueueRegistry {
 
     private final QueueHandlerFactory queueHandlerFactory;
 
+    /**
+     * Used by the queues to expire messages. Set when the broker is initialized.
+     */
+    private MessageExpiryService messageExpiryService;
+
+    /**
+     * Used by the queues to hold back delayed messages. Set when the broker is initialized.
+     */
+    private DelayedDeliveryService delayedDeliveryService;
+
+    /**
+     * Used by the queues to dead letter messages dropped due to queue length limits. Set when the broker is
+     * initialized.
+     */
+    private QueueHandler.DeadLetterPublisher deadLetterPublisher;
+
     public QueueRegistry(QueueDao queueDao, QueueHandlerFactory queueHandlerFactory) throws BrokerException {
         this.queueHandlerMap = new HashMap<>();
         this.queueDao = queueDao;
@@ -50,7 +67,8 @@ public final class QueueRegistry {
         return queueHandlerMap.get(queueName);
     }
 
-    boolean addQueue(String queueName, boolean passive, boolean durable, boolean autoDelete) throws BrokerException {
+    boolean addQueue(String queueName, boolean passive, boolean durable, boolean autoDelete, FieldTable arguments)
+            throws BrokerException, ValidationException {
         QueueHandler queueHandler = queueHandlerMap.get(queueName);
 
         if (passive) {
@@ -62,16 +80,22 @@ public final class QueueRegistry {
             }
         } else {
             if (Objects.isNull(queueHandler)) {
+                QueueArguments.validate(arguments);
                 if (durable) {
-                    queueHandler = queueHandlerFactory.createDurableQueueHandler(queueName, autoDelete);
+                    queueHandler = queueHandlerFactory.createDurableQueueHandler(queueName, autoDelete, arguments);
                     queueDao.persist(queueHandler.getUnmodifiableQueue());
                 } else {
-                    queueHandler = queueHandlerFactory.createNonDurableQueueHandler(queueName, autoDelete);
+                    queueHandler = queueHandlerFactory.createNonDurableQueueHandler(queueName, autoDelete, arguments);
                 }
+                queueHandler.setMessageExpiryService(messageExpiryService);
+                queueHandler.setDelayedDeliveryService(delayedDeliveryService);
+                queueHandler.setDeadLetterPublisher(deadLetterPublisher);
                 queueHandlerMap.put(queueName, queueHandler);
                 return true;
             } else if (queueHandler.getUnmodifiableQueue().isDurable() != durable
-                       || queueHandler.getUnmodifiableQueue().isAutoDelete() != autoDelete) {
+                       || queueHandler.getUnmodifiableQueue().isAutoDelete() != autoDelete
+                       || !QueueArguments.isEquivalent(queueHandler.getUnmodifiableQueue().getArguments(),
+                                                       arguments)) {
                 throw new BrokerException(
                         "Existing queue [ " + queueName + " ] does not match given parameters.");
             } else {
@@ -101,13 +125,82 @@ public final class QueueRegistry {
         }
     }
 
+    /**
+     * Apply tuning arguments to a running queue and persist the updated arguments of durable queues.
+     *
+     * @param queueName       name of the queue
+     * @param tuningArguments tuning arguments such as {@link QueueArguments#DELIVERY_BATCH_SIZE}
+     * @throws ValidationException       if the tuning arguments are invalid
+     * @throws ResourceNotFoundException if the queue is not found
+     * @throws BrokerException           if the updated arguments could not be persisted
+     */
+    void updateQueue(String queueName, FieldTable tuningArguments) throws BrokerException, ValidationException,
+                                                                          ResourceNotFoundException {
+        QueueHandler queueHandler = queueHandlerMap.get(queueName);
+        if (Objects.isNull(queueHandler)) {
+            throw new ResourceNotFoundException("Queue [ " + queueName + " ] Not found");
+        }
+        QueueArguments.validateTuning(tuningArguments);
+
+        Queue queue = queueHandler.getUnmodifiableQueue();
+        FieldTable previousArguments = queue.getArguments();
+        queueHandler.setArguments(QueueArguments.withTuning(previousArguments, tuningArguments));
+        if (queue.isDurable()) {
+            try {
+                queueDao.updateArguments(queue);
+            } catch (BrokerException e) {
+                queueHandler.setArguments(previousArguments);
+                throw e;
+            }
+        }
+    }
+
     private void retrieveQueuesFromDao() throws BrokerException {
-            queueDao.retrieveAll((name) -> {
-                QueueHandler handler = queueHandlerFactory.createDurableQueueHandler(name, false);
+            queueDao.retrieveAll((name, arguments) -> {
+                QueueHandler handler = queueHandlerFactory.createDurableQueueHandler(name, false, arguments);
+                handler.setMessageExpiryService(messageExpiryService);
+                handler.setDelayedDeliveryService(delayedDeliveryService);
+                handler.setDeadLetterPublisher(deadLetterPublisher);
                 queueHandlerMap.putIfAbsent(name, handler);
             });
     }
 
+    /**
+     * Set the service used by the queues to expire messages.
+     *
+     * @param messageExpiryService message expiry service
+     */
+    void setMessageExpiryService(MessageExpiryService messageExpiryService) {
+        this.messageExpiryService = messageExpiryService;
+        for (QueueHandler queueHandler : queueHandlerMap.values()) {
+            queueHandler.setMessageExpiryService(messageExpiryService);
+        }
+    }
+
+    /**
+     * Set the service used by the queues to hold back delayed messages.
+     *
+     * @param delayedDeliveryService delayed delivery service
+     */
+    void setDelayedDeliveryService(DelayedDeliveryService delayedDeliveryService) {
+        this.delayedDeliveryService = delayedDeliveryService;
+        for (QueueHandler queueHandler : queueHandlerMap.values()) {
+            queueHandler.setDelayedDeliveryService(delayedDeliveryService);
+        }
+    }
+
+    /**
+     * Set the publisher used by the queues to dead letter messages dropped due to queue length limits.
+     *
+     * @param deadLetterPublisher dead letter publisher
+     */
+    void setDeadLetterPublisher(QueueHandler.DeadLetterPublisher deadLetterPublisher) {
+        this.deadLetterPublisher = deadLetterPublisher;
+        for (QueueHandler queueHandler : queueHandlerMap.values()) {
+            queueHandler.setDeadLetterPublisher(deadLetterPublisher);
+        }
+    }
+
     public Collection<QueueHandler> getAllQueues() {
         return queueHandlerMap.values();
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.ballerina.messaging.broker.core;
+
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculates how long a rejected message is held back before it is redelivered. The delay is either fixed or doubles
+ * on each redelivery up to a maximum. Grown delays are randomized between half and the full delay so that
+ * messages rejected together do not come back together.
+ */
+final class RedeliveryBackoff {
+
+    /**
+     * Backoff of queues which redeliver rejected messages right away.
+     */
+    static final RedeliveryBackoff NONE = new RedeliveryBackoff(0, 0, false);
+
+    private final long initialDelay;
+
+    private final long maxDelay;
+
+    private final boolean exponential;
+
+    RedeliveryBackoff(long initialDelay, long maxDelay, boolean exponential) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = Math.max(initialDelay, maxDelay);
+        this.exponential = exponential;
+    }
+
+    /**
+     * Create the redelivery backoff of a queue.
+     *
+     * @param arguments queue arguments
+     * @return redelivery backoff defined by the arguments, {@link #NONE} if the queue does not define a delay
+     */
+    static RedeliveryBackoff from(FieldTable arguments) {
+        long initialDelay = QueueArguments.getRedeliveryDelay(arguments);
+        if (initialDelay == 0) {
+            return NONE;
+        }
+        return new RedeliveryBackoff(initialDelay,
+                                     QueueArguments.getRedeliveryMaxDelay(arguments),
+                                     QueueArguments.isExponentialBackoff(arguments));
+    }
+
+    boolean isEnabled() {
+        return initialDelay > 0;
+    }
+
+    /**
+     * Get the time a rejected message is held back before the given redelivery.
+     *
+     * @param redeliveryCount number of times the message has been redelivered including the upcoming redelivery
+     * @return delay in milliseconds
+     */
+    long getDelay(int redeliveryCount) {
+        if (!exponential || redeliveryCount <= 1) {
+            return initialDelay;
+        }
+        // Stop doubling once the delay would exceed the maximum to avoid overflowing
+        int shift = Math.min(redeliveryCount - 1, Long.numberOfLeadingZeros(initialDelay) - 1);
+        long delay = Math.min(initialDelay << shift, maxDelay);
+        long halfDelay = delay / 2;
+        return delay - halfDelay + ThreadLocalRandom.current().nextLong(halfDelay + 1);
+    }
+}
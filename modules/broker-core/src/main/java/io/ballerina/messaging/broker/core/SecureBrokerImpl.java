@@ -31,6 +31,7 @@ import io.ballerina.messaging.broker.core.transaction.BrokerTransaction;
 import io.ballerina.messaging.broker.core.transaction.SecureBrokerTransaction;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.security.auth.Subject;
@@ -75,11 +76,49 @@ public class SecureBrokerImpl implements Broker {
         }
     }
 
+    @Override
+    public void authorizePublish(String exchangeName) throws BrokerException {
+        try {
+            authHandler.handle(ResourceAuthScope.EXCHANGES_PUBLISH, ResourceType.EXCHANGE, exchangeName,
+                               ResourceAction.PUBLISH, subject);
+        } catch (AuthException e) {
+            throw new BrokerAuthException(e.getMessage(), e);
+        } catch (AuthNotFoundException e) {
+            throw new BrokerAuthNotFoundException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void publish(Collection<Message> messages) throws BrokerException {
+        try {
+            Set<String> authorizedExchanges = new HashSet<>();
+            for (Message message : messages) {
+                String exchangeName = message.getMetadata().getExchangeName();
+                if (authorizedExchanges.add(exchangeName)) {
+                    authHandler.handle(ResourceAuthScope.EXCHANGES_PUBLISH, ResourceType.EXCHANGE,
+                                       exchangeName, ResourceAction.PUBLISH, subject);
+                }
+            }
+            broker.publish(messages);
+        } catch (AuthException e) {
+            messages.forEach(Message::release);
+            throw new BrokerAuthException(e.getMessage(), e);
+        } catch (AuthNotFoundException e) {
+            messages.forEach(Message::release);
+            throw new BrokerAuthNotFoundException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void acknowledge(String queueName, DetachableMessage detachableMessage) throws BrokerException {
         broker.acknowledge(queueName, detachableMessage);
     }
 
+    @Override
+    public void acknowledge(String queueName, Collection<Message> messages) throws BrokerException {
+        broker.acknowledge(queueName, messages);
+    }
+
     @Override
     public Set<QueueHandler> enqueue(Xid xid, Message message) throws BrokerException {
         return broker.enqueue(xid, message);
@@ -157,11 +196,17 @@ public class SecureBrokerImpl implements Broker {
     @Override
     public boolean createQueue(String queueName, boolean passive, boolean durable, boolean autoDelete)
             throws BrokerException, ValidationException {
+        return createQueue(queueName, passive, durable, autoDelete, FieldTable.EMPTY_TABLE);
+    }
+
+    @Override
+    public boolean createQueue(String queueName, boolean passive, boolean durable, boolean autoDelete,
+                               FieldTable arguments) throws BrokerException, ValidationException {
         try {
             if (!queueExists(queueName) && !passive) {
                 authHandler.handle(ResourceAuthScope.QUEUES_CREATE, subject);
             }
-            boolean succeed = broker.createQueue(queueName, passive, durable, autoDelete);
+            boolean succeed = broker.createQueue(queueName, passive, durable, autoDelete, arguments);
             if (succeed) {
                 authHandler.createAuthResource(ResourceType.QUEUE, queueName, durable, subject);
             }
@@ -171,6 +216,26 @@ public class SecureBrokerImpl implements Broker {
         }
     }
 
+    @Override
+    public void updateQueue(String queueName, FieldTable tuningArguments)
+            throws BrokerException, ValidationException, ResourceNotFoundException {
+
+        if (!queueExists(queueName)) {
+            throw new ResourceNotFoundException("Queue [ " + queueName + " ] Not found");
+        }
+
+        try {
+            // Tuning a queue is allowed for users who can create queues or delete the given queue
+            authHandler.handle(ResourceAuthScope.QUEUES_CREATE, ResourceType.QUEUE, queueName,
+                               ResourceAction.DELETE, subject);
+            broker.updateQueue(queueName, tuningArguments);
+        } catch (AuthException e) {
+            throw new BrokerAuthException(e.getMessage(), e);
+        } catch (AuthNotFoundException e) {
+            throw new BrokerAuthNotFoundException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public int deleteQueue(String queueName, boolean ifUnused, boolean ifEmpty)
             throws BrokerException, ValidationException, ResourceNotFoundException {
@@ -234,6 +299,20 @@ public class SecureBrokerImpl implements Broker {
         broker.requeue(queueName, message);
     }
 
+    @Override
+    public PullResult get(String queueName, int maxMessages, Collection<? extends Consumer> ownConsumers)
+            throws BrokerException, ResourceNotFoundException {
+        try {
+            authHandler.handle(ResourceAuthScope.QUEUES_CONSUME, ResourceType.QUEUE, queueName,
+                               ResourceAction.CONSUME, subject);
+            return broker.get(queueName, maxMessages, ownConsumers);
+        } catch (AuthException e) {
+            throw new BrokerAuthException(e.getMessage(), e);
+        } catch (AuthNotFoundException e) {
+            throw new BrokerAuthNotFoundException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Collection<QueueHandler> getAllQueues() throws BrokerException {
         try {
@@ -42,14 +42,22 @@ public class BrokerCoreConfiguration {
 
     private String durableQueueInMemoryCacheLimit = "10000";
 
+    private String durableQueueReadAheadWindow = "256";
+
     private String maxPersistedChunkSize = "65500";
 
     private int disruptorBufferSize = 32768;
 
     private int maxDbWriteBatchSize = 1024;
 
+    private String redeliveryBufferLimit = "67108864";
+
     private DeliveryTask deliveryTask = new DeliveryTask();
 
+    private AdaptiveInMemoryCache adaptiveInMemoryCache = new AdaptiveInMemoryCache();
+
+    private ContentCompression contentCompression = new ContentCompression();
+
     /**
      * Getter for nonDurableQueueMaxDepth.
      */
@@ -72,6 +80,17 @@ public class BrokerCoreConfiguration {
         this.durableQueueInMemoryCacheLimit = durableQueueInMemoryCacheLimit;
     }
 
+    /**
+     * Getter for durableQueueReadAheadWindow.
+     */
+    public String getDurableQueueReadAheadWindow() {
+        return durableQueueReadAheadWindow;
+    }
+
+    public void setDurableQueueReadAheadWindow(String durableQueueReadAheadWindow) {
+        this.durableQueueReadAheadWindow = durableQueueReadAheadWindow;
+    }
+
     /**
      * Getter for maxPersistedChunkSize.
      */
@@ -105,6 +124,17 @@ public class BrokerCoreConfiguration {
         this.maxDbWriteBatchSize = maxDbWriteBatchSize;
     }
 
+    /**
+     * Getter for redeliveryBufferLimit.
+     */
+    public String getRedeliveryBufferLimit() {
+        return redeliveryBufferLimit;
+    }
+
+    public void setRedeliveryBufferLimit(String redeliveryBufferLimit) {
+        this.redeliveryBufferLimit = redeliveryBufferLimit;
+    }
+
     /**
      * Getter for deliveryTask.
      */
@@ -116,6 +146,28 @@ public class BrokerCoreConfiguration {
         this.deliveryTask = deliveryTask;
     }
 
+    /**
+     * Getter for adaptiveInMemoryCache.
+     */
+    public AdaptiveInMemoryCache getAdaptiveInMemoryCache() {
+        return adaptiveInMemoryCache;
+    }
+
+    public void setAdaptiveInMemoryCache(AdaptiveInMemoryCache adaptiveInMemoryCache) {
+        this.adaptiveInMemoryCache = adaptiveInMemoryCache;
+    }
+
+    /**
+     * Getter for contentCompression.
+     */
+    public ContentCompression getContentCompression() {
+        return contentCompression;
+    }
+
+    public void setContentCompression(ContentCompression contentCompression) {
+        this.contentCompression = contentCompression;
+    }
+
     /**
      * Represent delivery task related configurations.
      */
@@ -156,4 +208,105 @@ public class BrokerCoreConfiguration {
             this.deliveryBatchSize = deliveryBatchSize;
         }
     }
+
+    /**
+     * Represent configurations of the controller which sizes the in-memory caches of durable queues.
+     */
+    public static class AdaptiveInMemoryCache {
+        private String enabled = "false";
+
+        private String memoryBudget = "134217728";
+
+        private String minimumCacheLimit = "10";
+
+        private String heapUsageThreshold = "0.75";
+
+        private String adjustInterval = "1000";
+
+        /**
+         * Getter for enabled.
+         */
+        public String getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(String enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Getter for memoryBudget.
+         */
+        public String getMemoryBudget() {
+            return memoryBudget;
+        }
+
+        public void setMemoryBudget(String memoryBudget) {
+            this.memoryBudget = memoryBudget;
+        }
+
+        /**
+         * Getter for minimumCacheLimit.
+         */
+        public String getMinimumCacheLimit() {
+            return minimumCacheLimit;
+        }
+
+        public void setMinimumCacheLimit(String minimumCacheLimit) {
+            this.minimumCacheLimit = minimumCacheLimit;
+        }
+
+        /**
+         * Getter for heapUsageThreshold.
+         */
+        public String getHeapUsageThreshold() {
+            return heapUsageThreshold;
+        }
+
+        public void setHeapUsageThreshold(String heapUsageThreshold) {
+            this.heapUsageThreshold = heapUsageThreshold;
+        }
+
+        /**
+         * Getter for adjustInterval.
+         */
+        public String getAdjustInterval() {
+            return adjustInterval;
+        }
+
+        public void setAdjustInterval(String adjustInterval) {
+            this.adjustInterval = adjustInterval;
+        }
+    }
+
+    /**
+     * Represent configurations related to compressing persisted message content.
+     */
+    public static class ContentCompression {
+        private String codec = "none";
+
+        private String threshold = "1024";
+
+        /**
+         * Getter for codec.
+         */
+        public String getCodec() {
+            return codec;
+        }
+
+        public void setCodec(String codec) {
+            this.codec = codec;
+        }
+
+        /**
+         * Getter for threshold.
+         */
+        public String getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(String threshold) {
+            this.threshold = threshold;
+        }
+    }
 }
@@ -33,9 +33,25 @@ public interface BrokerMetricManager {
 
     void markAcknowledge();
 
+    void addScheduledRedelivery(String queueName);
+
+    void removeScheduledRedelivery(String queueName);
+
     Context startMessageWriteTimer();
 
     Context startMessageDeleteTimer();
 
     Context startMessageReadTimer();
+
+    Context startContentEncodeTimer();
+
+    Context startContentDecodeTimer();
+
+    /**
+     * Record the outcome of encoding the content of a message before persisting.
+     *
+     * @param contentLength length of the content before encoding
+     * @param encodedLength length of the encoded content
+     */
+    void recordContentEncoding(long contentLength, long encodedLength);
 }
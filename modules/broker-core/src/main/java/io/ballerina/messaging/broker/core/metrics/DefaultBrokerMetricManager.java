@@ -21,12 +21,16 @@ package io.ballerina.messaging.broker.core.metrics;
 
 import io.ballerina.messaging.broker.core.Broker;
 import org.wso2.carbon.metrics.core.Counter;
+import org.wso2.carbon.metrics.core.Histogram;
 import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Meter;
 import org.wso2.carbon.metrics.core.MetricService;
 import org.wso2.carbon.metrics.core.Timer;
 import org.wso2.carbon.metrics.core.Timer.Context;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Default implementation of {@link BrokerMetricManager}.
  */
@@ -37,8 +41,14 @@ public class DefaultBrokerMetricManager implements BrokerMetricManager {
     private final Timer messageWriteTimer;
     private final Timer messageDeleteTimer;
     private final Timer messageReadTimer;
+    private final Timer contentEncodeTimer;
+    private final Timer contentDecodeTimer;
+    private final Histogram contentCompressionRatio;
+    private final MetricService metrics;
+    private final Map<String, Counter> scheduledRedeliveryCounters = new ConcurrentHashMap<>();
 
     public DefaultBrokerMetricManager(MetricService metrics) {
+        this.metrics = metrics;
         totalPublishedCounter = metrics.meter(MetricService.name(Broker.class, "node", "totalPublished"), Level.INFO);
         totalAckCounter = metrics.meter(MetricService.name(Broker.class, "node", "totalAcknowledged"), Level.INFO);
         totalEnqueueCounter = metrics.counter(MetricService.name(Broker.class, "node", "totalInMemoryMessages"),
@@ -46,6 +56,10 @@ public class DefaultBrokerMetricManager implements BrokerMetricManager {
         messageWriteTimer = metrics.timer(MetricService.name(Broker.class, "node", "messageWrite"), Level.INFO);
         messageDeleteTimer = metrics.timer(MetricService.name(Broker.class, "node", "messageDelete"), Level.INFO);
         messageReadTimer = metrics.timer(MetricService.name(Broker.class, "node", "messageRead"), Level.INFO);
+        contentEncodeTimer = metrics.timer(MetricService.name(Broker.class, "node", "contentEncode"), Level.INFO);
+        contentDecodeTimer = metrics.timer(MetricService.name(Broker.class, "node", "contentDecode"), Level.INFO);
+        contentCompressionRatio = metrics.histogram(MetricService.name(Broker.class, "node",
+                                                                       "contentCompressionRatio"), Level.INFO);
     }
 
     @Override
@@ -68,6 +82,21 @@ public class DefaultBrokerMetricManager implements BrokerMetricManager {
         totalAckCounter.mark();
     }
 
+    @Override
+    public void addScheduledRedelivery(String queueName) {
+        getScheduledRedeliveryCounter(queueName).inc();
+    }
+
+    @Override
+    public void removeScheduledRedelivery(String queueName) {
+        getScheduledRedeliveryCounter(queueName).dec();
+    }
+
+    private Counter getScheduledRedeliveryCounter(String queueName) {
+        return scheduledRedeliveryCounters.computeIfAbsent(queueName, name -> metrics.counter(
+                MetricService.name(Broker.class, "queue", name, "scheduledRedeliveries"), Level.INFO));
+    }
+
     @Override
     public Context startMessageWriteTimer() {
         return messageWriteTimer.start();
@@ -82,4 +111,24 @@ public class DefaultBrokerMetricManager implements BrokerMetricManager {
     public Context startMessageReadTimer() {
         return messageReadTimer.start();
     }
+
+    @Override
+    public Context startContentEncodeTimer() {
+        return contentEncodeTimer.start();
+    }
+
+    @Override
+    public Context startContentDecodeTimer() {
+        return contentDecodeTimer.start();
+    }
+
+    /**
+     * Records the encoded size as a percentage of the original content size.
+     */
+    @Override
+    public void recordContentEncoding(long contentLength, long encodedLength) {
+        if (contentLength > 0) {
+            contentCompressionRatio.update(encodedLength * 100 / contentLength);
+        }
+    }
 }
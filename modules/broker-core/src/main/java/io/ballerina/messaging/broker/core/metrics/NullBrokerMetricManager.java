@@ -47,6 +47,16 @@ public class NullBrokerMetricManager implements BrokerMetricManager {
         // do nothing
     }
 
+    @Override
+    public void addScheduledRedelivery(String queueName) {
+        // do nothing
+    }
+
+    @Override
+    public void removeScheduledRedelivery(String queueName) {
+        // do nothing
+    }
+
     @Override
     public Context startMessageWriteTimer() {
         return nullContext;
@@ -62,6 +72,21 @@ public class NullBrokerMetricManager implements BrokerMetricManager {
         return nullContext;
     }
 
+    @Override
+    public Context startContentEncodeTimer() {
+        return nullContext;
+    }
+
+    @Override
+    public Context startContentDecodeTimer() {
+        return nullContext;
+    }
+
+    @Override
+    public void recordContentEncoding(long contentLength, long encodedLength) {
+        // do nothing
+    }
+
     /**
      * Null object representation for Timer context.
      */
@@ -19,16 +19,21 @@
 
 package io.ballerina.messaging.broker.core.queue;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Queue;
+import io.ballerina.messaging.broker.core.QueueArguments;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.store.DbMessageStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,7 +41,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.transaction.xa.Xid;
 
 /**
- * Database backed queue implementation.
+ * Database backed queue implementation. Queues declared with {@link QueueArguments#MAX_PRIORITY} keep a separate
+ * buffer per priority level and deliver from the highest priority buffer which has messages. The limits of the queue
+ * are split between the priority buffers.
  */
 public class DbBackedQueueImpl extends Queue {
 
@@ -47,7 +54,12 @@ public class DbBackedQueueImpl extends Queue {
 
     private final DbMessageStore dbMessageStore;
 
-    private final QueueBuffer buffer;
+    /**
+     * Queue buffers indexed by priority level. Non priority queues have a single buffer.
+     */
+    private final QueueBuffer[] buffers;
+
+    private final QueueBufferFactory queueBufferFactory;
 
     private final Map<Xid, List<Message>> pendingEnqueueMessages;
 
@@ -58,9 +70,29 @@ public class DbBackedQueueImpl extends Queue {
                              DbMessageStore dbMessageStore,
                              QueueBufferFactory queueBufferFactory)
             throws BrokerException {
-        super(queueName, true, autoDelete);
+        this(queueName, autoDelete, FieldTable.EMPTY_TABLE, dbMessageStore, queueBufferFactory);
+    }
+
+    public DbBackedQueueImpl(String queueName,
+                             boolean autoDelete,
+                             FieldTable arguments,
+                             DbMessageStore dbMessageStore,
+                             QueueBufferFactory queueBufferFactory)
+            throws BrokerException {
+        super(queueName, true, autoDelete, arguments);
         this.dbMessageStore = dbMessageStore;
-        buffer = queueBufferFactory.createBuffer(dbMessageStore::fillMessageData);
+        this.queueBufferFactory = queueBufferFactory;
+        buffers = new QueueBuffer[QueueArguments.getMaxPriority(arguments) + 1];
+        if (buffers.length == 1) {
+            buffers[0] = queueBufferFactory.createBuffer(
+                    (buffer, messages) -> dbMessageStore.fillMessageRange(queueName, buffer, messages), arguments);
+        } else {
+            // Consecutive messages of a priority level are not consecutive in the queue. Hence they are read by id.
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = queueBufferFactory.createBuffer(dbMessageStore::fillMessageData, arguments,
+                                                             buffers.length);
+            }
+        }
 
         LOGGER.debug("Recovering messages for queue {}", queueName);
 
@@ -68,13 +100,42 @@ public class DbBackedQueueImpl extends Queue {
 
         pendingEnqueueMessages = new ConcurrentHashMap<>();
         pendingDequeueMessages = new ConcurrentHashMap<>();
-        buffer.addAllBareMessages(messages);
+        if (buffers.length == 1) {
+            buffers[0].addAllBareMessages(messages);
+        } else {
+            List<List<Message>> messagesByLevel = new ArrayList<>(buffers.length);
+            for (int i = 0; i < buffers.length; i++) {
+                messagesByLevel.add(new ArrayList<>());
+            }
+            for (Message message : messages) {
+                messagesByLevel.get(getLevel(message)).add(message);
+            }
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i].addAllBareMessages(messagesByLevel.get(i));
+            }
+        }
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("{} messages recovered for queue {}", messages.size(), queueName);
         }
     }
 
+    @Override
+    public void setArguments(FieldTable arguments) {
+        super.setArguments(arguments);
+        int inMemoryCacheLimit = queueBufferFactory.getInMemoryCacheLimit(arguments, buffers.length);
+        int indelibleMessageLimit = queueBufferFactory.getIndelibleMessageLimit(arguments, buffers.length);
+        for (QueueBuffer buffer : buffers) {
+            buffer.setInMemoryLimit(inMemoryCacheLimit);
+            buffer.setIndelibleMessageLimit(indelibleMessageLimit);
+        }
+    }
+
+    @Override
+    public Collection<InMemoryCache> getInMemoryCaches() {
+        return Collections.unmodifiableList(Arrays.asList(buffers));
+    }
+
     @Override
     public int capacity() {
         return Queue.UNBOUNDED;
@@ -82,13 +143,71 @@ public class DbBackedQueueImpl extends Queue {
 
     @Override
     public int size() {
-        return buffer.getNumberOfUndeliveredMessages();
+        int size = 0;
+        for (QueueBuffer buffer : buffers) {
+            size += buffer.getNumberOfUndeliveredMessages();
+        }
+        return size;
+    }
+
+    @Override
+    public long sizeInBytes() {
+        long sizeInBytes = 0;
+        for (QueueBuffer buffer : buffers) {
+            sizeInBytes += buffer.getUndeliveredMessageBytes();
+        }
+        return sizeInBytes;
+    }
+
+    private int getLevel(Message message) {
+        return PriorityMessageQueue.getLevel(message, buffers.length - 1);
     }
 
     @Override
     public boolean enqueue(Message message) throws BrokerException {
+        QueueBuffer buffer = buffers[getLevel(message)];
+        if (message.getMetadata().isPersistent()) {
+            dbMessageStore.attach(getName(), message.getInternalId());
+            buffer.add(message);
+            return true;
+        } else {
+            return buffer.addIndelibleMessage(message);
+        }
+    }
+
+    @Override
+    public void enqueueAll(Collection<Message> messages, EnqueueCallback enqueueCallback) throws BrokerException {
+        if (buffers.length > 1) {
+            super.enqueueAll(messages, enqueueCallback);
+            return;
+        }
+        for (Message message : messages) {
+            if (message.getMetadata().isPersistent()) {
+                dbMessageStore.attach(getName(), message.getInternalId());
+            }
+        }
+        buffers[0].addAll(messages, enqueueCallback);
+    }
+
+    /**
+     * Attach a persistent delayed message to the queue and clear its data. Data of the message is read from the
+     * store once it is due and enqueued.
+     */
+    @Override
+    public void prepareDelayedEnqueue(Message message) throws BrokerException {
         if (message.getMetadata().isPersistent()) {
             dbMessageStore.attach(getName(), message.getInternalId());
+            message.clearData();
+        }
+    }
+
+    @Override
+    public boolean enqueueDelayed(Message message) {
+        QueueBuffer buffer = buffers[getLevel(message)];
+        if (!message.hasContent()) {
+            buffer.addBareMessage(message);
+            return true;
+        } else if (message.getMetadata().isPersistent()) {
             buffer.add(message);
             return true;
         } else {
@@ -96,6 +215,14 @@ public class DbBackedQueueImpl extends Queue {
         }
     }
 
+    @Override
+    public void defer(Message message) {
+        removeFromBuffers(message.getInternalId());
+        if (message.getMetadata().isPersistent()) {
+            message.clearData();
+        }
+    }
+
     @Override
     public void prepareEnqueue(Xid xid, Message message) throws BrokerException {
         if (message.getMetadata().isPersistent()) {
@@ -110,12 +237,24 @@ public class DbBackedQueueImpl extends Queue {
 
         List<DetachableMessage> dequeueMessages = pendingDequeueMessages.get(xid);
         if (Objects.nonNull(dequeueMessages)) {
-            buffer.removeAll(dequeueMessages);
+            if (buffers.length == 1) {
+                buffers[0].removeAll(dequeueMessages);
+            } else {
+                for (DetachableMessage message : dequeueMessages) {
+                    removeFromBuffers(message.getInternalId());
+                }
+            }
         }
 
         List<Message> messages = pendingEnqueueMessages.get(xid);
         if (Objects.nonNull(messages)) {
-            buffer.addAll(messages);
+            if (buffers.length == 1) {
+                buffers[0].addAll(messages);
+            } else {
+                for (Message message : messages) {
+                    buffers[getLevel(message)].add(message);
+                }
+            }
         }
     }
 
@@ -128,15 +267,74 @@ public class DbBackedQueueImpl extends Queue {
         }
     }
 
+    /**
+     * Take the next message from the highest priority buffer with undelivered messages. If the content of that
+     * message is still being loaded, null is returned instead of delivering a lower priority message.
+     */
     @Override
     public Message dequeue() {
-        return buffer.getFirstDeliverable();
+        for (int level = buffers.length - 1; level >= 0; level--) {
+            QueueBuffer buffer = buffers[level];
+            if (level == 0 || buffer.getNumberOfUndeliveredMessages() > 0) {
+                return buffer.getFirstDeliverable();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove the next message from the highest priority buffer with undelivered messages. The message data might not
+     * be loaded.
+     */
+    @Override
+    public Message removeHead() {
+        for (int level = buffers.length - 1; level >= 0; level--) {
+            Message message = buffers[level].removeFirstUndelivered();
+            if (Objects.nonNull(message)) {
+                return message;
+            }
+        }
+        return null;
     }
 
     @Override
     public void detach(DetachableMessage message) {
         dbMessageStore.detach(getName(), message);
-        buffer.remove(message.getInternalId());
+        removeFromBuffers(message.getInternalId());
+    }
+
+    /**
+     * Detach a batch of messages. Store operations of the batch are handed over to the message store at once.
+     */
+    @Override
+    public void detachAll(Collection<Message> messages) {
+        dbMessageStore.detach(getName(), messages);
+        for (Message message : messages) {
+            removeFromBuffers(message.getInternalId());
+        }
+    }
+
+    @Override
+    public Collection<Message> removeUndelivered(Collection<Long> messageIds) {
+        List<Message> removedMessages = new ArrayList<>();
+        for (long messageId : messageIds) {
+            for (int level = buffers.length - 1; level >= 0; level--) {
+                Message message = buffers[level].removeUndelivered(messageId);
+                if (Objects.nonNull(message)) {
+                    removedMessages.add(message);
+                    break;
+                }
+            }
+        }
+        return removedMessages;
+    }
+
+    private void removeFromBuffers(long messageId) {
+        for (int level = buffers.length - 1; level >= 0; level--) {
+            if (buffers[level].remove(messageId)) {
+                return;
+            }
+        }
     }
 
     @Override
@@ -148,10 +346,25 @@ public class DbBackedQueueImpl extends Queue {
 
     @Override
     public int clear() {
+        return purge(new QueuePurgeStatus(getName()));
+    }
+
+    /**
+     * Reset the queue buffers and remove the persisted messages of the queue with a single purge operation of the
+     * message store instead of detaching the messages one by one.
+     */
+    @Override
+    public int purge(QueuePurgeStatus purgeStatus) {
         String queueName = getName();
-        return buffer.clear(message -> {
-            dbMessageStore.detach(queueName, message.getDetachableMessage());
-            message.release();
+        return dbMessageStore.purge(queueName, purgeStatus, () -> {
+            int clearedCount = 0;
+            for (QueueBuffer buffer : buffers) {
+                clearedCount += buffer.clear(message -> {
+                    message.removeAttachedDurableQueue(queueName);
+                    message.release();
+                });
+            }
+            return clearedCount;
         });
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.queue;
+
+/**
+ * In-memory cache of messages read from the message store for a queue. Used to adapt the number of cached messages
+ * to the available memory.
+ */
+public interface InMemoryCache {
+
+    /**
+     * Get the maximum number of messages held in memory as configured for the queue. The adaptive limit never
+     * exceeds this value.
+     *
+     * @return configured in-memory limit
+     */
+    int getInMemoryLimit();
+
+    /**
+     * Lower the maximum number of messages held in memory below the configured limit. Messages already in memory
+     * are kept until they are delivered or {@link #evictExcessMessages()} is called.
+     *
+     * @param adaptiveInMemoryLimit maximum number of messages held in memory
+     */
+    void setAdaptiveInMemoryLimit(int adaptiveInMemoryLimit);
+
+    /**
+     * Clear the data of in-memory messages exceeding the in-memory limit, starting from the message farthest from
+     * the head of the queue. Cleared messages are read again from the message store once they come close to the
+     * head.
+     *
+     * @return number of messages whose data was cleared
+     */
+    int evictExcessMessages();
+
+    /**
+     * Get the number of messages whose data is held in memory.
+     *
+     * @return number of in-memory messages
+     */
+    int getInMemoryMessageCount();
+
+    /**
+     * Get the number of messages waiting for delivery.
+     *
+     * @return number of undelivered messages
+     */
+    int getNumberOfUndeliveredMessages();
+
+    /**
+     * Get the total content size of the messages waiting for delivery.
+     *
+     * @return content size of undelivered messages in bytes
+     */
+    long getUndeliveredMessageBytes();
+
+    /**
+     * Get the number of messages given out for delivery since the cache was created.
+     *
+     * @return number of delivered messages
+     */
+    long getDeliveredMessageCount();
+}
@@ -19,16 +19,22 @@
 
 package io.ballerina.messaging.broker.core.queue;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Queue;
+import io.ballerina.messaging.broker.core.QueueArguments;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.transaction.xa.Xid;
 
 /**
@@ -36,20 +42,56 @@ import javax.transaction.xa.Xid;
  */
 public class MemQueueImpl extends Queue {
 
-    private final int capacity;
+    /**
+     * Maximum number of messages in the queue. Checked without locking, therefore concurrent publishers can briefly
+     * exceed the capacity by a few messages.
+     */
+    private volatile int capacity;
+
+    /**
+     * Capacity used when the queue arguments do not contain {@link QueueArguments#MAX_DEPTH}.
+     */
+    private final int defaultCapacity;
 
     private final java.util.Queue<Message> queue;
 
     private final Map<Xid, List<Message>> pendingEnqueueMessages;
 
+    /**
+     * Total content size of the messages in the queue.
+     */
+    private final AtomicLong sizeInBytes = new AtomicLong(0);
+
     public MemQueueImpl(String queueName, int capacity, boolean autoDelete) {
         this(queueName, false, capacity, autoDelete);
     }
 
     public MemQueueImpl(String queueName, boolean durable, int capacity, boolean autoDelete) {
-        super(queueName, durable, autoDelete);
-        this.capacity = capacity;
-        queue = new LinkedBlockingDeque<>(capacity);
+        this(queueName, durable, capacity, autoDelete, FieldTable.EMPTY_TABLE);
+    }
+
+    /**
+     * Create an in memory queue. Messages are delivered in priority order if the arguments contain
+     * {@link QueueArguments#MAX_PRIORITY}.
+     *
+     * @param queueName  name of the queue
+     * @param durable    durability of the queue
+     * @param capacity   maximum number of messages in the queue unless the arguments contain
+     *                   {@link QueueArguments#MAX_DEPTH}
+     * @param autoDelete auto delete capability
+     * @param arguments  queue arguments
+     */
+    public MemQueueImpl(String queueName, boolean durable, int capacity, boolean autoDelete, FieldTable arguments) {
+        super(queueName, durable, autoDelete, arguments);
+        this.defaultCapacity = capacity;
+        this.capacity = QueueArguments.getMaxDepth(arguments, capacity);
+        // The underlying queue is unbounded since the capacity can be changed on the running queue
+        int maxPriority = QueueArguments.getMaxPriority(arguments);
+        if (maxPriority > 0) {
+            queue = new PriorityMessageQueue(maxPriority, Queue.UNBOUNDED);
+        } else {
+            queue = new LinkedBlockingDeque<>();
+        }
         pendingEnqueueMessages = new ConcurrentHashMap<>();
     }
 
@@ -63,6 +105,12 @@ public class MemQueueImpl extends Queue {
         this(name, Queue.UNBOUNDED, autoDelete);
     }
 
+    @Override
+    public void setArguments(FieldTable arguments) {
+        super.setArguments(arguments);
+        capacity = QueueArguments.getMaxDepth(arguments, defaultCapacity);
+    }
+
     @Override
     public int capacity() {
         return capacity;
@@ -73,9 +121,18 @@ public class MemQueueImpl extends Queue {
         return queue.size();
     }
 
+    @Override
+    public long sizeInBytes() {
+        return sizeInBytes.get();
+    }
+
     @Override
     public boolean enqueue(Message message) {
-        return queue.offer(message);
+        if (queue.size() < capacity && queue.offer(message)) {
+            sizeInBytes.addAndGet(message.getContentLength());
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -89,6 +146,9 @@ public class MemQueueImpl extends Queue {
         List<Message> messages = pendingEnqueueMessages.get(xid);
         if (Objects.nonNull(messages)) {
             queue.addAll(messages);
+            for (Message message : messages) {
+                sizeInBytes.addAndGet(message.getContentLength());
+            }
         }
     }
 
@@ -102,7 +162,16 @@ public class MemQueueImpl extends Queue {
 
     @Override
     public Message dequeue() {
-        return queue.poll();
+        Message message = queue.poll();
+        if (Objects.nonNull(message)) {
+            sizeInBytes.addAndGet(-message.getContentLength());
+        }
+        return message;
+    }
+
+    @Override
+    public Message removeHead() {
+        return dequeue();
     }
 
     @Override
@@ -118,8 +187,26 @@ public class MemQueueImpl extends Queue {
     @Override
     public int clear() {
         int queueSize = queue.size();
-        queue.forEach(Message::release);
+        queue.forEach(message -> {
+            sizeInBytes.addAndGet(-message.getContentLength());
+            message.release();
+        });
         queue.clear();
         return queueSize;
     }
+
+    @Override
+    public Collection<Message> removeUndelivered(Collection<Long> messageIds) {
+        Set<Long> removableMessageIds = new HashSet<>(messageIds);
+        List<Message> removedMessages = new ArrayList<>();
+        queue.removeIf(message -> {
+            if (removableMessageIds.contains(message.getInternalId())) {
+                sizeInBytes.addAndGet(-message.getContentLength());
+                removedMessages.add(message);
+                return true;
+            }
+            return false;
+        });
+        return removedMessages;
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.queue;
+
+import io.ballerina.messaging.broker.core.Message;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bounded message queue which keeps a FIFO sub queue per priority level. Messages are polled from the highest
+ * non empty priority level. Priorities above the maximum priority are treated as the maximum priority.
+ */
+final class PriorityMessageQueue extends AbstractQueue<Message> {
+
+    private final ArrayDeque<Message>[] levels;
+
+    private final int capacity;
+
+    private int size = 0;
+
+    /**
+     * Highest priority level which may contain messages. Used to avoid scanning empty high priority levels.
+     */
+    private int highestLevel = 0;
+
+    @SuppressWarnings("unchecked")
+    PriorityMessageQueue(int maxPriority, int capacity) {
+        this.capacity = capacity;
+        levels = new ArrayDeque[maxPriority + 1];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new ArrayDeque<>();
+        }
+    }
+
+    static int getLevel(Message message, int maxPriority) {
+        return Math.min(message.getPriority(), maxPriority);
+    }
+
+    @Override
+    public synchronized boolean offer(Message message) {
+        if (size == capacity) {
+            return false;
+        }
+        int level = getLevel(message, levels.length - 1);
+        levels[level].addLast(message);
+        if (level > highestLevel) {
+            highestLevel = level;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public synchronized Message poll() {
+        for (int level = highestLevel; level >= 0; level--) {
+            Message message = levels[level].pollFirst();
+            if (message != null) {
+                highestLevel = level;
+                size--;
+                return message;
+            }
+        }
+        highestLevel = 0;
+        return null;
+    }
+
+    @Override
+    public synchronized Message peek() {
+        for (int level = highestLevel; level >= 0; level--) {
+            Message message = levels[level].peekFirst();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (ArrayDeque<Message> level : levels) {
+            level.clear();
+        }
+        size = 0;
+        highestLevel = 0;
+    }
+
+    @Override
+    public synchronized boolean removeIf(Predicate<? super Message> filter) {
+        boolean removed = false;
+        for (ArrayDeque<Message> level : levels) {
+            int levelSize = level.size();
+            if (level.removeIf(filter)) {
+                size -= levelSize - level.size();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the messages in delivery order.
+     *
+     * @return iterator over the messages
+     */
+    @Override
+    public synchronized Iterator<Message> iterator() {
+        List<Message> messages = new ArrayList<>(size);
+        for (int level = levels.length - 1; level >= 0; level--) {
+            messages.addAll(levels[level]);
+        }
+        return Collections.unmodifiableList(messages).iterator();
+    }
+}
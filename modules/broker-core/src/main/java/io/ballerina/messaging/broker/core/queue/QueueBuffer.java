@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.core.queue;
 
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Queue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,26 +32,39 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
  * Used to track messages for the queue.
  */
-public class QueueBuffer {
+public class QueueBuffer implements InMemoryCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QueueBuffer.class);
 
     /**
      * Maximum number of messages held in memory.
      */
-    private final int inMemoryLimit;
+    private int inMemoryLimit;
+
+    /**
+     * Maximum number of messages held in memory as decided by the {@link InMemoryCache} controller. Only applies
+     * while it is lower than the {@link #inMemoryLimit}.
+     */
+    private int adaptiveInMemoryLimit = Integer.MAX_VALUE;
 
     /**
      * Maximum number of indelible messages kept in the queue buffer.
      */
-    private final int indelibleMessageLimit;
+    private int indelibleMessageLimit;
+
+    /**
+     * Maximum number of messages submitted in a single read request.
+     */
+    private final int readAheadWindow;
+
     /**
-     * Used to submit read requests for a message.
+     * Used to submit read requests for messages.
      */
     private final MessageReader messageReader;
 
@@ -79,6 +93,16 @@ public class QueueBuffer {
      */
     private AtomicInteger indelibleMessageCount = new AtomicInteger(0);
 
+    /**
+     * Total content size of undelivered messages in the buffer.
+     */
+    private AtomicLong undeliveredMessageBytes = new AtomicLong(0);
+
+    /**
+     * Total number of messages given out for delivery since the buffer was created.
+     */
+    private AtomicLong deliveredMessageCount = new AtomicLong(0);
+
     /**
      * Pointer to first deliverable candidate node.
      */
@@ -97,14 +121,50 @@ public class QueueBuffer {
     /**
      * Used to fast lookup the node for a message ID.
      */
-    private Map<Long, Node> keyMap = new ConcurrentHashMap<>();
+    private volatile Map<Long, Node> keyMap = new ConcurrentHashMap<>();
 
-    QueueBuffer(int inMemoryLimit, int indelibleMessageLimit, MessageReader messageReader) {
+    QueueBuffer(int inMemoryLimit, int indelibleMessageLimit, int readAheadWindow, MessageReader messageReader) {
         this.inMemoryLimit = inMemoryLimit;
         this.indelibleMessageLimit = indelibleMessageLimit;
+        this.readAheadWindow = readAheadWindow;
         this.messageReader = messageReader;
     }
 
+    /**
+     * Change the maximum number of messages held in memory. A raised limit is filled with messages read from the
+     * database when deliverable messages are requested next. Messages already in memory are kept when the limit is
+     * lowered.
+     *
+     * @param inMemoryLimit maximum number of messages held in memory
+     */
+    synchronized void setInMemoryLimit(int inMemoryLimit) {
+        this.inMemoryLimit = inMemoryLimit;
+    }
+
+    @Override
+    public synchronized int getInMemoryLimit() {
+        return inMemoryLimit;
+    }
+
+    @Override
+    public synchronized void setAdaptiveInMemoryLimit(int adaptiveInMemoryLimit) {
+        this.adaptiveInMemoryLimit = adaptiveInMemoryLimit;
+    }
+
+    private int getEffectiveInMemoryLimit() {
+        return Math.min(inMemoryLimit, adaptiveInMemoryLimit);
+    }
+
+    /**
+     * Change the maximum number of indelible messages kept in the buffer. Messages already in the buffer are kept
+     * when the limit is lowered.
+     *
+     * @param indelibleMessageLimit maximum number of indelible messages
+     */
+    synchronized void setIndelibleMessageLimit(int indelibleMessageLimit) {
+        this.indelibleMessageLimit = indelibleMessageLimit;
+    }
+
     /**
      * Appends the specified message to the end of this list.
      *
@@ -115,6 +175,24 @@ public class QueueBuffer {
         postProcessDeliverableNode();
     }
 
+    /**
+     * Appends a batch of messages to the end of this list while holding the buffer lock only once. Persistent
+     * messages are added as deliverable messages and the rest are added as indelible messages.
+     *
+     * @param messages        messages to be appended to this list
+     * @param enqueueCallback callback notified whether each message was accepted by the buffer
+     */
+    public synchronized void addAll(Collection<Message> messages, Queue.EnqueueCallback enqueueCallback) {
+        for (Message message : messages) {
+            if (message.getMetadata().isPersistent()) {
+                add(message);
+                enqueueCallback.onEnqueue(message, true);
+            } else {
+                enqueueCallback.onEnqueue(message, addIndelibleMessage(message));
+            }
+        }
+    }
+
     /**
      * Add messages as bare messages to the queue buffer. This means that broker has to fetch message data for each
      * and every message in this list.
@@ -160,6 +238,7 @@ public class QueueBuffer {
     private void linkLast(Message newMessage) {
         size.incrementAndGet();
         undeliveredMessageCount.incrementAndGet();
+        undeliveredMessageBytes.addAndGet(newMessage.getContentLength());
 
         final Node previousLast = last;
         final Node newNode = new Node(previousLast, newMessage, null);
@@ -178,7 +257,7 @@ public class QueueBuffer {
      */
     private void postProcessDeliverableNode() {
         Node newNode = last;
-        if ((size.get() - indelibleMessageCount.get()) > inMemoryLimit) {
+        if ((size.get() - indelibleMessageCount.get()) > getEffectiveInMemoryLimit()) {
 
             if (Objects.isNull(firstUndeliverable)) {
                 firstUndeliverable = newNode;
@@ -226,12 +305,47 @@ public class QueueBuffer {
      * Remove a message from the buffer.
      *
      * @param messageId internal id of the message to be removed.
+     * @return true if the message was found in the buffer
      */
-    public synchronized void remove(long messageId) {
+    public synchronized boolean remove(long messageId) {
         Node node = keyMap.remove(messageId);
         if (Objects.nonNull(node)) {
             unlink(node);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove a message from the buffer if it is not yet given out for delivery.
+     *
+     * @param messageId internal id of the message to be removed.
+     * @return removed message, null if the message is not in the buffer or is given out for delivery
+     */
+    public synchronized Message removeUndelivered(long messageId) {
+        Node node = keyMap.get(messageId);
+        if (Objects.isNull(node) || node.delivered) {
+            return null;
+        }
+        keyMap.remove(messageId);
+        unlink(node);
+        return node.item;
+    }
+
+    /**
+     * Remove the message which would be given out for delivery next, irrespective of whether its data is loaded.
+     *
+     * @return removed message, null if there are no undelivered messages in the buffer
+     */
+    public synchronized Message removeFirstUndelivered() {
+        Node node = firstDeliverableCandidate;
+        if (Objects.isNull(node)) {
+            return null;
         }
+        Message message = node.item;
+        keyMap.remove(message.getInternalId());
+        unlink(node);
+        return message;
     }
 
     public synchronized void removeAll(Collection<DetachableMessage> messages) {
@@ -269,15 +383,23 @@ public class QueueBuffer {
             firstUndeliverable = next;
         }  
 
+        if (!node.delivered) {
+            undeliveredMessageBytes.addAndGet(-node.item.getContentLength());
+        }
         node.item = null;
         size.decrementAndGet();
-        if (node.state.get() != Node.INDELIBLE_MESSAGE) {
+        int state = node.state.get();
+        if (state == Node.FULL_MESSAGE) {
             deliverableMessageCount.decrementAndGet();
-        } else {
+        } else if (state == Node.INDELIBLE_MESSAGE) {
             indelibleMessageCount.decrementAndGet();
         }
 
-        messagesInFlight.decrementAndGet();
+        if (node.delivered) {
+            messagesInFlight.decrementAndGet();
+        } else {
+            undeliveredMessageCount.decrementAndGet();
+        }
         submitMessageReads();
     }
 
@@ -304,10 +426,61 @@ public class QueueBuffer {
      *
      * @return number of undelivered messages
      */
+    @Override
     public int getNumberOfUndeliveredMessages() {
         return undeliveredMessageCount.get();
     }
 
+    /**
+     * Total content size of messages that are yet to be retrieved for delivery.
+     *
+     * @return content size of undelivered messages in bytes
+     */
+    @Override
+    public long getUndeliveredMessageBytes() {
+        return undeliveredMessageBytes.get();
+    }
+
+    @Override
+    public long getDeliveredMessageCount() {
+        return deliveredMessageCount.get();
+    }
+
+    @Override
+    public int getInMemoryMessageCount() {
+        return deliverableMessageCount.get();
+    }
+
+    @Override
+    public synchronized int evictExcessMessages() {
+        int excessMessageCount = deliverableMessageCount.get() - getEffectiveInMemoryLimit();
+        int evictedCount = 0;
+        boolean passedFirstUndeliverable = Objects.isNull(firstUndeliverable);
+        Node firstEvicted = null;
+        Node node = last;
+        // Walk from the tail so that the messages delivered last lose their data first. The message which is next
+        // in line for delivery and messages already given out for delivery are left untouched.
+        while (evictedCount < excessMessageCount && Objects.nonNull(node) && node != firstDeliverableCandidate) {
+            if (node == firstUndeliverable) {
+                passedFirstUndeliverable = true;
+            }
+            if (!node.delivered && node.state.compareAndSet(Node.FULL_MESSAGE, Node.BARE_MESSAGE)) {
+                node.item.clearData();
+                deliverableMessageCount.decrementAndGet();
+                firstEvicted = node;
+                evictedCount++;
+            }
+            node = node.prev;
+        }
+
+        // Nodes before the first undeliverable cursor should have content. Move the cursor back if we cleared a node
+        // before it.
+        if (Objects.nonNull(firstEvicted) && passedFirstUndeliverable) {
+            firstUndeliverable = firstEvicted;
+        }
+        return evictedCount;
+    }
+
     /**
      * Return the first deliverable message if one is available.
      *
@@ -326,14 +499,14 @@ public class QueueBuffer {
 
             firstDeliverableCandidate = deliverableCandidate.next;
 
-            recordRemovingMessageForDelivery();
+            recordRemovingMessageForDelivery(deliverableCandidate);
             return deliverableCandidate.item;
         } else if (firstUndeliverable != null && firstUndeliverable.hasContent()) {
             Node newDeliverable = firstUndeliverable;
             firstDeliverableCandidate = firstUndeliverable.next;
             pushFirstUndeliverableCursor();
 
-            recordRemovingMessageForDelivery();
+            recordRemovingMessageForDelivery(newDeliverable);
             return newDeliverable.item;
         } else {
             return null;
@@ -343,9 +516,12 @@ public class QueueBuffer {
     /**
      * Update corresponding counts when message is removed from the queue for delivery.
      */
-    private void recordRemovingMessageForDelivery() {
+    private void recordRemovingMessageForDelivery(Node node) {
+        node.delivered = true;
         messagesInFlight.incrementAndGet();
+        deliveredMessageCount.incrementAndGet();
         undeliveredMessageCount.decrementAndGet();
+        undeliveredMessageBytes.addAndGet(-node.item.getContentLength());
     }
 
     private void pushFirstUndeliverableCursor() {
@@ -356,21 +532,41 @@ public class QueueBuffer {
         }
     }
 
+    /**
+     * Submit read requests for the bare messages following the first undeliverable message. Reads are deferred until
+     * a full read ahead window can be filled, unless delivery is about to catch up with the messages in memory. Each
+     * request covers consecutive messages in ascending order of message id.
+     */
     private void submitMessageReads() {
-        int fillableMessageCount = inMemoryLimit - deliverableMessageCount.get();
+        int fillableMessageCount = getEffectiveInMemoryLimit() - deliverableMessageCount.get();
+        int messagesAheadOfDelivery = deliverableMessageCount.get() - messagesInFlight.get();
+        if (fillableMessageCount <= 0
+                || (fillableMessageCount < readAheadWindow && messagesAheadOfDelivery >= readAheadWindow)) {
+            return;
+        }
 
+        List<Message> readRange = new ArrayList<>(Math.min(fillableMessageCount, readAheadWindow));
         Node undeliverableNode = this.firstUndeliverable;
-        while (fillableMessageCount > 0 && undeliverableNode != null) {
-            if (undeliverableNode.state.compareAndSet(Node.BARE_MESSAGE, Node.SUBMITTED_FOR_FILLING)) {
-                Message message = undeliverableNode.item;
-                messageReader.fill(this, message);
-                fillableMessageCount--;
-            } else {
-                break;
+        while (fillableMessageCount > 0 && undeliverableNode != null
+                && undeliverableNode.state.compareAndSet(Node.BARE_MESSAGE, Node.SUBMITTED_FOR_FILLING)) {
+            Message message = undeliverableNode.item;
+            if (readRange.size() == readAheadWindow || isOutOfOrder(readRange, message)) {
+                messageReader.fill(this, readRange);
+                readRange = new ArrayList<>(Math.min(fillableMessageCount, readAheadWindow));
             }
-
+            readRange.add(message);
+            fillableMessageCount--;
             undeliverableNode = undeliverableNode.next;
         }
+
+        if (!readRange.isEmpty()) {
+            messageReader.fill(this, readRange);
+        }
+    }
+
+    private static boolean isOutOfOrder(List<Message> readRange, Message message) {
+        return !readRange.isEmpty()
+                && readRange.get(readRange.size() - 1).getInternalId() > message.getInternalId();
     }
 
     public void markMessageFilled(Message message) {
@@ -380,6 +576,8 @@ public class QueueBuffer {
             node.state.set(Node.FULL_MESSAGE);
             deliverableMessageCount.incrementAndGet();
         } else {
+            // The message was removed while its data was being read.
+            message.clearData();
             LOGGER.warn("Could not find message {} for marking content filling", messageId);
         }
     }
@@ -401,18 +599,36 @@ public class QueueBuffer {
     }
 
     /**
-     * Remove all messages in the buffer.
+     * Remove all messages in the buffer. The buffer is reset in one go instead of unlinking the messages one by one.
+     * Data of the removed messages is cleared before they are handed over to the post delete action.
      *
+     * @param postDeleteAction action invoked for each removed message
      * @return number of messages removed
      */
     public synchronized int clear(Consumer<Message> postDeleteAction) {
-        Collection<Node> values = new ArrayList<>(keyMap.values());
-        int bufferSize = values.size();
-        for (Node node : values) {
+        int bufferSize = size.get();
+        Node node = last;
+
+        keyMap = new ConcurrentHashMap<>();
+        firstDeliverableCandidate = null;
+        firstUndeliverable = null;
+        last = null;
+        size.set(0);
+        messagesInFlight.set(0);
+        deliverableMessageCount.set(0);
+        undeliveredMessageCount.set(0);
+        indelibleMessageCount.set(0);
+        undeliveredMessageBytes.set(0);
+
+        while (Objects.nonNull(node)) {
             Message message = node.item;
+            Node previous = node.prev;
+            node.item = null;
+            node.prev = null;
+            node.next = null;
             message.clearData();
-            unlink(node);
             postDeleteAction.accept(message);
+            node = previous;
         }
         return bufferSize;
     }
@@ -427,6 +643,11 @@ public class QueueBuffer {
         private Node prev;
         private AtomicInteger state = new AtomicInteger(BARE_MESSAGE);
 
+        /**
+         * True once the message is given out for delivery.
+         */
+        private boolean delivered = false;
+
         Node(Node prev, Message element, Node next) {
             this.item = element;
             this.next = next;
@@ -445,6 +666,12 @@ public class QueueBuffer {
     @FunctionalInterface
     public interface MessageReader {
 
-        void fill(QueueBuffer buffer, Message message);
+        /**
+         * Read data of the given messages and mark them filled in the buffer.
+         *
+         * @param buffer   buffer the messages belong to
+         * @param messages consecutive bare messages of the buffer in ascending order of message id
+         */
+        void fill(QueueBuffer buffer, List<Message> messages);
     }
 }
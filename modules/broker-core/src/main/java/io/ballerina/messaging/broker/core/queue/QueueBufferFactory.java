@@ -19,20 +19,80 @@
 
 package io.ballerina.messaging.broker.core.queue;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.core.QueueArguments;
 import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
+
 /**
  * Factory class for {@link QueueBuffer}.
  */
 public class QueueBufferFactory {
     private final int indelibleMessageLimit;
+    private final int readAheadWindow;
     private int inMemoryCacheLimit;
 
     public QueueBufferFactory(BrokerCoreConfiguration configuration) {
         inMemoryCacheLimit = Integer.parseInt(configuration.getDurableQueueInMemoryCacheLimit());
         indelibleMessageLimit = Integer.parseInt(configuration.getNonDurableQueueMaxDepth());
+        readAheadWindow = Integer.parseInt(configuration.getDurableQueueReadAheadWindow());
     }
 
     public QueueBuffer createBuffer(QueueBuffer.MessageReader messageReader) {
-        return new QueueBuffer(inMemoryCacheLimit, indelibleMessageLimit, messageReader);
+        return createBuffer(messageReader, FieldTable.EMPTY_TABLE);
+    }
+
+    /**
+     * Create a buffer for a queue. The broker wide limits are overridden by the
+     * {@link QueueArguments#IN_MEMORY_CACHE_LIMIT} and {@link QueueArguments#MAX_DEPTH} arguments of the queue.
+     *
+     * @param messageReader used to read message data of the buffered messages
+     * @param arguments     queue arguments
+     * @return queue buffer
+     */
+    public QueueBuffer createBuffer(QueueBuffer.MessageReader messageReader, FieldTable arguments) {
+        return createBuffer(messageReader, arguments, 1);
+    }
+
+    /**
+     * Create one of the buffers of a queue which keeps several buffers, e.g. one per priority level. The limits of
+     * the queue are split between the buffers so that the queue as a whole stays within them.
+     *
+     * @param messageReader used to read message data of the buffered messages
+     * @param arguments     queue arguments
+     * @param bufferCount   number of buffers of the queue
+     * @return queue buffer
+     */
+    public QueueBuffer createBuffer(QueueBuffer.MessageReader messageReader, FieldTable arguments, int bufferCount) {
+        return new QueueBuffer(getInMemoryCacheLimit(arguments, bufferCount),
+                               getIndelibleMessageLimit(arguments, bufferCount), readAheadWindow, messageReader);
+    }
+
+    /**
+     * Get the maximum number of messages held in memory by each buffer of a queue.
+     *
+     * @param arguments   queue arguments
+     * @param bufferCount number of buffers of the queue
+     * @return in memory cache limit of a buffer
+     */
+    int getInMemoryCacheLimit(FieldTable arguments, int bufferCount) {
+        return splitLimit(QueueArguments.getInMemoryCacheLimit(arguments, inMemoryCacheLimit), bufferCount);
+    }
+
+    /**
+     * Get the maximum number of indelible messages kept by each buffer of a queue.
+     *
+     * @param arguments   queue arguments
+     * @param bufferCount number of buffers of the queue
+     * @return indelible message limit of a buffer
+     */
+    int getIndelibleMessageLimit(FieldTable arguments, int bufferCount) {
+        return splitLimit(QueueArguments.getMaxDepth(arguments, indelibleMessageLimit), bufferCount);
+    }
+
+    private static int splitLimit(int limit, int bufferCount) {
+        if (bufferCount <= 1 || limit <= 0) {
+            return limit;
+        }
+        return Math.max(1, limit / bufferCount);
     }
 }
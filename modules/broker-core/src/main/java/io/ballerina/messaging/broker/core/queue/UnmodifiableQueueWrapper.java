@@ -19,11 +19,14 @@
 
 package io.ballerina.messaging.broker.core.queue;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Queue;
 import io.ballerina.messaging.broker.core.QueueHandler;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 
+import java.util.Collection;
 import javax.transaction.xa.Xid;
 
 /**
@@ -34,7 +37,7 @@ public class UnmodifiableQueueWrapper extends Queue {
     private final Queue queue;
 
     public UnmodifiableQueueWrapper(Queue queue) {
-        super(queue.getName(), queue.isDurable(), queue.isAutoDelete());
+        super(queue.getName(), queue.isDurable(), queue.isAutoDelete(), queue.getArguments());
         this.queue = queue;
     }
 
@@ -43,6 +46,21 @@ public class UnmodifiableQueueWrapper extends Queue {
         return queue.getQueueHandler();
     }
 
+    @Override
+    public FieldTable getArguments() {
+        return queue.getArguments();
+    }
+
+    @Override
+    public void setArguments(FieldTable arguments) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public Collection<InMemoryCache> getInMemoryCaches() {
+        return queue.getInMemoryCaches();
+    }
+
     @Override
     public int capacity() {
         return queue.capacity();
@@ -53,11 +71,21 @@ public class UnmodifiableQueueWrapper extends Queue {
         return queue.size();
     }
 
+    @Override
+    public long sizeInBytes() {
+        return queue.sizeInBytes();
+    }
+
     @Override
     public boolean enqueue(Message message) {
         throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
     }
 
+    @Override
+    public void enqueueAll(Collection<Message> messages, EnqueueCallback enqueueCallback) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
     @Override
     public void prepareEnqueue(Xid xid, Message message) {
         throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
@@ -78,6 +106,11 @@ public class UnmodifiableQueueWrapper extends Queue {
         throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
     }
 
+    @Override
+    public Message removeHead() {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
     @Override
     public void detach(DetachableMessage message) {
         throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
@@ -92,4 +125,34 @@ public class UnmodifiableQueueWrapper extends Queue {
     public int clear() {
         throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
     }
+
+    @Override
+    public int purge(QueuePurgeStatus purgeStatus) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public void prepareDelayedEnqueue(Message message) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public boolean enqueueDelayed(Message message) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public void defer(Message message) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public Collection<Message> removeUndelivered(Collection<Long> messageIds) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
+
+    @Override
+    public void detachAll(Collection<Message> messages) {
+        throw new UnsupportedOperationException("Queue " + queue.getName() + " is unmodifiable");
+    }
 }
@@ -26,16 +26,24 @@ import io.ballerina.messaging.broker.auth.authorization.authorizer.rdbms.resourc
 import io.ballerina.messaging.broker.auth.authorization.enums.ResourceType;
 import io.ballerina.messaging.broker.common.ResourceNotFoundException;
 import io.ballerina.messaging.broker.common.ValidationException;
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import io.ballerina.messaging.broker.core.Broker;
 import io.ballerina.messaging.broker.core.BrokerAuthException;
 import io.ballerina.messaging.broker.core.BrokerAuthNotFoundException;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.BrokerFactory;
+import io.ballerina.messaging.broker.core.QueueArguments;
 import io.ballerina.messaging.broker.core.QueueHandler;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.rest.model.ActionUserGroupsMapping;
 import io.ballerina.messaging.broker.core.rest.model.MessageDeleteResponse;
+import io.ballerina.messaging.broker.core.rest.model.MessagePurgeStatus;
 import io.ballerina.messaging.broker.core.rest.model.QueueCreateRequest;
 import io.ballerina.messaging.broker.core.rest.model.QueueCreateResponse;
 import io.ballerina.messaging.broker.core.rest.model.QueueMetadata;
+import io.ballerina.messaging.broker.core.rest.model.QueueUpdateRequest;
+import io.ballerina.messaging.broker.core.rest.model.ResponseMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +55,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.security.auth.Subject;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.InternalServerErrorException;
@@ -63,6 +74,13 @@ public class QueuesApiDelegate {
 
     public static final String QUEUES_API_PATH = "/queues";
 
+    private static final String PURGE_STATUS_PATH = "/messages/purge-status";
+
+    /**
+     * Maximum time a synchronous purge request waits for the persisted messages to be removed.
+     */
+    private static final long PURGE_WAIT_TIMEOUT_SECONDS = 30;
+
     private final BrokerFactory brokerFactory;
 
     private final Authorizer authorizer;
@@ -74,8 +92,10 @@ public class QueuesApiDelegate {
 
     public Response createQueue(QueueCreateRequest requestBody, Subject subject) {
         try {
+            FieldTable arguments = toTuningArguments(requestBody.getInMemoryCacheLimit(), requestBody.getMaxDepth(),
+                                                     requestBody.getDeliveryBatchSize());
             if (brokerFactory.getBroker(subject).createQueue(requestBody.getName(), false,
-                                   requestBody.isDurable(), requestBody.isAutoDelete())) {
+                                   requestBody.isDurable(), requestBody.isAutoDelete(), arguments)) {
                 QueueCreateResponse message = new QueueCreateResponse().message("Queue created.");
                 return Response.created(new URI(BrokerAdminService.API_BASE_PATH + QUEUES_API_PATH
                                                         + "/" + requestBody.getName()))
@@ -93,6 +113,39 @@ public class QueuesApiDelegate {
         }
     }
 
+    public Response updateQueue(String queueName, QueueUpdateRequest requestBody, Subject subject) {
+        try {
+            FieldTable arguments = toTuningArguments(requestBody.getInMemoryCacheLimit(), requestBody.getMaxDepth(),
+                                                     requestBody.getDeliveryBatchSize());
+            brokerFactory.getBroker(subject).updateQueue(queueName, arguments);
+            return Response.ok().entity(new ResponseMessage().message("Queue updated.")).build();
+        } catch (ValidationException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        } catch (BrokerAuthException e) {
+            throw new NotAuthorizedException(e.getMessage(), e);
+        } catch (ResourceNotFoundException | BrokerAuthNotFoundException e) {
+            throw new NotFoundException("Queue " + queueName + " doesn't exist.", e);
+        } catch (BrokerException e) {
+            LOGGER.error("Error occurred while updating the queue.", e);
+            throw new InternalServerErrorException(e.getMessage(), e);
+        }
+    }
+
+    private static FieldTable toTuningArguments(Integer inMemoryCacheLimit, Integer maxDepth,
+                                                Integer deliveryBatchSize) {
+        FieldTable arguments = new FieldTable();
+        if (Objects.nonNull(inMemoryCacheLimit)) {
+            arguments.add(QueueArguments.IN_MEMORY_CACHE_LIMIT, FieldValue.parseLongInt(inMemoryCacheLimit));
+        }
+        if (Objects.nonNull(maxDepth)) {
+            arguments.add(QueueArguments.MAX_DEPTH, FieldValue.parseLongInt(maxDepth));
+        }
+        if (Objects.nonNull(deliveryBatchSize)) {
+            arguments.add(QueueArguments.DELIVERY_BATCH_SIZE, FieldValue.parseLongInt(deliveryBatchSize));
+        }
+        return arguments;
+    }
+
     public Response deleteQueue(String queueName, Boolean ifUnused, Boolean ifEmpty, Subject subject) {
         if (Objects.isNull(ifUnused)) {
             ifUnused = true;
@@ -190,16 +243,68 @@ public class QueuesApiDelegate {
         return actionUserGroupsMappings;
     }
 
-    public Response purgeQueue(String queueName, Subject subject) {
+    /**
+     * Purge the queue. Unless async is set, the response is sent once the persisted messages of the queue are
+     * removed as well, waiting up to {@link #PURGE_WAIT_TIMEOUT_SECONDS}. Otherwise, or if the removal takes longer,
+     * the request is accepted and progress of the removal can be retrieved through {@link #getPurgeStatus}.
+     */
+    public Response purgeQueue(String queueName, Boolean async, Subject subject) {
         try {
-            int numberOfMessagesDeleted = brokerFactory.getBroker(subject).purgeQueue(queueName);
-            return Response.ok()
-                           .entity(new MessageDeleteResponse().numberOfMessagesDeleted(numberOfMessagesDeleted))
+            Broker broker = brokerFactory.getBroker(subject);
+            QueueHandler queueHandler = broker.getQueue(queueName);
+            int numberOfMessagesDeleted = broker.purgeQueue(queueName);
+            MessageDeleteResponse response =
+                    new MessageDeleteResponse().numberOfMessagesDeleted(numberOfMessagesDeleted);
+
+            if (!Boolean.TRUE.equals(async)) {
+                try {
+                    queueHandler.getPurgeStatus().getCompletion().get(PURGE_WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    return Response.ok().entity(response).build();
+                } catch (TimeoutException e) {
+                    LOGGER.debug("Persisted messages of queue {} are still being purged", queueName);
+                }
+            }
+            return Response.accepted()
+                           .location(new URI(BrokerAdminService.API_BASE_PATH + QUEUES_API_PATH + "/"
+                                                     + queueName + PURGE_STATUS_PATH))
+                           .entity(response)
                            .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Interrupted while purging the queue " + queueName, e);
         } catch (ValidationException e) {
             throw new BadRequestException(e.getMessage(), e);
-        } catch (ResourceNotFoundException e) {
+        } catch (BrokerAuthException e) {
+            throw new NotAuthorizedException(e.getMessage(), e);
+        } catch (ResourceNotFoundException | BrokerAuthNotFoundException e) {
             throw new NotFoundException("Queue " + queueName + " doesn't exist.", e);
+        } catch (BrokerException | URISyntaxException | ExecutionException e) {
+            LOGGER.error("Error occurred while purging the queue.", e);
+            throw new InternalServerErrorException(e.getMessage(), e);
+        }
+    }
+
+    public Response getPurgeStatus(String queueName, Subject subject) {
+        QueuePurgeStatus purgeStatus;
+        try {
+            purgeStatus = brokerFactory.getBroker(subject).getQueue(queueName).getPurgeStatus();
+        } catch (BrokerAuthException e) {
+            throw new NotAuthorizedException(e.getMessage(), e);
+        } catch (BrokerAuthNotFoundException | ResourceNotFoundException e) {
+            throw new NotFoundException("Queue " + queueName + " not found");
+        } catch (BrokerException e) {
+            throw new InternalServerErrorException(e.getMessage(), e);
+        }
+
+        if (Objects.isNull(purgeStatus)) {
+            throw new NotFoundException("Queue " + queueName + " was not purged");
         }
+        MessagePurgeStatus status = new MessagePurgeStatus()
+                .status(purgeStatus.getState().name())
+                .numberOfMessagesDeleted(purgeStatus.getPurgedMessageCount())
+                .numberOfDelayedMessagesDeleted(purgeStatus.getHeldBackMessageCount())
+                .numberOfStoredMessagesDetached(purgeStatus.getDetachedMessageCount())
+                .numberOfStoredMessagesDeleted(purgeStatus.getDeletedMessageCount());
+        return Response.ok().entity(status).build();
     }
 }
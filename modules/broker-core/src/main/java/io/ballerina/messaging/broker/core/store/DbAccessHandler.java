@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This class initiates database operations through disruptor.
@@ -78,6 +79,11 @@ public class DbAccessHandler implements EventHandler<DbOperation> {
             case READ_MSG_DATA:
                 readEvents.add(event);
                 break;
+            case PURGE_QUEUE:
+                // Messages published to the queue before the purge have to be persisted before they are purged
+                processTransactions(true);
+                purgeQueue(event);
+                break;
             case NO_OP:
                 break;
             default:
@@ -122,24 +128,59 @@ public class DbAccessHandler implements EventHandler<DbOperation> {
         });
     }
 
+    private void purgeQueue(DbOperation purgeEvent) {
+        try {
+            messageDao.purge(purgeEvent.getQueueName(), purgeEvent.getPurgeStatus());
+        } catch (DaoException e) {
+            purgeEvent.setExceptionObject(e);
+        }
+    }
+
     private void processMessageReads(boolean endOfBatch) {
         if (isBatchReady(endOfBatch, readEvents)) {
             try {
-                messageDao.read(getUniqueMessageList());
-            } catch (DaoException e) {
-                readEvents.forEach(eventObject -> eventObject.setExceptionObject(e));
+                List<DbOperation> messageReadEvents = new ArrayList<>();
+                for (DbOperation readEvent : readEvents) {
+                    if (Objects.nonNull(readEvent.getQueueName())) {
+                        readRange(readEvent);
+                    } else {
+                        messageReadEvents.add(readEvent);
+                    }
+                }
+                readMessages(messageReadEvents);
             } finally {
                 readEvents.clear();
             }
         }
     }
 
-    private Map<Long, List<Message>> getUniqueMessageList() {
+    private void readRange(DbOperation readEvent) {
+        try {
+            messageDao.read(readEvent.getQueueName(), readEvent.getBareMessages());
+        } catch (DaoException e) {
+            readEvent.setExceptionObject(e);
+        }
+    }
+
+    private void readMessages(List<DbOperation> messageReadEvents) {
+        if (messageReadEvents.isEmpty()) {
+            return;
+        }
+        try {
+            messageDao.read(getUniqueMessageList(messageReadEvents));
+        } catch (DaoException e) {
+            messageReadEvents.forEach(eventObject -> eventObject.setExceptionObject(e));
+        }
+    }
+
+    private Map<Long, List<Message>> getUniqueMessageList(List<DbOperation> messageReadEvents) {
         Map<Long, List<Message>> readList = new HashMap<>(maxBatchSize);
 
-        readEvents.forEach(action -> readList.computeIfAbsent(action.getBareMessage().getInternalId(),
-                                                              messageId -> new ArrayList<>())
-                                             .add(action.getBareMessage()));
+        for (DbOperation action : messageReadEvents) {
+            for (Message message : action.getBareMessages()) {
+                readList.computeIfAbsent(message.getInternalId(), messageId -> new ArrayList<>()).add(message);
+            }
+        }
 
         return readList;
     }
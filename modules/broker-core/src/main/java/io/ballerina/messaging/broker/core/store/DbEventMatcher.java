@@ -45,6 +45,8 @@ public class DbEventMatcher implements EventHandler<DbOperation> {
 
     private final Queue<Long> eventQueue;
 
+    private final PublishConfirmBatch publishConfirms = new PublishConfirmBatch();
+
     public DbEventMatcher(int ringBufferSize) {
         insertMap = new HashMap<>();
         detachMap = new HashMap<>();
@@ -73,6 +75,7 @@ public class DbEventMatcher implements EventHandler<DbOperation> {
                          .add(event);
                 break;
             case READ_MSG_DATA:
+            case PURGE_QUEUE:
             case NO_OP:
                 break;
             default:
@@ -83,6 +86,9 @@ public class DbEventMatcher implements EventHandler<DbOperation> {
 
         removeOldestEntryFromIndex();
         event.completeProcessing();
+        if (endOfBatch) {
+            publishConfirms.flush();
+        }
     }
 
     /**
@@ -115,6 +121,8 @@ public class DbEventMatcher implements EventHandler<DbOperation> {
         DbOperation insertRequest;
         if ((insertRequest = insertMap.remove(internalId)) != null) {
             if (insertRequest.acquireToProcess()) {
+                // The message is consumed before it is persisted, hence it is confirmed without writing to the DB
+                publishConfirms.complete(insertRequest.getMessage(), true);
                 insertRequest.clear();
 
                 event.clear();
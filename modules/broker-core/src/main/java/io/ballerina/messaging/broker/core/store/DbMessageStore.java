@@ -21,17 +21,21 @@ package io.ballerina.messaging.broker.core.store;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorThreeArg;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import io.ballerina.messaging.broker.common.DaoException;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.queue.QueueBuffer;
 import io.ballerina.messaging.broker.core.store.dao.MessageDao;
 import io.ballerina.messaging.broker.core.store.disruptor.SleepingBlockingWaitStrategy;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.ThreadSafe;
@@ -56,11 +60,23 @@ public class DbMessageStore extends MessageStore {
     private static final EventTranslatorOneArg<DbOperation, Long> DELETE_MESSAGE =
             (event, sequence, messageId) -> event.deleteMessage(messageId);
 
-    private static final EventTranslatorTwoArg<DbOperation, QueueBuffer, Message> READ_MESSAGE_DATA =
-            (event, sequence, queueBuffer, message) -> event.readMessageData(queueBuffer, message);
+    private static final EventTranslatorTwoArg<DbOperation, String, QueuePurgeStatus> PURGE_QUEUE =
+            (event, sequence, queueName, purgeStatus) -> event.purgeQueue(queueName, purgeStatus);
+
+    private static final EventTranslatorTwoArg<DbOperation, QueueBuffer, List<Message>> READ_MESSAGE_DATA =
+            (event, sequence, queueBuffer, messages) -> event.readMessageData(null, queueBuffer, messages);
+
+    private static final EventTranslatorThreeArg<DbOperation, String, QueueBuffer, List<Message>> READ_MESSAGE_RANGE =
+            (event, sequence, queueName, queueBuffer, messages) ->
+                    event.readMessageData(queueName, queueBuffer, messages);
 
     private final MessageDao messageDao;
 
+    /**
+     * Maximum number of events that can be published to the disruptor in a single batch.
+     */
+    private final int bufferSize;
+
     @SuppressWarnings("unchecked")
     DbMessageStore(MessageDao messageDao, int bufferSize, int maxDbBatchSize) {
         ThreadFactory namedThreadFactory = new ThreadFactoryBuilder()
@@ -77,6 +93,7 @@ public class DbMessageStore extends MessageStore {
                  .then(new FinalEventHandler());
         disruptor.start();
         this.messageDao = messageDao;
+        this.bufferSize = bufferSize;
     }
 
     @Override
@@ -84,16 +101,51 @@ public class DbMessageStore extends MessageStore {
         disruptor.publishEvent(INSERT_MESSAGE, message);
     }
 
+    @Override
+    void publishMessagesToStore(List<Message> messages) {
+        Message[] messageArray = messages.toArray(new Message[0]);
+        for (int from = 0; from < messageArray.length; from += bufferSize) {
+            int batchSize = Math.min(bufferSize, messageArray.length - from);
+            disruptor.getRingBuffer().publishEvents(INSERT_MESSAGE, from, batchSize, messageArray);
+        }
+    }
+
     @Override
     void detachFromQueue(String queueName, long messageId) {
         disruptor.publishEvent(DETACH_FROM_QUEUE, queueName, messageId);
     }
 
+    @Override
+    void detachFromQueue(String queueName, List<Long> messageIds) {
+        Long[] messageIdArray = messageIds.toArray(new Long[0]);
+        String[] queueNameArray = new String[messageIdArray.length];
+        Arrays.fill(queueNameArray, queueName);
+        for (int from = 0; from < messageIdArray.length; from += bufferSize) {
+            int batchSize = Math.min(bufferSize, messageIdArray.length - from);
+            disruptor.getRingBuffer().publishEvents(DETACH_FROM_QUEUE, from, batchSize, queueNameArray,
+                                                    messageIdArray);
+        }
+    }
+
     @Override
     void deleteMessage(long messageId) {
         disruptor.publishEvent(DELETE_MESSAGE, messageId);
     }
 
+    @Override
+    void deleteMessages(List<Long> messageIds) {
+        Long[] messageIdArray = messageIds.toArray(new Long[0]);
+        for (int from = 0; from < messageIdArray.length; from += bufferSize) {
+            int batchSize = Math.min(bufferSize, messageIdArray.length - from);
+            disruptor.getRingBuffer().publishEvents(DELETE_MESSAGE, from, batchSize, messageIdArray);
+        }
+    }
+
+    @Override
+    void purgeQueue(String queueName, QueuePurgeStatus purgeStatus) {
+        disruptor.publishEvent(PURGE_QUEUE, queueName, purgeStatus);
+    }
+
     @Override
     void commit(TransactionData transactionData) throws BrokerException {
         try {
@@ -122,8 +174,13 @@ public class DbMessageStore extends MessageStore {
     }
 
     @Override
-    public void fillMessageData(QueueBuffer queueBuffer, Message message) {
-        disruptor.publishEvent(READ_MESSAGE_DATA, queueBuffer, message);
+    public void fillMessageData(QueueBuffer queueBuffer, List<Message> messages) {
+        disruptor.publishEvent(READ_MESSAGE_DATA, queueBuffer, messages);
+    }
+
+    @Override
+    public void fillMessageRange(String queueName, QueueBuffer queueBuffer, List<Message> messages) {
+        disruptor.publishEvent(READ_MESSAGE_RANGE, queueName, queueBuffer, messages);
     }
 
     @Override
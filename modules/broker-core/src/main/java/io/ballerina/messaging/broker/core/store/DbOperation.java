@@ -21,8 +21,10 @@ package io.ballerina.messaging.broker.core.store;
 
 import com.lmax.disruptor.EventFactory;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.queue.QueueBuffer;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -46,6 +48,7 @@ public class DbOperation {
         DETACH_MSG_FROM_QUEUE,
         DELETE_MESSAGE,
         READ_MSG_DATA,
+        PURGE_QUEUE,
         NO_OP;
     }
     /**
@@ -81,7 +84,9 @@ public class DbOperation {
 
     private QueueBuffer queueBuffer;
 
-    private Message bareMessage;
+    private List<Message> bareMessages;
+
+    private QueuePurgeStatus purgeStatus;
 
     private DbOperation() {
         type = DbOpType.NO_OP;
@@ -117,9 +122,30 @@ public class DbOperation {
         this.queueName = queueName;
     }
 
-    public void readMessageData(QueueBuffer queueBuffer, Message message) {
+    /**
+     * Detach all messages from the queue and delete messages which are no longer attached to any queue.
+     *
+     * @param queueName   name of the queue
+     * @param purgeStatus status of the purge
+     */
+    public void purgeQueue(String queueName, QueuePurgeStatus purgeStatus) {
+        type = DbOpType.PURGE_QUEUE;
+        this.queueName = queueName;
+        this.purgeStatus = purgeStatus;
+    }
+
+    /**
+     * Read data of the given messages. When a queue name is given, the messages are read as a range of the queue.
+     *
+     * @param queueName   name of the queue the messages belong to if the messages are a range of the queue, null
+     *                    otherwise
+     * @param queueBuffer buffer the messages belong to
+     * @param messages    bare messages in ascending order of message id
+     */
+    public void readMessageData(String queueName, QueueBuffer queueBuffer, List<Message> messages) {
         type = DbOpType.READ_MSG_DATA;
-        this.bareMessage = message;
+        this.queueName = queueName;
+        this.bareMessages = messages;
         this.queueBuffer = queueBuffer;
     }
 
@@ -132,10 +158,17 @@ public class DbOperation {
     }
 
     /**
-     * Getter for bareMessage.
+     * Getter for bareMessages.
+     */
+    public List<Message> getBareMessages() {
+        return bareMessages;
+    }
+
+    /**
+     * Getter for purgeStatus.
      */
-    public Message getBareMessage() {
-        return bareMessage;
+    public QueuePurgeStatus getPurgeStatus() {
+        return purgeStatus;
     }
 
     /**
@@ -166,8 +199,9 @@ public class DbOperation {
             message.release();
             message = null;
         }
-        bareMessage = null;
+        bareMessages = null;
         queueBuffer = null;
+        purgeStatus = null;
         messageId = -1;
         queueName = null;
         exceptionObject = null;
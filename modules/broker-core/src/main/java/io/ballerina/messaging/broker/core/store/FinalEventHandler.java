@@ -34,29 +34,54 @@ public class FinalEventHandler implements EventHandler<DbOperation> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FinalEventHandler.class);
 
+    /**
+     * Publisher confirmations of persisted messages. Confirmations are flushed once per batch so that a publisher
+     * receives a single confirmation for the messages written in one DB transaction.
+     */
+    private final PublishConfirmBatch publishConfirms = new PublishConfirmBatch();
+
     @Override
     public void onEvent(DbOperation event, long sequence, boolean endOfBatch) {
+        try {
+            processEvent(event, sequence);
+        } finally {
+            if (endOfBatch) {
+                publishConfirms.flush();
+            }
+        }
+    }
+
+    private void processEvent(DbOperation event, long sequence) {
         Throwable exceptionObject = event.getExceptionObject();
         if (Objects.nonNull(exceptionObject)) {
-            handleError(event, sequence, exceptionObject);
+            try {
+                handleError(event, sequence, exceptionObject);
+            } finally {
+                event.clear();
+            }
             return;
         }
 
         try {
             switch (event.getType()) {
                 case READ_MSG_DATA:
-                    Message message = event.getBareMessage();
                     QueueBuffer queueBuffer = event.getQueueBuffer();
-
-                    if (message.hasContent()) {
-                        queueBuffer.markMessageFilled(message);
-                    } else {
-                        LOGGER.error("Message {} was not read from the DB. Therefore dropping message",
-                                     message.getInternalId());
-                        queueBuffer.remove(message.getInternalId());
+                    for (Message message : event.getBareMessages()) {
+                        if (message.hasContent()) {
+                            queueBuffer.markMessageFilled(message);
+                        } else {
+                            LOGGER.error("Message {} was not read from the DB. Therefore dropping message",
+                                         message.getInternalId());
+                            queueBuffer.remove(message.getInternalId());
+                        }
                     }
                     break;
+                case PURGE_QUEUE:
+                    event.getPurgeStatus().complete();
+                    break;
                 case INSERT_MESSAGE:
+                    publishConfirms.complete(event.getMessage(), true);
+                    break;
                 case DELETE_MESSAGE:
                 case DETACH_MSG_FROM_QUEUE:
                 case NO_OP:
@@ -72,12 +97,20 @@ public class FinalEventHandler implements EventHandler<DbOperation> {
     private void handleError(DbOperation event, long sequence, Throwable exceptionObject) {
         switch (event.getType()) {
             case READ_MSG_DATA:
-                Message message = event.getBareMessage();
-
-                event.getQueueBuffer().markMessageFillFailed(message);
-                LOGGER.warn("Message read failed for message {}", message.getInternalId());
+                for (Message message : event.getBareMessages()) {
+                    // Release content chunks read before the failure
+                    message.clearData();
+                    event.getQueueBuffer().markMessageFillFailed(message);
+                    LOGGER.warn("Message read failed for message {}", message.getInternalId());
+                }
                 break;
             case INSERT_MESSAGE:
+                publishConfirms.complete(event.getMessage(), false);
+                LOGGER.error("Error occurred while processing DB write event for sequence {} db operation {}",
+                             sequence,
+                             event,
+                             exceptionObject);
+                break;
             case DELETE_MESSAGE:
             case DETACH_MSG_FROM_QUEUE:
                 LOGGER.error("Error occurred while processing DB write event for sequence {} db operation {}",
@@ -85,6 +118,11 @@ public class FinalEventHandler implements EventHandler<DbOperation> {
                              event,
                              exceptionObject);
                 break;
+            case PURGE_QUEUE:
+                LOGGER.error("Error occurred while purging messages of queue {}", event.getQueueName(),
+                             exceptionObject);
+                event.getPurgeStatus().fail(exceptionObject);
+                break;
             case NO_OP:
                 break;
             default:
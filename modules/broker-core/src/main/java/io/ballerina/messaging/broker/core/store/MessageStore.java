@@ -22,14 +22,18 @@ package io.ballerina.messaging.broker.core.store;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.PublishConfirm;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.queue.QueueBuffer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import javax.transaction.xa.Xid;
 
 /**
@@ -87,6 +91,49 @@ public abstract class MessageStore {
 
     }
 
+    /**
+     * Detach a batch of messages from a queue. Messages without any other durable queue attachments are deleted.
+     *
+     * @param queueName name of the queue
+     * @param messages  messages to be detached
+     */
+    public synchronized void detach(String queueName, Collection<? extends DetachableMessage> messages) {
+        List<Long> deletedMessageIds = new ArrayList<>();
+        List<Long> detachedMessageIds = new ArrayList<>();
+        for (DetachableMessage message : messages) {
+            message.removeAttachedDurableQueue(queueName);
+            if (!message.hasAttachedDurableQueues()) {
+                deletedMessageIds.add(message.getInternalId());
+            } else {
+                detachedMessageIds.add(message.getInternalId());
+            }
+        }
+
+        if (!deletedMessageIds.isEmpty()) {
+            deleteMessages(deletedMessageIds);
+        }
+        if (!detachedMessageIds.isEmpty()) {
+            detachFromQueue(queueName, detachedMessageIds);
+        }
+    }
+
+    /**
+     * Purge all messages of a queue. In memory messages of the queue are removed and detached from the queue by the
+     * given action while holding the lock used to detach messages, so that concurrent detaches of messages shared
+     * with other queues are ordered with the purge. Persisted messages of the queue are then removed from the store
+     * with a single purge operation in the background.
+     *
+     * @param queueName      name of the queue
+     * @param purgeStatus    status notified while persisted messages are removed
+     * @param inMemoryPurge  action which removes the in memory messages of the queue and returns their count
+     * @return number of messages removed from the queue
+     */
+    public synchronized int purge(String queueName, QueuePurgeStatus purgeStatus, IntSupplier inMemoryPurge) {
+        int purgedMessageCount = inMemoryPurge.getAsInt();
+        purgeQueue(queueName, purgeStatus);
+        return purgedMessageCount;
+    }
+
     public synchronized void detach(Xid xid, String queueName, DetachableMessage message) throws BrokerException {
         TransactionData transactionData = getTransactionData(xid);
         synchronized (transactionData) {
@@ -101,11 +148,39 @@ public abstract class MessageStore {
             if (message.hasAttachedDurableQueues()) {
                 publishMessageToStore(message);
             } else {
+                confirm(message);
                 message.release();
             }
         }
     }
 
+    /**
+     * Flush a batch of pending messages. Messages attached to durable queues are handed over to the store as a
+     * single batch.
+     *
+     * @param messages messages added to the store through {@link #add(Message)}
+     */
+    public void flush(Collection<Message> messages) {
+        List<Message> durableMessages = new ArrayList<>(messages.size());
+        PublishConfirmBatch publishConfirms = new PublishConfirmBatch();
+        for (Message message : messages) {
+            Message pendingMessage = pendingMessages.remove(message.getInternalId());
+            if (pendingMessage != null) {
+                if (pendingMessage.hasAttachedDurableQueues()) {
+                    durableMessages.add(pendingMessage);
+                } else {
+                    publishConfirms.complete(pendingMessage, true);
+                    pendingMessage.release();
+                }
+            }
+        }
+        publishConfirms.flush();
+
+        if (!durableMessages.isEmpty()) {
+            publishMessagesToStore(durableMessages);
+        }
+    }
+
     public void prepare(Xid xid) throws BrokerException {
         prepare(xid, getTransactionData(xid));
     }
@@ -151,19 +226,80 @@ public abstract class MessageStore {
         }
     }
 
+    /**
+     * Confirm a message which does not need to be persisted to its publisher.
+     *
+     * @param message published message
+     */
+    static void confirm(Message message) {
+        PublishConfirm publishConfirm = message.getPublishConfirm();
+        if (Objects.nonNull(publishConfirm)) {
+            publishConfirm.completeAndFlush(true);
+        }
+    }
+
+    /**
+     * Hand over a message to be persisted. Publisher confirmation of the message, if any, is completed once the
+     * message is persisted.
+     *
+     * @param message message attached to durable queues
+     */
     abstract void publishMessageToStore(Message message);
 
+    void publishMessagesToStore(List<Message> messages) {
+        for (Message message : messages) {
+            publishMessageToStore(message);
+        }
+    }
+
     abstract void detachFromQueue(String queueName, long messageId);
 
+    void detachFromQueue(String queueName, List<Long> messageIds) {
+        for (long messageId : messageIds) {
+            detachFromQueue(queueName, messageId);
+        }
+    }
+
     abstract void deleteMessage(long messageId);
 
+    /**
+     * Detach all persisted messages from the queue and delete the messages which are no longer attached to any
+     * queue. The purge status is completed once done.
+     *
+     * @param queueName   name of the queue
+     * @param purgeStatus status of the purge
+     */
+    abstract void purgeQueue(String queueName, QueuePurgeStatus purgeStatus);
+
+    void deleteMessages(List<Long> messageIds) {
+        for (long messageId : messageIds) {
+            deleteMessage(messageId);
+        }
+    }
+
     abstract void commit(TransactionData transactionData) throws BrokerException;
 
     abstract void commit(Xid xid, TransactionData transactionData) throws BrokerException;
 
     public abstract void rollback(Xid xid) throws BrokerException;
 
-    public abstract void fillMessageData(QueueBuffer queueBuffer, Message message);
+    /**
+     * Read data of the given messages asynchronously and mark them filled in the queue buffer.
+     *
+     * @param queueBuffer buffer the messages belong to
+     * @param messages    bare messages
+     */
+    public abstract void fillMessageData(QueueBuffer queueBuffer, List<Message> messages);
+
+    /**
+     * Read data of a range of consecutive messages of a queue asynchronously and mark them filled in the queue
+     * buffer. The range is read with a single query bounded by the first and last message ids.
+     *
+     * @param queueName   name of the queue
+     * @param queueBuffer buffer the messages belong to
+     * @param messages    consecutive bare messages of the queue in ascending order of message id
+     */
+    public abstract void fillMessageRange(String queueName, QueueBuffer queueBuffer, List<Message> messages);
 
     public abstract Collection<Message> readAllMessagesForQueue(String queueName) throws BrokerException;
 
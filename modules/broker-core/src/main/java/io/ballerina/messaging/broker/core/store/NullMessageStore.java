@@ -21,10 +21,12 @@ package io.ballerina.messaging.broker.core.store;
 
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.queue.QueueBuffer;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 import javax.transaction.xa.Xid;
 
@@ -35,6 +37,7 @@ public class NullMessageStore extends MessageStore {
 
     @Override
     void publishMessageToStore(Message message) {
+        confirm(message);
         message.release();
     }
 
@@ -48,6 +51,11 @@ public class NullMessageStore extends MessageStore {
         // Do nothing
     }
 
+    @Override
+    void purgeQueue(String queueName, QueuePurgeStatus purgeStatus) {
+        purgeStatus.complete();
+    }
+
     @Override
     void commit(TransactionData transactionData) {
         // Do nothing
@@ -64,7 +72,12 @@ public class NullMessageStore extends MessageStore {
     }
 
     @Override
-    public void fillMessageData(QueueBuffer queueBuffer, Message message) {
+    public void fillMessageData(QueueBuffer queueBuffer, List<Message> messages) {
+        // Do nothing
+    }
+
+    @Override
+    public void fillMessageRange(String queueName, QueueBuffer queueBuffer, List<Message> messages) {
         // Do nothing
     }
 
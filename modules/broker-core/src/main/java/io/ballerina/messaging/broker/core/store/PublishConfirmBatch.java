@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store;
+
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.PublishConfirm;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects the publisher confirmations completed while processing a batch of store operations so that each
+ * publisher is flushed once per batch. Not thread safe.
+ */
+final class PublishConfirmBatch {
+
+    private final Set<PublishConfirm.Listener> listeners = new HashSet<>();
+
+    /**
+     * Complete the publisher confirmation of the message if the publisher requested confirms.
+     *
+     * @param message stored message
+     * @param success false if the message could not be persisted
+     */
+    void complete(Message message, boolean success) {
+        PublishConfirm publishConfirm = message.getPublishConfirm();
+        if (Objects.nonNull(publishConfirm) && publishConfirm.complete(success)) {
+            listeners.add(publishConfirm.getListener());
+        }
+    }
+
+    /**
+     * Flush the publishers with confirmations completed since the last flush.
+     */
+    void flush() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (PublishConfirm.Listener listener : listeners) {
+            listener.flush();
+        }
+        listeners.clear();
+    }
+}
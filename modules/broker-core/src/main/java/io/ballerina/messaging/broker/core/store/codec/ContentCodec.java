@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.codec;
+
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Encodes message content before it is persisted and decodes it when it is read back.
+ */
+public interface ContentCodec {
+
+    /**
+     * Identifier persisted with each encoded message to select the codec when decoding. Identifier
+     * {@link ContentCodecs#NOT_ENCODED} is reserved for content stored verbatim.
+     *
+     * @return codec identifier
+     */
+    int getId();
+
+    /**
+     * Encode the given content. The reader index of the given content is not changed.
+     *
+     * @param content content to be encoded
+     * @return encoded content. Caller is responsible for releasing the buffer
+     */
+    ByteBuf encode(ByteBuf content);
+
+    /**
+     * Decode the given content. The reader index of the given content is not changed.
+     *
+     * @param encodedContent content encoded by this codec
+     * @param contentLength  length of the content before encoding
+     * @return decoded content. Caller is responsible for releasing the buffer
+     * @throws BrokerException if the content cannot be decoded
+     */
+    ByteBuf decode(ByteBuf encodedContent, int contentLength) throws BrokerException;
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.codec;
+
+import java.util.Locale;
+
+/**
+ * Registry of the available {@link ContentCodec} implementations.
+ */
+public final class ContentCodecs {
+
+    /**
+     * Codec identifier persisted for content stored verbatim.
+     */
+    public static final int NOT_ENCODED = 0;
+
+    private static final String NONE = "none";
+
+    private static final ContentCodec[] CODECS = new ContentCodec[] {
+            null,
+            new DeflateContentCodec(),
+            new SnappyContentCodec()
+    };
+
+    private ContentCodecs() {
+    }
+
+    /**
+     * Get a codec by the name used in the configuration.
+     *
+     * @param name codec name. One of none, deflate or snappy
+     * @return matching codec, null if content should not be encoded
+     */
+    public static ContentCodec getCodec(String name) {
+        switch (name.trim().toLowerCase(Locale.ENGLISH)) {
+            case NONE:
+                return null;
+            case DeflateContentCodec.NAME:
+                return CODECS[DeflateContentCodec.ID];
+            case SnappyContentCodec.NAME:
+                return CODECS[SnappyContentCodec.ID];
+            default:
+                throw new IllegalArgumentException("Unknown content codec " + name);
+        }
+    }
+
+    /**
+     * Get a codec by the identifier persisted with the content.
+     *
+     * @param id codec identifier
+     * @return matching codec, null if the identifier denotes content stored verbatim or is unknown
+     */
+    public static ContentCodec getCodec(int id) {
+        if (id <= NOT_ENCODED || id >= CODECS.length) {
+            return null;
+        }
+        return CODECS[id];
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.codec;
+
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link ContentCodec} based on the JDK {@link Deflater}. Favours speed over the compression ratio.
+ */
+final class DeflateContentCodec implements ContentCodec {
+
+    static final int ID = 1;
+
+    static final String NAME = "deflate";
+
+    private static final int OUTPUT_BLOCK_SIZE = 8192;
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public ByteBuf encode(ByteBuf content) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(ByteBufUtil.getBytes(content));
+            deflater.finish();
+
+            ByteBuf encodedContent = Unpooled.buffer(content.readableBytes() / 2);
+            byte[] outputBlock = new byte[OUTPUT_BLOCK_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(outputBlock);
+                encodedContent.writeBytes(outputBlock, 0, length);
+            }
+            return encodedContent;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf encodedContent, int contentLength) throws BrokerException {
+        Inflater inflater = new Inflater();
+        ByteBuf content = ByteBufAllocator.DEFAULT.directBuffer(contentLength);
+        boolean decoded = false;
+        try {
+            setInput(inflater, encodedContent);
+
+            byte[] outputBlock = new byte[Math.min(OUTPUT_BLOCK_SIZE, contentLength)];
+            while (content.isWritable() && !inflater.finished()) {
+                int length = inflater.inflate(outputBlock, 0, Math.min(outputBlock.length, content.writableBytes()));
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                content.writeBytes(outputBlock, 0, length);
+            }
+
+            if (content.readableBytes() != contentLength || !inflater.finished()) {
+                throw new BrokerException("Deflate encoded content does not match the content length "
+                                                  + contentLength);
+            }
+            decoded = true;
+            return content;
+        } catch (DataFormatException e) {
+            throw new BrokerException("Error occurred while decoding deflate encoded content", e);
+        } finally {
+            inflater.end();
+            if (!decoded) {
+                content.release();
+            }
+        }
+    }
+
+    /**
+     * Inflate straight from the backing array of heap buffers. Only direct buffers are copied since the
+     * {@link Inflater} of Java 8 accepts byte arrays only.
+     */
+    private static void setInput(Inflater inflater, ByteBuf encodedContent) {
+        if (encodedContent.hasArray()) {
+            inflater.setInput(encodedContent.array(), encodedContent.arrayOffset() + encodedContent.readerIndex(),
+                              encodedContent.readableBytes());
+        } else {
+            inflater.setInput(ByteBufUtil.getBytes(encodedContent));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.codec;
+
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.compression.DecompressionException;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * {@link ContentCodec} based on the Snappy block format, a fast LZ77 family compressor.
+ */
+final class SnappyContentCodec implements ContentCodec {
+
+    static final int ID = 2;
+
+    static final String NAME = "snappy";
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public ByteBuf encode(ByteBuf content) {
+        int contentLength = content.readableBytes();
+        ByteBuf encodedContent = Unpooled.buffer(contentLength / 2);
+        // Snappy keeps state while encoding. Hence a new instance is used per call.
+        new Snappy().encode(content.duplicate(), encodedContent, contentLength);
+        return encodedContent;
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf encodedContent, int contentLength) throws BrokerException {
+        ByteBuf content = ByteBufAllocator.DEFAULT.directBuffer(contentLength);
+        try {
+            new Snappy().decode(encodedContent.duplicate(), content);
+        } catch (DecompressionException e) {
+            content.release();
+            throw new BrokerException("Error occurred while decoding snappy encoded content", e);
+        }
+
+        if (content.readableBytes() != contentLength) {
+            content.release();
+            throw new BrokerException("Snappy encoded content does not match the content length " + contentLength);
+        }
+        return content;
+    }
+}
@@ -21,6 +21,7 @@ package io.ballerina.messaging.broker.core.store.dao;
 
 import io.ballerina.messaging.broker.common.DaoException;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.store.TransactionData;
 
 import java.util.Collection;
@@ -56,6 +57,25 @@ public interface MessageDao {
      */
     void read(Map<Long, List<Message>> readList) throws DaoException;
 
+    /**
+     * Read message data for a range of consecutive messages of a queue. Messages of the queue within the range
+     * which are not in the given list are ignored.
+     *
+     * @param queueName    name of the queue.
+     * @param messageRange messages of the queue in ascending order of message id.
+     */
+    void read(String queueName, List<Message> messageRange) throws DaoException;
+
+    /**
+     * Detach all messages from a queue with a single statement and delete the messages which are no longer attached
+     * to any queue in batches. Only the messages of the queue are checked when deleting. The detach and each batch
+     * are committed separately and the purge status is updated after each commit.
+     *
+     * @param queueName   name of the queue.
+     * @param purgeStatus status of the purge.
+     */
+    void purge(String queueName, QueuePurgeStatus purgeStatus) throws DaoException;
+
     /**
      * Store transaction data in a separate table until subsequent commit or rollback is issued.
      *
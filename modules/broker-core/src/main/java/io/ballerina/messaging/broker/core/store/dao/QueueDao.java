@@ -19,6 +19,7 @@
 
 package io.ballerina.messaging.broker.core.store.dao;
 
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Queue;
 
@@ -41,6 +42,13 @@ public interface QueueDao {
      */
     void delete(Queue queue) throws BrokerException;
 
+    /**
+     * Update the arguments of a queue in persistent storage.
+     *
+     * @param queue the queue
+     */
+    void updateArguments(Queue queue) throws BrokerException;
+
     void retrieveAll(QueueCollector queueNameCollector) throws BrokerException;
 
     /**
@@ -49,6 +57,6 @@ public interface QueueDao {
     @FunctionalInterface
     interface QueueCollector {
 
-        void addQueue(String name) throws BrokerException;
+        void addQueue(String name, FieldTable arguments) throws BrokerException;
     }
 }
@@ -22,6 +22,8 @@ package io.ballerina.messaging.broker.core.store.dao.impl;
 import io.ballerina.messaging.broker.core.ChunkConverter;
 import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
 import io.ballerina.messaging.broker.core.metrics.BrokerMetricManager;
+import io.ballerina.messaging.broker.core.store.codec.ContentCodec;
+import io.ballerina.messaging.broker.core.store.codec.ContentCodecs;
 import io.ballerina.messaging.broker.core.store.dao.BindingDao;
 import io.ballerina.messaging.broker.core.store.dao.ExchangeDao;
 import io.ballerina.messaging.broker.core.store.dao.MessageDao;
@@ -37,6 +39,8 @@ public class DaoFactory {
     private final DataSource dataSource;
     private final BrokerMetricManager metricManager;
     private ChunkConverter chunkConverter;
+    private final ContentCodec contentCodec;
+    private final long contentCompressionThreshold;
 
     public DaoFactory(DataSource dataSource,
                       BrokerMetricManager metricManager,
@@ -45,6 +49,9 @@ public class DaoFactory {
         this.metricManager = metricManager;
         int maxPersistedChunkSize = Integer.parseInt(configuration.getMaxPersistedChunkSize());
         chunkConverter = new ChunkConverter(maxPersistedChunkSize);
+        BrokerCoreConfiguration.ContentCompression contentCompression = configuration.getContentCompression();
+        contentCodec = ContentCodecs.getCodec(contentCompression.getCodec());
+        contentCompressionThreshold = Long.parseLong(contentCompression.getThreshold());
     }
 
     public QueueDao createQueueDao() {
@@ -52,7 +59,8 @@ public class DaoFactory {
     }
 
     public MessageDao createMessageDao() {
-        return new MessageDaoImpl(new MessageCrudOperationsDao(dataSource, metricManager, chunkConverter),
+        return new MessageDaoImpl(new MessageCrudOperationsDao(dataSource, metricManager, chunkConverter,
+                                                               contentCodec, contentCompressionThreshold),
                                   new DtxCrudOperationsDao(dataSource, chunkConverter));
     }
 
@@ -109,7 +109,8 @@ public class DtxCrudOperationsDao extends BaseDao {
             insertContentStatement.setLong(1, internalXid);
             insertContentStatement.setLong(2, message.getInternalId());
             insertContentStatement.setLong(3, contentChunk.getOffset());
-            insertContentStatement.setBytes(4, contentChunk.getBytes());
+            insertContentStatement.setBinaryStream(4, contentChunk.getContentStream(),
+                                                   contentChunk.getContentLength());
             insertContentStatement.addBatch();
         }
     }
@@ -121,7 +122,9 @@ public class DtxCrudOperationsDao extends BaseDao {
         insertMetadataStatement.setString(3, message.getMetadata().getExchangeName());
         insertMetadataStatement.setString(4, message.getMetadata().getRoutingKey());
         insertMetadataStatement.setLong(5, message.getMetadata().getContentLength());
-        insertMetadataStatement.setBytes(6, message.getMetadata().getPropertiesAsBytes());
+        insertMetadataStatement.setInt(6, message.getMetadata().getPriority());
+        insertMetadataStatement.setLong(7, message.getMetadata().getArrivalTime());
+        insertMetadataStatement.setBytes(8, message.getMetadata().getPropertiesAsBytes());
         insertMetadataStatement.addBatch();
     }
 
@@ -294,6 +297,7 @@ public class DtxCrudOperationsDao extends BaseDao {
                                                  resultSet.getLong("CONTENT_LENGTH"),
                                                  resultSet.getBytes("MESSAGE_METADATA")
                 );
+                metadata.setArrivalTime(resultSet.getLong("ARRIVAL_TIME"));
 
                 Message message = new Message(resultSet.getLong("MESSAGE_ID"), metadata);
                 enqueuedMessages.put(message.getInternalId(), message);
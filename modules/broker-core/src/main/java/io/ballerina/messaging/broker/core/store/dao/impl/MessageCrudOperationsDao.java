@@ -28,18 +28,31 @@ import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Metadata;
 import io.ballerina.messaging.broker.core.metrics.BrokerMetricManager;
 import io.ballerina.messaging.broker.core.store.QueueDetachEventList;
+import io.ballerina.messaging.broker.core.store.codec.ContentCodec;
+import io.ballerina.messaging.broker.core.store.codec.ContentCodecs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.wso2.carbon.metrics.core.Timer.Context;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.sql.DataSource;
 
@@ -48,9 +61,61 @@ import javax.sql.DataSource;
  */
 class MessageCrudOperationsDao extends BaseDao {
 
+    /**
+     * Number of message ids bound to a single message read statement.
+     */
+    private static final int READ_CHUNK_SIZE = 32;
+
+    /**
+     * Size of the block used to read stored content which does not fit the expected chunk length.
+     */
+    private static final int OVERFLOW_BLOCK_SIZE = 8192;
+
+    private static final String SELECT_METADATA_CHUNK =
+            "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, ARRIVAL_TIME, MESSAGE_METADATA,"
+                    + " CONTENT_CODEC FROM MB_METADATA"
+                    + " WHERE MESSAGE_ID IN (" + getIdListParameters(READ_CHUNK_SIZE) + ")"
+                    + " ORDER BY MESSAGE_ID";
+
+    private static final String SELECT_CONTENT_CHUNK =
+            "SELECT MESSAGE_ID, CONTENT_OFFSET, MESSAGE_CONTENT FROM MB_CONTENT"
+                    + " WHERE MESSAGE_ID IN (" + getIdListParameters(READ_CHUNK_SIZE) + ")";
+
+    /**
+     * Messages of a chunk of candidate message ids which are not attached to any queue. Used with schemas which do
+     * not have the distributed transaction tables.
+     */
+    private static final String SELECT_UNATTACHED_CHUNK =
+            "SELECT MESSAGE_ID FROM MB_METADATA"
+                    + " WHERE MESSAGE_ID IN (" + getIdListParameters(READ_CHUNK_SIZE) + ")"
+                    + " AND " + RDBMSConstants.UNATTACHED_MESSAGE_CONDITION;
+
+    /**
+     * Messages of a chunk of candidate message ids which are neither attached to a queue nor prepared to be dequeued
+     * by a distributed transaction.
+     */
+    private static final String SELECT_ORPHANED_CHUNK =
+            SELECT_UNATTACHED_CHUNK + " AND " + RDBMSConstants.NOT_DTX_DEQUEUED_MESSAGE_CONDITION;
+
     private final BrokerMetricManager metricManager;
     private final ChunkConverter chunkConverter;
 
+    /**
+     * Codec used to encode content before persisting. Null if content is persisted verbatim.
+     */
+    private final ContentCodec contentCodec;
+
+    /**
+     * Minimum content length of a message for its content to be encoded.
+     */
+    private final long contentCompressionThreshold;
+
+    /**
+     * Query used to find orphaned messages. Resolved on first use since the distributed transaction tables are not
+     * available in every database schema.
+     */
+    private volatile String selectOrphanedMessagesQuery;
+
     /**
      * temp storage for messages loaded from DB when restarting the message broker.
      */
@@ -58,10 +123,14 @@ class MessageCrudOperationsDao extends BaseDao {
 
     MessageCrudOperationsDao(DataSource dataSource,
                              BrokerMetricManager metricManager,
-                             ChunkConverter chunkConverter) {
+                             ChunkConverter chunkConverter,
+                             ContentCodec contentCodec,
+                             long contentCompressionThreshold) {
         super(dataSource);
         this.metricManager = metricManager;
         this.chunkConverter = chunkConverter;
+        this.contentCodec = contentCodec;
+        this.contentCompressionThreshold = contentCompressionThreshold;
     }
 
     @SuppressFBWarnings(
@@ -72,6 +141,7 @@ class MessageCrudOperationsDao extends BaseDao {
         PreparedStatement metadataStmt = null;
         PreparedStatement contentStmt = null;
         PreparedStatement insertToQueueStmt = null;
+        List<ByteBuf> encodedContents = new ArrayList<>();
         Context context = metricManager.startMessageWriteTimer();
         try {
             metadataStmt = connection.prepareStatement(RDBMSConstants.PS_INSERT_METADATA);
@@ -79,8 +149,18 @@ class MessageCrudOperationsDao extends BaseDao {
             insertToQueueStmt = connection.prepareStatement(RDBMSConstants.PS_INSERT_INTO_QUEUE);
 
             for (Message message : messageList) {
-                prepareMetadata(metadataStmt, message);
-                prepareContent(contentStmt, message);
+                ByteBuf encodedContent = encodeContent(message);
+                if (Objects.nonNull(encodedContent)) {
+                    encodedContents.add(encodedContent);
+                    prepareMetadata(metadataStmt, message, contentCodec.getId());
+                    prepareContent(contentStmt, message.getInternalId(),
+                                   Collections.singletonList(new ContentChunk(0, encodedContent)),
+                                   encodedContent.readableBytes());
+                } else {
+                    prepareMetadata(metadataStmt, message, ContentCodecs.NOT_ENCODED);
+                    prepareContent(contentStmt, message.getInternalId(), message.getContentChunks(),
+                                   message.getMetadata().getContentLength());
+                }
                 prepareQueueAttachments(insertToQueueStmt, message);
             }
             metadataStmt.executeBatch();
@@ -94,9 +174,55 @@ class MessageCrudOperationsDao extends BaseDao {
             close(metadataStmt);
             close(contentStmt);
             close(insertToQueueStmt);
+            encodedContents.forEach(ByteBuf::release);
         }
     }
 
+    /**
+     * Encode the content of the message if a codec is configured and the content is large enough.
+     *
+     * @param message message to be persisted
+     * @return encoded content, null if the content should be persisted verbatim
+     */
+    private ByteBuf encodeContent(Message message) {
+        long contentLength = message.getMetadata().getContentLength();
+        if (Objects.isNull(contentCodec) || contentLength < contentCompressionThreshold) {
+            return null;
+        }
+
+        List<ByteBuf> contentBuffers = new ArrayList<>();
+        for (ContentChunk chunk : message.getContentChunks()) {
+            contentBuffers.add(chunk.getByteBuf());
+        }
+        ByteBuf content = compose(contentBuffers);
+        ByteBuf encodedContent;
+        try (Context ignored = metricManager.startContentEncodeTimer()) {
+            encodedContent = contentCodec.encode(content);
+        } finally {
+            content.release();
+        }
+
+        metricManager.recordContentEncoding(contentLength, encodedContent.readableBytes());
+        if (encodedContent.readableBytes() >= contentLength) {
+            encodedContent.release();
+            return null;
+        }
+        return encodedContent;
+    }
+
+    /**
+     * Compose the given chunks into a single buffer without copying. The returned buffer holds its own reference to
+     * each chunk and should be released by the caller.
+     */
+    private static ByteBuf compose(Collection<ByteBuf> chunks) {
+        ByteBuf[] buffers = new ByteBuf[chunks.size()];
+        int i = 0;
+        for (ByteBuf chunk : chunks) {
+            buffers[i++] = chunk.retainedDuplicate();
+        }
+        return Unpooled.wrappedBuffer(buffers);
+    }
+
     private void prepareQueueAttachments(PreparedStatement insertToQueueStmt, Message message) throws SQLException {
         long id = message.getInternalId();
         for (String queueName : message.getAttachedDurableQueues()) {
@@ -106,26 +232,28 @@ class MessageCrudOperationsDao extends BaseDao {
         }
     }
 
-    private void prepareContent(PreparedStatement contentStmt, Message message) throws SQLException {
-        List<ContentChunk> contentChunks = message.getContentChunks();
-        long contentLength = message.getMetadata().getContentLength();
-
+    private void prepareContent(PreparedStatement contentStmt, long messageId, List<ContentChunk> contentChunks,
+                                long contentLength) throws SQLException {
         List<ContentChunk> convertedChunks = chunkConverter.convert(contentChunks, contentLength);
         for (ContentChunk chunk : convertedChunks) {
-            contentStmt.setLong(1, message.getInternalId());
+            contentStmt.setLong(1, messageId);
             contentStmt.setLong(2, chunk.getOffset());
-            contentStmt.setBytes(3, chunk.getBytes());
+            contentStmt.setBinaryStream(3, chunk.getContentStream(), chunk.getContentLength());
             contentStmt.addBatch();
         }
     }
 
-    private void prepareMetadata(PreparedStatement metadataStmt, Message message) throws SQLException {
+    private void prepareMetadata(PreparedStatement metadataStmt, Message message,
+                                 int contentCodecId) throws SQLException {
         Metadata metadata = message.getMetadata();
         metadataStmt.setLong(1, message.getInternalId());
         metadataStmt.setString(2, metadata.getExchangeName());
         metadataStmt.setString(3, metadata.getRoutingKey());
         metadataStmt.setLong(4, metadata.getContentLength());
-        metadataStmt.setBytes(5, metadata.getPropertiesAsBytes());
+        metadataStmt.setInt(5, metadata.getPriority());
+        metadataStmt.setLong(6, metadata.getArrivalTime());
+        metadataStmt.setBytes(7, metadata.getPropertiesAsBytes());
+        metadataStmt.setInt(8, contentCodecId);
         metadataStmt.addBatch();
     }
 
@@ -152,6 +280,105 @@ class MessageCrudOperationsDao extends BaseDao {
         }
     }
 
+    /**
+     * Detach all messages from the queue with a single statement.
+     *
+     * @param connection database connection
+     * @param queueName  name of the queue
+     * @return ids of the detached messages
+     * @throws BrokerException if detaching failed
+     */
+    public List<Long> detachAll(Connection connection, String queueName) throws BrokerException {
+        List<Long> messageIds = new ArrayList<>();
+        PreparedStatement selectStatement = null;
+        PreparedStatement deleteStatement = null;
+        ResultSet resultSet = null;
+        try {
+            selectStatement = connection.prepareStatement(RDBMSConstants.PS_SELECT_QUEUE_MESSAGE_IDS);
+            selectStatement.setString(1, queueName);
+            resultSet = selectStatement.executeQuery();
+            while (resultSet.next()) {
+                messageIds.add(resultSet.getLong(1));
+            }
+
+            deleteStatement = connection.prepareStatement(RDBMSConstants.PS_DELETE_ALL_FROM_QUEUE);
+            deleteStatement.setString(1, queueName);
+            deleteStatement.executeUpdate();
+            return messageIds;
+        } catch (SQLException e) {
+            throw new BrokerException("Error detaching all messages from queue " + queueName, e);
+        } finally {
+            close(resultSet);
+            close(selectStatement);
+            close(deleteStatement);
+        }
+    }
+
+    /**
+     * Delete the messages among the given messages which are no longer attached to any queue. Only the given
+     * messages are checked so that the cost does not grow with the size of the message store.
+     *
+     * @param connection database connection
+     * @param messageIds ids of the messages which may have become orphaned
+     * @return number of messages deleted
+     * @throws BrokerException if deleting failed
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    public int deleteOrphanedMessages(Connection connection, List<Long> messageIds) throws BrokerException {
+        if (messageIds.isEmpty()) {
+            return 0;
+        }
+        Long[] candidateIds = messageIds.toArray(new Long[0]);
+        List<Long> orphanedMessageIds = new ArrayList<>(candidateIds.length);
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getSelectOrphanedMessagesQuery(connection));
+            for (int from = 0; from < candidateIds.length; from += READ_CHUNK_SIZE) {
+                setChunk(statement, candidateIds, from);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        orphanedMessageIds.add(resultSet.getLong(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new BrokerException("Error occurred while reading orphaned messages", e);
+        } finally {
+            close(statement);
+        }
+
+        if (!orphanedMessageIds.isEmpty()) {
+            delete(connection, orphanedMessageIds);
+        }
+        return orphanedMessageIds.size();
+    }
+
+    private String getSelectOrphanedMessagesQuery(Connection connection) throws SQLException {
+        String query = selectOrphanedMessagesQuery;
+        if (Objects.isNull(query)) {
+            if (tableExists(connection, RDBMSConstants.DTX_DEQUEUE_MAPPING_TABLE)) {
+                query = SELECT_ORPHANED_CHUNK;
+            } else {
+                query = SELECT_UNATTACHED_CHUNK;
+            }
+            selectOrphanedMessagesQuery = query;
+        }
+        return query;
+    }
+
+    private static boolean tableExists(Connection connection, String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Databases differ in the case used to store unquoted identifiers
+        for (String name : new String[]{tableName, tableName.toLowerCase(Locale.ENGLISH)}) {
+            try (ResultSet tables = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @SuppressFBWarnings(
             value = "RV_RETURN_VALUE_IGNORED_NO_SIDE_EFFECT",
             justification = "Return value of context.stop() is not required.")
@@ -199,6 +426,8 @@ class MessageCrudOperationsDao extends BaseDao {
                 } else {
                     Message message = messageList.computeIfAbsent(messageId, k -> new Message(k, null));
                     message.addAttachedDurableQueue(resultSet.getString(2));
+                    message.setBareMessagePriority(resultSet.getInt(3));
+                    message.setBareContentLength(resultSet.getLong(4));
                 }
             }
 
@@ -216,44 +445,126 @@ class MessageCrudOperationsDao extends BaseDao {
 
         try (Context ignored = metricManager.startMessageReadTimer()) {
             if (!messageMap.isEmpty()) {
-                String idList = getSQLFormattedIdList(messageMap.size());
-                populateMessageWithMetadata(connection, idList, messageMap.keySet(), messageMap);
-                populateContent(connection, idList, messageMap);
+                populateMessages(connection, messageMap);
             }
         } catch (SQLException e) {
             throw new BrokerException("Error occurred while reading messages", e);
         }
     }
 
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
-    private void populateMessageWithMetadata(Connection connection,
-                                             String idListAsString, Collection<Long> idList,
-                                             Map<Long, List<Message>> messageMap) throws SQLException, BrokerException {
-        String metadataSql = "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA "
-                + " FROM MB_METADATA WHERE MESSAGE_ID IN (" + idListAsString + ") ORDER BY MESSAGE_ID";
+    /**
+     * Read data of a range of consecutive messages of a queue with a single query for metadata and a single query
+     * for content bounded by the first and last message ids.
+     *
+     * @param connection   database connection
+     * @param queueName    name of the queue
+     * @param messageRange messages of the queue in ascending order of message id
+     * @throws BrokerException if reading failed
+     */
+    public void readRange(Connection connection, String queueName,
+                          List<Message> messageRange) throws BrokerException {
+        if (messageRange.isEmpty()) {
+            return;
+        }
 
+        Map<Long, List<Message>> messageMap = new HashMap<>(messageRange.size());
+        for (Message message : messageRange) {
+            messageMap.put(message.getInternalId(), Collections.singletonList(message));
+        }
+        long firstMessageId = messageRange.get(0).getInternalId();
+        long lastMessageId = messageRange.get(messageRange.size() - 1).getInternalId();
 
+        Map<Long, Integer> encodedMessages = new HashMap<>();
         PreparedStatement selectMetadata = null;
-        ResultSet metadataResultSet = null;
+        PreparedStatement selectContent = null;
+        try (Context ignored = metricManager.startMessageReadTimer()) {
+            selectMetadata = connection.prepareStatement(RDBMSConstants.PS_SELECT_METADATA_RANGE);
+            setRange(selectMetadata, queueName, firstMessageId, lastMessageId);
+            populateMessageWithMetadata(selectMetadata, messageMap, encodedMessages);
+
+            selectContent = connection.prepareStatement(RDBMSConstants.PS_SELECT_CONTENT_RANGE);
+            setRange(selectContent, queueName, firstMessageId, lastMessageId);
+            populateContent(selectContent, messageMap, encodedMessages);
+        } catch (SQLException e) {
+            throw new BrokerException("Error occurred while reading messages of queue " + queueName, e);
+        } finally {
+            close(selectMetadata);
+            close(selectContent);
+        }
+    }
+
+    private void setRange(PreparedStatement statement, String queueName,
+                          long firstMessageId, long lastMessageId) throws SQLException {
+        statement.setString(1, queueName);
+        statement.setLong(2, firstMessageId);
+        statement.setLong(3, lastMessageId);
+    }
+
+    /**
+     * Read messages in chunks of {@link #READ_CHUNK_SIZE} so that the statement text does not change with the number
+     * of messages read. The last chunk is padded by repeating its last message id.
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private void populateMessages(Connection connection,
+                                  Map<Long, List<Message>> messageMap) throws SQLException, BrokerException {
+        Long[] messageIds = messageMap.keySet().toArray(new Long[0]);
+        Map<Long, Integer> encodedMessages = new HashMap<>();
+        PreparedStatement selectMetadata = null;
+        PreparedStatement selectContent = null;
 
         try {
-            selectMetadata = connection.prepareStatement(metadataSql);
-            int i = 0;
-            for (Long messageId : idList) {
-                selectMetadata.setLong(++i, messageId);
+            selectMetadata = connection.prepareStatement(SELECT_METADATA_CHUNK);
+            selectContent = connection.prepareStatement(SELECT_CONTENT_CHUNK);
+            for (int from = 0; from < messageIds.length; from += READ_CHUNK_SIZE) {
+                setChunk(selectMetadata, messageIds, from);
+                populateMessageWithMetadata(selectMetadata, messageMap, encodedMessages);
+                setChunk(selectContent, messageIds, from);
+                populateContent(selectContent, messageMap, encodedMessages);
             }
+        } finally {
+            close(selectMetadata);
+            close(selectContent);
+        }
+    }
+
+    private void setChunk(PreparedStatement statement, Long[] messageIds, int from) throws SQLException {
+        int lastIndex = Math.min(from + READ_CHUNK_SIZE, messageIds.length) - 1;
+        for (int i = 0; i < READ_CHUNK_SIZE; i++) {
+            statement.setLong(i + 1, messageIds[Math.min(from + i, lastIndex)]);
+        }
+    }
 
+    /**
+     * Populate metadata of the messages. Ids of messages with encoded content are collected to encodedMessages along
+     * with the id of the codec used.
+     */
+    private void populateMessageWithMetadata(PreparedStatement selectMetadata,
+                                             Map<Long, List<Message>> messageMap,
+                                             Map<Long, Integer> encodedMessages) throws SQLException,
+                                                                                        BrokerException {
+        ResultSet metadataResultSet = null;
+
+        try {
             metadataResultSet = selectMetadata.executeQuery();
             while (metadataResultSet.next()) {
                 long messageId = metadataResultSet.getLong(1);
+                List<Message> messages = messageMap.get(messageId);
+                if (Objects.isNull(messages)) {
+                    continue;
+                }
                 String exchangeName = metadataResultSet.getString(2);
                 String routingKey = metadataResultSet.getString(3);
                 long contentLength = metadataResultSet.getLong(4);
-                byte[] bytes = metadataResultSet.getBytes(5);
+                long arrivalTime = metadataResultSet.getLong(5);
+                byte[] bytes = metadataResultSet.getBytes(6);
+                int contentCodecId = metadataResultSet.getInt(7);
+                if (contentCodecId != ContentCodecs.NOT_ENCODED) {
+                    encodedMessages.put(messageId, contentCodecId);
+                }
                 try {
                     Metadata metadata = new Metadata(routingKey, exchangeName, contentLength, bytes);
+                    metadata.setArrivalTime(arrivalTime);
 
-                    List<Message> messages = messageMap.get(messageId);
                     for (Message message : messages) {
                         if (Objects.nonNull(message)) {
                             message.setMetadata(metadata);
@@ -265,44 +576,132 @@ class MessageCrudOperationsDao extends BaseDao {
             }
         } finally {
             close(metadataResultSet);
-            close(selectMetadata);
         }
     }
 
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
-    private void populateContent(Connection connection, String idList,
-                                 Map<Long, List<Message>> messageMap) throws SQLException {
-
-        PreparedStatement selectContent = null;
+    /**
+     * Populate content of the messages. Chunks of encoded messages are gathered and decoded once all the chunks of
+     * the result set are read.
+     */
+    private void populateContent(PreparedStatement selectContent,
+                                 Map<Long, List<Message>> messageMap,
+                                 Map<Long, Integer> encodedMessages) throws SQLException, BrokerException {
         ResultSet contentResultSet = null;
+        Map<Long, SortedMap<Integer, ByteBuf>> encodedChunks = new HashMap<>();
 
         try {
-            selectContent = connection.prepareStatement(
-                    "SELECT MESSAGE_ID, CONTENT_OFFSET, MESSAGE_CONTENT FROM MB_CONTENT "
-                            + "WHERE MESSAGE_ID IN(" + idList + ")");
-
-            int i = 0;
-            for (Long messageId : messageMap.keySet()) {
-                selectContent.setLong(++i, messageId);
-            }
-
             contentResultSet = selectContent.executeQuery();
 
             while (contentResultSet.next()) {
                 long messageId = contentResultSet.getLong(1);
+                List<Message> messages = messageMap.get(messageId);
+                if (Objects.isNull(messages)) {
+                    continue;
+                }
                 int offset = contentResultSet.getInt(2);
-                byte[] bytes = contentResultSet.getBytes(3);
+                if (encodedMessages.containsKey(messageId)) {
+                    ByteBuf content = readEncodedContent(contentResultSet);
+                    encodedChunks.computeIfAbsent(messageId, id -> new TreeMap<>()).put(offset, content);
+                } else {
+                    addContent(messages, offset,
+                               readContent(contentResultSet, getExpectedChunkLength(messages, offset)));
+                }
+            }
 
+            for (Map.Entry<Long, SortedMap<Integer, ByteBuf>> entry : encodedChunks.entrySet()) {
+                long messageId = entry.getKey();
                 List<Message> messages = messageMap.get(messageId);
-                for (Message message : messages) {
-                    if (Objects.nonNull(message)) {
-                        message.addChunk(new ContentChunk(offset, Unpooled.wrappedBuffer(bytes)));
-                    }
-                }
+                ByteBuf content = decodeContent(messageId, encodedMessages.get(messageId),
+                                                messages.get(0).getContentLength(), entry.getValue().values());
+                addContent(messages, 0, content);
             }
         } finally {
             close(contentResultSet);
-            close(selectContent);
+            for (SortedMap<Integer, ByteBuf> chunks : encodedChunks.values()) {
+                chunks.values().forEach(ByteBuf::release);
+            }
         }
     }
+
+    /**
+     * Add the content to each copy of the message. Each copy releases its own reference to the content buffer.
+     */
+    private void addContent(List<Message> messages, int offset, ByteBuf content) {
+        boolean contentUsed = false;
+        for (Message message : messages) {
+            if (Objects.nonNull(message)) {
+                ByteBuf chunkContent = contentUsed ? content.retainedDuplicate() : content;
+                message.addChunk(new ContentChunk(offset, chunkContent));
+                contentUsed = true;
+            }
+        }
+        if (!contentUsed) {
+            content.release();
+        }
+    }
+
+    private ByteBuf decodeContent(long messageId, int contentCodecId, long contentLength,
+                                  Collection<ByteBuf> encodedChunks) throws BrokerException {
+        ContentCodec codec = ContentCodecs.getCodec(contentCodecId);
+        if (Objects.isNull(codec)) {
+            throw new BrokerException("Unknown content codec " + contentCodecId + " for message " + messageId);
+        }
+
+        ByteBuf encodedContent = compose(encodedChunks);
+        try (Context ignored = metricManager.startContentDecodeTimer()) {
+            return codec.decode(encodedContent, (int) contentLength);
+        } finally {
+            encodedContent.release();
+        }
+    }
+
+    private int getExpectedChunkLength(List<Message> messages, int offset) {
+        long remainingLength = messages.get(0).getContentLength() - offset;
+        return (int) Math.max(0, Math.min(remainingLength, chunkConverter.getMaxChunkSizeLimit()));
+    }
+
+    /**
+     * Read an encoded chunk of the current row. The encoded length is not known upfront, hence the stored bytes are
+     * read as is. Encoded chunks only live until the content is decoded.
+     */
+    private ByteBuf readEncodedContent(ResultSet contentResultSet) throws SQLException {
+        byte[] content = contentResultSet.getBytes(3);
+        return Objects.isNull(content) ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(content);
+    }
+
+    /**
+     * Stream the content of the current row into a pooled direct buffer. The buffer is sized to the expected chunk
+     * length and is only grown if the stored chunk turns out to be larger.
+     */
+    private ByteBuf readContent(ResultSet contentResultSet, int expectedLength) throws SQLException {
+        ByteBuf content = ByteBufAllocator.DEFAULT.directBuffer(expectedLength);
+        try (InputStream contentStream = contentResultSet.getBinaryStream(3)) {
+            if (Objects.isNull(contentStream)) {
+                return content;
+            }
+            byte[] overflowBlock = null;
+            int length = 0;
+            while (length != -1) {
+                if (content.isWritable()) {
+                    length = content.writeBytes(contentStream, content.writableBytes());
+                } else {
+                    if (Objects.isNull(overflowBlock)) {
+                        overflowBlock = new byte[OVERFLOW_BLOCK_SIZE];
+                    }
+                    length = contentStream.read(overflowBlock);
+                    if (length > 0) {
+                        content.writeBytes(overflowBlock, 0, length);
+                    }
+                }
+            }
+            return content;
+        } catch (IOException | SQLException e) {
+            content.release();
+            throw new SQLException("Error occurred while reading message content", e);
+        }
+    }
+
+    private static String getIdListParameters(int listLength) {
+        return String.join(",", Collections.nCopies(listLength, "?"));
+    }
 }
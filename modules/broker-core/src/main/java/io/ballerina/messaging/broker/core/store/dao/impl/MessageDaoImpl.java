@@ -21,7 +21,9 @@ package io.ballerina.messaging.broker.core.store.dao.impl;
 
 import io.ballerina.messaging.broker.common.DaoException;
 import io.ballerina.messaging.broker.common.util.function.ThrowingConsumer;
+import io.ballerina.messaging.broker.common.util.function.ThrowingFunction;
 import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
 import io.ballerina.messaging.broker.core.store.TransactionData;
 import io.ballerina.messaging.broker.core.store.dao.MessageDao;
 
@@ -41,6 +43,11 @@ class MessageDaoImpl implements MessageDao {
 
     private static final long INVALID_XID = -1;
 
+    /**
+     * Maximum number of detached messages checked and deleted in a single transaction while purging a queue.
+     */
+    private static final int ORPHAN_DELETE_BATCH_SIZE = 1000;
+
     private final MessageCrudOperationsDao crudOperationsDao;
 
     private final DtxCrudOperationsDao dtxCrudOperationsDao;
@@ -73,6 +80,30 @@ class MessageDaoImpl implements MessageDao {
         crudOperationsDao.selectOperation(connection -> crudOperationsDao.read(connection, readList));
     }
 
+    @Override
+    public void read(String queueName, List<Message> messageRange) throws DaoException {
+        crudOperationsDao.selectOperation(connection -> crudOperationsDao.readRange(connection, queueName,
+                                                                                    messageRange));
+    }
+
+    @Override
+    public void purge(String queueName, QueuePurgeStatus purgeStatus) throws DaoException {
+        List<Long> detachedMessageIds = crudOperationsDao.transaction(
+                (ThrowingFunction<Connection, List<Long>, Exception>) connection ->
+                        crudOperationsDao.detachAll(connection, queueName));
+        purgeStatus.addDetachedMessages(detachedMessageIds.size());
+
+        // Each batch is committed separately to keep transactions short while cleaning up a large queue
+        for (int from = 0; from < detachedMessageIds.size(); from += ORPHAN_DELETE_BATCH_SIZE) {
+            List<Long> batch = detachedMessageIds.subList(
+                    from, Math.min(from + ORPHAN_DELETE_BATCH_SIZE, detachedMessageIds.size()));
+            int deletedCount = crudOperationsDao.transaction(
+                    (ThrowingFunction<Connection, Integer, Exception>) connection ->
+                            crudOperationsDao.deleteOrphanedMessages(connection, batch));
+            purgeStatus.addDeletedMessages(deletedCount);
+        }
+    }
+
     @Override
     public void prepare(Xid xid, TransactionData transactionData) throws DaoException {
         dtxCrudOperationsDao.transaction(connection -> {
@@ -37,6 +37,11 @@ public class NullQueueDao implements QueueDao {
         // Do nothing
     }
 
+    @Override
+    public void updateArguments(Queue queue) throws BrokerException {
+        // Do nothing
+    }
+
     @Override
     public void retrieveAll(QueueCollector queueNameCollector) throws BrokerException {
         // Do nothing
@@ -20,9 +20,12 @@
 package io.ballerina.messaging.broker.core.store.dao.impl;
 
 import io.ballerina.messaging.broker.common.BaseDao;
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
 import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Queue;
 import io.ballerina.messaging.broker.core.store.dao.QueueDao;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -48,7 +51,7 @@ class QueueDaoImpl extends BaseDao implements QueueDao {
             connection = getConnection();
             statement = connection.prepareStatement(RDBMSConstants.PS_INSERT_QUEUE);
             statement.setString(1, queue.getName());
-            statement.setBytes(2, new byte[4]);
+            statement.setBytes(2, getArgumentBytes(queue));
             statement.executeUpdate();
 
             connection.commit();
@@ -61,6 +64,36 @@ class QueueDaoImpl extends BaseDao implements QueueDao {
         }
     }
 
+    @Override
+    public void updateArguments(Queue queue) throws BrokerException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = getConnection();
+            statement = connection.prepareStatement(RDBMSConstants.PS_UPDATE_QUEUE_ARGUMENTS);
+            statement.setBytes(1, getArgumentBytes(queue));
+            statement.setString(2, queue.getName());
+            statement.executeUpdate();
+
+            connection.commit();
+        } catch (SQLException e) {
+            String message = "Error occurred while updating arguments of queue " + queue;
+            rollback(connection, message);
+            throw new BrokerException(message, e);
+        } finally {
+            close(connection, statement);
+        }
+    }
+
+    private static byte[] getArgumentBytes(Queue queue) {
+        FieldTable arguments = queue.getArguments();
+        byte[] argumentBytes = new byte[(int) arguments.getSize()];
+        ByteBuf byteBuf = Unpooled.wrappedBuffer(argumentBytes);
+        byteBuf.resetWriterIndex();
+        arguments.write(byteBuf);
+        return argumentBytes;
+    }
+
     @Override
     public void delete(Queue queue) throws BrokerException {
         Connection connection = null;
@@ -92,9 +125,10 @@ class QueueDaoImpl extends BaseDao implements QueueDao {
             resultSet = statement.executeQuery(RDBMSConstants.SELECT_ALL_QUEUES);
             while (resultSet.next()) {
                 String name = resultSet.getString(1);
-                queueNameConsumer.addQueue(name);
+                FieldTable arguments = FieldTable.parse(Unpooled.wrappedBuffer(resultSet.getBytes(2)));
+                queueNameConsumer.addQueue(name, arguments);
             }
-        } catch (SQLException e) {
+        } catch (Exception e) {
             String message = "Error occurred while retrieving all the queues";
             rollback(connection, message);
             throw new BrokerException(message, e);
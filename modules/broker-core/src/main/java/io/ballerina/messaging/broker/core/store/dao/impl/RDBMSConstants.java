@@ -28,8 +28,8 @@ final class RDBMSConstants {
     }
 
     static final String PS_INSERT_METADATA =
-            "INSERT INTO MB_METADATA (MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA) "
-                    + "VALUES(?, ?, ?, ?, ?)";
+            "INSERT INTO MB_METADATA (MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_PRIORITY, "
+                    + "ARRIVAL_TIME, MESSAGE_METADATA, CONTENT_CODEC) VALUES(?, ?, ?, ?, ?, ?, ?, ?)";
 
     static final String PS_INSERT_CONTENT =
             "INSERT INTO MB_CONTENT (MESSAGE_ID, CONTENT_OFFSET, MESSAGE_CONTENT) VALUES(?, ?, ?)";
@@ -46,6 +46,9 @@ final class RDBMSConstants {
     public static final String PS_DELETE_QUEUE =
             "DELETE FROM MB_QUEUE_METADATA WHERE QUEUE_NAME=?";
 
+    public static final String PS_UPDATE_QUEUE_ARGUMENTS =
+            "UPDATE MB_QUEUE_METADATA SET QUEUE_ARGUMENTS=? WHERE QUEUE_NAME=?";
+
     public static final String SELECT_ALL_QUEUES =
             "SELECT QUEUE_NAME, QUEUE_ARGUMENTS FROM MB_QUEUE_METADATA";
 
@@ -69,11 +72,46 @@ final class RDBMSConstants {
 
     public static final String PS_DELETE_MESSAGE = "DELETE FROM MB_METADATA WHERE MESSAGE_ID=?";
 
+    static final String PS_DELETE_ALL_FROM_QUEUE = "DELETE FROM MB_QUEUE_MAPPING WHERE QUEUE_NAME=?";
+
+    static final String DTX_DEQUEUE_MAPPING_TABLE = "MB_DTX_DEQUEUE_MAPPING";
+
+    static final String PS_SELECT_QUEUE_MESSAGE_IDS = "SELECT MESSAGE_ID FROM MB_QUEUE_MAPPING WHERE QUEUE_NAME=?";
+
+    /**
+     * Condition matching messages of MB_METADATA which are not attached to any queue.
+     */
+    static final String UNATTACHED_MESSAGE_CONDITION =
+            "NOT EXISTS (SELECT 1 FROM MB_QUEUE_MAPPING WHERE MB_QUEUE_MAPPING.MESSAGE_ID=MB_METADATA.MESSAGE_ID)";
+
+    /**
+     * Condition matching messages of MB_METADATA which are not prepared to be dequeued by a distributed transaction.
+     */
+    static final String NOT_DTX_DEQUEUED_MESSAGE_CONDITION =
+            "NOT EXISTS (SELECT 1 FROM " + DTX_DEQUEUE_MAPPING_TABLE + " "
+                    + "WHERE " + DTX_DEQUEUE_MAPPING_TABLE + ".MESSAGE_ID=MB_METADATA.MESSAGE_ID)";
+
+    static final String PS_SELECT_METADATA_RANGE =
+            "SELECT MB_METADATA.MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, ARRIVAL_TIME, "
+                    + "MESSAGE_METADATA, CONTENT_CODEC FROM MB_QUEUE_MAPPING INNER JOIN MB_METADATA "
+                    + "ON MB_QUEUE_MAPPING.MESSAGE_ID=MB_METADATA.MESSAGE_ID "
+                    + "WHERE MB_QUEUE_MAPPING.QUEUE_NAME=? AND MB_QUEUE_MAPPING.MESSAGE_ID BETWEEN ? AND ? "
+                    + "ORDER BY MB_METADATA.MESSAGE_ID";
+
+    static final String PS_SELECT_CONTENT_RANGE =
+            "SELECT MB_CONTENT.MESSAGE_ID, CONTENT_OFFSET, MESSAGE_CONTENT FROM MB_QUEUE_MAPPING INNER JOIN MB_CONTENT "
+                    + "ON MB_QUEUE_MAPPING.MESSAGE_ID=MB_CONTENT.MESSAGE_ID "
+                    + "WHERE MB_QUEUE_MAPPING.QUEUE_NAME=? AND MB_QUEUE_MAPPING.MESSAGE_ID BETWEEN ? AND ? "
+                    + "ORDER BY MB_CONTENT.MESSAGE_ID, CONTENT_OFFSET";
+
     public static final String PS_SELECT_MESSAGES_FOR_QUEUE =
-            "SELECT MB_QUEUE_MAPPING.MESSAGE_ID, QUEUE_NAME "
+            "SELECT MB_QUEUE_MAPPING.MESSAGE_ID, QUEUE_NAME, MB_METADATA.MESSAGE_PRIORITY, "
+                    + "MB_METADATA.CONTENT_LENGTH "
                     + "FROM (SELECT MESSAGE_ID FROM MB_QUEUE_MAPPING WHERE QUEUE_NAME=?) AS QUEUE_MESSAGES "
                     + "INNER JOIN MB_QUEUE_MAPPING "
                     + "ON QUEUE_MESSAGES.MESSAGE_ID=MB_QUEUE_MAPPING.MESSAGE_ID "
+                    + "INNER JOIN MB_METADATA "
+                    + "ON QUEUE_MESSAGES.MESSAGE_ID=MB_METADATA.MESSAGE_ID "
                     + "ORDER BY QUEUE_MESSAGES.MESSAGE_ID";
 
     public static final String PS_DTX_INSERT_XID =
@@ -81,8 +119,8 @@ final class RDBMSConstants {
 
     public static final String PS_DTX_INSERT_ENQUEUE_METADATA =
             "INSERT INTO MB_DTX_ENQUEUE_METADATA "
-                    + "(INTERNAL_XID, MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA) "
-                    + "VALUES (?,?,?,?,?,?)";
+                    + "(INTERNAL_XID, MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_PRIORITY, "
+                    + "ARRIVAL_TIME, MESSAGE_METADATA) VALUES (?,?,?,?,?,?,?,?)";
 
     public static final String PS_DTX_INSERT_ENQUEUE_CONTENT =
             "INSERT INTO MB_DTX_ENQUEUE_CONTENT "
@@ -95,8 +133,10 @@ final class RDBMSConstants {
             "INSERT INTO MB_DTX_DEQUEUE_MAPPING (INTERNAL_XID, MESSAGE_ID, QUEUE_NAME) VALUES(?,?,?)";
 
     public static final String PS_DTX_COPY_ENQUEUE_METADATA =
-            "INSERT INTO MB_METADATA (MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA) "
-                    + "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA "
+            "INSERT INTO MB_METADATA (MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_PRIORITY, "
+                    + "ARRIVAL_TIME, MESSAGE_METADATA) "
+                    + "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_PRIORITY, "
+                    + "ARRIVAL_TIME, MESSAGE_METADATA "
                     + "FROM MB_DTX_ENQUEUE_METADATA WHERE INTERNAL_XID=?";
 
     public static final String PS_DTX_COPY_ENQUEUE_CONTENT =
@@ -122,7 +162,7 @@ final class RDBMSConstants {
             "SELECT INTERNAL_XID, FORMAT_CODE, BRANCH_ID, GLOBAL_ID FROM MB_DTX_XID";
 
     public static final String PS_DTX_SELECT_ENQUEUED_METADATA =
-            "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, MESSAGE_METADATA FROM "
+            "SELECT MESSAGE_ID, EXCHANGE_NAME, ROUTING_KEY, CONTENT_LENGTH, ARRIVAL_TIME, MESSAGE_METADATA FROM "
                     + "MB_DTX_ENQUEUE_METADATA WHERE INTERNAL_XID=?";
 
     public static final String PS_DTX_SELECT_ENQUEUED_CONTENT =
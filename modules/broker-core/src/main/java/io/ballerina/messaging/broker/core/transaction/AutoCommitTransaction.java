@@ -25,6 +25,7 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import javax.transaction.xa.Xid;
 
@@ -45,6 +46,11 @@ public class AutoCommitTransaction implements BrokerTransaction {
         broker.acknowledge(queue, detachableMessage);
     }
 
+    @Override
+    public void dequeue(String queue, Collection<Message> messages) throws BrokerException {
+        broker.acknowledge(queue, messages);
+    }
+
     @Override
     public void enqueue(Message message) throws BrokerException {
         broker.publish(message);
@@ -24,6 +24,7 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import javax.transaction.xa.Xid;
 
@@ -56,6 +57,14 @@ public interface BrokerTransaction {
      * @param detachableMessage An acknowledgement message
      */
     void dequeue(String queue, DetachableMessage detachableMessage) throws BrokerException;
+
+    /**
+     * Dequeue a batch of messages from a queue.
+     *
+     * @param queue    Acknowledgment received queue name
+     * @param messages acknowledged messages
+     */
+    void dequeue(String queue, Collection<Message> messages) throws BrokerException;
     /**
      * Enqueue a message to a queue.
      *
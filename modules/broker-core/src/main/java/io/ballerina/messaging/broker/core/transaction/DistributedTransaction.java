@@ -24,6 +24,7 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import javax.transaction.xa.Xid;
@@ -63,6 +64,13 @@ public class DistributedTransaction implements BrokerTransaction {
         }
     }
 
+    @Override
+    public void dequeue(String queue, Collection<Message> messages) {
+        for (Message message : messages) {
+            dequeue(queue, message.getDetachableMessage());
+        }
+    }
+
     @Override
     public void enqueue(Message message) {
         try {
@@ -24,6 +24,7 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.DetachableMessage;
 import io.ballerina.messaging.broker.core.Message;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import javax.transaction.xa.Xid;
 
@@ -44,6 +45,11 @@ public class ForwardingBrokerTransaction implements BrokerTransaction {
         brokerTransaction.dequeue(queue, detachableMessage);
     }
 
+    @Override
+    public void dequeue(String queue, Collection<Message> messages) throws BrokerException {
+        brokerTransaction.dequeue(queue, messages);
+    }
+
     @Override
     public void enqueue(Message message) throws BrokerException {
         brokerTransaction.enqueue(message);
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -71,6 +72,13 @@ public class LocalTransaction implements BrokerTransaction {
         }
     }
 
+    @Override
+    public void dequeue(String queueName, Collection<Message> messages) {
+        for (Message message : messages) {
+            dequeue(queueName, message.getDetachableMessage());
+        }
+    }
+
     @Override
     public void enqueue(Message message) {
         try {
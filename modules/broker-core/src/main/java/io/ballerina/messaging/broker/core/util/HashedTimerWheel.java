@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel used to track a large number of timeouts. Timeouts are hashed into a fixed number of buckets
+ * using their deadline, making scheduling and cancelling O(1). Each tick only visits the bucket of the elapsed time
+ * slot, therefore timeouts fire at most one tick after their deadline.
+ * <p>
+ * Scheduling and cancelling are thread safe. {@link #advance(long, Consumer)} should be called from a single thread.
+ *
+ * @param <T> type of the items scheduled in the wheel
+ */
+public final class HashedTimerWheel<T> {
+
+    private final long tickDuration;
+
+    private final long startTime;
+
+    private final Timeout<T>[] buckets;
+
+    private final int mask;
+
+    /**
+     * Timeouts scheduled since the last tick. These are moved to buckets by the thread advancing the wheel.
+     */
+    private final Queue<Timeout<T>> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of ticks processed since the start time.
+     */
+    private long tick = 0;
+
+    /**
+     * Create a timer wheel.
+     *
+     * @param tickDuration duration of a tick in milliseconds
+     * @param wheelSize    number of buckets in the wheel. Rounded up to the next power of two
+     * @param startTime    time in milliseconds the wheel starts ticking from
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickDuration, int wheelSize, long startTime) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration should be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Wheel size should be between 1 and 2^30: " + wheelSize);
+        }
+        int normalizedWheelSize = Integer.highestOneBit(wheelSize);
+        if (normalizedWheelSize < wheelSize) {
+            normalizedWheelSize = normalizedWheelSize << 1;
+        }
+        this.tickDuration = tickDuration;
+        this.startTime = startTime;
+        this.buckets = new Timeout[normalizedWheelSize];
+        this.mask = normalizedWheelSize - 1;
+    }
+
+    /**
+     * Schedule an item to expire at the given deadline.
+     *
+     * @param item     item to be handed over when the deadline is reached
+     * @param deadline time in milliseconds the item expires at
+     * @return timeout which can be used to cancel the expiry
+     */
+    public Timeout<T> schedule(T item, long deadline) {
+        Timeout<T> timeout = new Timeout<>(item, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Process all ticks elapsed up to the given time. Items whose deadlines are reached are handed over to the
+     * given consumer.
+     *
+     * @param currentTime         current time in milliseconds
+     * @param expiredItemConsumer  consumer of the expired items
+     */
+    public void advance(long currentTime, Consumer<T> expiredItemConsumer) {
+        transferPendingTimeouts();
+        while (startTime + (tick + 1) * tickDuration <= currentTime) {
+            expireBucket((int) (tick & mask), expiredItemConsumer);
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout<T> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max((timeout.deadline - startTime) / tickDuration, tick);
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+
+            int index = (int) (deadlineTick & mask);
+            timeout.next = buckets[index];
+            buckets[index] = timeout;
+        }
+    }
+
+    private void expireBucket(int index, Consumer<T> expiredItemConsumer) {
+        Timeout<T> timeout = buckets[index];
+        Timeout<T> remaining = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.cancelled) {
+                timeout.next = null;
+            } else if (timeout.remainingRounds <= 0) {
+                timeout.next = null;
+                expiredItemConsumer.accept(timeout.item);
+            } else {
+                timeout.remainingRounds--;
+                timeout.next = remaining;
+                remaining = timeout;
+            }
+            timeout = next;
+        }
+        buckets[index] = remaining;
+    }
+
+    /**
+     * Handle to an item scheduled in the wheel.
+     *
+     * @param <T> type of the scheduled item
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+
+        private final long deadline;
+
+        private volatile boolean cancelled = false;
+
+        private long remainingRounds;
+
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Cancel the timeout. The item is discarded the next time the wheel visits the bucket of the timeout.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
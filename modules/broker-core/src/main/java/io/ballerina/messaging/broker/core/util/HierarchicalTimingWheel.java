@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel used to hold items until a deadline which can be far in the future. Each level of the
+ * wheel covers a range of ticks which is {@code wheelSize} times larger than the level below it. Items are placed in
+ * the lowest level covering their deadline and cascaded down to lower levels as the wheel turns. Hence scheduling is
+ * O(1) and a tick only visits the items due in that tick plus the items cascaded down, irrespective of the number of
+ * pending items.
+ * <p>
+ * Scheduling is thread safe. {@link #advance(long, Consumer)} should be called from a single thread.
+ *
+ * @param <T> type of the items scheduled in the wheel
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickDuration;
+
+    private final long startTime;
+
+    private final int levelCount;
+
+    /**
+     * Number of bits of the tick used to index a bucket in a level.
+     */
+    private final int bitsPerLevel;
+
+    private final int mask;
+
+    private final Entry<T>[][] buckets;
+
+    /**
+     * Items scheduled since the last tick. These are moved to buckets by the thread advancing the wheel.
+     */
+    private final Queue<Entry<T>> pendingEntries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Next tick to be processed, counted from the start time.
+     */
+    private long tick = 0;
+
+    /**
+     * Create a timing wheel.
+     *
+     * @param tickDuration duration of a tick in milliseconds
+     * @param wheelSize    number of buckets in each level. Rounded up to the next power of two
+     * @param levelCount   number of levels of the wheel
+     * @param startTime    time in milliseconds the wheel starts ticking from
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickDuration, int wheelSize, int levelCount, long startTime) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration should be positive: " + tickDuration);
+        }
+        if (wheelSize < 2 || wheelSize > (1 << 16)) {
+            throw new IllegalArgumentException("Wheel size should be between 2 and 2^16: " + wheelSize);
+        }
+        int normalizedWheelSize = Integer.highestOneBit(wheelSize);
+        if (normalizedWheelSize < wheelSize) {
+            normalizedWheelSize = normalizedWheelSize << 1;
+        }
+        int bits = Integer.numberOfTrailingZeros(normalizedWheelSize);
+        if (levelCount <= 0 || bits * levelCount > 62) {
+            throw new IllegalArgumentException("Invalid number of levels for the wheel size: " + levelCount);
+        }
+        this.tickDuration = tickDuration;
+        this.startTime = startTime;
+        this.levelCount = levelCount;
+        this.bitsPerLevel = bits;
+        this.mask = normalizedWheelSize - 1;
+        this.buckets = new Entry[levelCount][normalizedWheelSize];
+    }
+
+    /**
+     * Schedule an item to be handed over at the given deadline.
+     *
+     * @param item     scheduled item
+     * @param deadline time in milliseconds the item is due at
+     */
+    public void schedule(T item, long deadline) {
+        pendingEntries.add(new Entry<>(item, deadline));
+    }
+
+    /**
+     * Process all ticks elapsed up to the given time. Items whose deadlines are reached are handed over to the
+     * given consumer.
+     *
+     * @param currentTime     current time in milliseconds
+     * @param dueItemConsumer consumer of the due items
+     */
+    public void advance(long currentTime, Consumer<T> dueItemConsumer) {
+        Entry<T> entry;
+        while ((entry = pendingEntries.poll()) != null) {
+            place(entry);
+        }
+
+        while (startTime + (tick + 1) * tickDuration <= currentTime) {
+            int index = (int) (tick & mask);
+            if (index == 0) {
+                // Lowest level completed a rotation. Bring down the items of the next block of ticks. A higher level
+                // is cascaded only if the level below it completed a rotation as well.
+                int level = 1;
+                while (level < levelCount && cascade(level) == 0) {
+                    level++;
+                }
+            }
+
+            entry = buckets[0][index];
+            buckets[0][index] = null;
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.next = null;
+                dueItemConsumer.accept(entry.item);
+                entry = next;
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * Re-place the items of the current bucket of the given level.
+     *
+     * @return index of the cascaded bucket
+     */
+    private int cascade(int level) {
+        int index = (int) ((tick >>> (bitsPerLevel * level)) & mask);
+        Entry<T> entry = buckets[level][index];
+        buckets[level][index] = null;
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            place(entry);
+            entry = next;
+        }
+        return index;
+    }
+
+    private void place(Entry<T> entry) {
+        long deadlineTick = Math.max((entry.deadline - startTime) / tickDuration, tick);
+        long delta = deadlineTick - tick;
+        long wheelRange = 1L << (bitsPerLevel * levelCount);
+        if (delta >= wheelRange) {
+            // Beyond the range of the wheel. The item is placed again with its actual deadline when cascaded.
+            deadlineTick = tick + wheelRange - 1;
+            delta = wheelRange - 1;
+        }
+
+        int level = 0;
+        while (delta >= (1L << (bitsPerLevel * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((deadlineTick >>> (bitsPerLevel * level)) & mask);
+        entry.next = buckets[level][index];
+        buckets[level][index] = entry;
+    }
+
+    /**
+     * Item scheduled in the wheel.
+     *
+     * @param <T> type of the item
+     */
+    private static final class Entry<T> {
+
+        private final T item;
+
+        private final long deadline;
+
+        private Entry<T> next;
+
+        private Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -55,6 +55,10 @@ public final class MessageTracer {
     public static final String PREPARED = "Transaction prepared.";
     public static final String QUEUE_COMMIT = "Committed prepared events on queue.";
     public static final String QUEUE_ROLLBACK = "Rollbacked prepared events on queue.";
+    public static final String EXPIRE = "Message expired.";
+    public static final String DELAY = "Message delayed until due for delivery.";
+    public static final String REDELIVERY_BACKOFF = "Message redelivery delayed by backoff.";
+    public static final String OVERFLOW = "Message dropped due to queue length limit.";
 
     private MessageTracer() {
     }
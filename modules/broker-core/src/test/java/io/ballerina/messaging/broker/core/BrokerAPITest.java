@@ -26,14 +26,20 @@ import io.ballerina.messaging.broker.common.ValidationException;
 import io.ballerina.messaging.broker.common.config.BrokerCommonConfiguration;
 import io.ballerina.messaging.broker.common.config.BrokerConfigProvider;
 import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
 import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
+import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.sql.DataSource;
 
@@ -125,6 +131,121 @@ public class BrokerAPITest {
         broker.deleteExchange(exchangeName, false);
     }
 
+    @Test (description = "Test batch publish enqueues every routed message in publish order")
+    public void testBatchPublish() throws Exception {
+        String queueName = "BatchPublishQueue";
+        broker.createQueue(queueName, false, false, false);
+        broker.bind(queueName, DEFAULT_EXCHANGE_NAME, queueName, FieldTable.EMPTY_TABLE);
+
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            messages.add(createNonPersistentMessage(queueName, DEFAULT_EXCHANGE_NAME));
+        }
+        broker.publish(messages);
+
+        QueueHandler queueHandler = broker.getQueue(queueName);
+        Assert.assertEquals(queueHandler.size(), 5, "All messages in the batch should be enqueued");
+        for (Message message : messages) {
+            Message delivered = queueHandler.takeForDelivery();
+            Assert.assertEquals(delivered.getInternalId(), message.getInternalId(),
+                                "Messages should be enqueued in publish order");
+        }
+
+        broker.deleteQueue(queueName, false, false);
+    }
+
+    @Test (description = "Test purging a queue while a delayed message is held back")
+    public void testPurgeWithHeldBackMessage() throws Exception {
+        String queueName = "DelayedPurgeQueue";
+        broker.createQueue(queueName, false, false, false);
+        broker.bind(queueName, DEFAULT_EXCHANGE_NAME, queueName, FieldTable.EMPTY_TABLE);
+
+        Message delayedMessage = createNonPersistentMessage(queueName, DEFAULT_EXCHANGE_NAME);
+        delayedMessage.getMetadata().getHeaders().add(Metadata.DELAY_HEADER, FieldValue.parseLongInt(60000));
+        broker.publish(delayedMessage);
+        broker.publish(createNonPersistentMessage(queueName, DEFAULT_EXCHANGE_NAME));
+
+        Assert.assertEquals(broker.purgeQueue(queueName), 2, "Held back message should be purged with the queue");
+        QueuePurgeStatus purgeStatus = broker.getQueue(queueName).getPurgeStatus();
+        Assert.assertEquals(purgeStatus.getHeldBackMessageCount(), 1, "Held back message should be reported");
+
+        broker.deleteQueue(queueName, false, false);
+    }
+
+    @Test (description = "Test pulling messages from a queue without a consumer")
+    public void testGet() throws Exception {
+        String queueName = "PullQueue";
+        broker.createQueue(queueName, false, false, false);
+        broker.bind(queueName, DEFAULT_EXCHANGE_NAME, queueName, FieldTable.EMPTY_TABLE);
+
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            messages.add(createNonPersistentMessage(queueName, DEFAULT_EXCHANGE_NAME));
+        }
+        broker.publish(messages);
+
+        PullResult pullResult = broker.get(queueName, 2, Collections.emptyList());
+        Assert.assertEquals(pullResult.getMessages().size(), 2, "Only the requested number of messages should be "
+                + "pulled");
+        Assert.assertEquals(pullResult.getMessages().get(0).getInternalId(), messages.get(0).getInternalId(),
+                            "Messages should be pulled in publish order");
+        Assert.assertEquals(pullResult.getRemainingCount(), 1, "Remaining message count should be returned");
+
+        pullResult = broker.get(queueName, 2, Collections.emptyList());
+        Assert.assertEquals(pullResult.getMessages().size(), 1, "Remaining message should be pulled");
+        Assert.assertTrue(broker.get(queueName, 2, Collections.emptyList()).getMessages().isEmpty(),
+                          "No messages should be pulled from an empty queue");
+
+        broker.deleteQueue(queueName, false, false);
+    }
+
+    @Test (description = "Test pulling messages from a queue with an exclusive consumer")
+    public void testGetWithExclusiveConsumer() throws Exception {
+        String queueName = "ExclusivePullQueue";
+        broker.createQueue(queueName, false, false, false);
+        broker.bind(queueName, DEFAULT_EXCHANGE_NAME, queueName, FieldTable.EMPTY_TABLE);
+        broker.publish(createNonPersistentMessage(queueName, DEFAULT_EXCHANGE_NAME));
+        Consumer exclusiveConsumer = Mockito.mock(Consumer.class);
+        Mockito.when(exclusiveConsumer.getQueueName()).thenReturn(queueName);
+        Mockito.when(exclusiveConsumer.isExclusive()).thenReturn(true);
+        broker.addConsumer(exclusiveConsumer);
+
+        try {
+            broker.get(queueName, 1, Collections.emptyList());
+            Assert.fail("Messages should not be pulled while another consumer has exclusive access");
+        } catch (ExclusiveAccessException e) {
+            // Expected since the exclusive consumer belongs to another client
+        }
+        PullResult pullResult = broker.get(queueName, 1, Collections.singletonList(exclusiveConsumer));
+        Assert.assertEquals(pullResult.getMessages().size(), 1, "Owner of the exclusive consumer should be able to "
+                + "pull messages");
+
+        broker.removeConsumer(exclusiveConsumer);
+        broker.deleteQueue(queueName, false, false);
+    }
+
+    @Test (description = "Test pulling messages from a non existing queue",
+           expectedExceptions = ResourceNotFoundException.class)
+    public void testGetFromNonExistingQueue() throws Exception {
+        broker.get("NonExistingPullQueue", 1, Collections.emptyList());
+    }
+
+    @Test (description = "Test batch publish with an unknown exchange",
+           expectedExceptions = BrokerException.class)
+    public void testBatchPublishToUnknownExchange() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        messages.add(createNonPersistentMessage(DEFAULT_ROUTING_KEY, DEFAULT_EXCHANGE_NAME));
+        messages.add(createNonPersistentMessage(DEFAULT_ROUTING_KEY, "unknownExchange"));
+        broker.publish(messages);
+    }
+
+    private static Message createNonPersistentMessage(String routingKey, String exchangeName) {
+        Metadata metadata = new Metadata(routingKey, exchangeName, 0);
+        metadata.getProperties().add(Metadata.DELIVERY_MODE,
+                                     FieldValue.parseShortShortInt((byte) Metadata.NON_PERSISTENT_MESSAGE));
+        return new Message(Broker.getNextMessageId(), metadata);
+    }
+
     @DataProvider(name = "nonExistingExchanges")
     public Object[] nonExistingExchanges() {
         return new Object[]{ "myExchange", "testExchange" };
@@ -3,8 +3,12 @@ package io.ballerina.messaging.broker.core;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -67,6 +71,40 @@ public class ChunkConverterTest {
         Assert.assertEquals(afterList, beforeList, "Empty chunk list should not be converted");
     }
 
+    @Test(dataProvider = "payloadSizes")
+    public void testStreamConvertedContent(int payloadSize) throws IOException {
+        ChunkConverter converter = new ChunkConverter(65500);
+
+        byte[] payload = new byte[payloadSize];
+        new Random().nextBytes(payload);
+        List<ContentChunk> beforeList = new ArrayList<>();
+        for (int offset = 0; offset < payloadSize; offset += 131072) {
+            int length = Math.min(131072, payloadSize - offset);
+            beforeList.add(new ContentChunk(offset, Unpooled.wrappedBuffer(payload, offset, length)));
+        }
+
+        List<ContentChunk> afterList = converter.convert(beforeList, payloadSize);
+        ByteArrayOutputStream streamedContent = new ByteArrayOutputStream(payloadSize);
+        for (ContentChunk chunk : afterList) {
+            Assert.assertTrue(chunk.getContentLength() <= 65500, "Streamed chunks should not exceed the limit");
+            try (InputStream contentStream = chunk.getContentStream()) {
+                int length = contentStream.available();
+                byte[] bytes = new byte[length];
+                Assert.assertEquals(contentStream.read(bytes), chunk.getContentLength(),
+                                    "Whole chunk should be streamed");
+                streamedContent.write(bytes);
+            }
+        }
+        Assert.assertEquals(streamedContent.toByteArray(), payload, "Streamed content should match the payload");
+        Assert.assertEquals(beforeList.get(0).getByteBuf().readerIndex(), 0,
+                            "Streaming should not consume the original content");
+    }
+
+    @DataProvider(name = "payloadSizes")
+    public static Object[][] payloadSizes() {
+        return new Object[][]{{1024}, {65500}, {102400}, {1048576}, {10485760}};
+    }
+
     private String getString(List<ContentChunk> chunkList, int chunkLength) {
         ContentReader contentReader = new ContentReader(chunkList);
         ByteBuf convertedByteBuf = contentReader.getNextBytes(chunkLength);
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import javax.sql.DataSource;
 
 public class DbUtil {
@@ -55,8 +56,12 @@ public class DbUtil {
     }
 
     private static DataSource createDataSource() {
+        return createDataSource(DATABASE_URL);
+    }
+
+    private static DataSource createDataSource(String databaseUrl) {
         HikariConfig hikariDataSourceConfig = new HikariConfig();
-        hikariDataSourceConfig.setJdbcUrl(DATABASE_URL);
+        hikariDataSourceConfig.setJdbcUrl(databaseUrl);
         hikariDataSourceConfig.setDriverClassName(DRIVER_CLASS_NAME);
         hikariDataSourceConfig.setAutoCommit(false);
         return new HikariDataSource(hikariDataSourceConfig);
@@ -66,8 +71,29 @@ public class DbUtil {
         return dataSource;
     }
 
+    /**
+     * Create a data source for a separate in-memory database without the given tables. Used to test against schemas
+     * of databases which do not have all the tables of the H2 schema.
+     */
+    public static DataSource createDataSource(String databaseName, String... excludedTables)
+            throws SQLException, IOException {
+        String databaseUrl = "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1";
+        setupDB(databaseUrl);
+        try (Connection connection = DriverManager.getConnection(databaseUrl);
+             Statement statement = connection.createStatement()) {
+            for (String table : excludedTables) {
+                statement.executeUpdate("DROP TABLE " + table + " CASCADE");
+            }
+        }
+        return createDataSource(databaseUrl);
+    }
+
     private static void setupDB() throws SQLException, IOException {
-        Connection connection = DriverManager.getConnection(DATABASE_URL + ";create=true");
+        setupDB(DATABASE_URL);
+    }
+
+    private static void setupDB(String databaseUrl) throws SQLException, IOException {
+        Connection connection = DriverManager.getConnection(databaseUrl + ";create=true");
 
         ScriptRunner scriptRunner = new ScriptRunner(connection, true, true);
         scriptRunner.runScript(new BufferedReader(new FileReader(path)));
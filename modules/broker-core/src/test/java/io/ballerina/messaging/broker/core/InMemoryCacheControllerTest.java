@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class InMemoryCacheControllerTest {
+
+    @Test
+    public void testBudgetSharedByWeight() {
+        long[] shares = InMemoryCacheController.distribute(1000, new long[]{1, 3}, new long[]{1000, 1000});
+        Assert.assertEquals(shares, new long[]{250, 750}, "Budget should be shared in proportion to the weights");
+    }
+
+    @Test
+    public void testLeftOverBudgetRedistributed() {
+        long[] shares = InMemoryCacheController.distribute(1000, new long[]{1, 1, 2}, new long[]{100, 1000, 1000});
+        Assert.assertEquals(shares[0], 100, "A share should not exceed the demand");
+        Assert.assertEquals(shares[1], 300, "Left over budget should be shared among the rest by weight");
+        Assert.assertEquals(shares[2], 600, "Left over budget should be shared among the rest by weight");
+    }
+
+    @Test
+    public void testBudgetLargerThanDemand() {
+        long[] shares = InMemoryCacheController.distribute(10000, new long[]{5, 1}, new long[]{200, 300});
+        Assert.assertEquals(shares, new long[]{200, 300}, "All demands should be met when the budget allows");
+    }
+}
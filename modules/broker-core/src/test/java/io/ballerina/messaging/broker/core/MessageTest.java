@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class MessageTest {
+
+    @Test
+    public void testShallowCopySharesContent() {
+        ByteBuf content = Unpooled.buffer(10).writeZero(10);
+        Message message = new Message(1, new Metadata("queue1", "amq.direct", 10));
+        message.addChunk(new ContentChunk(0, content));
+
+        Message firstCopy = message.shallowCopy();
+        Message secondCopy = message.shallowCopy();
+        Assert.assertSame(firstCopy.getContentChunks().get(0).getByteBuf(), content,
+                          "Shallow copies should share the content of the original message");
+        Assert.assertSame(firstCopy.getMetadata(), message.getMetadata(),
+                          "Shallow copies should share the metadata of the original message");
+
+        message.release();
+        firstCopy.release();
+        Assert.assertEquals(content.refCnt(), 1, "Content should not be released while a copy is referring to it");
+
+        secondCopy.release();
+        Assert.assertEquals(content.refCnt(), 0, "Content should be released with the last copy");
+    }
+
+    @Test
+    public void testReleaseIsIdempotentPerCopy() {
+        ByteBuf content = Unpooled.buffer(10).writeZero(10);
+        Message message = new Message(1, new Metadata("queue1", "amq.direct", 10));
+        message.addChunk(new ContentChunk(0, content));
+        Message copy = message.shallowCopy();
+
+        message.release();
+        message.clearData();
+        Assert.assertEquals(content.refCnt(), 1, "Releasing the same copy twice should not release shared content");
+        Assert.assertTrue(copy.hasContent(), "Clearing data of a copy should not affect other copies");
+
+        copy.release();
+        Assert.assertEquals(content.refCnt(), 0, "Content should be released with the last copy");
+    }
+
+    @Test
+    public void testDurableQueuesSharedBetweenCopies() {
+        Metadata metadata = new Metadata("queue1", "amq.direct", 0);
+        metadata.getProperties().add(Metadata.DELIVERY_MODE,
+                                     FieldValue.parseShortShortInt((byte) Metadata.PERSISTENT_MESSAGE));
+        Message message = new Message(1, metadata);
+        Message firstCopy = message.shallowCopy();
+        Message secondCopy = message.shallowCopy();
+
+        message.addAttachedDurableQueue("queue1");
+        message.addAttachedDurableQueue("queue2");
+        message.addAttachedDurableQueue("queue1");
+        Assert.assertEquals(firstCopy.getAttachedDurableQueues().size(), 2,
+                            "Copies should see the durable queues attached to the original message");
+
+        firstCopy.getDetachableMessage().removeAttachedDurableQueue("queue1");
+        Assert.assertTrue(secondCopy.hasAttachedDurableQueues(), "Message should still be attached to queue2");
+
+        secondCopy.getDetachableMessage().removeAttachedDurableQueue("queue2");
+        Assert.assertFalse(message.hasAttachedDurableQueues(), "Message should not be attached to any queue");
+    }
+}
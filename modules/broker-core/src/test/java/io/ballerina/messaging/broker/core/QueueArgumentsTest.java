@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core;
+
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import io.ballerina.messaging.broker.common.data.types.ShortShortUint;
+import io.ballerina.messaging.broker.common.data.types.ShortUint;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class QueueArgumentsTest {
+
+    @Test
+    public void testUnsignedValues() {
+        FieldValue shortShortUint = FieldValue.parseShortShortUint(ShortShortUint.parse((short) 0xFFFF));
+        Assert.assertEquals(QueueArguments.getLongValue(shortShortUint), Long.valueOf(0xFF),
+                            "Short short uint should be read as an unsigned byte");
+
+        FieldValue shortUint = FieldValue.parseShortUint(ShortUint.parse(0xFFFFFFFF));
+        Assert.assertEquals(QueueArguments.getLongValue(shortUint), Long.valueOf(0xFFFF),
+                            "Short uint should be read as an unsigned short");
+    }
+}
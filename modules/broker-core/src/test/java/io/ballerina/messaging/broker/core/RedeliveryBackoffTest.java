@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.ballerina.messaging.broker.core;
+
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RedeliveryBackoffTest {
+
+    @Test
+    public void testBackoffDisabledWithoutDelay() {
+        RedeliveryBackoff backoff = RedeliveryBackoff.from(new FieldTable());
+        Assert.assertFalse(backoff.isEnabled(), "Backoff should be disabled when the queue does not define a delay");
+    }
+
+    @Test
+    public void testFixedBackoff() {
+        FieldTable arguments = new FieldTable();
+        arguments.add(QueueArguments.REDELIVERY_DELAY, FieldValue.parseLongInt(100));
+        RedeliveryBackoff backoff = RedeliveryBackoff.from(arguments);
+
+        Assert.assertTrue(backoff.isEnabled(), "Backoff should be enabled when the queue defines a delay");
+        Assert.assertEquals(backoff.getDelay(1), 100, "Fixed backoff should use the configured delay");
+        Assert.assertEquals(backoff.getDelay(5), 100, "Fixed backoff should not grow with redeliveries");
+    }
+
+    @Test
+    public void testExponentialBackoffIsBounded() {
+        FieldTable arguments = new FieldTable();
+        arguments.add(QueueArguments.REDELIVERY_DELAY, FieldValue.parseLongInt(100));
+        arguments.add(QueueArguments.REDELIVERY_BACKOFF,
+                      FieldValue.parseShortString(QueueArguments.EXPONENTIAL_BACKOFF));
+        arguments.add(QueueArguments.REDELIVERY_MAX_DELAY, FieldValue.parseLongInt(1000));
+        RedeliveryBackoff backoff = RedeliveryBackoff.from(arguments);
+
+        Assert.assertEquals(backoff.getDelay(1), 100, "First redelivery should use the configured delay");
+        for (int i = 0; i < 100; i++) {
+            long delay = backoff.getDelay(3);
+            Assert.assertTrue(delay >= 200 && delay <= 400,
+                              "Third redelivery delay should be between half and the full doubled delay");
+            long maxDelay = backoff.getDelay(Integer.MAX_VALUE);
+            Assert.assertTrue(maxDelay >= 500 && maxDelay <= 1000,
+                              "Delay should not grow beyond the maximum delay");
+        }
+    }
+}
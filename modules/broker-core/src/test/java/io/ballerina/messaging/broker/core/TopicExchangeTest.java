@@ -62,7 +62,8 @@ public class TopicExchangeTest {
         DbBackedQueueHandlerFactory factory = new DbBackedQueueHandlerFactory(null,
                                                                               new NullBrokerMetricManager(),
                                                                               new BrokerCoreConfiguration());
-        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false);
+        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false,
+                                                                    FieldTable.EMPTY_TABLE);
         topicExchange.bind(handler, subscribedPattern, FieldTable.EMPTY_TABLE);
 
         BindingSet bindingSet = topicExchange.getBindingsForRoute(publishedTopic);
@@ -80,7 +81,8 @@ public class TopicExchangeTest {
                                                 String publishedTopic) throws BrokerException, ValidationException {
         DbBackedQueueHandlerFactory factory = new DbBackedQueueHandlerFactory(null, new NullBrokerMetricManager(),
                                                                               new BrokerCoreConfiguration());
-        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false);
+        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false,
+                                                                    FieldTable.EMPTY_TABLE);
         topicExchange.bind(handler, subscribedPattern, FieldTable.EMPTY_TABLE);
 
         BindingSet bindingSet = topicExchange.getBindingsForRoute(publishedTopic);
@@ -93,7 +95,8 @@ public class TopicExchangeTest {
             throws BrokerException, ValidationException {
         DbBackedQueueHandlerFactory factory = new DbBackedQueueHandlerFactory(null, new NullBrokerMetricManager(),
                                                                               new BrokerCoreConfiguration());
-        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false);
+        QueueHandler handler = factory.createNonDurableQueueHandler(subscribedPattern, false,
+                                                                    FieldTable.EMPTY_TABLE);
         Queue queue = handler.getUnmodifiableQueue();
         topicExchange.bind(handler, subscribedPattern, FieldTable.EMPTY_TABLE);
         topicExchange.unbind(queue, subscribedPattern);
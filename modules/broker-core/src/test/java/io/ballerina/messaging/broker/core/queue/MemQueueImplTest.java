@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.queue;
+
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.common.data.types.FieldValue;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+import io.ballerina.messaging.broker.core.Queue;
+import io.ballerina.messaging.broker.core.QueueArguments;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+public class MemQueueImplTest {
+
+    @Test
+    public void testPriorityOrder() {
+        FieldTable arguments = new FieldTable();
+        arguments.add(QueueArguments.MAX_PRIORITY, FieldValue.parseLongInt(5));
+        MemQueueImpl queue = new MemQueueImpl("PriorityQueue", false, Queue.UNBOUNDED, false, arguments);
+
+        int[] priorities = {0, 3, 9, 1, 3};
+        for (int i = 0; i < priorities.length; i++) {
+            queue.enqueue(createMessage(i + 1, priorities[i]));
+        }
+
+        long[] expectedOrder = {3, 2, 5, 4, 1};
+        for (long expectedId : expectedOrder) {
+            Assert.assertEquals(queue.dequeue().getInternalId(), expectedId,
+                                "Messages should be dequeued in priority order and FIFO within a priority");
+        }
+        Assert.assertNull(queue.dequeue(), "Queue should be empty");
+    }
+
+    @Test
+    public void testPriorityIgnoredWithoutMaxPriority() {
+        MemQueueImpl queue = new MemQueueImpl("NonPriorityQueue", false);
+        queue.enqueue(createMessage(1, 0));
+        queue.enqueue(createMessage(2, 5));
+
+        Assert.assertEquals(queue.dequeue().getInternalId(), 1,
+                            "Priority should be ignored for queues declared without max priority");
+    }
+
+    @Test
+    public void testRemoveUndelivered() {
+        FieldTable arguments = new FieldTable();
+        arguments.add(QueueArguments.MAX_PRIORITY, FieldValue.parseLongInt(5));
+        MemQueueImpl queue = new MemQueueImpl("PriorityQueue", false, Queue.UNBOUNDED, false, arguments);
+        Message first = createMessage(1, 0);
+        Message second = createMessage(2, 4);
+        Message third = createMessage(3, 2);
+        queue.enqueue(first);
+        queue.enqueue(second);
+        queue.enqueue(third);
+
+        Message delivered = queue.dequeue();
+        Collection<Message> removedMessages = queue.removeUndelivered(Arrays.asList(first.getInternalId(),
+                                                                                  delivered.getInternalId()));
+
+        Assert.assertEquals(removedMessages, Collections.singletonList(first),
+                            "Only messages which are not taken for delivery should be removed");
+        Assert.assertEquals(queue.size(), 1, "Queue size should be reduced by the number of removed messages");
+        Assert.assertEquals(queue.dequeue(), third, "Remaining message should be delivered");
+    }
+
+    @Test
+    public void testCapacityChangedByArguments() {
+        FieldTable arguments = new FieldTable();
+        arguments.add(QueueArguments.MAX_DEPTH, FieldValue.parseLongInt(1));
+        MemQueueImpl queue = new MemQueueImpl("TunedQueue", false, Queue.UNBOUNDED, false, arguments);
+
+        Assert.assertEquals(queue.capacity(), 1, "Max depth argument should override the given capacity");
+        Assert.assertTrue(queue.enqueue(createMessage(1, 0)), "Message within the capacity should be enqueued");
+        Assert.assertFalse(queue.enqueue(createMessage(2, 0)), "Message beyond the capacity should be rejected");
+
+        FieldTable updatedArguments = new FieldTable();
+        updatedArguments.add(QueueArguments.MAX_DEPTH, FieldValue.parseLongInt(2));
+        queue.setArguments(updatedArguments);
+
+        Assert.assertEquals(queue.capacity(), 2, "Capacity should follow the updated max depth argument");
+        Assert.assertTrue(queue.enqueue(createMessage(3, 0)), "Message within the raised capacity should be enqueued");
+
+        queue.setArguments(FieldTable.EMPTY_TABLE);
+        Assert.assertEquals(queue.capacity(), Queue.UNBOUNDED,
+                            "Capacity should fall back to the given capacity without the max depth argument");
+    }
+
+    private static Message createMessage(long id, int priority) {
+        Metadata metadata = new Metadata("PriorityQueue", "amq.direct", 0);
+        metadata.getProperties().add(Metadata.PRIORITY, FieldValue.parseShortShortInt((byte) priority));
+        return new Message(id, metadata);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.queue;
+
+import io.ballerina.messaging.broker.common.data.types.FieldTable;
+import io.ballerina.messaging.broker.core.configuration.BrokerCoreConfiguration;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class QueueBufferFactoryTest {
+
+    private QueueBufferFactory queueBufferFactory;
+
+    @BeforeClass
+    public void setUp() {
+        BrokerCoreConfiguration configuration = new BrokerCoreConfiguration();
+        configuration.setDurableQueueInMemoryCacheLimit("1000");
+        configuration.setNonDurableQueueMaxDepth("100");
+        queueBufferFactory = new QueueBufferFactory(configuration);
+    }
+
+    @Test
+    public void testLimitsOfSingleBuffer() {
+        Assert.assertEquals(queueBufferFactory.getInMemoryCacheLimit(FieldTable.EMPTY_TABLE, 1), 1000,
+                            "A single buffer should get the whole in-memory cache limit");
+        Assert.assertEquals(queueBufferFactory.getIndelibleMessageLimit(FieldTable.EMPTY_TABLE, 1), 100,
+                            "A single buffer should get the whole indelible message limit");
+    }
+
+    @Test
+    public void testLimitsSplitBetweenBuffers() {
+        Assert.assertEquals(queueBufferFactory.getInMemoryCacheLimit(FieldTable.EMPTY_TABLE, 11), 90,
+                            "In-memory cache limit should be split between the buffers of a queue");
+        Assert.assertEquals(queueBufferFactory.getIndelibleMessageLimit(FieldTable.EMPTY_TABLE, 11), 9,
+                            "Indelible message limit should be split between the buffers of a queue");
+        Assert.assertEquals(queueBufferFactory.getIndelibleMessageLimit(FieldTable.EMPTY_TABLE, 200), 1,
+                            "Each buffer should be allowed at least one message");
+    }
+}
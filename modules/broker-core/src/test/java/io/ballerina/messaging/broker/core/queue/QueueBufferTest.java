@@ -25,6 +25,11 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class QueueBufferTest {
 
     private Metadata mockMetadata;
@@ -33,15 +38,17 @@ public class QueueBufferTest {
     @BeforeClass
     public void setUp() {
         mockMetadata = new Metadata("queue1", "amq.direct", 0);
-        messageReader = (buffer, message) -> {
-            message.setMetadata(mockMetadata);
-            buffer.markMessageFilled(message);
+        messageReader = (buffer, messages) -> {
+            for (Message message : messages) {
+                message.setMetadata(mockMetadata);
+                buffer.markMessageFilled(message);
+            }
         };
     }
 
     @Test
     public void testAdd() {
-        QueueBuffer queueBuffer = new QueueBuffer(10, 0, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 1, messageReader);
         for (int i = 0; i < 10; i++) {
             Message message = new Message(i + 1, mockMetadata);
             queueBuffer.add(message);
@@ -58,7 +65,7 @@ public class QueueBufferTest {
 
     @Test
     public void testBareAdd() {
-        QueueBuffer queueBuffer = new QueueBuffer(10, 0, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 1, messageReader);
         for (int i = 0; i < 12; i++) {
             Message message = new Message(i + 1, null);
             queueBuffer.addBareMessage(message);
@@ -74,7 +81,7 @@ public class QueueBufferTest {
 
     @Test
     public void testIndelibleAdd() {
-        QueueBuffer queueBuffer = new QueueBuffer(5, 10, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(5, 10, 1, messageReader);
         for (int i = 0; i < 10; i++) {
             Message message = new Message(i + 1, mockMetadata);
             queueBuffer.addIndelibleMessage(message);
@@ -90,7 +97,7 @@ public class QueueBufferTest {
 
     @Test
     public void testIndelibleAddBeyondLimit() {
-        QueueBuffer queueBuffer = new QueueBuffer(5, 10, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(5, 10, 1, messageReader);
         for (int i = 0; i < 10; i++) {
             Message message = new Message(i + 1, mockMetadata);
             queueBuffer.addIndelibleMessage(message);
@@ -110,7 +117,7 @@ public class QueueBufferTest {
 
     @Test
     public void testSize() {
-        QueueBuffer queueBuffer = new QueueBuffer(10, 0, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 1, messageReader);
         for (int i = 0; i < 12; i++) {
             Message message = new Message(i + 1, mockMetadata);
             queueBuffer.add(message);
@@ -121,7 +128,7 @@ public class QueueBufferTest {
 
     @Test
     public void testGetFirstDeliverable() {
-        QueueBuffer queueBuffer = new QueueBuffer(10, 0, messageReader);
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 1, messageReader);
         for (int i = 0; i < 12; i++) {
             Message message = new Message(i + 1, mockMetadata);
             queueBuffer.add(message);
@@ -136,4 +143,100 @@ public class QueueBufferTest {
 
         Assert.assertEquals(queueBuffer.size(), 0, "Buffer size should be 0 after removing all messages");
     }
+
+    @Test
+    public void testRemoveFirstUndelivered() {
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 1, messageReader);
+        Metadata metadata = new Metadata("queue1", "amq.direct", 10);
+        for (int i = 0; i < 5; i++) {
+            queueBuffer.add(new Message(i + 1, metadata));
+        }
+        Assert.assertEquals(queueBuffer.getUndeliveredMessageBytes(), 50,
+                            "Undelivered bytes should match the content length of added messages");
+
+        Message deliveredMessage = queueBuffer.getFirstDeliverable();
+        Message removedMessage = queueBuffer.removeFirstUndelivered();
+        Assert.assertEquals(removedMessage.getInternalId(), deliveredMessage.getInternalId() + 1,
+                            "Message next in line for delivery should be removed");
+        Assert.assertEquals(queueBuffer.getNumberOfUndeliveredMessages(), 3,
+                            "Delivered and removed messages should not be counted as undelivered");
+        Assert.assertEquals(queueBuffer.getUndeliveredMessageBytes(), 30,
+                            "Delivered and removed messages should not be counted in undelivered bytes");
+    }
+
+    @Test
+    public void testReadAheadWindow() {
+        List<Integer> readSizes = new ArrayList<>();
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 4, (buffer, messages) -> {
+            readSizes.add(messages.size());
+            messageReader.fill(buffer, messages);
+        });
+        for (int i = 0; i < 20; i++) {
+            queueBuffer.addBareMessage(new Message(i + 1, null));
+        }
+
+        Message message = queueBuffer.getFirstDeliverable();
+        Assert.assertEquals(readSizes, Arrays.asList(4, 4, 2),
+                            "In-memory limit should be filled in read ahead windows");
+
+        readSizes.clear();
+        for (int i = 0; i < 3; i++) {
+            queueBuffer.remove(message.getInternalId());
+            message = queueBuffer.getFirstDeliverable();
+        }
+        Assert.assertTrue(readSizes.isEmpty(), "Reads should be deferred until a full window can be read");
+
+        queueBuffer.remove(message.getInternalId());
+        Assert.assertEquals(readSizes, Collections.singletonList(4), "A full window should be read once available");
+    }
+
+    @Test
+    public void testReadRangeSplitOnOutOfOrderMessage() {
+        List<List<Long>> readRanges = new ArrayList<>();
+        QueueBuffer queueBuffer = new QueueBuffer(10, 0, 10, (buffer, messages) -> {
+            List<Long> readRange = new ArrayList<>();
+            messages.forEach(message -> readRange.add(message.getInternalId()));
+            readRanges.add(readRange);
+            messageReader.fill(buffer, messages);
+        });
+        queueBuffer.addBareMessage(new Message(2, null));
+        queueBuffer.addBareMessage(new Message(3, null));
+        queueBuffer.addBareMessage(new Message(1, null));
+        queueBuffer.addBareMessage(new Message(4, null));
+
+        queueBuffer.getFirstDeliverable();
+        Assert.assertEquals(readRanges, Arrays.asList(Arrays.asList(2L, 3L), Arrays.asList(1L, 4L)),
+                            "A read range should only contain messages in ascending order of message id");
+    }
+
+    @Test
+    public void testClear() {
+        QueueBuffer queueBuffer = new QueueBuffer(5, 5, 1, messageReader);
+        for (int i = 0; i < 8; i++) {
+            queueBuffer.add(new Message(i + 1, mockMetadata));
+        }
+        queueBuffer.addIndelibleMessage(new Message(9, mockMetadata));
+        Message deliveredMessage = queueBuffer.getFirstDeliverable();
+
+        List<Message> removedMessages = new ArrayList<>();
+        Assert.assertEquals(queueBuffer.clear(removedMessages::add), 9, "All messages should be removed");
+        Assert.assertEquals(removedMessages.size(), 9, "Post delete action should be invoked for each message");
+        Assert.assertTrue(removedMessages.contains(deliveredMessage), "Delivered messages should be removed");
+        for (Message message : removedMessages) {
+            Assert.assertNull(message.getMetadata(), "Data of removed messages should be cleared");
+        }
+
+        Assert.assertEquals(queueBuffer.size(), 0, "Buffer should be empty after clearing");
+        Assert.assertEquals(queueBuffer.getNumberOfInflightMessages(), 0, "No messages should be in flight");
+        Assert.assertEquals(queueBuffer.getNumberOfUndeliveredMessages(), 0, "No messages should be undelivered");
+        Assert.assertEquals(queueBuffer.getInMemoryMessageCount(), 0, "No messages should be in memory");
+        Assert.assertNull(queueBuffer.getFirstDeliverable(), "No messages should be deliverable");
+        Assert.assertFalse(queueBuffer.remove(deliveredMessage.getInternalId()),
+                           "Removed messages should not be found");
+
+        Message newMessage = new Message(10, mockMetadata);
+        queueBuffer.add(newMessage);
+        Assert.assertEquals(queueBuffer.getFirstDeliverable(), newMessage,
+                            "Messages added after clearing should be deliverable");
+    }
 }
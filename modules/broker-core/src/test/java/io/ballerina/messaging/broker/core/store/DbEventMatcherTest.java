@@ -21,7 +21,9 @@ package io.ballerina.messaging.broker.core.store;
 
 import io.ballerina.messaging.broker.core.Message;
 import io.ballerina.messaging.broker.core.Metadata;
+import io.ballerina.messaging.broker.core.PublishConfirm;
 import io.ballerina.messaging.broker.core.store.DbOperation.DbOpType;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -80,6 +82,29 @@ public class DbEventMatcherTest {
         }
     }
 
+    @Test
+    public void testCancelledInsertIsConfirmed() {
+        PublishConfirm.Listener listener = Mockito.mock(PublishConfirm.Listener.class);
+        for (long messageId = 1; messageId <= 2; messageId++) {
+            Message message = new Message(messageId, new Metadata("queue1", "amq.direct", 0));
+            message.setPublishConfirm(new PublishConfirm(messageId, listener));
+            DbOperation operation = DbOperation.getFactory().newInstance();
+            operation.insertMessage(message);
+            operationsList.add(operation);
+        }
+        DbOperation deleteOperation = DbOperation.getFactory().newInstance();
+        deleteOperation.deleteMessage(1);
+        operationsList.add(deleteOperation);
+
+        for (int i = 0; i < operationsList.size(); i++) {
+            dbEventMatcher.onEvent(operationsList.get(i), i, i == operationsList.size() - 1);
+        }
+
+        Mockito.verify(listener).onConfirm(1, true);
+        Mockito.verify(listener, Mockito.never()).onConfirm(Mockito.eq(2L), Mockito.anyBoolean());
+        Mockito.verify(listener).flush();
+    }
+
     @AfterMethod
     public void tearDown() {
         operationsList.clear();
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.codec;
+
+import io.ballerina.messaging.broker.core.BrokerException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Tests for {@link ContentCodec} implementations.
+ */
+public class ContentCodecTest {
+
+    @DataProvider(name = "codecs")
+    public Object[][] codecs() {
+        return new Object[][] {
+                {"deflate"},
+                {"snappy"}
+        };
+    }
+
+    @Test(dataProvider = "codecs")
+    public void testCompressibleContentRoundTrip(String codecName) throws BrokerException {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 64 * 1024) {
+            builder.append("{\"symbol\":\"WSO2\",\"price\":").append(builder.length() % 97).append("},");
+        }
+        byte[] data = builder.toString().getBytes(StandardCharsets.UTF_8);
+        ContentCodec codec = ContentCodecs.getCodec(codecName);
+
+        ByteBuf encoded = codec.encode(Unpooled.wrappedBuffer(data));
+        Assert.assertTrue(encoded.readableBytes() < data.length, "Compressible content should be smaller after "
+                + "encoding");
+
+        assertDecodedContent(codec, encoded, data);
+    }
+
+    @Test(dataProvider = "codecs")
+    public void testRandomContentRoundTrip(String codecName) throws BrokerException {
+        byte[] data = new byte[10 * 1024];
+        new Random(7).nextBytes(data);
+        ContentCodec codec = ContentCodecs.getCodec(codecName);
+
+        ByteBuf encoded = codec.encode(Unpooled.wrappedBuffer(data));
+        assertDecodedContent(codec, encoded, data);
+    }
+
+    @Test(dataProvider = "codecs")
+    public void testCodecLookupById(String codecName) {
+        ContentCodec codec = ContentCodecs.getCodec(codecName);
+        Assert.assertSame(ContentCodecs.getCodec(codec.getId()), codec, "Codec should be resolved by its id");
+    }
+
+    @Test
+    public void testNoCodec() {
+        Assert.assertNull(ContentCodecs.getCodec("none"), "No codec should be returned for none");
+        Assert.assertNull(ContentCodecs.getCodec(ContentCodecs.NOT_ENCODED),
+                          "No codec should be returned for content stored verbatim");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownCodec() {
+        ContentCodecs.getCodec("lzma");
+    }
+
+    @Test(dataProvider = "codecs", expectedExceptions = BrokerException.class)
+    public void testDecodeWithWrongLength(String codecName) throws BrokerException {
+        byte[] data = "content".getBytes(StandardCharsets.UTF_8);
+        ContentCodec codec = ContentCodecs.getCodec(codecName);
+        ByteBuf encoded = codec.encode(Unpooled.wrappedBuffer(data));
+        try {
+            codec.decode(encoded, data.length + 1);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private void assertDecodedContent(ContentCodec codec, ByteBuf encoded, byte[] data) throws BrokerException {
+        ByteBuf decoded = codec.decode(encoded, data.length);
+        try {
+            Assert.assertTrue(decoded.isDirect(), "Content should be decoded into a direct buffer");
+            byte[] decodedData = new byte[decoded.readableBytes()];
+            decoded.readBytes(decodedData);
+            Assert.assertEquals(decodedData, data, "Content should be equal after decoding");
+        } finally {
+            encoded.release();
+            decoded.release();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.store.dao.impl;
+
+import io.ballerina.messaging.broker.common.util.function.ThrowingConsumer;
+import io.ballerina.messaging.broker.core.ChunkConverter;
+import io.ballerina.messaging.broker.core.ContentChunk;
+import io.ballerina.messaging.broker.core.DbUtil;
+import io.ballerina.messaging.broker.core.Message;
+import io.ballerina.messaging.broker.core.Metadata;
+import io.ballerina.messaging.broker.core.QueuePurgeStatus;
+import io.ballerina.messaging.broker.core.metrics.NullBrokerMetricManager;
+import io.ballerina.messaging.broker.core.store.codec.ContentCodecs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+public class MessageDaoImplTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final long MESSAGE_ID = 1001L;
+
+    private static final long UNATTACHED_MESSAGE_ID = 1002L;
+
+    private static final String PURGE_QUEUE = "MessageDaoImplTestQueue";
+
+    private MessageCrudOperationsDao crudOperationsDao;
+
+    private MessageDaoImpl messageDao;
+
+    @BeforeClass
+    public void setUp() {
+        DataSource dataSource = DbUtil.getDataSource();
+        ChunkConverter chunkConverter = new ChunkConverter(CHUNK_SIZE);
+        crudOperationsDao = new MessageCrudOperationsDao(dataSource, new NullBrokerMetricManager(), chunkConverter,
+                                                         null, Long.MAX_VALUE);
+        messageDao = new MessageDaoImpl(crudOperationsDao, new DtxCrudOperationsDao(dataSource, chunkConverter));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        crudOperationsDao.transaction((ThrowingConsumer<Connection, Exception>) connection ->
+                crudOperationsDao.delete(connection, Collections.singletonList(MESSAGE_ID)));
+    }
+
+    @Test(description = "Test stored content is read into direct buffers shared by all copies of the message")
+    public void testReadContentIntoDirectBuffers() throws Exception {
+        byte[] content = createContent(CHUNK_SIZE * 2 + 10);
+        storeMessage(crudOperationsDao, MESSAGE_ID, content);
+
+        Message firstCopy = new Message(MESSAGE_ID, null);
+        Message secondCopy = new Message(MESSAGE_ID, null);
+        Map<Long, List<Message>> readList = new HashMap<>();
+        readList.put(MESSAGE_ID, new ArrayList<>(Arrays.asList(firstCopy, secondCopy)));
+        messageDao.read(readList);
+
+        for (ContentChunk chunk : firstCopy.getContentChunks()) {
+            Assert.assertTrue(chunk.getByteBuf().isDirect(), "Content should be read into a direct buffer");
+        }
+        Assert.assertEquals(getContent(firstCopy), content, "Content of the first copy should match the stored "
+                + "content");
+
+        firstCopy.release();
+        Assert.assertEquals(getContent(secondCopy), content, "Content of the second copy should be readable after "
+                + "releasing the first copy");
+        List<ByteBuf> buffers = new ArrayList<>();
+        for (ContentChunk chunk : secondCopy.getContentChunks()) {
+            buffers.add(chunk.getByteBuf());
+        }
+
+        secondCopy.release();
+        for (ByteBuf buffer : buffers) {
+            Assert.assertEquals(buffer.refCnt(), 0, "Content buffers should be released with the last copy");
+        }
+    }
+
+    @Test(description = "Test encoded content is read and decoded into the original content")
+    public void testReadEncodedContent() throws Exception {
+        DataSource dataSource = DbUtil.getDataSource();
+        ChunkConverter chunkConverter = new ChunkConverter(CHUNK_SIZE);
+        MessageCrudOperationsDao encodingDao = new MessageCrudOperationsDao(dataSource, new NullBrokerMetricManager(),
+                                                                            chunkConverter,
+                                                                            ContentCodecs.getCodec("deflate"), 0);
+        MessageDaoImpl dao = new MessageDaoImpl(encodingDao, new DtxCrudOperationsDao(dataSource, chunkConverter));
+        byte[] content = createContent(CHUNK_SIZE * 4 + 10);
+        storeMessage(encodingDao, MESSAGE_ID, content);
+
+        Message message = new Message(MESSAGE_ID, null);
+        Map<Long, List<Message>> readList = new HashMap<>();
+        readList.put(MESSAGE_ID, new ArrayList<>(Collections.singletonList(message)));
+        dao.read(readList);
+
+        try {
+            Assert.assertEquals(getContent(message), content, "Decoded content should match the stored content");
+        } finally {
+            message.release();
+        }
+    }
+
+    @Test(description = "Test purging a queue deletes the messages which are no longer attached to any queue")
+    public void testPurge() throws Exception {
+        assertPurge(DbUtil.createDataSource("mbPurgeDB"));
+    }
+
+    @Test(description = "Test purging a queue on a database schema without the distributed transaction tables")
+    public void testPurgeWithoutDtxTables() throws Exception {
+        assertPurge(DbUtil.createDataSource("mbNoDtxDB", "MB_DTX_DEQUEUE_MAPPING", "MB_DTX_ENQUEUE_MAPPING",
+                                            "MB_DTX_ENQUEUE_CONTENT", "MB_DTX_ENQUEUE_METADATA", "MB_DTX_XID"));
+    }
+
+    private void assertPurge(DataSource dataSource) throws Exception {
+        ChunkConverter chunkConverter = new ChunkConverter(CHUNK_SIZE);
+        MessageCrudOperationsDao crudDao = new MessageCrudOperationsDao(dataSource, new NullBrokerMetricManager(),
+                                                                        chunkConverter, null, Long.MAX_VALUE);
+        MessageDaoImpl dao = new MessageDaoImpl(crudDao, new DtxCrudOperationsDao(dataSource, chunkConverter));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO MB_QUEUE_METADATA (QUEUE_NAME, QUEUE_ARGUMENTS) VALUES (?, ?)")) {
+            statement.setString(1, PURGE_QUEUE);
+            statement.setBytes(2, new byte[0]);
+            statement.executeUpdate();
+            connection.commit();
+        }
+        storeMessage(crudDao, MESSAGE_ID, createContent(10), PURGE_QUEUE);
+        storeMessage(crudDao, UNATTACHED_MESSAGE_ID, createContent(10));
+
+        QueuePurgeStatus purgeStatus = new QueuePurgeStatus(PURGE_QUEUE);
+        dao.purge(PURGE_QUEUE, purgeStatus);
+
+        Assert.assertEquals(purgeStatus.getDetachedMessageCount(), 1, "The stored message should be detached");
+        Assert.assertEquals(purgeStatus.getDeletedMessageCount(), 1, "The detached message should be deleted");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM MB_METADATA WHERE MESSAGE_ID=?")) {
+            statement.setLong(1, MESSAGE_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                Assert.assertEquals(resultSet.getInt(1), 0, "Purged message should be removed from the store");
+            }
+            statement.setLong(1, UNATTACHED_MESSAGE_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                Assert.assertEquals(resultSet.getInt(1), 1, "Messages which were not in the purged queue should "
+                        + "not be deleted");
+            }
+        }
+    }
+
+    private static void storeMessage(MessageCrudOperationsDao crudDao, long messageId, byte[] content,
+                                     String... queueNames) throws Exception {
+        Message message = new Message(messageId, new Metadata("test.key", "amq.direct", content.length));
+        for (String queueName : queueNames) {
+            message.addAttachedDurableQueue(queueName);
+        }
+        for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, content.length - offset);
+            message.addChunk(new ContentChunk(offset, Unpooled.copiedBuffer(content, offset, length)));
+        }
+
+        try {
+            crudDao.transaction((ThrowingConsumer<Connection, Exception>) connection ->
+                    crudDao.storeMessages(connection, Collections.singletonList(message)));
+        } finally {
+            message.release();
+        }
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] pattern = "pooled-direct-content".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = pattern[i % pattern.length];
+        }
+        return content;
+    }
+
+    private static byte[] getContent(Message message) {
+        byte[] content = new byte[(int) message.getMetadata().getContentLength()];
+        for (ContentChunk chunk : message.getContentChunks()) {
+            ByteBuf buffer = chunk.getByteBuf();
+            buffer.getBytes(buffer.readerIndex(), content, (int) chunk.getOffset(), buffer.readableBytes());
+        }
+        return content;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.ballerina.messaging.broker.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HashedTimerWheelTest {
+
+    private static final long START_TIME = 1000;
+
+    @Test
+    public void testItemsExpireAfterDeadline() {
+        HashedTimerWheel<String> timerWheel = new HashedTimerWheel<>(10, 8, START_TIME);
+        timerWheel.schedule("first", START_TIME + 25);
+        timerWheel.schedule("second", START_TIME + 5);
+
+        List<String> expiredItems = new ArrayList<>();
+        timerWheel.advance(START_TIME + 9, expiredItems::add);
+        Assert.assertTrue(expiredItems.isEmpty(), "Items should not expire before the tick of the deadline ends");
+
+        timerWheel.advance(START_TIME + 10, expiredItems::add);
+        Assert.assertEquals(expiredItems, Collections.singletonList("second"), "Only the due item should expire");
+
+        timerWheel.advance(START_TIME + 30, expiredItems::add);
+        Assert.assertEquals(expiredItems, Arrays.asList("second", "first"), "Items should expire in deadline order");
+    }
+
+    @Test
+    public void testDeadlinesBeyondOneRotation() {
+        HashedTimerWheel<String> timerWheel = new HashedTimerWheel<>(10, 4, START_TIME);
+        timerWheel.schedule("late", START_TIME + 95);
+
+        List<String> expiredItems = new ArrayList<>();
+        timerWheel.advance(START_TIME + 90, expiredItems::add);
+        Assert.assertTrue(expiredItems.isEmpty(), "Item should not expire in earlier rotations of the wheel");
+
+        timerWheel.advance(START_TIME + 100, expiredItems::add);
+        Assert.assertEquals(expiredItems, Collections.singletonList("late"), "Item should expire after its deadline");
+    }
+
+    @Test
+    public void testOverdueAndCancelledItems() {
+        HashedTimerWheel<String> timerWheel = new HashedTimerWheel<>(10, 8, START_TIME);
+        List<String> expiredItems = new ArrayList<>();
+        timerWheel.advance(START_TIME + 50, expiredItems::add);
+
+        timerWheel.schedule("overdue", START_TIME + 20);
+        timerWheel.schedule("cancelled", START_TIME + 60).cancel();
+        timerWheel.advance(START_TIME + 100, expiredItems::add);
+
+        Assert.assertEquals(expiredItems, Collections.singletonList("overdue"),
+                            "Overdue items should expire in the next tick and cancelled items should not expire");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.ballerina.messaging.broker.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HierarchicalTimingWheelTest {
+
+    private static final long START_TIME = 1000;
+
+    @Test
+    public void testItemsCascadeFromHigherLevels() {
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(10, 4, 3, START_TIME);
+        timingWheel.schedule("far", START_TIME + 355);
+        timingWheel.schedule("near", START_TIME + 5);
+        timingWheel.schedule("mid", START_TIME + 45);
+
+        List<String> dueItems = new ArrayList<>();
+        timingWheel.advance(START_TIME + 10, dueItems::add);
+        Assert.assertEquals(dueItems, Collections.singletonList("near"), "Only the due item should be released");
+
+        timingWheel.advance(START_TIME + 350, dueItems::add);
+        Assert.assertEquals(dueItems, Arrays.asList("near", "mid"),
+                            "Items in higher levels should be released after their deadline");
+
+        timingWheel.advance(START_TIME + 370, dueItems::add);
+        Assert.assertEquals(dueItems, Arrays.asList("near", "mid", "far"),
+                            "Items in the highest level should be released after their deadline");
+    }
+
+    @Test
+    public void testDeadlinesBeyondWheelRange() {
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(10, 4, 2, START_TIME);
+        timingWheel.schedule("beyond", START_TIME + 1005);
+
+        List<String> dueItems = new ArrayList<>();
+        timingWheel.advance(START_TIME + 1000, dueItems::add);
+        Assert.assertTrue(dueItems.isEmpty(), "Item should not be released before its deadline");
+
+        timingWheel.advance(START_TIME + 1010, dueItems::add);
+        Assert.assertEquals(dueItems, Collections.singletonList("beyond"),
+                            "Item should be released after its deadline");
+    }
+
+    @Test
+    public void testOverdueItems() {
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(10, 8, 2, START_TIME);
+        List<String> dueItems = new ArrayList<>();
+        timingWheel.advance(START_TIME + 50, dueItems::add);
+
+        timingWheel.schedule("overdue", START_TIME + 20);
+        timingWheel.advance(START_TIME + 60, dueItems::add);
+
+        Assert.assertEquals(dueItems, Collections.singletonList("overdue"),
+                            "Overdue items should be released in the next tick");
+    }
+}
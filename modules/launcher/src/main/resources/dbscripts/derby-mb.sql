@@ -48,6 +48,9 @@ CREATE TABLE MB_METADATA (
                 EXCHANGE_NAME VARCHAR(256) NOT NULL,
                 ROUTING_KEY VARCHAR(256) NOT NULL,
                 CONTENT_LENGTH BIGINT NOT NULL,
+                MESSAGE_PRIORITY SMALLINT NOT NULL DEFAULT 0,
+                ARRIVAL_TIME BIGINT NOT NULL DEFAULT 0,
+                CONTENT_CODEC SMALLINT NOT NULL DEFAULT 0,
                 MESSAGE_METADATA BLOB(65500) NOT NULL,
                 PRIMARY KEY (MESSAGE_ID)
 );
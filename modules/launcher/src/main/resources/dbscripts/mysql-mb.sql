@@ -47,6 +47,9 @@ CREATE TABLE IF NOT EXISTS MB_METADATA (
                 EXCHANGE_NAME VARCHAR(256) NOT NULL,
                 ROUTING_KEY VARCHAR(256) NOT NULL,
                 CONTENT_LENGTH BIGINT NOT NULL,
+                MESSAGE_PRIORITY SMALLINT DEFAULT 0 NOT NULL,
+                ARRIVAL_TIME BIGINT DEFAULT 0 NOT NULL,
+                CONTENT_CODEC SMALLINT DEFAULT 0 NOT NULL,
                 MESSAGE_METADATA VARBINARY(60000) NOT NULL,
                 PRIMARY KEY (MESSAGE_ID)
 ) ENGINE=InnoDB DEFAULT CHARSET=latin1;
@@ -85,6 +88,8 @@ CREATE TABLE IF NOT EXISTS MB_DTX_ENQUEUE_METADATA (
                 EXCHANGE_NAME VARCHAR(256) NOT NULL,
                 ROUTING_KEY VARCHAR(256) NOT NULL,
                 CONTENT_LENGTH BIGINT NOT NULL,
+                MESSAGE_PRIORITY SMALLINT DEFAULT 0 NOT NULL,
+                ARRIVAL_TIME BIGINT DEFAULT 0 NOT NULL,
                 MESSAGE_METADATA VARBINARY(60000) NOT NULL,
                 PRIMARY KEY (MESSAGE_ID),
                 FOREIGN KEY (INTERNAL_XID) REFERENCES MB_DTX_XID (INTERNAL_XID)
@@ -47,6 +47,9 @@ CREATE TABLE MB_METADATA (
     EXCHANGE_NAME VARCHAR2(256) NOT NULL,
     ROUTING_KEY VARCHAR2(256) NOT NULL,
     CONTENT_LENGTH NUMBER(19) NOT NULL,
+    MESSAGE_PRIORITY NUMBER(5) DEFAULT 0 NOT NULL,
+    ARRIVAL_TIME NUMBER(19) DEFAULT 0 NOT NULL,
+    CONTENT_CODEC NUMBER(5) DEFAULT 0 NOT NULL,
     MESSAGE_METADATA RAW(2000) NOT NULL,
     CONSTRAINT PK_MB_METADATA PRIMARY KEY (MESSAGE_ID)
 )
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+-- WSO2 Message Broker Oracle Database schema upgrade --
+
+-- Run this script against a database created with an earlier version of oracle-mb.sql. --
+-- Messages stored before the upgrade get the default values of the new columns. --
+
+-- Message priority --
+/
+ALTER TABLE MB_METADATA ADD (MESSAGE_PRIORITY NUMBER(5) DEFAULT 0 NOT NULL)
+/
+-- Message arrival time used for expiry and delayed delivery --
+ALTER TABLE MB_METADATA ADD (ARRIVAL_TIME NUMBER(19) DEFAULT 0 NOT NULL)
+/
+-- Content codec used to encode message content. Existing content is stored without a codec --
+ALTER TABLE MB_METADATA ADD (CONTENT_CODEC NUMBER(5) DEFAULT 0 NOT NULL)
+/